@@ -18,9 +18,17 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Read by AppLog and QueryMetrics; literal constants, so guarded code is compiled out of release
+        buildConfigField("boolean", "DEBUG_LOGGING", "false")
+        buildConfigField("boolean", "QUERY_METRICS", "false")
     }
 
     buildTypes {
+        debug {
+            buildConfigField("boolean", "DEBUG_LOGGING", "true")
+            buildConfigField("boolean", "QUERY_METRICS", "true")
+        }
         release {
             isMinifyEnabled = false
             proguardFiles(
@@ -28,6 +36,13 @@ android {
                 "proguard-rules.pro"
             )
         }
+        // Release code and config, installable next to the :benchmark module's test APK
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            isDebuggable = false
+            isProfileable = true
+        }
     }
 
     compileOptions {
@@ -38,6 +53,12 @@ android {
     // ✅ RECOMMENDED: Enable view binding for easier UI code
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+
+    testOptions {
+        // The model codec parity tests run Firebase's reflective mapper, which logs through android.util.Log
+        unitTests.isReturnDefaultValues = true
     }
 }
 
@@ -0,0 +1,176 @@
+package com.example.mindbloomandroid;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.model.RollupBucket;
+import com.example.mindbloomandroid.model.SleepEntry;
+import com.example.mindbloomandroid.service.RollupService;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Rollup maintenance against the Realtime Database emulator.
+ * Start it first with: firebase emulators:start --only database
+ */
+@RunWith(AndroidJUnit4.class)
+public class RollupServiceEmulatorTest {
+    private static final String EMULATOR_URL = "http://10.0.2.2:9000?ns=mindbloom-rollups-test";
+    private static final String USER_ID = "rollup-test-user";
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private FirebaseDatabase database;
+    private DatabaseReference rootRef;
+    private RollupService rollupService;
+    private long now;
+
+    @Before
+    public void setUp() throws Exception {
+        database = FirebaseDatabase.getInstance(EMULATOR_URL);
+        rootRef = database.getReference();
+        rollupService = new RollupService(database);
+        now = System.currentTimeMillis();
+        Tasks.await(rootRef.setValue(null), 10, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Tasks.await(rootRef.setValue(null), 10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void incrementsAccumulateAndDeletesSubtract() throws Exception {
+        MoodLog good = moodLog("m1", 5, now);
+        MoodLog bad = moodLog("m2", 2, now);
+        writeMood(good, 1);
+        writeMood(bad, 1);
+
+        RollupBucket total = loadTotal(now - DAY, now);
+        assertEquals(2, total.getMoodCount());
+        assertEquals(3.5, total.getAverageMood(), 0.001);
+
+        writeMood(bad, -1);
+
+        total = loadTotal(now - DAY, now);
+        assertEquals(1, total.getMoodCount());
+        assertEquals(5.0, total.getAverageMood(), 0.001);
+    }
+
+    @Test
+    public void rebuildMatchesRawData() throws Exception {
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("mood_logs/m1", moodLog("m1", 4, now));
+        raw.put("mood_logs/m2", moodLog("m2", 2, now - 3 * DAY));
+        SleepEntry sleep = new SleepEntry(USER_ID, now - 8 * 60 * 60 * 1000, now, 4, "");
+        sleep.setSleepEntryId("s1");
+        raw.put("sleep_entries/s1", sleep);
+        Tasks.await(rootRef.updateChildren(raw), 10, TimeUnit.SECONDS);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> error = new AtomicReference<>();
+        rollupService.rebuildRollups(USER_ID, new RollupService.OnCompleteListener() {
+            @Override
+            public void onSuccess() {
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String message) {
+                error.set(message);
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNull(error.get());
+
+        RollupBucket total = loadTotal(now - 7 * DAY, now);
+        assertEquals(2, total.getMoodCount());
+        assertEquals(3.0, total.getAverageMood(), 0.001);
+        assertEquals(1, total.getSleepCount());
+        assertEquals(8.0, total.getAverageSleepHours(), 0.01);
+
+        // Only the most recent day falls inside this range
+        total = loadTotal(now, now);
+        assertEquals(1, total.getMoodCount());
+    }
+
+    @Test
+    public void bucketsFollowTheDeviceZone() throws Exception {
+        TimeZone original = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Australia/Brisbane"));
+        try {
+            // Tuesday 9am in UTC+10 is still Monday in UTC
+            Calendar cal = Calendar.getInstance();
+            cal.clear();
+            cal.set(2025, Calendar.JUNE, 10, 9, 0);
+            long tuesdayMorning = cal.getTimeInMillis();
+            cal.set(2025, Calendar.JUNE, 9, 23, 30);
+            long mondayNight = cal.getTimeInMillis();
+            cal.set(2025, Calendar.JUNE, 10, 0, 0);
+            long tuesdayStart = cal.getTimeInMillis();
+
+            assertEquals("2025-06-10", RollupService.dayKey(tuesdayMorning));
+            assertEquals("2025-06-09", RollupService.dayKey(mondayNight));
+            assertEquals(tuesdayStart, RollupService.dayStart("2025-06-10"));
+
+            writeMood(moodLog("m1", 5, tuesdayMorning), 1);
+            writeMood(moodLog("m2", 1, mondayNight), 1);
+
+            RollupBucket tuesday = loadTotal(tuesdayStart, tuesdayStart + DAY - 1);
+            assertEquals(1, tuesday.getMoodCount());
+            assertEquals(5.0, tuesday.getAverageMood(), 0.001);
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    private MoodLog moodLog(String id, int rating, long logDate) {
+        MoodLog moodLog = new MoodLog(USER_ID, rating, "", "");
+        moodLog.setMoodLogId(id);
+        moodLog.setLogDate(logDate);
+        return moodLog;
+    }
+
+    private void writeMood(MoodLog moodLog, int sign) throws Exception {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("mood_logs/" + moodLog.getMoodLogId(), sign > 0 ? moodLog : null);
+        RollupService.addMoodIncrements(updates, moodLog, sign);
+        Tasks.await(rootRef.updateChildren(updates), 10, TimeUnit.SECONDS);
+    }
+
+    private RollupBucket loadTotal(long start, long end) throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<RollupBucket> result = new AtomicReference<>();
+        rollupService.getDailyTotal(USER_ID, start, end, new RollupService.OnRollupLoadedListener() {
+            @Override
+            public void onRollupLoaded(RollupBucket total) {
+                result.set(total);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String error) {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertNotNull(result.get());
+        return result.get();
+    }
+}
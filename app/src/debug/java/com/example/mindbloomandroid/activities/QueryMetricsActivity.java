@@ -0,0 +1,81 @@
+package com.example.mindbloomandroid.activities;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.Toolbar;
+import com.example.mindbloomandroid.R;
+import com.example.mindbloomandroid.service.QueryMetrics;
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+
+/**
+ * Debug-build screen for QueryMetrics. The same report is printed by
+ * {@code adb shell dumpsys activity com.example.mindbloomandroid/.activities.QueryMetricsActivity}
+ * while the screen is open.
+ */
+public class QueryMetricsActivity extends AppCompatActivity {
+
+    private TextView metricsReport;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_query_metrics);
+
+        Toolbar toolbar = findViewById(R.id.toolbar);
+        setSupportActionBar(toolbar);
+        if (getSupportActionBar() != null) {
+            getSupportActionBar().setTitle("📊 Query metrics");
+            getSupportActionBar().setDisplayHomeAsUpEnabled(true);
+        }
+
+        metricsReport = findViewById(R.id.metricsReport);
+        Button btnRefresh = findViewById(R.id.btnRefresh);
+        Button btnReset = findViewById(R.id.btnReset);
+        Button btnShare = findViewById(R.id.btnShare);
+
+        btnRefresh.setOnClickListener(v -> showReport());
+        btnReset.setOnClickListener(v -> {
+            QueryMetrics.getInstance().reset();
+            showReport();
+        });
+        btnShare.setOnClickListener(v -> shareReport());
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        showReport();
+    }
+
+    private void showReport() {
+        metricsReport.setText(QueryMetrics.getInstance().dumpReport());
+    }
+
+    private void shareReport() {
+        Intent intent = new Intent(Intent.ACTION_SEND);
+        intent.setType("text/plain");
+        intent.putExtra(Intent.EXTRA_SUBJECT, "MindBloom query metrics");
+        intent.putExtra(Intent.EXTRA_TEXT, QueryMetrics.getInstance().dumpReport());
+        startActivity(Intent.createChooser(intent, "Share query metrics"));
+    }
+
+    @Override
+    public void dump(@NonNull String prefix, @Nullable FileDescriptor fd, @NonNull PrintWriter writer,
+                     @Nullable String[] args) {
+        super.dump(prefix, fd, writer, args);
+        writer.println();
+        writer.print(QueryMetrics.getInstance().dumpReport());
+    }
+
+    @Override
+    public boolean onSupportNavigateUp() {
+        finish();
+        return true;
+    }
+}
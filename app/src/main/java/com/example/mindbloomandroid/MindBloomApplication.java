@@ -1,6 +1,9 @@
 package com.example.mindbloomandroid;
 
 import android.app.Application;
+import com.example.mindbloomandroid.service.UserProfileCache;
+import com.example.mindbloomandroid.utility.AppLog;
+import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.database.FirebaseDatabase;
 
@@ -27,13 +30,16 @@ public class MindBloomApplication extends Application {
                     FirebaseDatabase database = FirebaseDatabase.getInstance();
                     database.setPersistenceEnabled(true);
                     isPersistenceEnabled = true;
-                    android.util.Log.d("MindBloomApp", "✅ Firebase persistence enabled");
+                    AppLog.d("MindBloomApp", "✅ Firebase persistence enabled");
                 } catch (Exception e) {
-                    android.util.Log.w("MindBloomApp", "⚠️ Persistence already enabled: " + e.getMessage());
+                    AppLog.w("MindBloomApp", "⚠️ Persistence already enabled: " + e.getMessage());
                 }
             }
 
-            android.util.Log.d("MindBloomApp", "✅ Firebase initialized successfully");
+            AppLog.d("MindBloomApp", "✅ Firebase initialized successfully");
+
+            // Seed the signed-in user's name so sending messages never has to look it up
+            UserProfileCache.getInstance().seed(SharedPreferencesManager.getInstance(this));
 
             // Test database connection
             FirebaseDatabase.getInstance().getReference(".info/connected")
@@ -42,20 +48,20 @@ public class MindBloomApplication extends Application {
                     public void onDataChange(com.google.firebase.database.DataSnapshot snapshot) {
                         boolean connected = snapshot.getValue(Boolean.class);
                         if (connected) {
-                            android.util.Log.d("MindBloomApp", "✅ Connected to Firebase Database");
+                            AppLog.d("MindBloomApp", "✅ Connected to Firebase Database");
                         } else {
-                            android.util.Log.w("MindBloomApp", "⚠️ Not connected to Firebase Database");
+                            AppLog.w("MindBloomApp", "⚠️ Not connected to Firebase Database");
                         }
                     }
 
                     @Override
                     public void onCancelled(com.google.firebase.database.DatabaseError error) {
-                        android.util.Log.e("MindBloomApp", "❌ Firebase connection listener failed: " + error.getMessage());
+                        AppLog.e("MindBloomApp", "❌ Firebase connection listener failed: " + error.getMessage());
                     }
                 });
 
         } catch (Exception e) {
-            android.util.Log.e("MindBloomApp", "❌ Error initializing Firebase: " + e.getMessage(), e);
+            AppLog.e("MindBloomApp", "❌ Error initializing Firebase: " + e.getMessage(), e);
         }
     }
 }
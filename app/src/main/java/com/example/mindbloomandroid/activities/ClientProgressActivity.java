@@ -5,6 +5,7 @@ import android.view.MenuItem;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
+import androidx.annotation.VisibleForTesting;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.cardview.widget.CardView;
@@ -19,7 +20,8 @@ import com.example.mindbloomandroid.model.StressAssessment;
 import com.example.mindbloomandroid.service.MoodLogService;
 import com.example.mindbloomandroid.service.SleepTrackerService;
 import com.example.mindbloomandroid.service.StressService;
-import java.util.ArrayList;
+import com.example.mindbloomandroid.utility.AppLog;
+import com.example.mindbloomandroid.utility.stats.RunningStats;
 import java.util.List;
 import java.util.Locale;
 
@@ -96,20 +98,20 @@ public class ClientProgressActivity extends AppCompatActivity {
 
     private void setupRecyclerViews() {
 
-        List<MoodLog> emptyMoodList = new ArrayList<>();
-        moodAdapter = new MoodLogAdapter(this, emptyMoodList, null);
+        moodAdapter = new MoodLogAdapter(this, null);
         moodLogRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         moodLogRecyclerView.setAdapter(moodAdapter);
 
 
-        List<SleepEntry> emptySleepList = new ArrayList<>();
-        sleepAdapter = new SleepEntryAdapter(this, emptySleepList);
+        sleepAdapter = new SleepEntryAdapter(this);
         sleepLogRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         sleepLogRecyclerView.setAdapter(sleepAdapter);
     }
 
     private void loadClientProgress() {
-        android.util.Log.d("ClientProgress", "📊 Loading progress for client: " + clientName + " (ID: " + clientId + ")");
+        if (AppLog.ENABLED) {
+            AppLog.d("ClientProgress", "📊 Loading progress for client: " + clientName + " (ID: " + clientId + ")");
+        }
         progressBar.setVisibility(android.view.View.VISIBLE);
 
 
@@ -126,19 +128,16 @@ public class ClientProgressActivity extends AppCompatActivity {
         moodLogService.getUserMoodLogs(clientId, new MoodLogService.OnMoodLogsLoadedListener() {
             @Override
             public void onMoodLogsLoaded(List<MoodLog> moodLogs) {
-                android.util.Log.d("ClientProgress", "✅ Loaded " + moodLogs.size() + " mood logs");
+                if (AppLog.ENABLED) {
+                    AppLog.d("ClientProgress", "✅ Loaded " + moodLogs.size() + " mood logs");
+                }
 
 
-                moodAdapter = new MoodLogAdapter(ClientProgressActivity.this, moodLogs, null);
-                moodLogRecyclerView.setAdapter(moodAdapter);
+                moodAdapter.submitList(moodLogs);
 
 
                 if (!moodLogs.isEmpty()) {
-                    double sum = 0;
-                    for (MoodLog log : moodLogs) {
-                        sum += log.getMoodRating();
-                    }
-                    double avg = sum / moodLogs.size();
+                    double avg = moodStats(moodLogs).getMean();
                     avgMoodValue.setText(String.format(Locale.getDefault(), "%.1f/5", avg));
                 } else {
                     avgMoodValue.setText("N/A");
@@ -147,32 +146,26 @@ public class ClientProgressActivity extends AppCompatActivity {
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("ClientProgress", "❌ Error loading mood logs: " + error);
+                AppLog.e("ClientProgress", "❌ Error loading mood logs: " + error);
                 avgMoodValue.setText("N/A");
             }
-        });
+        }).bindTo(this);
     }
 
     private void loadSleepEntries() {
         sleepService.getUserSleepEntries(clientId, new SleepTrackerService.OnSleepEntriesLoadedListener() {
             @Override
             public void onSleepEntriesLoaded(List<SleepEntry> sleepEntries) {
-                android.util.Log.d("ClientProgress", "✅ Loaded " + sleepEntries.size() + " sleep entries");
+                if (AppLog.ENABLED) {
+                    AppLog.d("ClientProgress", "✅ Loaded " + sleepEntries.size() + " sleep entries");
+                }
 
 
-                sleepAdapter = new SleepEntryAdapter(ClientProgressActivity.this, sleepEntries);
-                sleepLogRecyclerView.setAdapter(sleepAdapter);
+                sleepAdapter.submitList(sleepEntries);
 
 
                 if (!sleepEntries.isEmpty()) {
-                    double sum = 0;
-                    for (SleepEntry entry : sleepEntries) {
-                        // Calculate hours from start/end time
-                        long duration = entry.getSleepEndTime() - entry.getSleepStartTime();
-                        double hours = duration / (1000.0 * 60 * 60);
-                        sum += hours;
-                    }
-                    double avg = sum / sleepEntries.size();
+                    double avg = sleepHoursStats(sleepEntries).getMean();
                     avgSleepValue.setText(String.format(Locale.getDefault(), "%.1f hrs", avg));
                 } else {
                     avgSleepValue.setText("N/A");
@@ -183,18 +176,41 @@ public class ClientProgressActivity extends AppCompatActivity {
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("ClientProgress", " Error loading sleep entries: " + error);
+                AppLog.e("ClientProgress", " Error loading sleep entries: " + error);
                 avgSleepValue.setText("N/A");
                 progressBar.setVisibility(android.view.View.GONE);
             }
-        });
+        }).bindTo(this);
+    }
+
+    // Public for the benchmark module, which runs against this APK from outside the package
+    @VisibleForTesting
+    public static RunningStats moodStats(List<MoodLog> moodLogs) {
+        RunningStats moodStats = new RunningStats();
+        for (MoodLog log : moodLogs) {
+            moodStats.add(log.getMoodRating());
+        }
+        return moodStats;
+    }
+
+    @VisibleForTesting
+    public static RunningStats sleepHoursStats(List<SleepEntry> sleepEntries) {
+        RunningStats sleepStats = new RunningStats();
+        for (SleepEntry entry : sleepEntries) {
+            // Calculate hours from start/end time
+            long duration = entry.getSleepEndTime() - entry.getSleepStartTime();
+            sleepStats.add(duration / (1000.0 * 60 * 60));
+        }
+        return sleepStats;
     }
 
     private void loadStressLevel() {
         stressService.getUserStressAssessments(clientId, new StressService.OnStressAssessmentsLoadedListener() {
             @Override
             public void onAssessmentsLoaded(List<StressAssessment> assessments) {
-                android.util.Log.d("ClientProgress", " Loaded " + assessments.size() + " stress assessments");
+                if (AppLog.ENABLED) {
+                    AppLog.d("ClientProgress", " Loaded " + assessments.size() + " stress assessments");
+                }
 
                 if (!assessments.isEmpty()) {
                     // Get most recent assessment
@@ -212,10 +228,10 @@ public class ClientProgressActivity extends AppCompatActivity {
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("ClientProgress", " Error loading stress assessments: " + error);
+                AppLog.e("ClientProgress", " Error loading stress assessments: " + error);
                 stressLevelValue.setText("N/A");
             }
-        });
+        }).bindTo(this);
     }
 
     @Override
@@ -2,8 +2,6 @@ package com.example.mindbloomandroid.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
@@ -25,9 +23,12 @@ import com.example.mindbloomandroid.adapter.GroupChatMessageAdapter;
 import com.example.mindbloomandroid.model.GroupChatMessage;
 import com.example.mindbloomandroid.model.Post;
 import com.example.mindbloomandroid.service.CommunityForumService;
+import com.example.mindbloomandroid.service.GroupChatStream;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.google.android.material.tabs.TabLayout;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,10 @@ import java.util.List;
 
 public class CommunityForumActivity extends AppCompatActivity {
 
+    private static final int POSTS_PAGE_SIZE = 20;
+    private static final int CHAT_PAGE_SIZE = 50;
+    private static final int CHAT_WINDOW_SIZE = 300;
+
     private TabLayout tabLayout;
     private View forumPostsTab, groupChatTab;
     
@@ -55,11 +60,17 @@ public class CommunityForumActivity extends AppCompatActivity {
     private Button sendMessageButton;
     private TextView onlineUsersLabel;
     private GroupChatMessageAdapter chatAdapter;
-    private List<GroupChatMessage> chatMessages;
+    private GroupChatStream chatStream;
+
+    private final List<Post> newestPosts = new ArrayList<>();
+    private final List<Post> olderPosts = new ArrayList<>();
+    private final java.util.Set<String> deletedPostIds = new java.util.HashSet<>();
+    private ValueEventListener newestPostsListener;
+    private String searchQuery = "";
+    private boolean loadingOlderPosts;
+    private boolean hasOlderPosts;
 
     private CommunityForumService forumService;
-    private Handler chatRefreshHandler;
-    private Runnable chatRefreshRunnable;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -107,7 +118,7 @@ public class CommunityForumActivity extends AppCompatActivity {
 
 
         posts = new ArrayList<>();
-        forumPostAdapter = new ForumPostAdapter(this, posts, 
+        forumPostAdapter = new ForumPostAdapter(this,
             new ForumPostAdapter.OnPostActionListener() {
                 @Override
                 public void onLikeClick(Post post) {
@@ -124,13 +135,30 @@ public class CommunityForumActivity extends AppCompatActivity {
                     CommunityForumActivity.this.onPostDeleteClick(post);
                 }
             });
-        postsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager postsLayoutManager = new LinearLayoutManager(this);
+        postsRecyclerView.setLayoutManager(postsLayoutManager);
         postsRecyclerView.setAdapter(forumPostAdapter);
+        postsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && postsLayoutManager.findLastVisibleItemPosition() >= posts.size() - 3) {
+                    loadOlderPosts();
+                }
+            }
+        });
 
-        chatMessages = new ArrayList<>();
-        chatAdapter = new GroupChatMessageAdapter(this, chatMessages);
-        chatRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        chatAdapter = new GroupChatMessageAdapter(this);
+        LinearLayoutManager chatLayoutManager = new LinearLayoutManager(this);
+        chatRecyclerView.setLayoutManager(chatLayoutManager);
         chatRecyclerView.setAdapter(chatAdapter);
+        chatRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (dy < 0 && chatStream != null && chatLayoutManager.findFirstVisibleItemPosition() <= 3) {
+                    chatStream.loadOlder();
+                }
+            }
+        });
 
         // Sort spinner
         ArrayAdapter<CharSequence> sortAdapter = ArrayAdapter.createFromResource(this,
@@ -155,12 +183,11 @@ public class CommunityForumActivity extends AppCompatActivity {
                 if (tab.getPosition() == 0) {
                     forumPostsTab.setVisibility(View.VISIBLE);
                     groupChatTab.setVisibility(View.GONE);
-                    stopChatRefresh();
+                    closeChatStream();
                 } else {
                     forumPostsTab.setVisibility(View.GONE);
                     groupChatTab.setVisibility(View.VISIBLE);
-                    loadChatMessages();
-                    startChatRefresh();
+                    openChatStream();
                     updateOnlineUsers();
                 }
             }
@@ -208,8 +235,6 @@ public class CommunityForumActivity extends AppCompatActivity {
                     postTitleField.setText("");
                     postContentArea.setText("");
                     anonymousCheckBox.setChecked(false);
-                    
-                    loadPosts();
                 });
             }
 
@@ -226,70 +251,139 @@ public class CommunityForumActivity extends AppCompatActivity {
     }
 
     private void loadPosts() {
+        if (newestPostsListener != null) return;
+
         postsProgressBar.setVisibility(View.VISIBLE);
         emptyPostsText.setVisibility(View.GONE);
 
-        forumService.getAllPosts(new CommunityForumService.OnPostsLoadedListener() {
+        // Only the newest page is live; older pages are fetched once as the list scrolls
+        newestPostsListener = forumService.observeNewestPosts(POSTS_PAGE_SIZE, new CommunityForumService.OnPostsLoadedListener() {
             @Override
             public void onPostsLoaded(List<Post> loadedPosts) {
-                runOnUiThread(() -> {
-                    postsProgressBar.setVisibility(View.GONE);
-                    forumPostAdapter.notifyDataSetChanged();
-                    posts.clear();
-                    posts.addAll(loadedPosts);
-
-                    if (posts.isEmpty()) {
-                        emptyPostsText.setVisibility(View.VISIBLE);
-                        postsRecyclerView.setVisibility(View.GONE);
-                    } else {
-                        emptyPostsText.setVisibility(View.GONE);
-                        postsRecyclerView.setVisibility(View.VISIBLE);
+                postsProgressBar.setVisibility(View.GONE);
+
+                // A post pushed out of the live page by newer posts stays in the list. Anything else
+                // that left the page was deleted, here or by someone else, and is dropped.
+                java.util.Set<String> loadedIds = new java.util.HashSet<>();
+                for (Post post : loadedPosts) loadedIds.add(post.getPostId());
+                Post oldestLoaded = loadedPosts.size() == POSTS_PAGE_SIZE ? loadedPosts.get(loadedPosts.size() - 1) : null;
+                for (int i = newestPosts.size() - 1; i >= 0; i--) {
+                    Post post = newestPosts.get(i);
+                    if (!loadedIds.contains(post.getPostId()) && !deletedPostIds.contains(post.getPostId())
+                            && oldestLoaded != null && sortsBefore(post, oldestLoaded)) {
+                        olderPosts.add(0, post);
                     }
-                });
+                }
+
+                newestPosts.clear();
+                newestPosts.addAll(loadedPosts);
+                if (olderPosts.isEmpty()) {
+                    hasOlderPosts = loadedPosts.size() == POSTS_PAGE_SIZE;
+                }
+                refreshPosts();
             }
 
             @Override
             public void onError(String error) {
-                runOnUiThread(() -> {
-                    postsProgressBar.setVisibility(View.GONE);
-                    Toast.makeText(CommunityForumActivity.this, 
-                        "Error loading posts: " + error, Toast.LENGTH_SHORT).show();
-                });
+                postsProgressBar.setVisibility(View.GONE);
+                Toast.makeText(CommunityForumActivity.this,
+                    "Error loading posts: " + error, Toast.LENGTH_SHORT).show();
             }
         });
     }
 
-    private void handleSearch() {
-        String query = searchField.getText().toString().trim();
-        if (query.isEmpty()) {
-            loadPosts();
-            return;
+    // The query's order: createdAt, then post id for equal times
+    private static boolean sortsBefore(Post post, Post other) {
+        if (post.getCreatedAt() != other.getCreatedAt()) {
+            return post.getCreatedAt() < other.getCreatedAt();
         }
+        return post.getPostId().compareTo(other.getPostId()) < 0;
+    }
 
-        postsProgressBar.setVisibility(View.VISIBLE);
-        List<Post> filtered = new ArrayList<>();
-        for (Post post : posts) {
-            if (post.getTitle().toLowerCase().contains(query.toLowerCase()) ||
-                post.getContent().toLowerCase().contains(query.toLowerCase())) {
-                filtered.add(post);
+    private void loadOlderPosts() {
+        if (loadingOlderPosts || !hasOlderPosts || !searchQuery.isEmpty()) return;
+
+        Post oldest = !olderPosts.isEmpty()
+            ? olderPosts.get(olderPosts.size() - 1)
+            : (!newestPosts.isEmpty() ? newestPosts.get(newestPosts.size() - 1) : null);
+        if (oldest == null) return;
+
+        loadingOlderPosts = true;
+        forumService.loadPostsBefore(oldest, POSTS_PAGE_SIZE, new CommunityForumService.OnPostsLoadedListener() {
+            @Override
+            public void onPostsLoaded(List<Post> loadedPosts) {
+                loadingOlderPosts = false;
+                hasOlderPosts = loadedPosts.size() == POSTS_PAGE_SIZE;
+                olderPosts.addAll(loadedPosts);
+                refreshPosts();
             }
-        }
-forumPostAdapter.notifyDataSetChanged();
-        
+
+            @Override
+            public void onError(String error) {
+                loadingOlderPosts = false;
+                Toast.makeText(CommunityForumActivity.this,
+                    "Error loading posts: " + error, Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    // Rebuilds the displayed list from the live page and the older pages, applying any search
+    private void refreshPosts() {
         posts.clear();
-        posts.addAll(filtered);
-        postsProgressBar.setVisibility(View.GONE);
+        java.util.Set<String> shownIds = new java.util.HashSet<>();
+        String lowerQuery = searchQuery.toLowerCase();
+        for (List<Post> page : java.util.Arrays.asList(newestPosts, olderPosts)) {
+            for (Post post : page) {
+                if (deletedPostIds.contains(post.getPostId()) || !shownIds.add(post.getPostId())) continue;
+                if (lowerQuery.isEmpty()
+                        || post.getTitle().toLowerCase().contains(lowerQuery)
+                        || post.getContent().toLowerCase().contains(lowerQuery)) {
+                    posts.add(post);
+                }
+            }
+        }
+        forumPostAdapter.submitList(new ArrayList<>(posts));
 
         if (posts.isEmpty()) {
-            emptyPostsText.setText("No posts found");
+            emptyPostsText.setText(lowerQuery.isEmpty() ? "No posts yet" : "No posts found");
             emptyPostsText.setVisibility(View.VISIBLE);
             postsRecyclerView.setVisibility(View.GONE);
+        } else {
+            emptyPostsText.setVisibility(View.GONE);
+            postsRecyclerView.setVisibility(View.VISIBLE);
         }
     }
 
+    // Older pages have no listener, so a post changed there is re-read on its own
+    private void reloadOlderPost(String postId) {
+        forumService.getPostById(postId, new CommunityForumService.OnPostLoadedListener() {
+            @Override
+            public void onPostLoaded(Post post) {
+                for (int i = 0; i < olderPosts.size(); i++) {
+                    if (olderPosts.get(i).getPostId().equals(postId)) {
+                        olderPosts.set(i, post);
+                        refreshPosts();
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                AppLog.e("CommunityForumActivity", "Error reloading post: " + error);
+            }
+        });
+    }
+
+    private void handleSearch() {
+        searchQuery = searchField.getText().toString().trim();
+        refreshPosts();
+    }
+
     private void handleClearSearch() {
         searchField.setText("");
-        loadPosts();
+        searchQuery = "";
+        refreshPosts();
     }
 
     private void handleSendChatMessage() {
@@ -319,7 +413,6 @@ forumPostAdapter.notifyDataSetChanged();
                 runOnUiThread(() -> {
                     sendMessageButton.setEnabled(true);
                     chatMessageInput.setText("");
-                    loadChatMessages();
                     scrollChatToBottom();
                 });
             }
@@ -335,43 +428,57 @@ forumPostAdapter.notifyDataSetChanged();
         });
     }
 
-    private void loadChatMessages() {
-        forumService.getChatMessages(new CommunityForumService.OnChatMessagesLoadedListener() {
+    // The stream mutates its buffer right before each callback, so each maps onto one notify call
+    private void openChatStream() {
+        if (chatStream != null) return;
+
+        chatStream = forumService.openChatStream(CHAT_PAGE_SIZE, CHAT_WINDOW_SIZE, new GroupChatStream.OnChatStreamListener() {
             @Override
-            public void onMessagesLoaded(List<GroupChatMessage> messages) {
-                runOnUiThread(() -> {
-                    chatAdapter.notifyDataSetChanged();
-                    chatMessages.clear();
-                    chatMessages.addAll(messages);
+            public void onBackfilled(int count) {
+                // The window only holds these when this is the first page
+                boolean firstPage = chatAdapter.getItemCount() == count;
+                chatAdapter.notifyItemRangeInserted(0, count);
+                if (firstPage && count > 0) {
+                    chatRecyclerView.scrollToPosition(count - 1);
+                }
+            }
+
+            @Override
+            public void onInserted(int position, int evicted) {
+                // Follow new messages only when already at the bottom, not while reading history
+                boolean atBottom = !chatRecyclerView.canScrollVertically(1);
+                if (evicted > 0) {
+                    chatAdapter.notifyItemRangeRemoved(0, evicted);
+                }
+                chatAdapter.notifyItemInserted(position);
+                if (atBottom) {
                     scrollChatToBottom();
-                });
+                }
             }
 
             @Override
-            public void onError(String error) {
-                runOnUiThread(() -> {
-                    Toast.makeText(CommunityForumActivity.this, 
-                        "Error loading messages: " + error, Toast.LENGTH_SHORT).show();
-                });
+            public void onChanged(int position) {
+                chatAdapter.notifyItemChanged(position);
             }
-        });
-    }
 
-    private void startChatRefresh() {
-        chatRefreshHandler = new Handler(Looper.getMainLooper());
-        chatRefreshRunnable = new Runnable() {
             @Override
-            public void run() {
-                loadChatMessages();
-                chatRefreshHandler.postDelayed(this, 3000);
+            public void onRemoved(int position) {
+                chatAdapter.notifyItemRemoved(position);
             }
-        };
-        chatRefreshHandler.postDelayed(chatRefreshRunnable, 3000);
+
+            @Override
+            public void onError(String error) {
+                Toast.makeText(CommunityForumActivity.this, 
+                    "Error loading messages: " + error, Toast.LENGTH_SHORT).show();
+            }
+        });
+        chatAdapter.setMessages(chatStream.getMessages());
     }
 
-    private void stopChatRefresh() {
-        if (chatRefreshHandler != null && chatRefreshRunnable != null) {
-            chatRefreshHandler.removeCallbacks(chatRefreshRunnable);
+    private void closeChatStream() {
+        if (chatStream != null) {
+            chatStream.stop();
+            chatStream = null;
         }
     }
 
@@ -386,7 +493,7 @@ forumPostAdapter.notifyDataSetChanged();
             new CommunityForumService.OnOperationCompleteListener() {
                 @Override
                 public void onSuccess() {
-                    loadPosts();
+                    reloadOlderPost(post.getPostId());
                 }
 
                 @Override
@@ -417,7 +524,8 @@ forumPostAdapter.notifyDataSetChanged();
                     @Override
                     public void onSuccess() {
                         Toast.makeText(CommunityForumActivity.this, "Post deleted", Toast.LENGTH_SHORT).show();
-                        loadPosts();
+                        deletedPostIds.add(post.getPostId());
+                        refreshPosts();
                     }
 
                     @Override
@@ -431,8 +539,8 @@ forumPostAdapter.notifyDataSetChanged();
     }
 
     private void scrollChatToBottom() {
-        if (chatMessages.size() > 0) {
-            chatRecyclerView.smoothScrollToPosition(chatMessages.size() - 1);
+        if (chatAdapter.getItemCount() > 0) {
+            chatRecyclerView.smoothScrollToPosition(chatAdapter.getItemCount() - 1);
         }
     }
 
@@ -444,7 +552,11 @@ forumPostAdapter.notifyDataSetChanged();
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        stopChatRefresh();
+        closeChatStream();
+        if (newestPostsListener != null) {
+            forumService.removePostsListener(newestPostsListener);
+            newestPostsListener = null;
+        }
     }
 
     @Override
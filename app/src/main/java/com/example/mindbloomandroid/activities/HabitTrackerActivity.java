@@ -19,7 +19,9 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.HabitAdapter;
 import com.example.mindbloomandroid.model.Habit;
 import com.example.mindbloomandroid.model.HabitCompletion;
+import com.example.mindbloomandroid.service.IncrementalListSync;
 import com.example.mindbloomandroid.service.HabitService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import java.text.SimpleDateFormat;
@@ -42,6 +44,7 @@ public class HabitTrackerActivity extends AppCompatActivity {
     private SharedPreferencesManager prefsManager;
     private HabitAdapter habitAdapter;
     private List<Habit> habits;
+    private IncrementalListSync<Habit> habitSync;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -80,7 +83,7 @@ public class HabitTrackerActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        habitAdapter = new HabitAdapter(this, habits, 
+        habitAdapter = new HabitAdapter(this,
             habit -> markHabitComplete(habit),
             habit -> viewHabitHistory(habit),
             habit -> deleteHabit(habit));
@@ -91,42 +94,58 @@ public class HabitTrackerActivity extends AppCompatActivity {
     private void loadHabits() {
         String userId = prefsManager.getUserId();
         if (userId == null) {
-            android.util.Log.e("HabitTracker", "❌ User ID is null - cannot load habits");
+            AppLog.e("HabitTracker", "❌ User ID is null - cannot load habits");
             Toast.makeText(this, "User not logged in", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
+        if (habitSync != null && habitSync.isRunning()) {
+            return;
+        }
 
-        android.util.Log.d("HabitTracker", "📖 Loading habits for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("HabitTracker", "📖 Loading habits for user: " + userId);
+        }
         progressBar.setVisibility(View.VISIBLE);
 
-        habitService.getUserHabits(userId, new HabitService.OnHabitsLoadedListener() {
+        // Child events update only the affected row, so saves and deletes need no reload
+        habitSync = habitService.observeUserHabits(userId, habits, new IncrementalListSync.OnListChangedListener<Habit>() {
             @Override
-            public void onHabitsLoaded(List<Habit> loadedHabits) {
-                android.util.Log.d("HabitTracker", "✅ Habits loaded: " + loadedHabits.size() + " habits");
-
+            public void onInitialLoadComplete(int itemCount) {
                 progressBar.setVisibility(View.GONE);
-                habits.clear();
-                habits.addAll(loadedHabits);
-                habitAdapter.notifyDataSetChanged();
-                
-                updateStatistics();
-
-                if (habits.isEmpty()) {
-                    android.util.Log.d("HabitTracker", "ℹ️ No habits found for user");
+                showHabits();
+
+                if (itemCount == 0) {
+                    AppLog.d("HabitTracker", "ℹ️ No habits found for user");
                     Toast.makeText(HabitTrackerActivity.this,
                         "No habits yet. Tap + to add your first habit!", 
                         Toast.LENGTH_LONG).show();
-                } else {
-                    Toast.makeText(HabitTrackerActivity.this,
-                        "Loaded " + habits.size() + " habits",
-                        Toast.LENGTH_SHORT).show();
                 }
             }
 
+            @Override
+            public void onItemInserted(int position, Habit item) {
+                showHabits();
+            }
+
+            @Override
+            public void onItemChanged(int position, Habit item) {
+                showHabits();
+            }
+
+            @Override
+            public void onItemRemoved(int position, Habit item) {
+                showHabits();
+            }
+
+            @Override
+            public void onItemMoved(int fromPosition, int toPosition, Habit item) {
+                // onItemChanged follows with the reordered list
+            }
+
             @Override
             public void onError(String error) {
-                android.util.Log.e("HabitTracker", "❌ Error loading habits: " + error);
+                AppLog.e("HabitTracker", "❌ Error loading habits: " + error);
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(HabitTrackerActivity.this, 
                     "Error loading habits: " + error, 
@@ -135,6 +154,12 @@ public class HabitTrackerActivity extends AppCompatActivity {
         });
     }
 
+    private void showHabits() {
+        if (habitSync != null && habitSync.isInitialLoadComplete()) {
+            habitAdapter.submitList(new ArrayList<>(habits));
+            updateStatistics();
+        }
+    }
 
     private void showAddHabitDialog() {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
@@ -191,7 +216,6 @@ public class HabitTrackerActivity extends AppCompatActivity {
                 Toast.makeText(HabitTrackerActivity.this, 
                     "Habit added successfully!", 
                     Toast.LENGTH_SHORT).show();
-                loadHabits();
             }
 
             @Override
@@ -224,7 +248,6 @@ public class HabitTrackerActivity extends AppCompatActivity {
                 Toast.makeText(HabitTrackerActivity.this, 
                     "Great job! ✅ Keep up the streak!", 
                     Toast.LENGTH_SHORT).show();
-                loadHabits();
             }
 
             @Override
@@ -290,7 +313,6 @@ public class HabitTrackerActivity extends AppCompatActivity {
                         Toast.makeText(HabitTrackerActivity.this,
                             "Habit deleted",
                             Toast.LENGTH_SHORT).show();
-                        loadHabits();
                     }
 
                     @Override
@@ -323,4 +345,12 @@ public class HabitTrackerActivity extends AppCompatActivity {
         super.onResume();
         loadHabits();
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (habitSync != null) {
+            habitSync.stop();
+        }
+    }
 }
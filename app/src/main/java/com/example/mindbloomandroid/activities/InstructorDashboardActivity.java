@@ -2,8 +2,6 @@ package com.example.mindbloomandroid.activities;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.MenuItem;
 import android.view.ViewGroup;
@@ -24,6 +22,11 @@ import androidx.viewpager2.widget.ViewPager2;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.fragments.SessionRequestsFragment;
 import com.example.mindbloomandroid.service.InstructorService;
+import com.example.mindbloomandroid.service.QueryCache;
+import com.example.mindbloomandroid.service.UserTimelines;
+import com.example.mindbloomandroid.service.WeekScheduleCache;
+import com.example.mindbloomandroid.stream.StreamObserver;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.navigation.NavigationView;
 import com.google.android.material.tabs.TabLayout;
@@ -51,60 +54,55 @@ public class InstructorDashboardActivity extends AppCompatActivity
     private InstructorService instructorService;
     private SharedPreferencesManager prefsManager;
 
-
-    private Handler refreshHandler;
-    private Runnable refreshRunnable;
-    private static final int REFRESH_INTERVAL_MS = 5000; // 5 seconds
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        android.util.Log.d("InstructorDash", "🎯 ============================================");
-        android.util.Log.d("InstructorDash", "🎯 InstructorDashboardActivity.onCreate() called");
-        android.util.Log.d("InstructorDash", "🎯 ============================================");
+        AppLog.d("InstructorDash", "🎯 ============================================");
+        AppLog.d("InstructorDash", "🎯 InstructorDashboardActivity.onCreate() called");
+        AppLog.d("InstructorDash", "🎯 ============================================");
 
         try {
             setContentView(R.layout.activity_instructor_dashboard);
-            android.util.Log.d("InstructorDash", " Layout inflated successfully");
+            AppLog.d("InstructorDash", " Layout inflated successfully");
 
             prefsManager = SharedPreferencesManager.getInstance(this);
-            android.util.Log.d("InstructorDash", "SharedPreferencesManager initialized");
+            AppLog.d("InstructorDash", "SharedPreferencesManager initialized");
 
             String userId = prefsManager.getUserId();
             String username = prefsManager.getUsername();
             String role = prefsManager.getRole();
 
-            android.util.Log.d("InstructorDash", "📋 User Info:");
-            android.util.Log.d("InstructorDash", "   UserID: " + userId);
-            android.util.Log.d("InstructorDash", "   Username: " + username);
-            android.util.Log.d("InstructorDash", "   Role: " + role);
+            if (AppLog.ENABLED) {
+                AppLog.d("InstructorDash", "📋 User Info:");
+                AppLog.d("InstructorDash", "   UserID: " + userId);
+                AppLog.d("InstructorDash", "   Username: " + username);
+                AppLog.d("InstructorDash", "   Role: " + role);
+            }
 
             instructorService = new InstructorService();
-            android.util.Log.d("InstructorDash", " InstructorService initialized");
+            AppLog.d("InstructorDash", " InstructorService initialized");
 
             initializeViews();
-            android.util.Log.d("InstructorDash", " Views initialized");
+            AppLog.d("InstructorDash", " Views initialized");
 
             setupToolbar();
-            android.util.Log.d("InstructorDash", "Toolbar setup complete");
+            AppLog.d("InstructorDash", "Toolbar setup complete");
 
             setupNavigationDrawer();
-            android.util.Log.d("InstructorDash", " Navigation drawer setup complete");
+            AppLog.d("InstructorDash", " Navigation drawer setup complete");
 
             setupTabs();
-            android.util.Log.d("InstructorDash", " Tabs setup complete");
+            AppLog.d("InstructorDash", " Tabs setup complete");
 
+            // Live: the counters update as requests and sessions change, no polling needed
             loadDashboardData();
-            android.util.Log.d("InstructorDash", " Loading dashboard data");
+            AppLog.d("InstructorDash", " Loading dashboard data");
 
-            startAutoRefresh();
-            android.util.Log.d("InstructorDash", " Auto-refresh started");
-
-            android.util.Log.d("InstructorDash", "🎉 Instructor Dashboard loaded successfully!");
+            AppLog.d("InstructorDash", "🎉 Instructor Dashboard loaded successfully!");
 
         } catch (Exception e) {
-            android.util.Log.e("InstructorDash", " EXCEPTION in onCreate: " + e.getMessage(), e);
+            AppLog.e("InstructorDash", " EXCEPTION in onCreate: " + e.getMessage(), e);
             Toast.makeText(this, "Error loading dashboard: " + e.getMessage(), Toast.LENGTH_LONG).show();
         }
     }
@@ -174,17 +172,19 @@ public class InstructorDashboardActivity extends AppCompatActivity
     private void loadDashboardData() {
         String instructorId = prefsManager.getUserId();
         if (instructorId == null) {
-            android.util.Log.e("InstructorDash", " User ID is null");
+            AppLog.e("InstructorDash", " User ID is null");
             Toast.makeText(this, "User ID not found", Toast.LENGTH_SHORT).show();
             return;
         }
 
-        android.util.Log.d("InstructorDash", "📊 Loading dashboard stats for instructor: " + instructorId);
+        if (AppLog.ENABLED) {
+            AppLog.d("InstructorDash", "📊 Loading dashboard stats for instructor: " + instructorId);
+        }
 
-        instructorService.getDashboardStats(instructorId, new InstructorService.OnStatsLoadedListener() {
+        instructorService.dashboardStats(instructorId).observe(this, new StreamObserver<Map<String, Integer>>() {
             @Override
-            public void onStatsLoaded(Map<String, Integer> stats) {
-                android.util.Log.d("InstructorDash", " Stats loaded: " + stats.toString());
+            public void onNext(Map<String, Integer> stats) {
+                AppLog.d("InstructorDash", () -> " Stats loaded: " + stats);
 
                 runOnUiThread(() -> {
                     try {
@@ -200,16 +200,16 @@ public class InstructorDashboardActivity extends AppCompatActivity
                         if (availableSlotsLabel != null) {
                             availableSlotsLabel.setText(String.valueOf(stats.getOrDefault("availableSlots", 0)));
                         }
-                        android.util.Log.d("InstructorDash", " Stats displayed successfully");
+                        AppLog.d("InstructorDash", " Stats displayed successfully");
                     } catch (Exception e) {
-                        android.util.Log.e("InstructorDash", " Error displaying stats: " + e.getMessage(), e);
+                        AppLog.e("InstructorDash", " Error displaying stats: " + e.getMessage(), e);
                     }
                 });
             }
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("InstructorDash", " Error loading stats: " + error);
+                AppLog.e("InstructorDash", " Error loading stats: " + error);
 
                 runOnUiThread(() -> {
                     // Set default values instead of showing error
@@ -219,7 +219,7 @@ public class InstructorDashboardActivity extends AppCompatActivity
                         if (totalClientsLabel != null) totalClientsLabel.setText("0");
                         if (availableSlotsLabel != null) availableSlotsLabel.setText("0");
                     } catch (Exception e) {
-                        android.util.Log.e("InstructorDash", " Error setting default stats: " + e.getMessage());
+                        AppLog.e("InstructorDash", " Error setting default stats: " + e.getMessage());
                     }
                 });
             }
@@ -227,24 +227,6 @@ public class InstructorDashboardActivity extends AppCompatActivity
     }
 
 
-    private void startAutoRefresh() {
-        refreshHandler = new Handler(Looper.getMainLooper());
-        refreshRunnable = new Runnable() {
-            @Override
-            public void run() {
-                loadDashboardData();
-                refreshHandler.postDelayed(this, REFRESH_INTERVAL_MS);
-            }
-        };
-        refreshHandler.post(refreshRunnable);
-    }
-
-    private void stopAutoRefresh() {
-        if (refreshHandler != null && refreshRunnable != null) {
-            refreshHandler.removeCallbacks(refreshRunnable);
-        }
-    }
-
     @Override
     public boolean onNavigationItemSelected(@NonNull MenuItem item) {
         int id = item.getItemId();
@@ -269,6 +251,9 @@ public class InstructorDashboardActivity extends AppCompatActivity
             .setMessage("Are you sure you want to logout?")
             .setPositiveButton("Yes", (dialog, which) -> {
                 prefsManager.clearSession();
+                QueryCache.getInstance().clear();
+                UserTimelines.releaseSynced();
+                WeekScheduleCache.getInstance().clear();
                 Intent intent = new Intent(this, MainActivity.class);
                 intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
                 startActivity(intent);
@@ -278,12 +263,6 @@ public class InstructorDashboardActivity extends AppCompatActivity
             .show();
     }
 
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        stopAutoRefresh();
-    }
-
     @Override
     public void onBackPressed() {
         if (drawerLayout.isDrawerOpen(GravityCompat.START)) {
@@ -303,34 +282,38 @@ public class InstructorDashboardActivity extends AppCompatActivity
         @Override
         public Fragment createFragment(int position) {
             // Tab 0: Session Requests, Tab 1: Schedule, Tab 2: Clients, Tab 3: Notes, Tab 4: Messages, Tab 5: Analytics
-            android.util.Log.d("ViewPagerAdapter", "📍 Creating fragment for tab position: " + position);
+            if (AppLog.ENABLED) {
+                AppLog.d("ViewPagerAdapter", "📍 Creating fragment for tab position: " + position);
+            }
 
             try {
                 switch (position) {
                     case 0:
-                        android.util.Log.d("ViewPagerAdapter", "✅ Creating SessionRequestsFragment");
+                        AppLog.d("ViewPagerAdapter", "✅ Creating SessionRequestsFragment");
                         return new SessionRequestsFragment();
                     case 1:
-                        android.util.Log.d("ViewPagerAdapter", "✅ Creating ScheduleFragment");
+                        AppLog.d("ViewPagerAdapter", "✅ Creating ScheduleFragment");
                         return new com.example.mindbloomandroid.fragments.ScheduleFragment();
                     case 2:
-                        android.util.Log.d("ViewPagerAdapter", "✅ Creating ClientsFragment");
+                        AppLog.d("ViewPagerAdapter", "✅ Creating ClientsFragment");
                         return new com.example.mindbloomandroid.fragments.ClientsFragment();
                     case 3:
-                        android.util.Log.d("ViewPagerAdapter", "✅ Creating TherapyNotesFragment");
+                        AppLog.d("ViewPagerAdapter", "✅ Creating TherapyNotesFragment");
                         return new com.example.mindbloomandroid.fragments.TherapyNotesFragment();
                     case 4:
-                        android.util.Log.d("ViewPagerAdapter", "✅ Creating InstructorMessagesFragment");
+                        AppLog.d("ViewPagerAdapter", "✅ Creating InstructorMessagesFragment");
                         return new com.example.mindbloomandroid.fragments.InstructorMessagesFragment();
                     case 5:
-                        android.util.Log.d("ViewPagerAdapter", "✅ Creating InstructorAnalyticsFragment");
+                        AppLog.d("ViewPagerAdapter", "✅ Creating InstructorAnalyticsFragment");
                         return new com.example.mindbloomandroid.fragments.InstructorAnalyticsFragment();
                     default:
-                        android.util.Log.d("ViewPagerAdapter", "⚠ Creating PlaceholderFragment for position: " + position);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("ViewPagerAdapter", "⚠ Creating PlaceholderFragment for position: " + position);
+                        }
                         return PlaceholderFragment.newInstance(position);
                 }
             } catch (Exception e) {
-                android.util.Log.e("ViewPagerAdapter", "❌ Error creating fragment at position " + position + ": " + e.getMessage(), e);
+                AppLog.e("ViewPagerAdapter", "❌ Error creating fragment at position " + position + ": " + e.getMessage(), e);
 
                 return PlaceholderFragment.newInstance(position);
             }
@@ -385,7 +368,9 @@ public class InstructorDashboardActivity extends AppCompatActivity
                     ? getArguments().getInt(ARG_POSITION, -1)
                     : -1;
 
-                android.util.Log.d("PlaceholderFragment", "📍 Loading placeholder for position: " + position);
+                if (AppLog.ENABLED) {
+                    AppLog.d("PlaceholderFragment", "📍 Loading placeholder for position: " + position);
+                }
 
                 String message;
                 switch (position) {
@@ -417,11 +402,11 @@ public class InstructorDashboardActivity extends AppCompatActivity
 
                 if (view instanceof android.view.ViewGroup) {
                     ((android.view.ViewGroup) view).addView(textView);
-                    android.util.Log.d("PlaceholderFragment", " Placeholder view added successfully");
+                    AppLog.d("PlaceholderFragment", " Placeholder view added successfully");
                 }
 
             } catch (Exception e) {
-                android.util.Log.e("PlaceholderFragment", " Error in onViewCreated: " + e.getMessage(), e);
+                AppLog.e("PlaceholderFragment", " Error in onViewCreated: " + e.getMessage(), e);
                 if (getContext() != null) {
                     Toast.makeText(getContext(), "Error loading tab", Toast.LENGTH_SHORT).show();
                 }
@@ -15,6 +15,7 @@ import androidx.appcompat.widget.Toolbar;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.JournalEntry;
 import com.example.mindbloomandroid.service.JournalService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.example.mindbloomandroid.utility.DateTimeUtil;
 
@@ -93,13 +94,15 @@ public class JournalActivity extends AppCompatActivity {
 
         String userId = prefsManager.getUserId();
         if (userId == null) {
-            android.util.Log.e("JournalActivity", "❌ User ID is null - cannot load journal");
+            AppLog.e("JournalActivity", "❌ User ID is null - cannot load journal");
             Toast.makeText(this, "Please login first", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
 
-        android.util.Log.d("JournalActivity", "📖 Loading journal for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("JournalActivity", "📖 Loading journal for user: " + userId);
+        }
 
 
         journalService.getJournalByUserId(userId, new JournalService.OnJournalLoadedListener() {
@@ -108,7 +111,9 @@ public class JournalActivity extends AppCompatActivity {
                 currentJournal = journal;
 
                 if (journal != null && journal.getContent() != null && !journal.getContent().isEmpty()) {
-                    android.util.Log.d("JournalActivity", " Journal loaded - Content length: " + journal.getContent().length());
+                    if (AppLog.ENABLED) {
+                        AppLog.d("JournalActivity", " Journal loaded - Content length: " + journal.getContent().length());
+                    }
                     journalTextArea.setText(journal.getContent());
                     updateLastUpdatedLabel();
                     statusLabel.setText("Loaded");
@@ -116,7 +121,7 @@ public class JournalActivity extends AppCompatActivity {
                     Toast.makeText(JournalActivity.this, "Journal loaded", Toast.LENGTH_SHORT).show();
                 } else {
                     // No journal yet - create new one
-                    android.util.Log.d("JournalActivity", "ℹ️ No existing journal - ready for new entry");
+                    AppLog.d("JournalActivity", "ℹ️ No existing journal - ready for new entry");
                     statusLabel.setText("Ready to write");
                     statusLabel.setTextColor(getResources().getColor(android.R.color.holo_blue_light));
                 }
@@ -126,7 +131,7 @@ public class JournalActivity extends AppCompatActivity {
 
             @Override
             public void onFailure(String error) {
-                android.util.Log.e("JournalActivity", " Failed to load journal: " + error);
+                AppLog.e("JournalActivity", " Failed to load journal: " + error);
                 showLoading(false);
                 statusLabel.setText("Error: " + error);
                 statusLabel.setTextColor(getResources().getColor(android.R.color.holo_red_light));
@@ -154,13 +159,15 @@ public class JournalActivity extends AppCompatActivity {
 
         String userId = prefsManager.getUserId();
 
-        android.util.Log.d("JournalActivity", "💾 Attempting to save journal for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("JournalActivity", "💾 Attempting to save journal for user: " + userId);
+        }
 
         new Thread(() -> {
             try {
                 if (currentJournal == null) {
                     // Create new journal
-                    android.util.Log.d("JournalActivity", "📝 Creating NEW journal entry");
+                    AppLog.d("JournalActivity", "📝 Creating NEW journal entry");
 
                     JournalEntry newJournal = new JournalEntry();
                     newJournal.setUserId(userId);
@@ -171,7 +178,7 @@ public class JournalActivity extends AppCompatActivity {
                     journalService.createJournal(newJournal, new JournalService.OnCompleteListener() {
                         @Override
                         public void onSuccess(String journalId) {
-                            android.util.Log.d("JournalActivity", "✅ Journal saved successfully!");
+                            AppLog.d("JournalActivity", "✅ Journal saved successfully!");
                             runOnUiThread(() -> {
                                 currentJournal = newJournal;
                                 currentJournal.setJournalId(journalId);
@@ -185,7 +192,7 @@ public class JournalActivity extends AppCompatActivity {
 
                         @Override
                         public void onFailure(String error) {
-                            android.util.Log.e("JournalActivity", "❌ Failed to save journal: " + error);
+                            AppLog.e("JournalActivity", "❌ Failed to save journal: " + error);
                             runOnUiThread(() -> {
                                 statusLabel.setText("Error: " + error);
                                 statusLabel.setTextColor(getResources().getColor(android.R.color.holo_red_light));
@@ -203,7 +210,7 @@ public class JournalActivity extends AppCompatActivity {
                     });
                 } else {
                     // Update existing journal
-                    android.util.Log.d("JournalActivity", "✏️ Updating EXISTING journal entry");
+                    AppLog.d("JournalActivity", "✏️ Updating EXISTING journal entry");
 
                     currentJournal.setContent(content);
                     currentJournal.setUpdatedAt(System.currentTimeMillis());
@@ -212,7 +219,7 @@ public class JournalActivity extends AppCompatActivity {
                         new JournalService.OnCompleteListener() {
                         @Override
                         public void onSuccess(String message) {
-                            android.util.Log.d("JournalActivity", "✅ Journal updated successfully!");
+                            AppLog.d("JournalActivity", "✅ Journal updated successfully!");
                             runOnUiThread(() -> {
                                 statusLabel.setText("Saved successfully");
                                 statusLabel.setTextColor(getResources().getColor(android.R.color.holo_green_light));
@@ -224,7 +231,7 @@ public class JournalActivity extends AppCompatActivity {
 
                         @Override
                         public void onFailure(String error) {
-                            android.util.Log.e("JournalActivity", " Failed to update journal: " + error);
+                            AppLog.e("JournalActivity", " Failed to update journal: " + error);
                             runOnUiThread(() -> {
                                 statusLabel.setText("Error: " + error);
                                 statusLabel.setTextColor(getResources().getColor(android.R.color.holo_red_light));
@@ -11,6 +11,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.service.FirebaseAuthService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.textfield.TextInputEditText;
 
@@ -58,8 +59,10 @@ public class LoginActivity extends AppCompatActivity {
         String username = usernameEditText.getText().toString().trim();
         String password = passwordEditText.getText().toString().trim();
 
-        android.util.Log.d("Login", "🔐 Login attempt - Username: " + username);
-        android.util.Log.d("Login", "📋 Selected role from intent: " + selectedRole);
+        if (AppLog.ENABLED) {
+            AppLog.d("Login", "🔐 Login attempt - Username: " + username);
+            AppLog.d("Login", "📋 Selected role from intent: " + selectedRole);
+        }
 
         if (TextUtils.isEmpty(username) || TextUtils.isEmpty(password)) {
             Toast.makeText(this, "Please fill all fields", Toast.LENGTH_SHORT).show();
@@ -73,35 +76,41 @@ public class LoginActivity extends AppCompatActivity {
         authService.loginUser(username, password, new FirebaseAuthService.OnAuthCompleteListener() {
             @Override
             public void onSuccess(String message) {
-                android.util.Log.d("Login", "✅ Authentication successful");
+                AppLog.d("Login", "✅ Authentication successful");
 
 
                 authService.fetchUserData(new FirebaseAuthService.OnUserDataFetchedListener() {
                     @Override
                     public void onSuccess(String userId, String fetchedUsername, String role) {
-                        android.util.Log.d("Login", "✅ User data fetched:");
-                        android.util.Log.d("Login", "   UserID: " + userId);
-                        android.util.Log.d("Login", "   Username: " + fetchedUsername);
-                        android.util.Log.d("Login", "   Role from database: " + role);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("Login", "✅ User data fetched:");
+                            AppLog.d("Login", "   UserID: " + userId);
+                            AppLog.d("Login", "   Username: " + fetchedUsername);
+                            AppLog.d("Login", "   Role from database: " + role);
+                        }
 
 
                         prefsManager.saveUserSession(userId, fetchedUsername, role);
 
 
                         String savedRole = prefsManager.getRole();
-                        android.util.Log.d("Login", "✅ Saved to SharedPreferences - Role: " + savedRole);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("Login", "✅ Saved to SharedPreferences - Role: " + savedRole);
+                        }
 
                         showLoading(false);
                         Toast.makeText(LoginActivity.this, "Welcome back, " + fetchedUsername + "!", Toast.LENGTH_SHORT).show();
 
 
-                        android.util.Log.d("Login", "🚀 Navigating to dashboard based on role: " + role);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("Login", "🚀 Navigating to dashboard based on role: " + role);
+                        }
                         navigateToDashboardByRole(role);
                     }
 
                     @Override
                     public void onError(String error) {
-                        android.util.Log.e("Login", "❌ Error fetching user data: " + error);
+                        AppLog.e("Login", "❌ Error fetching user data: " + error);
                         showLoading(false);
                         Toast.makeText(LoginActivity.this, "Error fetching user data: " + error, Toast.LENGTH_LONG).show();
 
@@ -112,7 +121,7 @@ public class LoginActivity extends AppCompatActivity {
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("Login", "❌ Authentication failed: " + error);
+                AppLog.e("Login", "❌ Authentication failed: " + error);
                 showLoading(false);
                 Toast.makeText(LoginActivity.this, "Login Error: " + error, Toast.LENGTH_LONG).show();
             }
@@ -126,20 +135,26 @@ public class LoginActivity extends AppCompatActivity {
     }
 
     private void navigateToDashboardByRole(String role) {
-        android.util.Log.d("Login", "📍 navigateToDashboardByRole called");
-        android.util.Log.d("Login", "   Input role: '" + role + "'");
-        android.util.Log.d("Login", "   Role equalsIgnoreCase 'Instructor': " + "Instructor".equalsIgnoreCase(role));
+        if (AppLog.ENABLED) {
+            AppLog.d("Login", "📍 navigateToDashboardByRole called");
+            AppLog.d("Login", "   Input role: '" + role + "'");
+            AppLog.d("Login", "   Role equalsIgnoreCase 'Instructor': " + "Instructor".equalsIgnoreCase(role));
+        }
 
         Intent intent;
         if ("Instructor".equalsIgnoreCase(role)) {
-            android.util.Log.d("Login", "🎯 Opening InstructorDashboardActivity");
+            AppLog.d("Login", "🎯 Opening InstructorDashboardActivity");
             intent = new Intent(this, InstructorDashboardActivity.class);
         } else {
-            android.util.Log.d("Login", "🎯 Opening UserDashboardActivity (role: " + role + ")");
+            if (AppLog.ENABLED) {
+                AppLog.d("Login", "🎯 Opening UserDashboardActivity (role: " + role + ")");
+            }
             intent = new Intent(this, UserDashboardActivity.class);
         }
 
-        android.util.Log.d("Login", "✅ Starting activity: " + intent.getComponent().getClassName());
+        if (AppLog.ENABLED) {
+            AppLog.d("Login", "✅ Starting activity: " + intent.getComponent().getClassName());
+        }
         startActivity(intent);
         finish();
     }
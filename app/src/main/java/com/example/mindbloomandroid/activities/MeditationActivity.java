@@ -15,6 +15,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import com.example.mindbloomandroid.R;
+import com.example.mindbloomandroid.utility.AppLog;
 
 
 public class MeditationActivity extends AppCompatActivity {
@@ -77,7 +78,7 @@ public class MeditationActivity extends AppCompatActivity {
 
 
     private void setupWebView() {
-        android.util.Log.d("Meditation", "📺 Setting up WebView for video playback");
+        AppLog.d("Meditation", "📺 Setting up WebView for video playback");
 
         WebSettings webSettings = videoWebView.getSettings();
 
@@ -112,14 +113,16 @@ public class MeditationActivity extends AppCompatActivity {
             @Override
             public void onPageFinished(WebView view, String url) {
                 super.onPageFinished(view, url);
-                android.util.Log.d("Meditation", "✅ Page loaded: " + url);
+                if (AppLog.ENABLED) {
+                    AppLog.d("Meditation", "✅ Page loaded: " + url);
+                }
             }
 
             @Override
             public void onReceivedError(WebView view, WebResourceRequest request, WebResourceError error) {
                 super.onReceivedError(view, request, error);
                 String errorMsg = "Error " + error.getErrorCode() + ": " + error.getDescription();
-                android.util.Log.e("Meditation", "❌ WebView error: " + errorMsg);
+                AppLog.e("Meditation", "❌ WebView error: " + errorMsg);
 
 
                 if (request.isForMainFrame()) {
@@ -132,7 +135,9 @@ public class MeditationActivity extends AppCompatActivity {
             @Override
             public boolean shouldOverrideUrlLoading(WebView view, WebResourceRequest request) {
                 String url = request.getUrl().toString();
-                android.util.Log.d("Meditation", "🔗 URL clicked: " + url);
+                if (AppLog.ENABLED) {
+                    AppLog.d("Meditation", "🔗 URL clicked: " + url);
+                }
 
 
                 if (url.startsWith("openvideo://")) {
@@ -148,7 +153,7 @@ public class MeditationActivity extends AppCompatActivity {
 
         videoWebView.setWebChromeClient(new WebChromeClient());
 
-        android.util.Log.d("Meditation", "✅ WebView configured successfully");
+        AppLog.d("Meditation", "✅ WebView configured successfully");
     }
 
 
@@ -186,8 +191,10 @@ public class MeditationActivity extends AppCompatActivity {
 
 
     private void loadVideo(String videoId, String title, String description) {
-        android.util.Log.d("Meditation", "🎬 Loading video: " + title);
-        android.util.Log.d("Meditation", "   Video ID: " + videoId);
+        if (AppLog.ENABLED) {
+            AppLog.d("Meditation", "🎬 Loading video: " + title);
+            AppLog.d("Meditation", "   Video ID: " + videoId);
+        }
 
         currentVideoTitle.setText(title);
         videoDescription.setText(description);
@@ -260,7 +267,7 @@ public class MeditationActivity extends AppCompatActivity {
                 "</body>" +
                 "</html>";
 
-        android.util.Log.d("Meditation", "📄 Loading HTML into WebView...");
+        AppLog.d("Meditation", "📄 Loading HTML into WebView...");
         videoWebView.loadDataWithBaseURL("https://www.youtube.com", html, "text/html", "UTF-8", null);
 
         Toast.makeText(this, "Tap 'Watch Video' to open in YouTube", Toast.LENGTH_SHORT).show();
@@ -268,21 +275,23 @@ public class MeditationActivity extends AppCompatActivity {
 
 
     private void openYouTubeVideo(String videoId) {
-        android.util.Log.d("Meditation", "📺 Opening YouTube video: " + videoId);
+        if (AppLog.ENABLED) {
+            AppLog.d("Meditation", "📺 Opening YouTube video: " + videoId);
+        }
 
         try {
 
             Intent appIntent = new Intent(Intent.ACTION_VIEW,
                 Uri.parse("vnd.youtube:" + videoId));
             startActivity(appIntent);
-            android.util.Log.d("Meditation", "✅ Opened in YouTube app");
+            AppLog.d("Meditation", "✅ Opened in YouTube app");
         } catch (android.content.ActivityNotFoundException ex) {
 
-            android.util.Log.d("Meditation", "YouTube app not found, opening in browser");
+            AppLog.d("Meditation", "YouTube app not found, opening in browser");
             Intent webIntent = new Intent(Intent.ACTION_VIEW,
                 Uri.parse("https://www.youtube.com/watch?v=" + videoId));
             startActivity(webIntent);
-            android.util.Log.d("Meditation", "✅ Opened in browser");
+            AppLog.d("Meditation", "✅ Opened in browser");
         }
     }
 
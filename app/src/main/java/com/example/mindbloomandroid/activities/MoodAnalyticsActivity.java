@@ -18,7 +18,10 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.MoodLogAdapter;
 import com.example.mindbloomandroid.model.MoodLog;
 import com.example.mindbloomandroid.service.MoodLogService;
+import com.example.mindbloomandroid.utility.ChartSeries;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
+import com.example.mindbloomandroid.utility.stats.RunningStats;
+import com.example.mindbloomandroid.utility.stats.TimeSeries;
 import com.github.mikephil.charting.charts.BarChart;
 import com.github.mikephil.charting.components.XAxis;
 import com.github.mikephil.charting.data.BarData;
@@ -68,7 +71,7 @@ public class MoodAnalyticsActivity extends AppCompatActivity {
     }
     
     private void setupRecyclerView() {
-        moodLogAdapter = new MoodLogAdapter(this, moodLogs, this::deleteMoodLog);
+        moodLogAdapter = new MoodLogAdapter(this, this::deleteMoodLog);
         moodHistoryRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         moodHistoryRecyclerView.setAdapter(moodLogAdapter);
     }
@@ -128,7 +131,7 @@ public class MoodAnalyticsActivity extends AppCompatActivity {
 
                 MoodAnalyticsActivity.this.moodLogs.clear();
                 MoodAnalyticsActivity.this.moodLogs.addAll(moodLogs);
-                moodLogAdapter.notifyDataSetChanged();
+                moodLogAdapter.submitList(new ArrayList<>(MoodAnalyticsActivity.this.moodLogs));
                 
                 displayAnalytics(moodLogs);
                 displayChart(moodLogs);
@@ -141,22 +144,22 @@ public class MoodAnalyticsActivity extends AppCompatActivity {
                     "Error loading mood data: " + error, 
                     Toast.LENGTH_SHORT).show();
             }
-        });
+        }).bindTo(this);
     }
 
     private void displayAnalytics(List<MoodLog> moodLogs) {
         int total = moodLogs.size();
         totalEntriesText.setText(String.valueOf(total));
 
-        // Calculate average
-        double sum = 0;
+        // Average and histogram in the same pass
+        RunningStats moodStats = new RunningStats();
         int[] moodCounts = new int[6]; // 0-5
         for (MoodLog log : moodLogs) {
-            sum += log.getMoodRating();
+            moodStats.add(log.getMoodRating());
             moodCounts[log.getMoodRating()]++;
         }
         
-        double average = sum / total;
+        double average = moodStats.getMean();
         averageMoodText.setText(String.format(Locale.getDefault(), "%.1f/5", average));
 
         // Find most common mood
@@ -174,14 +177,15 @@ public class MoodAnalyticsActivity extends AppCompatActivity {
     }
 
     private void displayChart(List<MoodLog> moodLogs) {
-        ArrayList<BarEntry> entries = new ArrayList<>();
-        
-        // Take last 7 entries for chart (matching desktop pattern)
-        int startIndex = Math.max(0, moodLogs.size() - 7);
-        for (int i = startIndex; i < moodLogs.size(); i++) {
-            entries.add(new BarEntry(i - startIndex, moodLogs.get(i).getMoodRating()));
+        // Columnar copy sorted by log date, so the bars are the latest 7 by time, not by list position
+        TimeSeries moodSeries = new TimeSeries(moodLogs.size());
+        for (MoodLog log : moodLogs) {
+            moodSeries.add(log.getLogDate(), log.getMoodRating());
         }
 
+        // Take last 7 entries for chart (matching desktop pattern)
+        List<BarEntry> entries = ChartSeries.toBarEntries(moodSeries.tail(7));
+
         BarDataSet dataSet = new BarDataSet(entries, "Mood Rating (1-5)");
         dataSet.setColor(Color.parseColor("#7F9C96"));
         dataSet.setValueTextColor(Color.BLACK);
@@ -248,7 +252,7 @@ public class MoodAnalyticsActivity extends AppCompatActivity {
                 Toast.makeText(MoodAnalyticsActivity.this, 
                     "Mood logged successfully!", 
                     Toast.LENGTH_SHORT).show();
-                loadMoodAnalytics();
+                // The live mood log query picks up the new entry
             }
 
             @Override
@@ -275,7 +279,6 @@ public class MoodAnalyticsActivity extends AppCompatActivity {
                             Toast.makeText(MoodAnalyticsActivity.this, 
                                 "Mood log deleted", 
                                 Toast.LENGTH_SHORT).show();
-                            loadMoodAnalytics();
                         }
 
                         @Override
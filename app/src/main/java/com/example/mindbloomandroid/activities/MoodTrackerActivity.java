@@ -15,7 +15,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.MoodLogAdapter;
 import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.service.IncrementalListSync;
 import com.example.mindbloomandroid.service.MoodLogService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
@@ -34,6 +36,7 @@ public class MoodTrackerActivity extends AppCompatActivity {
     private SharedPreferencesManager prefsManager;
     private MoodLogAdapter moodAdapter;
     private List<MoodLog> moodLogs;
+    private IncrementalListSync<MoodLog> moodLogSync;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -70,7 +73,7 @@ public class MoodTrackerActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        moodAdapter = new MoodLogAdapter(this, moodLogs, moodLog -> deleteMoodLog(moodLog));
+        moodAdapter = new MoodLogAdapter(this, moodLog -> deleteMoodLog(moodLog));
         moodRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         moodRecyclerView.setAdapter(moodAdapter);
     }
@@ -78,40 +81,61 @@ public class MoodTrackerActivity extends AppCompatActivity {
     private void loadMoodLogs() {
         String userId = prefsManager.getUserId();
         if (userId == null) {
-            android.util.Log.e("MoodTracker", "❌ User ID is null - cannot load mood logs");
+            AppLog.e("MoodTracker", "❌ User ID is null - cannot load mood logs");
             Toast.makeText(this, "User not logged in", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
+        if (moodLogSync != null && moodLogSync.isRunning()) {
+            return;
+        }
 
-        android.util.Log.d("MoodTracker", "📖 Loading mood logs for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("MoodTracker", "📖 Loading mood logs for user: " + userId);
+        }
         progressBar.setVisibility(View.VISIBLE);
 
-        moodLogService.getUserMoodLogs(userId, new MoodLogService.OnMoodLogsLoadedListener() {
+        // Child events update only the affected row, so saves and deletes need no reload
+        moodLogSync = moodLogService.observeUserMoodLogs(userId, moodLogs, new IncrementalListSync.OnListChangedListener<MoodLog>() {
             @Override
-            public void onMoodLogsLoaded(List<MoodLog> logs) {
-                android.util.Log.d("MoodTracker", "✅ Mood logs loaded: " + logs.size() + " entries");
-
+            public void onInitialLoadComplete(int itemCount) {
+                if (AppLog.ENABLED) {
+                    AppLog.d("MoodTracker", "✅ Mood logs loaded: " + itemCount + " entries");
+                }
                 progressBar.setVisibility(View.GONE);
-                moodLogs.clear();
-                moodLogs.addAll(logs);
-                moodAdapter.notifyDataSetChanged();
+                showMoodLogs();
 
-                if (moodLogs.isEmpty()) {
-                    android.util.Log.d("MoodTracker", "ℹ️ No mood logs found for user");
+                if (itemCount == 0) {
+                    AppLog.d("MoodTracker", "ℹ️ No mood logs found for user");
                     Toast.makeText(MoodTrackerActivity.this,
                         "No mood logs yet. Tap + to add your first mood!", 
                         Toast.LENGTH_LONG).show();
-                } else {
-                    Toast.makeText(MoodTrackerActivity.this,
-                        "Loaded " + moodLogs.size() + " mood entries",
-                        Toast.LENGTH_SHORT).show();
                 }
             }
 
+            @Override
+            public void onItemInserted(int position, MoodLog moodLog) {
+                showMoodLogs();
+            }
+
+            @Override
+            public void onItemChanged(int position, MoodLog moodLog) {
+                showMoodLogs();
+            }
+
+            @Override
+            public void onItemRemoved(int position, MoodLog moodLog) {
+                showMoodLogs();
+            }
+
+            @Override
+            public void onItemMoved(int fromPosition, int toPosition, MoodLog moodLog) {
+                // onItemChanged follows with the reordered list
+            }
+
             @Override
             public void onError(String error) {
-                android.util.Log.e("MoodTracker", "❌ Error loading mood logs: " + error);
+                AppLog.e("MoodTracker", "❌ Error loading mood logs: " + error);
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(MoodTrackerActivity.this, 
                     "Error loading mood logs: " + error, 
@@ -120,6 +144,12 @@ public class MoodTrackerActivity extends AppCompatActivity {
         });
     }
 
+    private void showMoodLogs() {
+        if (moodLogSync != null && moodLogSync.isInitialLoadComplete()) {
+            moodAdapter.submitList(new ArrayList<>(moodLogs));
+        }
+    }
+
     private void showAddMoodDialog() {
         BottomSheetDialog bottomSheetDialog = new BottomSheetDialog(this);
         View sheetView = getLayoutInflater().inflate(R.layout.bottom_sheet_add_mood, null);
@@ -170,7 +200,6 @@ public class MoodTrackerActivity extends AppCompatActivity {
                 Toast.makeText(MoodTrackerActivity.this, 
                     "Mood logged successfully!", 
                     Toast.LENGTH_SHORT).show();
-                loadMoodLogs();
             }
 
             @Override
@@ -192,7 +221,6 @@ public class MoodTrackerActivity extends AppCompatActivity {
                     @Override
                     public void onSuccess() {
                         Toast.makeText(MoodTrackerActivity.this, "Mood log deleted", Toast.LENGTH_SHORT).show();
-                        loadMoodLogs();
                     }
 
                     @Override
@@ -210,4 +238,12 @@ public class MoodTrackerActivity extends AppCompatActivity {
         super.onResume();
         loadMoodLogs();
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (moodLogSync != null) {
+            moodLogSync.stop();
+        }
+    }
 }
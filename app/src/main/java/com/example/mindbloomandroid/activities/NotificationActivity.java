@@ -18,7 +18,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.NotificationAdapter;
 import com.example.mindbloomandroid.model.NotificationData;
+import com.example.mindbloomandroid.service.ListenerRegistry;
 import com.example.mindbloomandroid.service.NotificationService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
@@ -41,7 +43,10 @@ public class NotificationActivity extends AppCompatActivity {
     private Button systemBtn;
     
     private NotificationService notificationService;
+    private ListenerRegistry.Subscription notificationsSubscription;
     private List<NotificationData> allNotifications;
+    private final java.text.SimpleDateFormat sessionDateFormat =
+        new java.text.SimpleDateFormat("MMM dd, yyyy h:mm a", java.util.Locale.getDefault());
     private String currentFilter = "ALL";
     
     @Override
@@ -93,7 +98,7 @@ public class NotificationActivity extends AppCompatActivity {
         notificationsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         allNotifications = new ArrayList<>();
         
-        notificationAdapter = new NotificationAdapter(this, allNotifications, 
+        notificationAdapter = new NotificationAdapter(this,
             new NotificationAdapter.OnNotificationActionListener() {
                 @Override
                 public void onMarkAsRead(NotificationData notification) {
@@ -123,15 +128,19 @@ public class NotificationActivity extends AppCompatActivity {
         }
         
         String userId = currentUser.getUid();
-        android.util.Log.d("NotificationActivity", "📖 Loading notifications for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("NotificationActivity", "📖 Loading notifications for user: " + userId);
+        }
         progressBar.setVisibility(View.VISIBLE);
         
 
-        notificationService.getUserNotifications(userId,
+        notificationsSubscription = notificationService.getUserNotifications(userId,
             new NotificationService.OnNotificationsLoadedListener() {
                 @Override
                 public void onNotificationsLoaded(List<com.example.mindbloomandroid.model.Notification> notifications) {
-                    android.util.Log.d("NotificationActivity", "✅ Loaded " + notifications.size() + " notifications");
+                    if (AppLog.ENABLED) {
+                        AppLog.d("NotificationActivity", "✅ Loaded " + notifications.size() + " notifications");
+                    }
                     progressBar.setVisibility(View.GONE);
 
 
@@ -146,20 +155,32 @@ public class NotificationActivity extends AppCompatActivity {
                         data.setRead(notif.isRead());
                         data.setRelatedEntityId(notif.getRelatedEntityId());
 
+                        if (notif.getZoomLink() != null && !notif.getZoomLink().isEmpty()) {
+                            data.setZoomLink(notif.getZoomLink());
+                            data.setCanJoin(true);
+                            data.setInstructorName(notif.getInstructorName());
+                            if (notif.getSessionDate() > 0) {
+                                data.setSessionDate(sessionDateFormat.format(new java.util.Date(notif.getSessionDate())));
+                            }
+                        }
 
                         if ("MESSAGE".equals(notif.getType())) {
-                            android.util.Log.d("NotificationActivity", "📨 Processing MESSAGE notification:");
-                            android.util.Log.d("NotificationActivity", "   Title: " + notif.getTitle());
-                            android.util.Log.d("NotificationActivity", "   RelatedEntityId: " + notif.getRelatedEntityId());
+                            if (AppLog.ENABLED) {
+                                AppLog.d("NotificationActivity", "📨 Processing MESSAGE notification:");
+                                AppLog.d("NotificationActivity", "   Title: " + notif.getTitle());
+                                AppLog.d("NotificationActivity", "   RelatedEntityId: " + notif.getRelatedEntityId());
+                            }
 
 
                             String title = notif.getTitle();
                             if (title != null && title.contains("from ")) {
                                 String senderName = title.substring(title.indexOf("from ") + 5);
                                 data.setSenderName(senderName);
-                                android.util.Log.d("NotificationActivity", "   ✅ Extracted sender name: " + senderName);
+                                if (AppLog.ENABLED) {
+                                    AppLog.d("NotificationActivity", "   ✅ Extracted sender name: " + senderName);
+                                }
                             } else {
-                                android.util.Log.e("NotificationActivity", "   ❌ Could not extract sender name from title");
+                                AppLog.e("NotificationActivity", "   ❌ Could not extract sender name from title");
                             }
 
 
@@ -171,16 +192,20 @@ public class NotificationActivity extends AppCompatActivity {
                                 data.setSenderId(senderId);
                                 data.setCanReply(true);
 
-                                android.util.Log.d("NotificationActivity", "    Extracted sender ID: " + senderId);
-                                android.util.Log.d("NotificationActivity", "    canReply set to: TRUE");
-                                android.util.Log.d("NotificationActivity", "    Reply button ENABLED for this notification");
+                                if (AppLog.ENABLED) {
+                                    AppLog.d("NotificationActivity", "    Extracted sender ID: " + senderId);
+                                    AppLog.d("NotificationActivity", "    canReply set to: TRUE");
+                                    AppLog.d("NotificationActivity", "    Reply button ENABLED for this notification");
+                                }
                             } else {
-                                android.util.Log.e("NotificationActivity", "    Could not extract sender ID - conversationId invalid: " + conversationId);
-                                android.util.Log.e("NotificationActivity", "    Reply button will NOT show");
+                                AppLog.e("NotificationActivity", "    Could not extract sender ID - conversationId invalid: " + conversationId);
+                                AppLog.e("NotificationActivity", "    Reply button will NOT show");
                             }
 
 
-                            android.util.Log.d("NotificationActivity", "   Final state: canReply=" + data.getCanReply() + ", senderId=" + data.getSenderId());
+                            if (AppLog.ENABLED) {
+                                AppLog.d("NotificationActivity", "   Final state: canReply=" + data.getCanReply() + ", senderId=" + data.getSenderId());
+                            }
                         }
 
                         allNotifications.add(data);
@@ -191,13 +216,13 @@ public class NotificationActivity extends AppCompatActivity {
                 
                 @Override
                 public void onError(String error) {
-                    android.util.Log.e("NotificationActivity", " Error loading notifications: " + error);
+                    AppLog.e("NotificationActivity", " Error loading notifications: " + error);
                     progressBar.setVisibility(View.GONE);
                     Toast.makeText(NotificationActivity.this, 
                         "Error loading notifications: " + error, 
                         Toast.LENGTH_SHORT).show();
                 }
-            });
+            }).bindTo(this).replacing(notificationsSubscription);
     }
     
     private void showAllNotifications() {
@@ -290,7 +315,7 @@ public class NotificationActivity extends AppCompatActivity {
                 Toast.makeText(NotificationActivity.this, 
                     "All notifications marked as read", 
                     Toast.LENGTH_SHORT).show();
-                handleRefresh();
+                // The notifications listener is live, so the list updates itself
             }
             
             @Override
@@ -371,10 +396,12 @@ public class NotificationActivity extends AppCompatActivity {
         
         String senderId = currentUser.getUid();
         
-        android.util.Log.d("NotificationActivity", "📤 Sending reply to instructor...");
-        android.util.Log.d("NotificationActivity", "   From: " + senderId);
-        android.util.Log.d("NotificationActivity", "   To: " + recipientId + " (" + recipientName + ")");
-        android.util.Log.d("NotificationActivity", "   Message: " + messageText);
+        if (AppLog.ENABLED) {
+            AppLog.d("NotificationActivity", "📤 Sending reply to instructor...");
+            AppLog.d("NotificationActivity", "   From: " + senderId);
+            AppLog.d("NotificationActivity", "   To: " + recipientId + " (" + recipientName + ")");
+            AppLog.d("NotificationActivity", "   Message: " + messageText);
+        }
 
 
         com.example.mindbloomandroid.utility.SharedPreferencesManager prefsManager =
@@ -398,7 +425,7 @@ public class NotificationActivity extends AppCompatActivity {
         messageService.sendMessage(message, new com.example.mindbloomandroid.service.MessageService.OnCompleteListener() {
             @Override
             public void onSuccess() {
-                android.util.Log.d("NotificationActivity", "✅ Reply sent successfully!");
+                AppLog.d("NotificationActivity", "✅ Reply sent successfully!");
                 Toast.makeText(NotificationActivity.this,
                     "Reply sent to " + recipientName,
                     Toast.LENGTH_SHORT).show();
@@ -406,7 +433,7 @@ public class NotificationActivity extends AppCompatActivity {
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("NotificationActivity", "❌ Failed to send reply: " + error);
+                AppLog.e("NotificationActivity", "❌ Failed to send reply: " + error);
                 Toast.makeText(NotificationActivity.this,
                     "Failed to send reply: " + error,
                     Toast.LENGTH_SHORT).show();
@@ -17,6 +17,7 @@ import com.example.mindbloomandroid.adapter.CommentAdapter;
 import com.example.mindbloomandroid.model.Comment;
 import com.example.mindbloomandroid.model.Post;
 import com.example.mindbloomandroid.service.CommunityForumService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.card.MaterialCardView;
 import java.text.SimpleDateFormat;
@@ -96,7 +97,7 @@ public class PostDetailActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        commentAdapter = new CommentAdapter(this, comments);
+        commentAdapter = new CommentAdapter(this);
         commentsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         commentsRecyclerView.setAdapter(commentAdapter);
     }
@@ -132,34 +133,40 @@ public class PostDetailActivity extends AppCompatActivity {
     }
 
     private void loadComments() {
-        android.util.Log.d("PostDetail", "📖 Loading comments for post: " + postId);
+        if (AppLog.ENABLED) {
+            AppLog.d("PostDetail", "📖 Loading comments for post: " + postId);
+        }
 
         forumService.getComments(postId, new CommunityForumService.OnCommentsLoadedListener() {
             @Override
             public void onCommentsLoaded(List<Comment> loadedComments) {
-                android.util.Log.d("PostDetail", "✅ Received " + loadedComments.size() + " comments");
+                if (AppLog.ENABLED) {
+                    AppLog.d("PostDetail", "✅ Received " + loadedComments.size() + " comments");
+                }
 
                 comments.clear();
                 comments.addAll(loadedComments);
-                commentAdapter.notifyDataSetChanged();
+                commentAdapter.submitList(new ArrayList<>(comments));
 
                 if (loadedComments.isEmpty()) {
-                    android.util.Log.i("PostDetail", "ℹ️ No comments yet for this post");
+                    AppLog.i("PostDetail", "ℹ️ No comments yet for this post");
                 } else {
                     for (Comment c : loadedComments) {
-                        android.util.Log.d("PostDetail", "   💬 Comment by " + c.getUsername() + ": " + c.getCommentText().substring(0, Math.min(20, c.getCommentText().length())));
+                        if (AppLog.ENABLED) {
+                            AppLog.d("PostDetail", "   💬 Comment by " + c.getUsername() + ": " + c.getCommentText().substring(0, Math.min(20, c.getCommentText().length())));
+                        }
                     }
                 }
             }
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("PostDetail", "❌ Error loading comments: " + error);
+                AppLog.e("PostDetail", "❌ Error loading comments: " + error);
                 Toast.makeText(PostDetailActivity.this,
                     "Error loading comments: " + error, 
                     Toast.LENGTH_SHORT).show();
             }
-        });
+        }).bindTo(this);
     }
 
     private void postComment() {
@@ -188,7 +195,7 @@ public class PostDetailActivity extends AppCompatActivity {
                 Toast.makeText(PostDetailActivity.this, 
                     "Comment posted!", 
                     Toast.LENGTH_SHORT).show();
-                loadComments();
+                // The comments query is live; only the post's comment count needs a re-read
                 loadPostDetails();
             }
 
@@ -13,6 +13,7 @@ import androidx.appcompat.widget.Toolbar;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.ProgressData;
 import com.example.mindbloomandroid.service.ProgressService;
+import com.example.mindbloomandroid.utility.ChartSeries;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.github.mikephil.charting.charts.LineChart;
 import com.github.mikephil.charting.components.XAxis;
@@ -213,13 +214,17 @@ public class ProgressActivity extends AppCompatActivity {
         correlationsText.setText(correlations);
         
 
-        ArrayList<Entry> moodEntries = new ArrayList<>();
-        ArrayList<Entry> stressEntries = new ArrayList<>();
-        
+        // Daily averages from the rollups, downsampled so long ranges stay cheap to draw
+        List<Entry> moodEntries = data.getMoodSeries() != null
+                ? ChartSeries.toLineEntries(data.getMoodSeries(), data.getStartDate())
+                : new ArrayList<>();
+        List<Entry> stressEntries = data.getStressSeries() != null
+                ? ChartSeries.toLineEntries(data.getStressSeries(), data.getStartDate())
+                : new ArrayList<>();
 
-        for (int i = 0; i < 7; i++) {
-            moodEntries.add(new Entry(i, (float)(data.getAverageMoodRating() + (Math.random() - 0.5))));
-            stressEntries.add(new Entry(i, (float)(data.getAverageStressScore() + (Math.random() - 0.5))));
+        if (moodEntries.isEmpty() && stressEntries.isEmpty()) {
+            progressChart.clear();
+            return;
         }
         
         LineDataSet moodDataSet = new LineDataSet(moodEntries, "Mood");
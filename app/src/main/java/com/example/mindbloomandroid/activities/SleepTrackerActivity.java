@@ -19,7 +19,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.SleepEntryAdapter;
 import com.example.mindbloomandroid.model.SleepEntry;
+import com.example.mindbloomandroid.service.IncrementalListSync;
 import com.example.mindbloomandroid.service.SleepTrackerService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import java.text.SimpleDateFormat;
@@ -42,6 +44,7 @@ public class SleepTrackerActivity extends AppCompatActivity {
     private SharedPreferencesManager prefsManager;
     private SleepEntryAdapter sleepAdapter;
     private List<SleepEntry> sleepEntries;
+    private IncrementalListSync<SleepEntry> sleepEntrySync;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -80,7 +83,7 @@ public class SleepTrackerActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        sleepAdapter = new SleepEntryAdapter(this, sleepEntries);
+        sleepAdapter = new SleepEntryAdapter(this);
         sleepRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         sleepRecyclerView.setAdapter(sleepAdapter);
     }
@@ -88,38 +91,54 @@ public class SleepTrackerActivity extends AppCompatActivity {
     private void loadSleepEntries() {
         String userId = prefsManager.getUserId();
         if (userId == null) {
-            android.util.Log.e("SleepTracker", "❌ User ID is null - cannot load sleep entries");
+            AppLog.e("SleepTracker", "❌ User ID is null - cannot load sleep entries");
             Toast.makeText(this, "User not logged in", Toast.LENGTH_SHORT).show();
             finish();
             return;
         }
+        if (sleepEntrySync != null && sleepEntrySync.isRunning()) {
+            return;
+        }
 
-        android.util.Log.d("SleepTracker", "📖 Loading sleep entries for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("SleepTracker", "📖 Loading sleep entries for user: " + userId);
+        }
         progressBar.setVisibility(View.VISIBLE);
 
-        sleepService.getUserSleepEntries(userId, new SleepTrackerService.OnSleepEntriesLoadedListener() {
+        // Child events update only the affected row, so saves and deletes need no reload
+        sleepEntrySync = sleepService.observeUserSleepEntries(userId, sleepEntries, new IncrementalListSync.OnListChangedListener<SleepEntry>() {
             @Override
-            public void onSleepEntriesLoaded(List<SleepEntry> entries) {
-                android.util.Log.d("SleepTracker", "✅ Sleep entries loaded: " + entries.size() + " entries");
-
+            public void onInitialLoadComplete(int itemCount) {
                 progressBar.setVisibility(View.GONE);
-                sleepEntries.clear();
-                sleepEntries.addAll(entries);
-                sleepAdapter.notifyDataSetChanged();
-                updateStatistics();
+                showSleepEntries();
 
-                if (sleepEntries.isEmpty()) {
-                    android.util.Log.d("SleepTracker", "ℹ️ No sleep entries found for user");
+                if (itemCount == 0) {
                     Toast.makeText(SleepTrackerActivity.this,
                         "No sleep entries yet. Tap + to log your sleep!", 
                         Toast.LENGTH_LONG).show();
-                } else {
-                    Toast.makeText(SleepTrackerActivity.this,
-                        "Loaded " + sleepEntries.size() + " sleep entries",
-                        Toast.LENGTH_SHORT).show();
                 }
             }
 
+            @Override
+            public void onItemInserted(int position, SleepEntry item) {
+                showSleepEntries();
+            }
+
+            @Override
+            public void onItemChanged(int position, SleepEntry item) {
+                showSleepEntries();
+            }
+
+            @Override
+            public void onItemRemoved(int position, SleepEntry item) {
+                showSleepEntries();
+            }
+
+            @Override
+            public void onItemMoved(int fromPosition, int toPosition, SleepEntry item) {
+                // onItemChanged follows with the reordered list
+            }
+
             @Override
             public void onError(String error) {
                 progressBar.setVisibility(View.GONE);
@@ -130,6 +149,13 @@ public class SleepTrackerActivity extends AppCompatActivity {
         });
     }
 
+    private void showSleepEntries() {
+        if (sleepEntrySync != null && sleepEntrySync.isInitialLoadComplete()) {
+            sleepAdapter.submitList(new ArrayList<>(sleepEntries));
+            updateStatistics();
+        }
+    }
+
     private void showAddSleepDialog() {
         AlertDialog.Builder builder = new AlertDialog.Builder(this);
         builder.setTitle("Log Sleep");
@@ -269,7 +295,6 @@ public class SleepTrackerActivity extends AppCompatActivity {
                 Toast.makeText(SleepTrackerActivity.this, 
                     "Sleep logged successfully! 😴", 
                     Toast.LENGTH_SHORT).show();
-                loadSleepEntries();
             }
 
             @Override
@@ -294,7 +319,6 @@ public class SleepTrackerActivity extends AppCompatActivity {
                         Toast.makeText(SleepTrackerActivity.this,
                             "Sleep entry deleted",
                             Toast.LENGTH_SHORT).show();
-                        loadSleepEntries();
                     }
 
                     @Override
@@ -337,4 +361,12 @@ public class SleepTrackerActivity extends AppCompatActivity {
         super.onResume();
         loadSleepEntries();
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (sleepEntrySync != null) {
+            sleepEntrySync.stop();
+        }
+    }
 }
@@ -16,6 +16,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.StressAssessmentAdapter;
 import com.example.mindbloomandroid.model.StressAssessment;
+import com.example.mindbloomandroid.service.IncrementalListSync;
 import com.example.mindbloomandroid.service.StressService;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
@@ -34,6 +35,7 @@ public class StressMonitorActivity extends AppCompatActivity {
     private SharedPreferencesManager prefsManager;
     private StressAssessmentAdapter stressAdapter;
     private List<StressAssessment> stressAssessments;
+    private IncrementalListSync<StressAssessment> stressSync;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -70,7 +72,7 @@ public class StressMonitorActivity extends AppCompatActivity {
     }
 
     private void setupRecyclerView() {
-        stressAdapter = new StressAssessmentAdapter(this, stressAssessments, this::deleteAssessment);
+        stressAdapter = new StressAssessmentAdapter(this, this::deleteAssessment);
         stressRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         stressRecyclerView.setAdapter(stressAdapter);
     }
@@ -82,23 +84,46 @@ public class StressMonitorActivity extends AppCompatActivity {
             finish();
             return;
         }
+        if (stressSync != null && stressSync.isRunning()) {
+            return;
+        }
 
         progressBar.setVisibility(View.VISIBLE);
-        stressService.getUserStressAssessments(userId, new StressService.OnStressAssessmentsLoadedListener() {
+
+        // Child events update only the affected row, so saves and deletes need no reload
+        stressSync = stressService.observeUserStressAssessments(userId, stressAssessments, new IncrementalListSync.OnListChangedListener<StressAssessment>() {
             @Override
-            public void onAssessmentsLoaded(List<StressAssessment> assessments) {
+            public void onInitialLoadComplete(int itemCount) {
                 progressBar.setVisibility(View.GONE);
-                stressAssessments.clear();
-                stressAssessments.addAll(assessments);
-                stressAdapter.notifyDataSetChanged();
+                showStressAssessments();
 
-                if (stressAssessments.isEmpty()) {
+                if (itemCount == 0) {
                     Toast.makeText(StressMonitorActivity.this, 
                         "No stress logs yet. Tap + to track your stress!", 
                         Toast.LENGTH_LONG).show();
                 }
             }
 
+            @Override
+            public void onItemInserted(int position, StressAssessment item) {
+                showStressAssessments();
+            }
+
+            @Override
+            public void onItemChanged(int position, StressAssessment item) {
+                showStressAssessments();
+            }
+
+            @Override
+            public void onItemRemoved(int position, StressAssessment item) {
+                showStressAssessments();
+            }
+
+            @Override
+            public void onItemMoved(int fromPosition, int toPosition, StressAssessment item) {
+                // onItemChanged follows with the reordered list
+            }
+
             @Override
             public void onError(String error) {
                 progressBar.setVisibility(View.GONE);
@@ -109,6 +134,12 @@ public class StressMonitorActivity extends AppCompatActivity {
         });
     }
 
+    private void showStressAssessments() {
+        if (stressSync != null && stressSync.isInitialLoadComplete()) {
+            stressAdapter.submitList(new ArrayList<>(stressAssessments));
+        }
+    }
+
     private void showAddStressDialog() {
         View dialogView = getLayoutInflater().inflate(R.layout.dialog_add_stress, null);
         
@@ -287,7 +318,6 @@ public class StressMonitorActivity extends AppCompatActivity {
                 Toast.makeText(StressMonitorActivity.this, 
                     "Stress assessment saved!", 
                     Toast.LENGTH_SHORT).show();
-                loadStressAssessments();
             }
 
             @Override
@@ -314,7 +344,6 @@ public class StressMonitorActivity extends AppCompatActivity {
                             Toast.makeText(StressMonitorActivity.this, 
                                 "Assessment deleted", 
                                 Toast.LENGTH_SHORT).show();
-                            loadStressAssessments();
                         }
 
                         @Override
@@ -335,4 +364,12 @@ public class StressMonitorActivity extends AppCompatActivity {
         super.onResume();
         loadStressAssessments();
     }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (stressSync != null) {
+            stressSync.stop();
+        }
+    }
 }
@@ -25,8 +25,10 @@ import com.example.mindbloomandroid.model.Instructor;
 import com.example.mindbloomandroid.model.SessionRequest;
 import com.example.mindbloomandroid.model.TherapySession;
 import com.example.mindbloomandroid.service.InstructorService;
+import com.example.mindbloomandroid.service.ListenerRegistry;
 import com.example.mindbloomandroid.service.SessionRequestService;
 import com.example.mindbloomandroid.service.TherapySessionService;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
@@ -63,6 +65,8 @@ public class TherapistSessionActivity extends AppCompatActivity {
     private InstructorService instructorService;
     private SessionRequestService sessionRequestService;
     private TherapySessionService therapySessionService;
+    private ListenerRegistry.Subscription requestsSubscription;
+    private ListenerRegistry.Subscription sessionsSubscription;
     
 
     private List<Instructor> instructors;
@@ -116,13 +120,12 @@ public class TherapistSessionActivity extends AppCompatActivity {
         
 
         pendingRequests = new ArrayList<>();
-        pendingRequestsAdapter = new SessionRequestAdapter(this, pendingRequests);
+        pendingRequestsAdapter = new SessionRequestAdapter(this);
         pendingRequestsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         pendingRequestsRecyclerView.setAdapter(pendingRequestsAdapter);
         
         confirmedSessions = new ArrayList<>();
-        confirmedSessionsAdapter = new TherapySessionAdapter(this, confirmedSessions,
-            this::openZoomLink);
+        confirmedSessionsAdapter = new TherapySessionAdapter(this, this::openZoomLink);
         confirmedSessionsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
         confirmedSessionsRecyclerView.setAdapter(confirmedSessionsAdapter);
         
@@ -208,35 +211,37 @@ public class TherapistSessionActivity extends AppCompatActivity {
     }
     
     private void handleSubmitRequest() {
-        android.util.Log.d("TherapistSession", "🔵 handleSubmitRequest called");
+        AppLog.d("TherapistSession", "🔵 handleSubmitRequest called");
 
         try {
             FirebaseUser currentUser = FirebaseAuth.getInstance().getCurrentUser();
             if (currentUser == null) {
-                android.util.Log.e("TherapistSession", " User not logged in");
+                AppLog.e("TherapistSession", " User not logged in");
                 Toast.makeText(this, "User not logged in", Toast.LENGTH_SHORT).show();
                 return;
             }
 
-            android.util.Log.d("TherapistSession", " User ID: " + currentUser.getUid());
+            if (AppLog.ENABLED) {
+                AppLog.d("TherapistSession", " User ID: " + currentUser.getUid());
+            }
 
             // Validate instructor selection
             if (instructorSpinner.getSelectedItem() == null) {
-                android.util.Log.e("TherapistSession", " No instructor selected");
+                AppLog.e("TherapistSession", " No instructor selected");
                 Toast.makeText(this, "Please select an instructor", Toast.LENGTH_SHORT).show();
                 return;
             }
 
             // Validate session type
             if (sessionTypeSpinner.getSelectedItem() == null) {
-                android.util.Log.e("TherapistSession", " No session type selected");
+                AppLog.e("TherapistSession", " No session type selected");
                 Toast.makeText(this, "Please select a session type", Toast.LENGTH_SHORT).show();
                 return;
             }
 
             // Validate time selection
             if (sessionTimeSpinner.getSelectedItem() == null) {
-                android.util.Log.e("TherapistSession", " No time selected");
+                AppLog.e("TherapistSession", " No time selected");
                 Toast.makeText(this, "Please select a time", Toast.LENGTH_SHORT).show();
                 return;
             }
@@ -253,12 +258,14 @@ public class TherapistSessionActivity extends AppCompatActivity {
                 currentUsername = "User"; // Fallback
             }
 
-            android.util.Log.d("TherapistSession", "📋 Request details:");
-            android.util.Log.d("TherapistSession", "   Instructor: " + selectedInstructor.getUsername());
-            android.util.Log.d("TherapistSession", "   Client Name: " + currentUsername);
-            android.util.Log.d("TherapistSession", "   Session Type: " + sessionType);
-            android.util.Log.d("TherapistSession", "   Time Slot: " + timeSlot);
-            android.util.Log.d("TherapistSession", "   Reason: " + reason);
+            if (AppLog.ENABLED) {
+                AppLog.d("TherapistSession", "📋 Request details:");
+                AppLog.d("TherapistSession", "   Instructor: " + selectedInstructor.getUsername());
+                AppLog.d("TherapistSession", "   Client Name: " + currentUsername);
+                AppLog.d("TherapistSession", "   Session Type: " + sessionType);
+                AppLog.d("TherapistSession", "   Time Slot: " + timeSlot);
+                AppLog.d("TherapistSession", "   Reason: " + reason);
+            }
 
             // Parse time
             Calendar sessionDateTime = (Calendar) selectedDate.clone();
@@ -267,11 +274,13 @@ public class TherapistSessionActivity extends AppCompatActivity {
             sessionDateTime.set(Calendar.MINUTE, 0);
             sessionDateTime.set(Calendar.SECOND, 0);
 
-            android.util.Log.d("TherapistSession", "📅 Session date/time: " + sessionDateTime.getTime());
+            if (AppLog.ENABLED) {
+                AppLog.d("TherapistSession", "📅 Session date/time: " + sessionDateTime.getTime());
+            }
 
 
             if (sessionDateTime.getTimeInMillis() < System.currentTimeMillis()) {
-                android.util.Log.e("TherapistSession", " Date is in the past");
+                AppLog.e("TherapistSession", " Date is in the past");
                 Toast.makeText(this, "Please select a future date and time", Toast.LENGTH_SHORT).show();
                 return;
             }
@@ -289,7 +298,7 @@ public class TherapistSessionActivity extends AppCompatActivity {
             request.setClientName(currentUsername);
             request.setInstructorName(selectedInstructor.getUsername());
 
-            android.util.Log.d("TherapistSession", "📤 Submitting request to service...");
+            AppLog.d("TherapistSession", "📤 Submitting request to service...");
 
             submitRequestBtn.setEnabled(false);
             progressBar.setVisibility(View.VISIBLE);
@@ -298,7 +307,7 @@ public class TherapistSessionActivity extends AppCompatActivity {
                 new SessionRequestService.OnSessionRequestCreatedListener() {
                     @Override
                     public void onSuccess(SessionRequest createdRequest) {
-                        android.util.Log.d("TherapistSession", "✅ Request submitted successfully!");
+                        AppLog.d("TherapistSession", "✅ Request submitted successfully!");
                         progressBar.setVisibility(View.GONE);
                         submitRequestBtn.setEnabled(true);
                         Toast.makeText(TherapistSessionActivity.this,
@@ -319,7 +328,7 @@ public class TherapistSessionActivity extends AppCompatActivity {
 
                     @Override
                     public void onError(String error) {
-                        android.util.Log.e("TherapistSession", "❌ Error submitting request: " + error);
+                        AppLog.e("TherapistSession", "❌ Error submitting request: " + error);
                         progressBar.setVisibility(View.GONE);
                         submitRequestBtn.setEnabled(true);
                         Toast.makeText(TherapistSessionActivity.this,
@@ -328,7 +337,7 @@ public class TherapistSessionActivity extends AppCompatActivity {
                     }
                 });
         } catch (Exception e) {
-            android.util.Log.e("TherapistSession", "❌ EXCEPTION in handleSubmitRequest: " + e.getMessage(), e);
+            AppLog.e("TherapistSession", "❌ EXCEPTION in handleSubmitRequest: " + e.getMessage(), e);
             progressBar.setVisibility(View.GONE);
             submitRequestBtn.setEnabled(true);
             Toast.makeText(this, "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
@@ -356,13 +365,17 @@ public class TherapistSessionActivity extends AppCompatActivity {
         
         String userId = currentUser.getUid();
         
-        android.util.Log.d("TherapistSession", "📖 Loading pending requests for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("TherapistSession", "📖 Loading pending requests for user: " + userId);
+        }
 
-        sessionRequestService.getUserSessionRequests(userId,
+        requestsSubscription = sessionRequestService.getUserSessionRequests(userId,
             new SessionRequestService.OnRequestsLoadedListener() {
                 @Override
                 public void onRequestsLoaded(List<SessionRequest> requests) {
-                    android.util.Log.d("TherapistSession", "📥 Received " + requests.size() + " total requests");
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapistSession", "📥 Received " + requests.size() + " total requests");
+                    }
 
                     pendingRequests.clear();
 
@@ -373,9 +386,11 @@ public class TherapistSessionActivity extends AppCompatActivity {
                         }
                     }
 
-                    android.util.Log.d("TherapistSession", "✅ Filtered to " + pendingRequests.size() + " PENDING requests");
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapistSession", "✅ Filtered to " + pendingRequests.size() + " PENDING requests");
+                    }
 
-                    pendingRequestsAdapter.notifyDataSetChanged();
+                    pendingRequestsAdapter.submitList(new ArrayList<>(pendingRequests));
                     
 
                     if (pendingRequests.isEmpty()) {
@@ -389,12 +404,12 @@ public class TherapistSessionActivity extends AppCompatActivity {
                 
                 @Override
                 public void onError(String error) {
-                    android.util.Log.e("TherapistSession", "❌ Error loading requests: " + error);
+                    AppLog.e("TherapistSession", "❌ Error loading requests: " + error);
                     Toast.makeText(TherapistSessionActivity.this,
                         "Error loading requests: " + error,
                         Toast.LENGTH_SHORT).show();
                 }
-            });
+            }).bindTo(this).replacing(requestsSubscription);
     }
     
     private void loadConfirmedSessions() {
@@ -403,25 +418,31 @@ public class TherapistSessionActivity extends AppCompatActivity {
         
         String userId = currentUser.getUid();
         
-        android.util.Log.d("TherapistSession", "📖 Loading confirmed sessions for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("TherapistSession", "📖 Loading confirmed sessions for user: " + userId);
+        }
 
-        therapySessionService.getScheduledSessionsForUser(userId,
+        sessionsSubscription = therapySessionService.getScheduledSessionsForUser(userId,
             new TherapySessionService.OnSessionsLoadedListener() {
                 @Override
                 public void onSessionsLoaded(List<TherapySession> sessions) {
-                    android.util.Log.d("TherapistSession", "✅ Received " + sessions.size() + " confirmed sessions");
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapistSession", "✅ Received " + sessions.size() + " confirmed sessions");
+                    }
 
                     confirmedSessions.clear();
                     confirmedSessions.addAll(sessions);
-                    confirmedSessionsAdapter.notifyDataSetChanged();
+                    confirmedSessionsAdapter.submitList(new ArrayList<>(confirmedSessions));
                     
 
                     if (confirmedSessions.isEmpty()) {
-                        android.util.Log.d("TherapistSession", "ℹ️ No upcoming sessions");
+                        AppLog.d("TherapistSession", "ℹ️ No upcoming sessions");
                         emptyConfirmedText.setVisibility(View.VISIBLE);
                         confirmedSessionsRecyclerView.setVisibility(View.GONE);
                     } else {
-                        android.util.Log.d("TherapistSession", "✅ Displaying " + confirmedSessions.size() + " upcoming sessions");
+                        if (AppLog.ENABLED) {
+                            AppLog.d("TherapistSession", "✅ Displaying " + confirmedSessions.size() + " upcoming sessions");
+                        }
                         emptyConfirmedText.setVisibility(View.GONE);
                         confirmedSessionsRecyclerView.setVisibility(View.VISIBLE);
                     }
@@ -429,12 +450,12 @@ public class TherapistSessionActivity extends AppCompatActivity {
                 
                 @Override
                 public void onError(String error) {
-                    android.util.Log.e("TherapistSession", "❌ Error loading sessions: " + error);
+                    AppLog.e("TherapistSession", "❌ Error loading sessions: " + error);
                     Toast.makeText(TherapistSessionActivity.this,
                         "Error loading sessions: " + error,
                         Toast.LENGTH_SHORT).show();
                 }
-            });
+            }).bindTo(this).replacing(sessionsSubscription);
     }
     
     private void handleRefresh() {
@@ -12,6 +12,8 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
 import com.example.mindbloomandroid.R;
+import com.example.mindbloomandroid.service.QueryCache;
+import com.example.mindbloomandroid.service.UserTimelines;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.navigation.NavigationView;
@@ -212,6 +214,8 @@ public class UserDashboardActivity extends AppCompatActivity
 
     private void handleLogout() {
         prefsManager.clearSession();
+        QueryCache.getInstance().clear();
+        UserTimelines.releaseSynced();
         Intent intent = new Intent(this, MainActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
         startActivity(intent);
@@ -9,26 +9,36 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.Message;
-import java.util.List;
 
-public class ChatMessageAdapter extends RecyclerView.Adapter<ChatMessageAdapter.MessageViewHolder> {
+public class ChatMessageAdapter extends ModelListAdapter<Message, ChatMessageAdapter.MessageViewHolder> {
+
+    private static final ModelDiffCallback<Message> DIFF = new ModelDiffCallback<Message>() {
+        @Override
+        public String keyOf(@NonNull Message item) {
+            return item.getMessageId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull Message item) {
+            return item.toMap();
+        }
+    };
 
     private static final int VIEW_TYPE_SENT = 1;
     private static final int VIEW_TYPE_RECEIVED = 2;
 
     private Context context;
-    private List<Message> messages;
     private String currentUserId;
 
-    public ChatMessageAdapter(Context context, List<Message> messages, String currentUserId) {
+    public ChatMessageAdapter(Context context, String currentUserId) {
+        super(DIFF);
         this.context = context;
-        this.messages = messages;
         this.currentUserId = currentUserId;
     }
 
     @Override
     public int getItemViewType(int position) {
-        Message message = messages.get(position);
+        Message message = getItem(position);
         return message.getSenderId().equals(currentUserId) ? VIEW_TYPE_SENT : VIEW_TYPE_RECEIVED;
     }
 
@@ -44,16 +54,11 @@ public class ChatMessageAdapter extends RecyclerView.Adapter<ChatMessageAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull MessageViewHolder holder, int position) {
-        Message message = messages.get(position);
+        Message message = getItem(position);
         holder.messageText.setText(message.getMessageText());
         holder.timeText.setText(message.getSentTimeOnly());
     }
 
-    @Override
-    public int getItemCount() {
-        return messages.size();
-    }
-
     static class MessageViewHolder extends RecyclerView.ViewHolder {
         TextView messageText, timeText;
 
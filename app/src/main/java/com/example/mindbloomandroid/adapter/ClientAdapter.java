@@ -11,23 +11,35 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.ClientOverview;
 import com.google.android.material.button.MaterialButton;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
-public class ClientAdapter extends RecyclerView.Adapter<ClientAdapter.ClientViewHolder> {
+public class ClientAdapter extends ModelListAdapter<ClientOverview, ClientAdapter.ClientViewHolder> {
+
+    private static final ModelDiffCallback<ClientOverview> DIFF = new ModelDiffCallback<ClientOverview>() {
+        @Override
+        public String keyOf(@NonNull ClientOverview item) {
+            return item.getClientId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull ClientOverview item) {
+            return Arrays.asList(item.getClientName(), item.getAverageMood(), item.getStressLevel(),
+                    item.getLastSessionDate(), item.getTotalSessions());
+        }
+    };
 
     private Context context;
-    private List<ClientOverview> clients;
     private OnClientClickListener listener;
 
     public interface OnClientClickListener {
         void onViewClient(ClientOverview client);
     }
 
-    public ClientAdapter(Context context, List<ClientOverview> clients) {
+    public ClientAdapter(Context context) {
+        super(DIFF);
         this.context = context;
-        this.clients = clients;
     }
 
     public void setOnClientClickListener(OnClientClickListener listener) {
@@ -43,7 +55,7 @@ public class ClientAdapter extends RecyclerView.Adapter<ClientAdapter.ClientView
 
     @Override
     public void onBindViewHolder(@NonNull ClientViewHolder holder, int position) {
-        ClientOverview client = clients.get(position);
+        ClientOverview client = getItem(position);
 
         String initial = client.getClientName() != null && !client.getClientName().isEmpty()
                 ? client.getClientName().substring(0, 1).toUpperCase()
@@ -71,11 +83,6 @@ public class ClientAdapter extends RecyclerView.Adapter<ClientAdapter.ClientView
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return clients.size();
-    }
-
     static class ClientViewHolder extends RecyclerView.ViewHolder {
         TextView clientInitial, clientName, clientSessions, clientLastSession;
         MaterialButton btnViewClient;
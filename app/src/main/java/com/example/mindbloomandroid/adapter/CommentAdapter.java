@@ -10,16 +10,26 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.Comment;
 import com.example.mindbloomandroid.utility.DateTimeUtil;
-import java.util.List;
 
-public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentViewHolder> {
+public class CommentAdapter extends ModelListAdapter<Comment, CommentAdapter.CommentViewHolder> {
+
+    private static final ModelDiffCallback<Comment> DIFF = new ModelDiffCallback<Comment>() {
+        @Override
+        public String keyOf(@NonNull Comment item) {
+            return item.getCommentId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull Comment item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<Comment> comments;
 
-    public CommentAdapter(Context context, List<Comment> comments) {
+    public CommentAdapter(Context context) {
+        super(DIFF);
         this.context = context;
-        this.comments = comments;
     }
 
     @NonNull
@@ -31,18 +41,13 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.CommentV
 
     @Override
     public void onBindViewHolder(@NonNull CommentViewHolder holder, int position) {
-        Comment comment = comments.get(position);
+        Comment comment = getItem(position);
         
         holder.usernameText.setText(comment.getUsername());
         holder.contentText.setText(comment.getCommentText());
         holder.timestampText.setText(DateTimeUtil.formatRelativeTime(comment.getCreatedAt()));
     }
 
-    @Override
-    public int getItemCount() {
-        return comments.size();
-    }
-
     static class CommentViewHolder extends RecyclerView.ViewHolder {
         TextView usernameText, contentText, timestampText;
 
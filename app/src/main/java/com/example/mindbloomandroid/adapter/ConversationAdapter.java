@@ -9,33 +9,68 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.Conversation;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
-public class ConversationAdapter extends RecyclerView.Adapter<ConversationAdapter.ConversationViewHolder> {
+public class ConversationAdapter extends ModelListAdapter<Conversation, ConversationAdapter.ConversationViewHolder> {
+
+    private static final ModelDiffCallback<Conversation> DIFF = new ModelDiffCallback<Conversation>() {
+        @Override
+        public String keyOf(@NonNull Conversation item) {
+            // Search results for clients without a conversation yet have no conversationId
+            return item.getClientId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull Conversation item) {
+            return Arrays.asList(item.toMap(), item.getUnreadCount());
+        }
+
+        // A new message only moves the preview and the badge
+        @Override
+        public Object getChangePayload(@NonNull Conversation oldItem, @NonNull Conversation newItem) {
+            return Objects.equals(oldItem.getClientName(), newItem.getClientName()) ? PAYLOAD_PREVIEW : null;
+        }
+    };
+
+    private static final Object PAYLOAD_PREVIEW = new Object();
+    private static final Object PAYLOAD_SELECTION = new Object();
 
     private Context context;
-    private List<Conversation> conversations;
     private OnConversationClickListener listener;
-    private int selectedPosition = -1;
+    private String selectedClientId;
 
     public interface OnConversationClickListener {
         void onConversationClick(Conversation conversation, int position);
     }
 
-    public ConversationAdapter(Context context, List<Conversation> conversations) {
+    public ConversationAdapter(Context context) {
+        super(DIFF);
         this.context = context;
-        this.conversations = conversations;
     }
 
     public void setOnConversationClickListener(OnConversationClickListener listener) {
         this.listener = listener;
     }
 
-    public void setSelectedPosition(int position) {
-        int oldPosition = selectedPosition;
-        selectedPosition = position;
-        if (oldPosition != -1) notifyItemChanged(oldPosition);
-        if (selectedPosition != -1) notifyItemChanged(selectedPosition);
+    // Selection follows the client rather than a position, which shifts as the list is diffed
+    public void setSelectedClientId(String clientId) {
+        String previous = selectedClientId;
+        selectedClientId = clientId;
+        notifySelectionChanged(previous);
+        notifySelectionChanged(clientId);
+    }
+
+    private void notifySelectionChanged(String clientId) {
+        if (clientId == null) return;
+        List<Conversation> current = getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            if (clientId.equals(current.get(i).getClientId())) {
+                notifyItemChanged(i, PAYLOAD_SELECTION);
+                return;
+            }
+        }
     }
 
     @NonNull
@@ -47,10 +82,37 @@ public class ConversationAdapter extends RecyclerView.Adapter<ConversationAdapte
 
     @Override
     public void onBindViewHolder(@NonNull ConversationViewHolder holder, int position) {
-        Conversation conversation = conversations.get(position);
+        Conversation conversation = getItem(position);
 
         holder.clientInitial.setText(conversation.getClientInitial());
         holder.clientName.setText(conversation.getClientName());
+        bindPreview(holder, conversation);
+        bindSelection(holder, conversation);
+
+        holder.itemView.setOnClickListener(v -> {
+            int current = holder.getBindingAdapterPosition();
+            if (listener != null && current != RecyclerView.NO_POSITION) {
+                listener.onConversationClick(getItem(current), current);
+            }
+        });
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ConversationViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (payload == PAYLOAD_PREVIEW) {
+                bindPreview(holder, getItem(position));
+            } else if (payload == PAYLOAD_SELECTION) {
+                bindSelection(holder, getItem(position));
+            }
+        }
+    }
+
+    private void bindPreview(ConversationViewHolder holder, Conversation conversation) {
         holder.lastMessage.setText(conversation.getLastMessage().isEmpty() 
             ? "No messages yet" 
             : conversation.getLastMessage());
@@ -61,24 +123,15 @@ public class ConversationAdapter extends RecyclerView.Adapter<ConversationAdapte
         } else {
             holder.unreadBadge.setVisibility(View.GONE);
         }
+    }
 
-        // Highlight selected conversation
-        if (position == selectedPosition) {
+    // Highlight selected conversation
+    private void bindSelection(ConversationViewHolder holder, Conversation conversation) {
+        if (conversation.getClientId() != null && conversation.getClientId().equals(selectedClientId)) {
             holder.itemView.setBackgroundColor(0xFFE8F5E9);
         } else {
             holder.itemView.setBackgroundColor(0xFFFFFFFF);
         }
-
-        holder.itemView.setOnClickListener(v -> {
-            if (listener != null) {
-                listener.onConversationClick(conversation, position);
-            }
-        });
-    }
-
-    @Override
-    public int getItemCount() {
-        return conversations.size();
     }
 
     static class ConversationViewHolder extends RecyclerView.ViewHolder {
@@ -14,13 +14,16 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.Post;
 import com.google.firebase.auth.FirebaseAuth;
 
+import java.util.Collections;
 import java.util.List;
 
 
-public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.PostViewHolder> {
+
+public class ForumPostAdapter extends ModelListAdapter<Post, ForumPostAdapter.PostViewHolder> {
+
+    private static final PostDiffCallback DIFF = new PostDiffCallback();
 
     private Context context;
-    private List<Post> posts;
     private OnPostActionListener listener;
 
     public interface OnPostActionListener {
@@ -29,9 +32,9 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
         void onDeleteClick(Post post);
     }
 
-    public ForumPostAdapter(Context context, List<Post> posts, OnPostActionListener listener) {
+    public ForumPostAdapter(Context context, OnPostActionListener listener) {
+        super(DIFF);
         this.context = context;
-        this.posts = posts;
         this.listener = listener;
     }
 
@@ -44,7 +47,7 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
 
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        Post post = posts.get(position);
+        Post post = getItem(position);
 
 
         String authorDisplay = post.getUsername() != null && !post.getUsername().isEmpty()
@@ -62,12 +65,7 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
         holder.contentText.setText(post.getContent());
 
 
-        String likeText = (post.getLikeCount() > 0 ? "❤️ " : "🤍 ") + post.getLikeCount() + " Likes";
-        holder.likeButton.setText(likeText);
-
-
-        String commentText = "💬 " + post.getCommentCount() + " Comments";
-        holder.commentButton.setText(commentText);
+        bindCounts(holder, post);
 
 
         String currentUserId = FirebaseAuth.getInstance().getCurrentUser() != null
@@ -101,8 +99,20 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
     }
 
     @Override
-    public int getItemCount() {
-        return posts.size();
+    public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && Collections.frequency(payloads, PostDiffCallback.PAYLOAD_COUNTS) == payloads.size()) {
+            bindCounts(holder, getItem(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    private void bindCounts(PostViewHolder holder, Post post) {
+        String likeText = (post.getLikeCount() > 0 ? "❤️ " : "🤍 ") + post.getLikeCount() + " Likes";
+        holder.likeButton.setText(likeText);
+
+        String commentText = "💬 " + post.getCommentCount() + " Comments";
+        holder.commentButton.setText(commentText);
     }
 
     static class PostViewHolder extends RecyclerView.ViewHolder {
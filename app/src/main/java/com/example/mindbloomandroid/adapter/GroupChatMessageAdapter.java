@@ -11,19 +11,30 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.GroupChatMessage;
+import com.example.mindbloomandroid.utility.RingBuffer;
 import com.google.firebase.auth.FirebaseAuth;
 
-import java.util.List;
 
 
+/**
+ * Reads straight from the group chat stream's ring buffer rather than diffing copies: the
+ * activity forwards each stream callback as a notifyItem* call, so a new message binds one
+ * row. Item ids are the buffer's sequence numbers.
+ */
 public class GroupChatMessageAdapter extends RecyclerView.Adapter<GroupChatMessageAdapter.MessageViewHolder> {
 
     private Context context;
-    private List<GroupChatMessage> messages;
+    private RingBuffer<GroupChatMessage> messages;
 
-    public GroupChatMessageAdapter(Context context, List<GroupChatMessage> messages) {
+    public GroupChatMessageAdapter(Context context) {
         this.context = context;
+        setHasStableIds(true);
+    }
+
+    // Each stream has its own window, so switching streams rebinds everything once
+    public void setMessages(RingBuffer<GroupChatMessage> messages) {
         this.messages = messages;
+        notifyDataSetChanged();
     }
 
     @NonNull
@@ -68,7 +79,12 @@ public class GroupChatMessageAdapter extends RecyclerView.Adapter<GroupChatMessa
 
     @Override
     public int getItemCount() {
-        return messages.size();
+        return messages != null ? messages.size() : 0;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return messages.sequenceAt(position);
     }
 
     static class MessageViewHolder extends RecyclerView.ViewHolder {
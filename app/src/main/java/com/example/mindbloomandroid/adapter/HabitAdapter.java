@@ -10,9 +10,20 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.Habit;
-import java.util.List;
 
-public class HabitAdapter extends RecyclerView.Adapter<HabitAdapter.HabitViewHolder> {
+public class HabitAdapter extends ModelListAdapter<Habit, HabitAdapter.HabitViewHolder> {
+
+    private static final ModelDiffCallback<Habit> DIFF = new ModelDiffCallback<Habit>() {
+        @Override
+        public String keyOf(@NonNull Habit item) {
+            return item.getHabitId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull Habit item) {
+            return item.toMap();
+        }
+    };
 
     public interface OnHabitCompleteListener {
         void onHabitComplete(Habit habit);
@@ -27,17 +38,15 @@ public class HabitAdapter extends RecyclerView.Adapter<HabitAdapter.HabitViewHol
     }
 
     private Context context;
-    private List<Habit> habits;
     private OnHabitCompleteListener completeListener;
     private OnHabitHistoryListener historyListener;
     private OnHabitDeleteListener deleteListener;
 
-    public HabitAdapter(Context context, List<Habit> habits,
-                       OnHabitCompleteListener completeListener,
+    public HabitAdapter(Context context, OnHabitCompleteListener completeListener,
                        OnHabitHistoryListener historyListener,
                        OnHabitDeleteListener deleteListener) {
+        super(DIFF);
         this.context = context;
-        this.habits = habits;
         this.completeListener = completeListener;
         this.historyListener = historyListener;
         this.deleteListener = deleteListener;
@@ -52,7 +61,7 @@ public class HabitAdapter extends RecyclerView.Adapter<HabitAdapter.HabitViewHol
 
     @Override
     public void onBindViewHolder(@NonNull HabitViewHolder holder, int position) {
-        Habit habit = habits.get(position);
+        Habit habit = getItem(position);
         
         holder.nameText.setText(habit.getName());
         holder.descriptionText.setText(habit.getDescription());
@@ -79,11 +88,6 @@ public class HabitAdapter extends RecyclerView.Adapter<HabitAdapter.HabitViewHol
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return habits.size();
-    }
-
     static class HabitViewHolder extends RecyclerView.ViewHolder {
         TextView nameText, descriptionText, streakText, frequencyText;
         Button completeButton;
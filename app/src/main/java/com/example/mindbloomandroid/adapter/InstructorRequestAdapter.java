@@ -15,14 +15,24 @@ import com.example.mindbloomandroid.model.SessionRequest;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
 
-public class InstructorRequestAdapter extends RecyclerView.Adapter<InstructorRequestAdapter.ViewHolder> {
+public class InstructorRequestAdapter extends ModelListAdapter<SessionRequest, InstructorRequestAdapter.ViewHolder> {
+
+    private static final ModelDiffCallback<SessionRequest> DIFF = new ModelDiffCallback<SessionRequest>() {
+        @Override
+        public String keyOf(@NonNull SessionRequest item) {
+            return item.getRequestId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull SessionRequest item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<SessionRequest> requests;
     private OnRequestActionListener acceptListener;
     private OnRequestActionListener declineListener;
 
@@ -30,11 +40,10 @@ public class InstructorRequestAdapter extends RecyclerView.Adapter<InstructorReq
         void onAction(SessionRequest request);
     }
 
-    public InstructorRequestAdapter(Context context, List<SessionRequest> requests,
-                                    OnRequestActionListener acceptListener,
+    public InstructorRequestAdapter(Context context, OnRequestActionListener acceptListener,
                                     OnRequestActionListener declineListener) {
+        super(DIFF);
         this.context = context;
-        this.requests = requests;
         this.acceptListener = acceptListener;
         this.declineListener = declineListener;
     }
@@ -48,7 +57,7 @@ public class InstructorRequestAdapter extends RecyclerView.Adapter<InstructorReq
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        SessionRequest request = requests.get(position);
+        SessionRequest request = getItem(position);
 
 
         holder.clientNameText.setText("👤 " + (request.getClientName() != null ?
@@ -91,11 +100,6 @@ public class InstructorRequestAdapter extends RecyclerView.Adapter<InstructorReq
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return requests.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView clientNameText;
         TextView dateTimeText;
@@ -0,0 +1,31 @@
+package com.example.mindbloomandroid.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.Objects;
+
+/**
+ * Item identity and contents for a model list. Rows are the same item when their model ids
+ * match and unchanged when contentsOf() is equal; for persisted models that is usually
+ * toMap(), which already covers every stored field. Runs on AsyncListDiffer's background
+ * thread, so implementations must not touch views.
+ */
+public abstract class ModelDiffCallback<T> extends DiffUtil.ItemCallback<T> {
+
+    // The model's database id; null for items that were never saved
+    public abstract String keyOf(@NonNull T item);
+
+    public abstract Object contentsOf(@NonNull T item);
+
+    @Override
+    public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+        String oldKey = keyOf(oldItem);
+        return oldKey != null ? oldKey.equals(keyOf(newItem)) : oldItem == newItem;
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+        return Objects.equals(contentsOf(oldItem), contentsOf(newItem));
+    }
+}
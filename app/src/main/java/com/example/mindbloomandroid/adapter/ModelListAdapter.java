@@ -0,0 +1,70 @@
+package com.example.mindbloomandroid.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ListAdapter for model rows. submitList() diffs on a background thread and only the rows
+ * that changed are rebound, so a realtime update no longer redraws the whole list. Item ids
+ * are stable per model id, which keeps item animations and scroll position across updates.
+ *
+ * Submit a new list (or a copy) on each update; the adapter owns what it was given, and a
+ * model edited in place looks unchanged to the diff.
+ */
+public abstract class ModelListAdapter<T, VH extends RecyclerView.ViewHolder> extends ListAdapter<T, VH> {
+
+    private final ModelDiffCallback<T> diffCallback;
+    private final Map<String, Long> idsByKey = new HashMap<>();
+    private final Map<T, Long> idsByUnsavedItem = new IdentityHashMap<>();
+    private long nextId = 1;
+
+    protected ModelListAdapter(@NonNull ModelDiffCallback<T> diffCallback) {
+        super(diffCallback);
+        this.diffCallback = diffCallback;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        T item = getItem(position);
+        String key = diffCallback.keyOf(item);
+        Long id = key != null ? idsByKey.get(key) : idsByUnsavedItem.get(item);
+        if (id == null) {
+            id = nextId++;
+            if (key != null) {
+                idsByKey.put(key, id);
+            } else {
+                idsByUnsavedItem.put(item, id);
+            }
+        }
+        return id;
+    }
+
+    @Override
+    public void onCurrentListChanged(@NonNull List<T> previousList, @NonNull List<T> currentList) {
+        // Ids of rows no longer shown are dropped, so a long-lived list holds one per current row.
+        // A row that comes back gets a new id, which RecyclerView treats as a fresh insert.
+        if (!idsByKey.isEmpty()) {
+            Set<String> currentKeys = new HashSet<>();
+            for (T item : currentList) {
+                String key = diffCallback.keyOf(item);
+                if (key != null) {
+                    currentKeys.add(key);
+                }
+            }
+            idsByKey.keySet().retainAll(currentKeys);
+        }
+        // Models don't override equals, so this keeps exactly the unsaved items still shown
+        if (!idsByUnsavedItem.isEmpty()) {
+            idsByUnsavedItem.keySet().retainAll(currentList);
+        }
+    }
+}
@@ -11,22 +11,32 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.MoodLog;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
-public class MoodLogAdapter extends RecyclerView.Adapter<MoodLogAdapter.MoodLogViewHolder> {
+public class MoodLogAdapter extends ModelListAdapter<MoodLog, MoodLogAdapter.MoodLogViewHolder> {
+
+    private static final ModelDiffCallback<MoodLog> DIFF = new ModelDiffCallback<MoodLog>() {
+        @Override
+        public String keyOf(@NonNull MoodLog item) {
+            return item.getMoodLogId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull MoodLog item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<MoodLog> moodLogs;
     private OnDeleteClickListener deleteListener;
 
     public interface OnDeleteClickListener {
         void onDeleteClick(MoodLog moodLog);
     }
 
-    public MoodLogAdapter(Context context, List<MoodLog> moodLogs, OnDeleteClickListener deleteListener) {
+    public MoodLogAdapter(Context context, OnDeleteClickListener deleteListener) {
+        super(DIFF);
         this.context = context;
-        this.moodLogs = moodLogs;
         this.deleteListener = deleteListener;
     }
 
@@ -39,7 +49,7 @@ public class MoodLogAdapter extends RecyclerView.Adapter<MoodLogAdapter.MoodLogV
 
     @Override
     public void onBindViewHolder(@NonNull MoodLogViewHolder holder, int position) {
-        MoodLog moodLog = moodLogs.get(position);
+        MoodLog moodLog = getItem(position);
         
         holder.moodEmojiText.setText(moodLog.getMoodEmoji());
         holder.moodRatingText.setText("Mood: " + moodLog.getMoodRating() + "/5");
@@ -69,11 +79,6 @@ public class MoodLogAdapter extends RecyclerView.Adapter<MoodLogAdapter.MoodLogV
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return moodLogs.size();
-    }
-
     static class MoodLogViewHolder extends RecyclerView.ViewHolder {
         TextView moodEmojiText, moodRatingText, dateText, notesText, activitiesText;
 
@@ -13,11 +13,28 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.NotificationData;
+import com.example.mindbloomandroid.utility.AppLog;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
-public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapter.NotificationViewHolder> {
+public class NotificationAdapter extends ModelListAdapter<NotificationData, NotificationAdapter.NotificationViewHolder> {
+
+    private static final ModelDiffCallback<NotificationData> DIFF = new ModelDiffCallback<NotificationData>() {
+        @Override
+        public String keyOf(@NonNull NotificationData item) {
+            return item.getNotificationId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull NotificationData item) {
+            return Arrays.asList(item.getNotificationType(), item.getTitle(), item.getMessage(), item.isRead(),
+                    item.getCreatedAt(), item.getCanJoin(), item.getZoomLink(), item.getSessionDate(),
+                    item.getCanReply(), item.getSenderName());
+        }
+    };
 
     public interface OnNotificationActionListener {
         void onMarkAsRead(NotificationData notification);
@@ -26,18 +43,16 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
     }
 
     private Context context;
-    private List<NotificationData> notifications;
     private OnNotificationActionListener listener;
 
-    public NotificationAdapter(Context context, List<NotificationData> notifications, OnNotificationActionListener listener) {
+    public NotificationAdapter(Context context, OnNotificationActionListener listener) {
+        super(DIFF);
         this.context = context;
-        this.notifications = notifications;
         this.listener = listener;
     }
 
     public void updateNotifications(List<NotificationData> newNotifications) {
-        this.notifications = newNotifications;
-        notifyDataSetChanged();
+        submitList(new ArrayList<>(newNotifications));
     }
 
     @NonNull
@@ -49,7 +64,7 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
 
     @Override
     public void onBindViewHolder(@NonNull NotificationViewHolder holder, int position) {
-        NotificationData notification = notifications.get(position);
+        NotificationData notification = getItem(position);
         
 
         holder.iconText.setText(notification.getTypeIcon());
@@ -94,15 +109,17 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
                 });
             }
         } else if ("MESSAGE".equals(notification.getNotificationType())) {
-            android.util.Log.d("NotificationAdapter", "📨 MESSAGE notification detected");
-            android.util.Log.d("NotificationAdapter", "   - canReply: " + notification.getCanReply());
-            android.util.Log.d("NotificationAdapter", "   - senderId: " + notification.getSenderId());
-            android.util.Log.d("NotificationAdapter", "   - senderName: " + notification.getSenderName());
+            AppLog.d("NotificationAdapter", "📨 MESSAGE notification detected");
+            if (AppLog.ENABLED) {
+                AppLog.d("NotificationAdapter", "   - canReply: " + notification.getCanReply());
+                AppLog.d("NotificationAdapter", "   - senderId: " + notification.getSenderId());
+                AppLog.d("NotificationAdapter", "   - senderName: " + notification.getSenderName());
+            }
 
             if (notification.getCanReply() != null && notification.getCanReply() &&
                 notification.getSenderId() != null) {
                 
-                android.util.Log.d("NotificationAdapter", "✅ SHOWING REPLY BUTTON");
+                AppLog.d("NotificationAdapter", "✅ SHOWING REPLY BUTTON");
                 holder.sessionDetailsText.setVisibility(View.GONE);
                 holder.replyBtn.setVisibility(View.VISIBLE);
                 holder.replyBtn.setText("💬 Reply to " + 
@@ -113,9 +130,9 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
                     }
                 });
             } else {
-                android.util.Log.e("NotificationAdapter", "❌ REPLY BUTTON HIDDEN - Conditions not met:");
-                android.util.Log.e("NotificationAdapter", "   - canReply is null or false: " + (notification.getCanReply() == null || !notification.getCanReply()));
-                android.util.Log.e("NotificationAdapter", "   - senderId is null: " + (notification.getSenderId() == null));
+                AppLog.e("NotificationAdapter", "❌ REPLY BUTTON HIDDEN - Conditions not met:");
+                AppLog.e("NotificationAdapter", "   - canReply is null or false: " + (notification.getCanReply() == null || !notification.getCanReply()));
+                AppLog.e("NotificationAdapter", "   - senderId is null: " + (notification.getSenderId() == null));
                 holder.replyBtn.setVisibility(View.GONE);
             }
         } else {
@@ -135,11 +152,6 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return notifications.size();
-    }
-
     static class NotificationViewHolder extends RecyclerView.ViewHolder {
         TextView iconText, titleText, messageText, timeText, sessionDetailsText;
         Button joinMeetingBtn, replyBtn, markReadBtn;
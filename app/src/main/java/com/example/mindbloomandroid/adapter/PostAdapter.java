@@ -11,11 +11,14 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.Post;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
-public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder> {
+public class PostAdapter extends ModelListAdapter<Post, PostAdapter.PostViewHolder> {
+
+    private static final PostDiffCallback DIFF = new PostDiffCallback();
 
     public interface OnPostClickListener {
         void onPostClick(Post post);
@@ -26,13 +29,12 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
     }
 
     private Context context;
-    private List<Post> posts;
     private OnPostClickListener postClickListener;
     private OnLikeClickListener likeClickListener;
 
-    public PostAdapter(Context context, List<Post> posts, OnPostClickListener postClickListener, OnLikeClickListener likeClickListener) {
+    public PostAdapter(Context context, OnPostClickListener postClickListener, OnLikeClickListener likeClickListener) {
+        super(DIFF);
         this.context = context;
-        this.posts = posts;
         this.postClickListener = postClickListener;
         this.likeClickListener = likeClickListener;
     }
@@ -46,12 +48,11 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        Post post = posts.get(position);
+        Post post = getItem(position);
         
         holder.usernameText.setText(post.getUsername());
         holder.contentText.setText(post.getContent());
-        holder.likeCountText.setText(String.valueOf(post.getLikeCount()));
-        holder.commentCountText.setText(String.valueOf(post.getCommentCount()));
+        bindCounts(holder, post);
         
         SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, hh:mm a", Locale.getDefault());
         holder.timestampText.setText(sdf.format(new Date(post.getTimestamp())));
@@ -70,8 +71,17 @@ public class PostAdapter extends RecyclerView.Adapter<PostAdapter.PostViewHolder
     }
 
     @Override
-    public int getItemCount() {
-        return posts.size();
+    public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty() && Collections.frequency(payloads, PostDiffCallback.PAYLOAD_COUNTS) == payloads.size()) {
+            bindCounts(holder, getItem(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    private void bindCounts(PostViewHolder holder, Post post) {
+        holder.likeCountText.setText(String.valueOf(post.getLikeCount()));
+        holder.commentCountText.setText(String.valueOf(post.getCommentCount()));
     }
 
     static class PostViewHolder extends RecyclerView.ViewHolder {
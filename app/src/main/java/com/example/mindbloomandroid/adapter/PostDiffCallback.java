@@ -0,0 +1,38 @@
+package com.example.mindbloomandroid.adapter;
+
+import androidx.annotation.NonNull;
+
+import com.example.mindbloomandroid.model.Post;
+
+import java.util.Map;
+
+/**
+ * Post rows for the forum lists. Likes and comments only bump their counters, so a change
+ * that touches nothing else comes through as PAYLOAD_COUNTS and rebinds just the counters.
+ */
+class PostDiffCallback extends ModelDiffCallback<Post> {
+
+    static final Object PAYLOAD_COUNTS = new Object();
+
+    @Override
+    public String keyOf(@NonNull Post item) {
+        return item.getPostId();
+    }
+
+    @Override
+    public Object contentsOf(@NonNull Post item) {
+        return item.toMap();
+    }
+
+    @Override
+    public Object getChangePayload(@NonNull Post oldItem, @NonNull Post newItem) {
+        return withoutCounts(oldItem).equals(withoutCounts(newItem)) ? PAYLOAD_COUNTS : null;
+    }
+
+    private static Map<String, Object> withoutCounts(Post post) {
+        Map<String, Object> map = post.toMap();
+        map.remove("likeCount");
+        map.remove("commentCount");
+        return map;
+    }
+}
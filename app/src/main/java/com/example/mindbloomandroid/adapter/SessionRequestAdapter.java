@@ -10,16 +10,26 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.SessionRequest;
 import com.example.mindbloomandroid.utility.DateTimeUtil;
-import java.util.List;
 
-public class SessionRequestAdapter extends RecyclerView.Adapter<SessionRequestAdapter.SessionRequestViewHolder> {
+public class SessionRequestAdapter extends ModelListAdapter<SessionRequest, SessionRequestAdapter.SessionRequestViewHolder> {
+
+    private static final ModelDiffCallback<SessionRequest> DIFF = new ModelDiffCallback<SessionRequest>() {
+        @Override
+        public String keyOf(@NonNull SessionRequest item) {
+            return item.getRequestId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull SessionRequest item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<SessionRequest> sessionRequests;
 
-    public SessionRequestAdapter(Context context, List<SessionRequest> sessionRequests) {
+    public SessionRequestAdapter(Context context) {
+        super(DIFF);
         this.context = context;
-        this.sessionRequests = sessionRequests;
     }
 
     @NonNull
@@ -31,7 +41,7 @@ public class SessionRequestAdapter extends RecyclerView.Adapter<SessionRequestAd
 
     @Override
     public void onBindViewHolder(@NonNull SessionRequestViewHolder holder, int position) {
-        SessionRequest request = sessionRequests.get(position);
+        SessionRequest request = getItem(position);
         
         holder.clientNameText.setText(request.getClientName());
         holder.statusText.setText(request.getStatus());
@@ -68,11 +78,6 @@ public class SessionRequestAdapter extends RecyclerView.Adapter<SessionRequestAd
         holder.statusText.setTextColor(statusColor);
     }
 
-    @Override
-    public int getItemCount() {
-        return sessionRequests.size();
-    }
-
     static class SessionRequestViewHolder extends RecyclerView.ViewHolder {
         TextView clientNameText, statusText, reasonText, dateText, preferredTimeText;
 
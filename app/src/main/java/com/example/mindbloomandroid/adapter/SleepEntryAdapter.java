@@ -11,17 +11,27 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.SleepEntry;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
-public class SleepEntryAdapter extends RecyclerView.Adapter<SleepEntryAdapter.SleepEntryViewHolder> {
+public class SleepEntryAdapter extends ModelListAdapter<SleepEntry, SleepEntryAdapter.SleepEntryViewHolder> {
+
+    private static final ModelDiffCallback<SleepEntry> DIFF = new ModelDiffCallback<SleepEntry>() {
+        @Override
+        public String keyOf(@NonNull SleepEntry item) {
+            return item.getSleepEntryId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull SleepEntry item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<SleepEntry> sleepEntries;
 
-    public SleepEntryAdapter(Context context, List<SleepEntry> sleepEntries) {
+    public SleepEntryAdapter(Context context) {
+        super(DIFF);
         this.context = context;
-        this.sleepEntries = sleepEntries;
     }
 
     @NonNull
@@ -33,7 +43,7 @@ public class SleepEntryAdapter extends RecyclerView.Adapter<SleepEntryAdapter.Sl
 
     @Override
     public void onBindViewHolder(@NonNull SleepEntryViewHolder holder, int position) {
-        SleepEntry entry = sleepEntries.get(position);
+        SleepEntry entry = getItem(position);
         
         SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
         SimpleDateFormat timeSdf = new SimpleDateFormat("hh:mm a", Locale.getDefault());
@@ -52,11 +62,6 @@ public class SleepEntryAdapter extends RecyclerView.Adapter<SleepEntryAdapter.Sl
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return sleepEntries.size();
-    }
-
     static class SleepEntryViewHolder extends RecyclerView.ViewHolder {
         TextView dateText, bedtimeText, wakeTimeText, durationText, qualityText, notesText;
 
@@ -11,22 +11,32 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.StressAssessment;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
-public class StressAssessmentAdapter extends RecyclerView.Adapter<StressAssessmentAdapter.StressAssessmentViewHolder> {
+public class StressAssessmentAdapter extends ModelListAdapter<StressAssessment, StressAssessmentAdapter.StressAssessmentViewHolder> {
+
+    private static final ModelDiffCallback<StressAssessment> DIFF = new ModelDiffCallback<StressAssessment>() {
+        @Override
+        public String keyOf(@NonNull StressAssessment item) {
+            return item.getAssessmentId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull StressAssessment item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<StressAssessment> assessments;
     private OnDeleteClickListener deleteListener;
 
     public interface OnDeleteClickListener {
         void onDeleteClick(StressAssessment assessment);
     }
 
-    public StressAssessmentAdapter(Context context, List<StressAssessment> assessments, OnDeleteClickListener deleteListener) {
+    public StressAssessmentAdapter(Context context, OnDeleteClickListener deleteListener) {
+        super(DIFF);
         this.context = context;
-        this.assessments = assessments;
         this.deleteListener = deleteListener;
     }
 
@@ -39,7 +49,7 @@ public class StressAssessmentAdapter extends RecyclerView.Adapter<StressAssessme
 
     @Override
     public void onBindViewHolder(@NonNull StressAssessmentViewHolder holder, int position) {
-        StressAssessment assessment = assessments.get(position);
+        StressAssessment assessment = getItem(position);
         
         holder.dateText.setText(assessment.getFormattedAssessmentDate());
         holder.levelText.setText(assessment.getStressLevel() + " - Score: " + 
@@ -82,11 +92,6 @@ public class StressAssessmentAdapter extends RecyclerView.Adapter<StressAssessme
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return assessments.size();
-    }
-
     static class StressAssessmentViewHolder extends RecyclerView.ViewHolder {
         TextView dateText, levelText, triggersText, symptomsText, notesText;
 
@@ -11,18 +11,28 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.TherapyNote;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
-public class TherapyNoteAdapter extends RecyclerView.Adapter<TherapyNoteAdapter.NoteViewHolder> {
+public class TherapyNoteAdapter extends ModelListAdapter<TherapyNote, TherapyNoteAdapter.NoteViewHolder> {
+
+    private static final ModelDiffCallback<TherapyNote> DIFF = new ModelDiffCallback<TherapyNote>() {
+        @Override
+        public String keyOf(@NonNull TherapyNote item) {
+            return item.getNoteId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull TherapyNote item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<TherapyNote> notes;
     private SimpleDateFormat dateFormat;
 
-    public TherapyNoteAdapter(Context context, List<TherapyNote> notes) {
+    public TherapyNoteAdapter(Context context) {
+        super(DIFF);
         this.context = context;
-        this.notes = notes;
         this.dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
     }
 
@@ -35,18 +45,13 @@ public class TherapyNoteAdapter extends RecyclerView.Adapter<TherapyNoteAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull NoteViewHolder holder, int position) {
-        TherapyNote note = notes.get(position);
+        TherapyNote note = getItem(position);
 
         holder.noteDate.setText(dateFormat.format(new Date(note.getSessionDate())));
         holder.noteType.setText(note.getSessionType());
         holder.noteContent.setText(note.getNotes());
     }
 
-    @Override
-    public int getItemCount() {
-        return notes.size();
-    }
-
     static class NoteViewHolder extends RecyclerView.ViewHolder {
         TextView noteDate, noteType, noteContent;
 
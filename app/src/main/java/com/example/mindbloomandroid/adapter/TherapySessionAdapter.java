@@ -15,24 +15,33 @@ import com.example.mindbloomandroid.model.TherapySession;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
 
-public class TherapySessionAdapter extends RecyclerView.Adapter<TherapySessionAdapter.SessionViewHolder> {
+public class TherapySessionAdapter extends ModelListAdapter<TherapySession, TherapySessionAdapter.SessionViewHolder> {
+
+    private static final ModelDiffCallback<TherapySession> DIFF = new ModelDiffCallback<TherapySession>() {
+        @Override
+        public String keyOf(@NonNull TherapySession item) {
+            return item.getSessionId();
+        }
+
+        @Override
+        public Object contentsOf(@NonNull TherapySession item) {
+            return item.toMap();
+        }
+    };
 
     private Context context;
-    private List<TherapySession> sessions;
     private OnJoinMeetingClickListener joinMeetingListener;
 
     public interface OnJoinMeetingClickListener {
         void onJoinMeetingClick(String zoomLink);
     }
 
-    public TherapySessionAdapter(Context context, List<TherapySession> sessions,
-                                 OnJoinMeetingClickListener listener) {
+    public TherapySessionAdapter(Context context, OnJoinMeetingClickListener listener) {
+        super(DIFF);
         this.context = context;
-        this.sessions = sessions;
         this.joinMeetingListener = listener;
     }
 
@@ -45,7 +54,7 @@ public class TherapySessionAdapter extends RecyclerView.Adapter<TherapySessionAd
 
     @Override
     public void onBindViewHolder(@NonNull SessionViewHolder holder, int position) {
-        TherapySession session = sessions.get(position);
+        TherapySession session = getItem(position);
 
 
         holder.sessionTypeText.setText(session.getSessionType() != null ?
@@ -92,11 +101,6 @@ public class TherapySessionAdapter extends RecyclerView.Adapter<TherapySessionAd
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return sessions.size();
-    }
-
     static class SessionViewHolder extends RecyclerView.ViewHolder {
         TextView sessionTypeText, dateTimeText, statusBadge, instructorText, notesText;
         Button joinMeetingBtn;
@@ -3,6 +3,7 @@ package com.example.mindbloomandroid.examples;
 // EXAMPLE: How to display user info in activities
 
 import com.example.mindbloomandroid.model.User;
+import com.example.mindbloomandroid.utility.AppLog;
 import android.widget.TextView;
 
 /**
@@ -84,13 +85,15 @@ public class UserDisplayExamples {
      * Example 6: Log user information for debugging
      */
     public void logUserInfo(User user) {
-        android.util.Log.d("UserInfo", "=== USER INFO ===");
-        android.util.Log.d("UserInfo", "Display ID: " + user.getDisplayIdText());
-        android.util.Log.d("UserInfo", "Username: " + user.getUsername());
-        android.util.Log.d("UserInfo", "Role: " + user.getRole());
-        android.util.Log.d("UserInfo", "Created: " + user.getFormattedCreatedAt());
-        android.util.Log.d("UserInfo", "Firebase UID: " + user.getUserId());
-        android.util.Log.d("UserInfo", "================");
+        if (AppLog.ENABLED) {
+            AppLog.d("UserInfo", "=== USER INFO ===");
+            AppLog.d("UserInfo", "Display ID: " + user.getDisplayIdText());
+            AppLog.d("UserInfo", "Username: " + user.getUsername());
+            AppLog.d("UserInfo", "Role: " + user.getRole());
+            AppLog.d("UserInfo", "Created: " + user.getFormattedCreatedAt());
+            AppLog.d("UserInfo", "Firebase UID: " + user.getUserId());
+            AppLog.d("UserInfo", "================");
+        }
     }
 
     /**
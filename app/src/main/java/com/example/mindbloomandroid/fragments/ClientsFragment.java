@@ -18,6 +18,8 @@ import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.adapter.ClientAdapter;
 import com.example.mindbloomandroid.model.ClientOverview;
 import com.example.mindbloomandroid.service.InstructorService;
+import com.example.mindbloomandroid.stream.StreamObserver;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import java.util.ArrayList;
 import java.util.List;
@@ -46,7 +48,7 @@ public class ClientsFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         try {
-            android.util.Log.d("ClientsFragment", "🎯 onViewCreated started");
+            AppLog.d("ClientsFragment", "🎯 onViewCreated started");
 
             initializeViews(view);
 
@@ -59,9 +61,9 @@ public class ClientsFragment extends Fragment {
             setupSearchFilter();
             loadClients();
 
-            android.util.Log.d("ClientsFragment", "✅ onViewCreated completed successfully");
+            AppLog.d("ClientsFragment", "✅ onViewCreated completed successfully");
         } catch (Exception e) {
-            android.util.Log.e("ClientsFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
+            AppLog.e("ClientsFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
             if (getContext() != null) {
                 Toast.makeText(getContext(), "Error loading clients: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
@@ -75,7 +77,7 @@ public class ClientsFragment extends Fragment {
     }
 
     private void setupRecyclerView() {
-        clientAdapter = new ClientAdapter(requireContext(), filteredClients);
+        clientAdapter = new ClientAdapter(requireContext());
         clientsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         clientsRecyclerView.setAdapter(clientAdapter);
     }
@@ -113,7 +115,7 @@ public class ClientsFragment extends Fragment {
         }
         
         if (clientAdapter != null) {
-            clientAdapter.notifyDataSetChanged();
+            clientAdapter.submitList(new ArrayList<>(filteredClients));
         }
     }
 
@@ -125,9 +127,9 @@ public class ClientsFragment extends Fragment {
         }
 
         progressBar.setVisibility(View.VISIBLE);
-        instructorService.getAllClients(instructorId, new InstructorService.OnClientsLoadedListener() {
+        instructorService.clients().observe(getViewLifecycleOwner(), new StreamObserver<List<ClientOverview>>() {
             @Override
-            public void onClientsLoaded(List<ClientOverview> clients) {
+            public void onNext(List<ClientOverview> clients) {
                 if (getActivity() == null) return;
                 
                 progressBar.setVisibility(View.GONE);
@@ -135,7 +137,7 @@ public class ClientsFragment extends Fragment {
                 allClients.addAll(clients);
                 filteredClients.clear();
                 filteredClients.addAll(clients);
-                clientAdapter.notifyDataSetChanged();
+                clientAdapter.submitList(new ArrayList<>(filteredClients));
 
                 if (clients.isEmpty()) {
                     Toast.makeText(requireContext(), "No clients yet", Toast.LENGTH_SHORT).show();
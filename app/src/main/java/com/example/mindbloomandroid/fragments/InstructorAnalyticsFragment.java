@@ -15,6 +15,9 @@ import androidx.fragment.app.Fragment;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.ClientOverview;
 import com.example.mindbloomandroid.service.InstructorService;
+import com.example.mindbloomandroid.stream.StreamObserver;
+import com.example.mindbloomandroid.stream.ValueStream;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.github.mikephil.charting.charts.BarChart;
 import com.github.mikephil.charting.charts.LineChart;
@@ -32,6 +35,8 @@ import java.util.Map;
 
 public class InstructorAnalyticsFragment extends Fragment {
 
+    private static final long RANGE_DEBOUNCE_MS = 250;
+
     private RadioGroup timeRangeGroup;
     private TextView totalSessions;
     private TextView activeClients;
@@ -41,7 +46,7 @@ public class InstructorAnalyticsFragment extends Fragment {
 
     private InstructorService instructorService;
     private SharedPreferencesManager prefsManager;
-    private String selectedTimeRange = "week";
+    private ValueStream<String> selectedTimeRange;
 
     @Nullable
     @Override
@@ -54,19 +59,20 @@ public class InstructorAnalyticsFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         try {
-            android.util.Log.d("InstructorAnalyticsFragment", "🎯 onViewCreated started");
+            AppLog.d("InstructorAnalyticsFragment", "🎯 onViewCreated started");
 
             initializeViews(view);
 
             instructorService = new InstructorService();
             prefsManager = SharedPreferencesManager.getInstance(requireContext());
+            selectedTimeRange = new ValueStream<>("week");
 
             setupTimeRangeSelector();
             loadAnalytics();
 
-            android.util.Log.d("InstructorAnalyticsFragment", "✅ onViewCreated completed successfully");
+            AppLog.d("InstructorAnalyticsFragment", "✅ onViewCreated completed successfully");
         } catch (Exception e) {
-            android.util.Log.e("InstructorAnalyticsFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
+            AppLog.e("InstructorAnalyticsFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
             if (getContext() != null) {
                 Toast.makeText(getContext(), "Error loading analytics: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
@@ -85,13 +91,12 @@ public class InstructorAnalyticsFragment extends Fragment {
     private void setupTimeRangeSelector() {
         timeRangeGroup.setOnCheckedChangeListener((group, checkedId) -> {
             if (checkedId == R.id.radioWeek) {
-                selectedTimeRange = "week";
+                selectedTimeRange.setValue("week");
             } else if (checkedId == R.id.radioMonth) {
-                selectedTimeRange = "month";
+                selectedTimeRange.setValue("month");
             } else if (checkedId == R.id.radioYear) {
-                selectedTimeRange = "year";
+                selectedTimeRange.setValue("year");
             }
-            loadAnalytics();
         });
     }
 
@@ -103,15 +108,11 @@ public class InstructorAnalyticsFragment extends Fragment {
         }
 
         progressBar.setVisibility(View.VISIBLE);
-        instructorService.getDashboardStats(instructorId, new InstructorService.OnStatsLoadedListener() {
+        instructorService.dashboardStats(instructorId).observe(getViewLifecycleOwner(), new StreamObserver<Map<String, Integer>>() {
             @Override
-            public void onStatsLoaded(Map<String, Integer> stats) {
-                if (getActivity() == null) return;
-
+            public void onNext(Map<String, Integer> stats) {
                 progressBar.setVisibility(View.GONE);
                 updateStats(stats);
-                setupSessionsChart();
-                setupClientProgressChart();
             }
 
             @Override
@@ -122,6 +123,9 @@ public class InstructorAnalyticsFragment extends Fragment {
                 Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_SHORT).show();
             }
         });
+
+        setupSessionsChart(instructorId);
+        setupClientProgressChart();
     }
 
     private void updateStats(Map<String, Integer> stats) {
@@ -133,75 +137,74 @@ public class InstructorAnalyticsFragment extends Fragment {
         activeClients.setText(String.valueOf(activeClientsCount));
     }
 
-    private void setupSessionsChart() {
-        String instructorId = prefsManager.getUserId();
-        if (instructorId == null) return;
-        
-        progressBar.setVisibility(View.VISIBLE);
-        instructorService.getSessionAnalytics(instructorId, selectedTimeRange, 
-            new InstructorService.OnSessionAnalyticsLoadedListener() {
-                @Override
-                public void onAnalyticsLoaded(List<Long> sessionDates) {
-                    if (getActivity() == null) return;
-                    progressBar.setVisibility(View.GONE);
-                    
-                    List<Entry> entries = new ArrayList<>();
-                    
-                    if (selectedTimeRange.equals("week")) {
-                        // Group by day of week
-                        int[] dayCounts = new int[7];
-                        for (Long date : sessionDates) {
-                            java.util.Calendar cal = java.util.Calendar.getInstance();
-                            cal.setTimeInMillis(date);
-                            int dayOfWeek = cal.get(java.util.Calendar.DAY_OF_WEEK) - 1;
-                            if (dayOfWeek >= 0 && dayOfWeek < 7) {
-                                dayCounts[dayOfWeek]++;
-                            }
-                        }
-                        for (int i = 0; i < 7; i++) {
-                            entries.add(new Entry(i, dayCounts[i]));
-                        }
-                    } else if (selectedTimeRange.equals("month")) {
-                        // Group by week
-                        int[] weekCounts = new int[4];
-                        long currentTime = System.currentTimeMillis();
-                        long weekMs = 7L * 24 * 60 * 60 * 1000;
-                        for (Long date : sessionDates) {
-                            long diff = currentTime - date;
-                            int weekIndex = (int) (diff / weekMs);
-                            if (weekIndex >= 0 && weekIndex < 4) {
-                                weekCounts[3 - weekIndex]++;
-                            }
-                        }
-                        for (int i = 0; i < 4; i++) {
-                            entries.add(new Entry(i, weekCounts[i]));
-                        }
-                    } else {
-                        // Group by month
-                        int[] monthCounts = new int[12];
-                        for (Long date : sessionDates) {
-                            java.util.Calendar cal = java.util.Calendar.getInstance();
-                            cal.setTimeInMillis(date);
-                            int month = cal.get(java.util.Calendar.MONTH);
-                            if (month >= 0 && month < 12) {
-                                monthCounts[month]++;
-                            }
-                        }
-                        for (int i = 0; i < 12; i++) {
-                            entries.add(new Entry(i, monthCounts[i]));
-                        }
+    // Quick taps across the range buttons only load the last range picked
+    private void setupSessionsChart(String instructorId) {
+        selectedTimeRange.distinct()
+                .debounce(RANGE_DEBOUNCE_MS)
+                .switchMap(timeRange -> instructorService.sessionAnalytics(instructorId, timeRange)
+                        .map(sessionDates -> groupSessions(timeRange, sessionDates)))
+                .observe(getViewLifecycleOwner(), new StreamObserver<List<Entry>>() {
+                    @Override
+                    public void onNext(List<Entry> entries) {
+                        displayChart(entries);
                     }
-                    
-                    displayChart(entries);
-                }
 
-                @Override
-                public void onError(String error) {
-                    if (getActivity() == null) return;
-                    progressBar.setVisibility(View.GONE);
-                    Toast.makeText(requireContext(), "Error loading analytics", Toast.LENGTH_SHORT).show();
+                    @Override
+                    public void onError(String error) {
+                        Toast.makeText(requireContext(), "Error loading analytics", Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    private List<Entry> groupSessions(String timeRange, List<Long> sessionDates) {
+        List<Entry> entries = new ArrayList<>();
+        
+        if (timeRange.equals("week")) {
+            // Group by day of week
+            int[] dayCounts = new int[7];
+            for (Long date : sessionDates) {
+                java.util.Calendar cal = java.util.Calendar.getInstance();
+                cal.setTimeInMillis(date);
+                int dayOfWeek = cal.get(java.util.Calendar.DAY_OF_WEEK) - 1;
+                if (dayOfWeek >= 0 && dayOfWeek < 7) {
+                    dayCounts[dayOfWeek]++;
                 }
-            });
+            }
+            for (int i = 0; i < 7; i++) {
+                entries.add(new Entry(i, dayCounts[i]));
+            }
+        } else if (timeRange.equals("month")) {
+            // Group by week
+            int[] weekCounts = new int[4];
+            long currentTime = System.currentTimeMillis();
+            long weekMs = 7L * 24 * 60 * 60 * 1000;
+            for (Long date : sessionDates) {
+                long diff = currentTime - date;
+                int weekIndex = (int) (diff / weekMs);
+                if (weekIndex >= 0 && weekIndex < 4) {
+                    weekCounts[3 - weekIndex]++;
+                }
+            }
+            for (int i = 0; i < 4; i++) {
+                entries.add(new Entry(i, weekCounts[i]));
+            }
+        } else {
+            // Group by month
+            int[] monthCounts = new int[12];
+            for (Long date : sessionDates) {
+                java.util.Calendar cal = java.util.Calendar.getInstance();
+                cal.setTimeInMillis(date);
+                int month = cal.get(java.util.Calendar.MONTH);
+                if (month >= 0 && month < 12) {
+                    monthCounts[month]++;
+                }
+            }
+            for (int i = 0; i < 12; i++) {
+                entries.add(new Entry(i, monthCounts[i]));
+            }
+        }
+
+        return entries;
     }
     
     private void displayChart(List<Entry> entries) {
@@ -230,15 +233,9 @@ public class InstructorAnalyticsFragment extends Fragment {
     }
 
     private void setupClientProgressChart() {
-        String instructorId = prefsManager.getUserId();
-        if (instructorId == null) return;
-        
-
-        instructorService.getAllClients(instructorId, new InstructorService.OnClientsLoadedListener() {
+        instructorService.clients().observe(getViewLifecycleOwner(), new StreamObserver<List<ClientOverview>>() {
             @Override
-            public void onClientsLoaded(List<ClientOverview> clients) {
-                if (getActivity() == null) return;
-                
+            public void onNext(List<ClientOverview> clients) {
                 List<BarEntry> entries = new ArrayList<>();
                 
                 // Calculate engagement for each client (up to 5)
@@ -259,7 +256,6 @@ public class InstructorAnalyticsFragment extends Fragment {
 
             @Override
             public void onError(String error) {
-                if (getActivity() == null) return;
                 List<BarEntry> entries = new ArrayList<>();
                 entries.add(new BarEntry(0, 0));
                 displayProgressChart(entries);
@@ -1,7 +1,6 @@
 package com.example.mindbloomandroid.fragments;
 
 import android.os.Bundle;
-import android.os.Handler;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -23,9 +22,14 @@ import com.example.mindbloomandroid.model.ClientOverview;
 import com.example.mindbloomandroid.model.Conversation;
 import com.example.mindbloomandroid.model.Message;
 import com.example.mindbloomandroid.model.User;
+import com.example.mindbloomandroid.service.InboxMigration;
 import com.example.mindbloomandroid.service.InstructorService;
 import com.example.mindbloomandroid.service.MessageService;
+import com.example.mindbloomandroid.service.MessageWindow;
 import com.example.mindbloomandroid.service.ZoomLinkService;
+import com.example.mindbloomandroid.stream.StreamObserver;
+import com.example.mindbloomandroid.stream.ValueStream;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import android.content.Intent;
 import android.net.Uri;
@@ -35,12 +39,20 @@ import android.widget.ImageView;
 import android.widget.LinearLayout;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.textfield.TextInputEditText;
+import com.google.firebase.database.ValueEventListener;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public class InstructorMessagesFragment extends Fragment {
 
+    private static final int CONVERSATION_PAGE_SIZE = 20;
+    private static final int MESSAGE_PAGE_SIZE = 30;
+    private static final int CLIENT_SEARCH_LIMIT = 20;
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
     private RecyclerView conversationsRecyclerView;
     private RecyclerView messagesRecyclerView;
     private TextInputEditText messageInput;
@@ -66,8 +78,18 @@ public class InstructorMessagesFragment extends Fragment {
     private String currentUserId;
     private String selectedClientId;
     private String selectedClientName;
-    private Handler autoRefreshHandler;
-    private Runnable autoRefreshRunnable;
+    private MessageWindow messageWindow;
+    private ValueEventListener unreadCountsListener;
+    private final Map<String, Integer> unreadCounts = new HashMap<>();
+
+    private ValueEventListener recentConversationsListener;
+    private final List<Conversation> recentConversations = new ArrayList<>();
+    private final List<Conversation> olderConversations = new ArrayList<>();
+    private final List<Conversation> searchResults = new ArrayList<>();
+    private String searchQuery = "";
+    private ValueStream<String> searchInput;
+    private boolean loadingOlderConversations;
+    private boolean hasOlderConversations;
 
     @Nullable
     @Override
@@ -80,7 +102,7 @@ public class InstructorMessagesFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         try {
-            android.util.Log.d("InstructorMessagesFragment", "🎯 onViewCreated started");
+            AppLog.d("InstructorMessagesFragment", "🎯 onViewCreated started");
 
             initializeViews(view);
 
@@ -97,11 +119,10 @@ public class InstructorMessagesFragment extends Fragment {
             setupVideoCallButton();
             setupAttachmentButton();
             loadConversations();
-            startAutoRefresh();
 
-            android.util.Log.d("InstructorMessagesFragment", "✅ onViewCreated completed successfully");
+            AppLog.d("InstructorMessagesFragment", "✅ onViewCreated completed successfully");
         } catch (Exception e) {
-            android.util.Log.e("InstructorMessagesFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
+            AppLog.e("InstructorMessagesFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
             if (getContext() != null) {
                 Toast.makeText(getContext(), "Error loading messages: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
@@ -126,24 +147,42 @@ public class InstructorMessagesFragment extends Fragment {
 
     private void setupRecyclerViews() {
         // Conversations list
-        conversationAdapter = new ConversationAdapter(requireContext(), conversations);
-        conversationsRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        conversationAdapter = new ConversationAdapter(requireContext());
+        LinearLayoutManager conversationsLayoutManager = new LinearLayoutManager(requireContext());
+        conversationsRecyclerView.setLayoutManager(conversationsLayoutManager);
         conversationsRecyclerView.setAdapter(conversationAdapter);
+        conversationsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && conversationsLayoutManager.findLastVisibleItemPosition() >= conversations.size() - 3) {
+                    loadOlderConversations();
+                }
+            }
+        });
 
         conversationAdapter.setOnConversationClickListener((conversation, position) -> {
             selectedClientId = conversation.getClientId();
             selectedClientName = conversation.getClientName();
-            conversationAdapter.setSelectedPosition(position);
+            conversationAdapter.setSelectedClientId(selectedClientId);
             updateChatHeader();
             loadMessages();
+            markConversationAsRead();
         });
 
         // Messages list
-        chatMessageAdapter = new ChatMessageAdapter(requireContext(), currentMessages, currentUserId);
+        chatMessageAdapter = new ChatMessageAdapter(requireContext(), currentUserId);
         LinearLayoutManager messagesLayoutManager = new LinearLayoutManager(requireContext());
         messagesLayoutManager.setStackFromEnd(true);
         messagesRecyclerView.setLayoutManager(messagesLayoutManager);
         messagesRecyclerView.setAdapter(chatMessageAdapter);
+        messagesRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy < 0 && messageWindow != null && messagesLayoutManager.findFirstVisibleItemPosition() <= 3) {
+                    messageWindow.loadOlder();
+                }
+            }
+        });
     }
 
     private void updateChatHeader() {
@@ -156,6 +195,7 @@ public class InstructorMessagesFragment extends Fragment {
     }
 
     private void setupSearchFilter() {
+        searchInput = new ValueStream<>(searchQuery);
         searchConversations.addTextChangedListener(new TextWatcher() {
             @Override
             public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
@@ -168,22 +208,38 @@ public class InstructorMessagesFragment extends Fragment {
             @Override
             public void afterTextChanged(Editable s) {}
         });
+
+        // Clients without a conversation yet aren't in the inbox, so look them up by name once
+        // typing pauses; a newer query cancels the read still out for an older one
+        searchInput.filter(query -> query.length() >= 2)
+                .debounce(SEARCH_DEBOUNCE_MS)
+                .switchMap(query -> instructorService.searchClients(query, CLIENT_SEARCH_LIMIT)
+                        .filter(clients -> query.equals(searchQuery)))
+                .observe(getViewLifecycleOwner(), new StreamObserver<List<ClientOverview>>() {
+                    @Override
+                    public void onNext(List<ClientOverview> clients) {
+                        searchResults.clear();
+                        for (ClientOverview client : clients) {
+                            searchResults.add(new Conversation(client.getClientId(), client.getClientName()));
+                        }
+                        refreshConversationList();
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        AppLog.e("InstructorMessagesFragment", "Error searching clients: " + error);
+                    }
+                });
     }
 
     private void filterConversations(String query) {
-        // Filter conversations based on search query
-        List<Conversation> filtered = new ArrayList<>();
-        if (query.isEmpty()) {
-            filtered.addAll(conversations);
-        } else {
-            String lowerQuery = query.toLowerCase();
-            for (Conversation conv : conversations) {
-                if (conv.getClientName().toLowerCase().contains(lowerQuery)) {
-                    filtered.add(conv);
-                }
-            }
-        }
-        conversationAdapter.notifyDataSetChanged();
+        String trimmed = query.trim();
+        if (trimmed.equals(searchQuery)) return;
+
+        searchQuery = trimmed;
+        searchResults.clear();
+        refreshConversationList();
+        searchInput.setValue(searchQuery);
     }
 
     private void setupSendButton() {
@@ -213,7 +269,9 @@ public class InstructorMessagesFragment extends Fragment {
                         // Send zoom link as message to client
                         Message videoCallMessage = new Message();
                         videoCallMessage.setSenderId(currentUserId);
+                        videoCallMessage.setSenderName(prefsManager.getUsername());
                         videoCallMessage.setReceiverId(selectedClientId);
+                        videoCallMessage.setReceiverName(selectedClientName);
                         videoCallMessage.setContent("📹 Video Call Invitation\n\nClick to join: " + zoomLink);
                         videoCallMessage.setTimestamp(System.currentTimeMillis());
                         videoCallMessage.setStatus("sent");
@@ -229,8 +287,6 @@ public class InstructorMessagesFragment extends Fragment {
                                 // Open zoom link for instructor
                                 Intent browserIntent = new Intent(Intent.ACTION_VIEW, Uri.parse(zoomLink));
                                 startActivity(browserIntent);
-                                
-                                loadMessages(); // Refresh messages
                             }
 
                             @Override
@@ -264,84 +320,206 @@ public class InstructorMessagesFragment extends Fragment {
             return;
         }
 
-        android.util.Log.d("InstructorMessagesFragment", "📖 Loading conversations for instructor: " + currentUserId);
+        if (AppLog.ENABLED) {
+            AppLog.d("InstructorMessagesFragment", "📖 Loading conversations for instructor: " + currentUserId);
+        }
         progressBar.setVisibility(View.VISIBLE);
 
-        instructorService.getAllClients(currentUserId, new InstructorService.OnClientsLoadedListener() {
+        // Threads from before the summaries existed are summarised once, then the inbox is read
+        InboxMigration.getInstance().ensureMigrated(currentUserId, new InboxMigration.OnMigratedListener() {
             @Override
-            public void onClientsLoaded(List<ClientOverview> clients) {
-                if (getActivity() == null) return;
+            public void onMigrated() {
+                if (getView() == null) return;
+                observeRecentConversations();
+            }
 
-                android.util.Log.d("InstructorMessagesFragment", "✅ Loaded " + clients.size() + " clients");
-                progressBar.setVisibility(View.GONE);
-                conversations.clear();
+            @Override
+            public void onError(String error) {
+                if (getView() == null) return;
+                // Retried on the next open; meanwhile show the summaries that do exist
+                AppLog.e("InstructorMessagesFragment", "❌ Inbox migration error: " + error);
+                observeRecentConversations();
+            }
+        });
+    }
 
-                // Create conversation for each client and check for unread messages
-                for (ClientOverview client : clients) {
-                    Conversation conv = new Conversation(
-                        client.getClientId(),
-                        client.getClientName()
-                    );
+    private void observeRecentConversations() {
+        // Only the newest page is live; older pages are fetched once as the list scrolls
+        recentConversationsListener = messageService.observeRecentConversations(currentUserId, CONVERSATION_PAGE_SIZE,
+            new MessageService.OnConversationsLoadedListener() {
+                @Override
+                public void onConversationsLoaded(List<Conversation> loaded) {
+                    if (getActivity() == null) return;
 
-                    // Load unread count for this conversation
-                    messageService.getUnreadCount(currentUserId, client.getClientId(),
-                        new MessageService.OnUnreadCountListener() {
-                            @Override
-                            public void onUnreadCountLoaded(int count) {
-                                if (getActivity() == null) return;
+                    progressBar.setVisibility(View.GONE);
+                    if (AppLog.ENABLED) {
+                        AppLog.d("InstructorMessagesFragment", "✅ Loaded " + loaded.size() + " recent conversations");
+                    }
 
-                                conv.setUnreadCount(count);
-                                conversationAdapter.notifyDataSetChanged();
+                    // A conversation pushed out of the live page by newer activity is still part of the inbox;
+                    // one that left a page that isn't full, or from above its oldest entry, was removed
+                    java.util.Set<String> loadedIds = new java.util.HashSet<>();
+                    for (Conversation conv : loaded) loadedIds.add(conv.getClientId());
+                    Conversation oldestLoaded = loaded.size() == CONVERSATION_PAGE_SIZE ? loaded.get(loaded.size() - 1) : null;
+                    for (int i = recentConversations.size() - 1; i >= 0; i--) {
+                        Conversation conv = recentConversations.get(i);
+                        if (!loadedIds.contains(conv.getClientId())
+                                && oldestLoaded != null && sortsBefore(conv, oldestLoaded)) {
+                            olderConversations.add(0, conv);
+                        }
+                    }
 
-                                if (count > 0) {
-                                    android.util.Log.d("InstructorMessagesFragment",
-                                        "   📬 " + client.getClientName() + " has " + count + " unread messages");
-                                }
-                            }
+                    recentConversations.clear();
+                    recentConversations.addAll(loaded);
+                    if (olderConversations.isEmpty()) {
+                        hasOlderConversations = loaded.size() == CONVERSATION_PAGE_SIZE;
+                    }
+                    refreshConversationList();
+                    observeUnreadCounts();
+                }
 
-                            @Override
-                            public void onError(String error) {
-                                android.util.Log.e("InstructorMessagesFragment",
-                                    "Error loading unread count for " + client.getClientName() + ": " + error);
-                            }
-                        });
+                @Override
+                public void onError(String error) {
+                    if (getActivity() == null) return;
 
-                    conversations.add(conv);
+                    AppLog.e("InstructorMessagesFragment", "❌ Error loading conversations: " + error);
+                    progressBar.setVisibility(View.GONE);
+                    Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_SHORT).show();
                 }
+            });
+    }
+
+    // The query's order: lastMessageTime, then client id (the summary's key) for equal times
+    private static boolean sortsBefore(Conversation conv, Conversation other) {
+        if (conv.getLastMessageTime() != other.getLastMessageTime()) {
+            return conv.getLastMessageTime() < other.getLastMessageTime();
+        }
+        return conv.getClientId().compareTo(other.getClientId()) < 0;
+    }
+
+    private void loadOlderConversations() {
+        if (loadingOlderConversations || !hasOlderConversations || !searchQuery.isEmpty()) return;
 
-                conversationAdapter.notifyDataSetChanged();
-                totalConversations.setText(String.valueOf(conversations.size()));
+        Conversation oldest = !olderConversations.isEmpty()
+            ? olderConversations.get(olderConversations.size() - 1)
+            : (!recentConversations.isEmpty() ? recentConversations.get(recentConversations.size() - 1) : null);
+        if (oldest == null) return;
 
-                if (conversations.isEmpty()) {
-                    Toast.makeText(requireContext(), "No clients yet", Toast.LENGTH_SHORT).show();
-                } else {
-                    android.util.Log.d("InstructorMessagesFragment", "✅ Displaying " + conversations.size() + " conversations");
+        loadingOlderConversations = true;
+        messageService.loadConversationsBefore(currentUserId, oldest, CONVERSATION_PAGE_SIZE,
+            new MessageService.OnConversationsLoadedListener() {
+                @Override
+                public void onConversationsLoaded(List<Conversation> loaded) {
+                    loadingOlderConversations = false;
+                    if (getActivity() == null) return;
+
+                    hasOlderConversations = loaded.size() == CONVERSATION_PAGE_SIZE;
+                    olderConversations.addAll(loaded);
+                    refreshConversationList();
+                }
+
+                @Override
+                public void onError(String error) {
+                    loadingOlderConversations = false;
+                    AppLog.e("InstructorMessagesFragment", "Error loading older conversations: " + error);
                 }
+            });
+    }
+
+    // Rebuilds the displayed list from the live page, older pages and any client search results
+    private void refreshConversationList() {
+        List<Conversation> inbox = new ArrayList<>(recentConversations);
+        java.util.Set<String> shownIds = new java.util.HashSet<>();
+        for (Conversation conv : recentConversations) shownIds.add(conv.getClientId());
+        for (Conversation conv : olderConversations) {
+            if (shownIds.add(conv.getClientId())) {
+                inbox.add(conv);
             }
+        }
+
+        conversations.clear();
+        if (searchQuery.isEmpty()) {
+            conversations.addAll(inbox);
+        } else {
+            String lowerQuery = searchQuery.toLowerCase();
+            for (Conversation conv : inbox) {
+                if (conv.getClientName() != null && conv.getClientName().toLowerCase().contains(lowerQuery)) {
+                    conversations.add(conv);
+                }
+            }
+            for (Conversation conv : searchResults) {
+                if (!shownIds.contains(conv.getClientId())) {
+                    conversations.add(conv);
+                }
+            }
+        }
+
+        for (int i = 0; i < conversations.size(); i++) {
+            Conversation conv = conversations.get(i);
+            Integer count = unreadCounts.get(conv.getClientId());
+            conversations.set(i, withUnreadCount(conv, count != null ? count : 0));
+        }
+
+        conversationAdapter.setSelectedClientId(selectedClientId);
+        conversationAdapter.submitList(new ArrayList<>(conversations));
+        totalConversations.setText(String.valueOf(inbox.size()));
+    }
+
+    // Rows already handed to the adapter are never edited; a changed count gets a copy to diff against
+    private static Conversation withUnreadCount(Conversation conv, int unread) {
+        if (conv.getUnreadCount() == unread) return conv;
+        Conversation copy = Conversation.fromMap(conv.toMap());
+        copy.setUnreadCount(unread);
+        return copy;
+    }
+
+    private void observeUnreadCounts() {
+        if (unreadCountsListener != null) return;
 
+        unreadCountsListener = messageService.observeUnreadCounts(currentUserId, new MessageService.OnUnreadCountsListener() {
             @Override
-            public void onError(String error) {
+            public void onUnreadCountsLoaded(Map<String, Integer> counts) {
                 if (getActivity() == null) return;
 
-                android.util.Log.e("InstructorMessagesFragment", "❌ Error loading clients: " + error);
-                progressBar.setVisibility(View.GONE);
-                Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_SHORT).show();
+                unreadCounts.clear();
+                unreadCounts.putAll(counts);
+                for (int i = 0; i < conversations.size(); i++) {
+                    Conversation conv = conversations.get(i);
+                    Integer count = counts.get(conv.getClientId());
+                    conversations.set(i, withUnreadCount(conv, count != null ? count : 0));
+                }
+                conversationAdapter.submitList(new ArrayList<>(conversations));
+            }
+
+            @Override
+            public void onError(String error) {
+                AppLog.e("InstructorMessagesFragment", "Error loading unread counts: " + error);
             }
         });
     }
 
+    // Replaces the open window; the live listener then delivers sends and replies as they land
     private void loadMessages() {
         if (selectedClientId == null) return;
 
-        messageService.getConversationMessages(currentUserId, selectedClientId, 
-            new MessageService.OnMessagesLoadedListener() {
+        closeMessageWindow();
+        currentMessages.clear();
+        chatMessageAdapter.submitList(null);
+
+        messageWindow = messageService.openConversationMessages(currentUserId, selectedClientId, MESSAGE_PAGE_SIZE,
+            new MessageWindow.OnWindowChangedListener() {
                 @Override
-                public void onMessagesLoaded(List<Message> messages) {
+                public void onMessagesChanged(List<Message> messages, boolean atNewestEnd) {
                     if (getActivity() == null) return;
 
                     currentMessages.clear();
                     currentMessages.addAll(messages);
-                    chatMessageAdapter.notifyDataSetChanged();
+                    // Older pages keep the reading position; the first page and new messages scroll to the end
+                    if (atNewestEnd) {
+                        chatMessageAdapter.submitList(messages, () -> scrollMessagesToEnd());
+                    } else {
+                        chatMessageAdapter.submitList(messages);
+                    }
                     
                     if (currentMessages.isEmpty()) {
                         emptyMessagesState.setVisibility(View.VISIBLE);
@@ -349,7 +527,6 @@ public class InstructorMessagesFragment extends Fragment {
                     } else {
                         emptyMessagesState.setVisibility(View.GONE);
                         messagesRecyclerView.setVisibility(View.VISIBLE);
-                        messagesRecyclerView.scrollToPosition(currentMessages.size() - 1);
                     }
                 }
 
@@ -361,6 +538,20 @@ public class InstructorMessagesFragment extends Fragment {
             });
     }
 
+    // Runs after the diff is applied, when the new rows exist
+    private void scrollMessagesToEnd() {
+        if (chatMessageAdapter.getItemCount() > 0) {
+            messagesRecyclerView.scrollToPosition(chatMessageAdapter.getItemCount() - 1);
+        }
+    }
+
+    private void closeMessageWindow() {
+        if (messageWindow != null) {
+            messageWindow.stop();
+            messageWindow = null;
+        }
+    }
+
     private void sendMessage() {
         if (selectedClientId == null) {
             Toast.makeText(requireContext(), "Please select a conversation", Toast.LENGTH_SHORT).show();
@@ -382,7 +573,6 @@ public class InstructorMessagesFragment extends Fragment {
                 if (getActivity() == null) return;
 
                 messageInput.setText("");
-                loadMessages();
             }
 
             @Override
@@ -393,29 +583,29 @@ public class InstructorMessagesFragment extends Fragment {
         });
     }
 
-    private void startAutoRefresh() {
-        autoRefreshHandler = new Handler();
-        autoRefreshRunnable = new Runnable() {
+    private void markConversationAsRead() {
+        messageService.markConversationAsRead(currentUserId, selectedClientId, new MessageService.OnCompleteListener() {
             @Override
-            public void run() {
-                if (selectedClientId != null) {
-                    loadMessages();
-                }
-                autoRefreshHandler.postDelayed(this, 5000); // Refresh every 5 seconds
-            }
-        };
-        autoRefreshHandler.post(autoRefreshRunnable);
-    }
+            public void onSuccess() {}
 
-    private void stopAutoRefresh() {
-        if (autoRefreshHandler != null && autoRefreshRunnable != null) {
-            autoRefreshHandler.removeCallbacks(autoRefreshRunnable);
-        }
+            @Override
+            public void onError(String error) {
+                AppLog.e("InstructorMessagesFragment", "Error marking conversation read: " + error);
+            }
+        });
     }
 
     @Override
     public void onDestroyView() {
         super.onDestroyView();
-        stopAutoRefresh();
+        closeMessageWindow();
+        if (unreadCountsListener != null) {
+            messageService.removeUnreadCountsListener(currentUserId, unreadCountsListener);
+            unreadCountsListener = null;
+        }
+        if (recentConversationsListener != null) {
+            messageService.removeConversationsListener(currentUserId, recentConversationsListener);
+            recentConversationsListener = null;
+        }
     }
 }
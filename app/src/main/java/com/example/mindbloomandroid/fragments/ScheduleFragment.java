@@ -18,7 +18,8 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.mindbloomandroid.R;
 import com.example.mindbloomandroid.model.TherapySession;
-import com.example.mindbloomandroid.service.TherapySessionService;
+import com.example.mindbloomandroid.service.WeekScheduleCache;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.button.MaterialButton;
 import java.text.SimpleDateFormat;
@@ -36,9 +37,8 @@ public class ScheduleFragment extends Fragment {
     private TextView weekLabel;
     private Button prevWeekBtn, nextWeekBtn;
 
-    private TherapySessionService sessionService;
+    private WeekScheduleCache weekCache;
     private SharedPreferencesManager prefsManager;
-    private List<TherapySession> weeklySessions;
     private Calendar currentWeekStart;
     private ScheduleAdapter scheduleAdapter;
 
@@ -53,24 +53,23 @@ public class ScheduleFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         try {
-            android.util.Log.d("ScheduleFragment", "🎯 onViewCreated started");
+            AppLog.d("ScheduleFragment", "🎯 onViewCreated started");
 
             initializeViews(view);
-            sessionService = new TherapySessionService();
+            weekCache = WeekScheduleCache.getInstance();
             prefsManager = SharedPreferencesManager.getInstance(requireContext());
-            weeklySessions = new ArrayList<>();
 
-            // Set current week start (Monday)
+            // Set current week start (Monday, midnight) so it matches the cache keys
             currentWeekStart = Calendar.getInstance();
-            currentWeekStart.set(Calendar.DAY_OF_WEEK, Calendar.MONDAY);
+            currentWeekStart.setTimeInMillis(WeekScheduleCache.weekStartOf(System.currentTimeMillis()));
 
             setupRecyclerView();
             updateWeekLabel();
             loadWeeklySessions();
 
-            android.util.Log.d("ScheduleFragment", "✅ onViewCreated completed successfully");
+            AppLog.d("ScheduleFragment", "✅ onViewCreated completed successfully");
         } catch (Exception e) {
-            android.util.Log.e("ScheduleFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
+            AppLog.e("ScheduleFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
             if (getContext() != null) {
                 Toast.makeText(getContext(), "Error loading schedule: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
@@ -79,7 +78,7 @@ public class ScheduleFragment extends Fragment {
 
     private void initializeViews(View view) {
         try {
-            android.util.Log.d("ScheduleFragment", "🔍 Initializing views...");
+            AppLog.d("ScheduleFragment", "🔍 Initializing views...");
 
             scheduleRecyclerView = view.findViewById(R.id.scheduleRecyclerView);
             if (scheduleRecyclerView == null) {
@@ -98,12 +97,12 @@ public class ScheduleFragment extends Fragment {
 
             prevWeekBtn = view.findViewById(R.id.prevWeekBtn);
             if (prevWeekBtn == null) {
-                android.util.Log.e("ScheduleFragment", "⚠️ prevWeekBtn not found!");
+                AppLog.e("ScheduleFragment", "⚠️ prevWeekBtn not found!");
             }
 
             nextWeekBtn = view.findViewById(R.id.nextWeekBtn);
             if (nextWeekBtn == null) {
-                android.util.Log.e("ScheduleFragment", "⚠️ nextWeekBtn not found!");
+                AppLog.e("ScheduleFragment", "⚠️ nextWeekBtn not found!");
             }
 
             if (prevWeekBtn != null) {
@@ -111,7 +110,7 @@ public class ScheduleFragment extends Fragment {
                     try {
                         navigateToPreviousWeek();
                     } catch (Exception e) {
-                        android.util.Log.e("ScheduleFragment", "Error navigating to previous week", e);
+                        AppLog.e("ScheduleFragment", "Error navigating to previous week", e);
                         Toast.makeText(getContext(), "Error loading previous week", Toast.LENGTH_SHORT).show();
                     }
                 });
@@ -122,30 +121,32 @@ public class ScheduleFragment extends Fragment {
                     try {
                         navigateToNextWeek();
                     } catch (Exception e) {
-                        android.util.Log.e("ScheduleFragment", "Error navigating to next week", e);
+                        AppLog.e("ScheduleFragment", "Error navigating to next week", e);
                         Toast.makeText(getContext(), "Error loading next week", Toast.LENGTH_SHORT).show();
                     }
                 });
             }
 
-            android.util.Log.d("ScheduleFragment", "✅ All views initialized successfully");
-            android.util.Log.d("ScheduleFragment", "   RecyclerView: " + (scheduleRecyclerView != null ? "OK" : "NULL"));
-            android.util.Log.d("ScheduleFragment", "   ProgressBar: " + (progressBar != null ? "OK" : "NULL"));
-            android.util.Log.d("ScheduleFragment", "   WeekLabel: " + (weekLabel != null ? "OK" : "NULL"));
-            android.util.Log.d("ScheduleFragment", "   PrevBtn: " + (prevWeekBtn != null ? "OK" : "NULL"));
-            android.util.Log.d("ScheduleFragment", "   NextBtn: " + (nextWeekBtn != null ? "OK" : "NULL"));
+            if (AppLog.ENABLED) {
+                AppLog.d("ScheduleFragment", "✅ All views initialized successfully");
+                AppLog.d("ScheduleFragment", "   RecyclerView: " + (scheduleRecyclerView != null ? "OK" : "NULL"));
+                AppLog.d("ScheduleFragment", "   ProgressBar: " + (progressBar != null ? "OK" : "NULL"));
+                AppLog.d("ScheduleFragment", "   WeekLabel: " + (weekLabel != null ? "OK" : "NULL"));
+                AppLog.d("ScheduleFragment", "   PrevBtn: " + (prevWeekBtn != null ? "OK" : "NULL"));
+                AppLog.d("ScheduleFragment", "   NextBtn: " + (nextWeekBtn != null ? "OK" : "NULL"));
+            }
 
         } catch (Exception e) {
-            android.util.Log.e("ScheduleFragment", "❌ FATAL: Error initializing views: " + e.getMessage(), e);
-            android.util.Log.e("ScheduleFragment", "   Layout file: fragment_schedule.xml");
-            android.util.Log.e("ScheduleFragment", "   Check if all view IDs match the layout file!");
+            AppLog.e("ScheduleFragment", "❌ FATAL: Error initializing views: " + e.getMessage(), e);
+            AppLog.e("ScheduleFragment", "   Layout file: fragment_schedule.xml");
+            AppLog.e("ScheduleFragment", "   Check if all view IDs match the layout file!");
             throw e;
         }
     }
 
     private void setupRecyclerView() {
         try {
-            android.util.Log.d("ScheduleFragment", "📋 Setting up RecyclerView...");
+            AppLog.d("ScheduleFragment", "📋 Setting up RecyclerView...");
 
             if (scheduleRecyclerView == null) {
                 throw new RuntimeException("Cannot setup RecyclerView - view is null!");
@@ -159,9 +160,9 @@ public class ScheduleFragment extends Fragment {
             scheduleRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
             scheduleRecyclerView.setAdapter(scheduleAdapter);
 
-            android.util.Log.d("ScheduleFragment", "✅ RecyclerView setup complete");
+            AppLog.d("ScheduleFragment", "✅ RecyclerView setup complete");
         } catch (Exception e) {
-            android.util.Log.e("ScheduleFragment", "❌ FATAL: Error setting up RecyclerView: " + e.getMessage(), e);
+            AppLog.e("ScheduleFragment", "❌ FATAL: Error setting up RecyclerView: " + e.getMessage(), e);
             if (getContext() != null) {
                 Toast.makeText(getContext(), "Error loading schedule view: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
@@ -173,77 +174,75 @@ public class ScheduleFragment extends Fragment {
         try {
             String instructorId = prefsManager.getUserId();
             if (instructorId == null) {
-                android.util.Log.e("ScheduleFragment", "❌ User ID is null");
+                AppLog.e("ScheduleFragment", "❌ User ID is null");
                 Toast.makeText(requireContext(), "User not logged in", Toast.LENGTH_SHORT).show();
                 return;
             }
 
-            android.util.Log.d("ScheduleFragment", "📖 Loading weekly sessions for instructor: " + instructorId);
-            android.util.Log.d("ScheduleFragment", "📅 Week start: " + currentWeekStart.getTime());
+            long weekStart = currentWeekStart.getTimeInMillis();
+            if (AppLog.ENABLED) {
+                AppLog.d("ScheduleFragment", "📖 Loading weekly sessions for instructor: " + instructorId);
+                AppLog.d("ScheduleFragment", "📅 Week start: " + currentWeekStart.getTime());
+            }
 
-            progressBar.setVisibility(View.VISIBLE);
+            // Weeks next to the last one shown are usually prefetched already, so they render without a spinner
+            WeekScheduleCache.Week cached = weekCache.peek(instructorId, weekStart);
+            if (cached != null) {
+                AppLog.d("ScheduleFragment", "⚡ Week served from cache");
+                progressBar.setVisibility(View.GONE);
+                showWeek(cached);
+            } else {
+                progressBar.setVisibility(View.VISIBLE);
+            }
 
-            sessionService.getInstructorWeeklySessions(instructorId,
-                currentWeekStart.getTimeInMillis(),
-                new TherapySessionService.OnSessionsLoadedListener() {
+            if (cached == null || cached.isStale()) {
+                weekCache.load(instructorId, weekStart, new WeekScheduleCache.OnWeekLoadedListener() {
                     @Override
-                    public void onSessionsLoaded(List<TherapySession> sessions) {
-                        if (getActivity() == null) return;
-
-                        android.util.Log.d("ScheduleFragment", "✅ Loaded " + sessions.size() + " sessions");
+                    public void onWeekLoaded(WeekScheduleCache.Week week) {
+                        // The user may have paged on while this week was loading
+                        if (getActivity() == null || week.getWeekStart() != currentWeekStart.getTimeInMillis()) return;
 
                         progressBar.setVisibility(View.GONE);
-                        weeklySessions = sessions;
-
-                        try {
-                            List<DaySchedule> daySchedules = groupSessionsByDay(sessions);
-                            scheduleAdapter.updateSessions(daySchedules);
-                            android.util.Log.d("ScheduleFragment", "✅ Schedule updated successfully");
-                        } catch (Exception e) {
-                            android.util.Log.e("ScheduleFragment", "❌ Error updating schedule: " + e.getMessage(), e);
-                            Toast.makeText(requireContext(), "Error displaying schedule", Toast.LENGTH_SHORT).show();
-                        }
+                        showWeek(week);
                     }
 
                     @Override
                     public void onError(String error) {
-                        if (getActivity() == null) return;
+                        if (getActivity() == null || weekStart != currentWeekStart.getTimeInMillis()) return;
 
-                        android.util.Log.e("ScheduleFragment", "❌ Error loading sessions: " + error);
+                        AppLog.e("ScheduleFragment", "❌ Error loading sessions: " + error);
                         progressBar.setVisibility(View.GONE);
                         Toast.makeText(requireContext(), "Error loading schedule: " + error,
                             Toast.LENGTH_SHORT).show();
                     }
                 });
+            }
+
+            weekCache.prefetchAround(instructorId, weekStart);
         } catch (Exception e) {
-            android.util.Log.e("ScheduleFragment", "❌ EXCEPTION in loadWeeklySessions: " + e.getMessage(), e);
+            AppLog.e("ScheduleFragment", "❌ EXCEPTION in loadWeeklySessions: " + e.getMessage(), e);
             progressBar.setVisibility(View.GONE);
             Toast.makeText(requireContext(), "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
         }
     }
 
-    private List<DaySchedule> groupSessionsByDay(List<TherapySession> sessions) {
-        List<DaySchedule> daySchedules = new ArrayList<>();
-
+    private void showWeek(WeekScheduleCache.Week week) {
+        try {
+            scheduleAdapter.updateSessions(toDaySchedules(week));
+            AppLog.d("ScheduleFragment", "✅ Schedule updated successfully");
+        } catch (Exception e) {
+            AppLog.e("ScheduleFragment", "❌ Error updating schedule: " + e.getMessage(), e);
+            Toast.makeText(requireContext(), "Error displaying schedule", Toast.LENGTH_SHORT).show();
+        }
+    }
 
-        for (int i = 0; i < 7; i++) {
-            Calendar day = (Calendar) currentWeekStart.clone();
-            day.add(Calendar.DAY_OF_WEEK, i);
+    private List<DaySchedule> toDaySchedules(WeekScheduleCache.Week week) {
+        List<DaySchedule> daySchedules = new ArrayList<>();
 
+        for (int i = 0; i < WeekScheduleCache.DAYS_PER_WEEK; i++) {
             DaySchedule daySchedule = new DaySchedule();
-            daySchedule.date = day.getTime();
-            daySchedule.sessions = new ArrayList<>();
-
-            // Find sessions for this day
-            for (TherapySession session : sessions) {
-                Calendar sessionCal = Calendar.getInstance();
-                sessionCal.setTimeInMillis(session.getSessionDate());
-
-                if (isSameDay(day, sessionCal)) {
-                    daySchedule.sessions.add(session);
-                }
-            }
-
+            daySchedule.date = new Date(week.getDayStart(i));
+            daySchedule.sessions = week.getSessions(i);
             daySchedules.add(daySchedule);
         }
 
@@ -258,12 +257,12 @@ public class ScheduleFragment extends Fragment {
     private void updateWeekLabel() {
         try {
             if (weekLabel == null) {
-                android.util.Log.e("ScheduleFragment", "❌ Cannot update week label - view is null!");
+                AppLog.e("ScheduleFragment", "❌ Cannot update week label - view is null!");
                 return;
             }
 
             if (currentWeekStart == null) {
-                android.util.Log.e("ScheduleFragment", "❌ Cannot update week label - currentWeekStart is null!");
+                AppLog.e("ScheduleFragment", "❌ Cannot update week label - currentWeekStart is null!");
                 return;
             }
 
@@ -277,20 +276,22 @@ public class ScheduleFragment extends Fragment {
                              yearSdf.format(weekEnd.getTime());
             weekLabel.setText("Week of " + weekStr);
 
-            android.util.Log.d("ScheduleFragment", "✅ Week label updated: " + weekStr);
+            if (AppLog.ENABLED) {
+                AppLog.d("ScheduleFragment", "✅ Week label updated: " + weekStr);
+            }
         } catch (Exception e) {
-            android.util.Log.e("ScheduleFragment", "❌ Error updating week label: " + e.getMessage(), e);
+            AppLog.e("ScheduleFragment", "❌ Error updating week label: " + e.getMessage(), e);
         }
     }
 
     private void navigateToPreviousWeek() {
-        currentWeekStart.add(Calendar.WEEK_OF_YEAR, -1);
+        currentWeekStart.setTimeInMillis(WeekScheduleCache.shiftWeeks(currentWeekStart.getTimeInMillis(), -1));
         updateWeekLabel();
         loadWeeklySessions();
     }
 
     private void navigateToNextWeek() {
-        currentWeekStart.add(Calendar.WEEK_OF_YEAR, 1);
+        currentWeekStart.setTimeInMillis(WeekScheduleCache.shiftWeeks(currentWeekStart.getTimeInMillis(), 1));
         updateWeekLabel();
         loadWeeklySessions();
     }
@@ -347,12 +348,12 @@ public class ScheduleFragment extends Fragment {
                 DaySchedule daySchedule = daySchedules.get(position);
 
                 if (daySchedule == null) {
-                    android.util.Log.e("ScheduleFragment", "❌ DaySchedule is null at position " + position);
+                    AppLog.e("ScheduleFragment", "❌ DaySchedule is null at position " + position);
                     return;
                 }
 
                 if (holder.dayLabel == null || holder.sessionsContainer == null || holder.cardView == null) {
-                    android.util.Log.e("ScheduleFragment", "❌ Holder views are null!");
+                    AppLog.e("ScheduleFragment", "❌ Holder views are null!");
                     return;
                 }
 
@@ -392,7 +393,7 @@ public class ScheduleFragment extends Fragment {
                     holder.cardView.setCardBackgroundColor(0xFFF8F9FA); // Light gray
                 }
             } catch (Exception e) {
-                android.util.Log.e("ScheduleFragment", "❌ CRASH in onBindViewHolder at position " + position + ": " + e.getMessage(), e);
+                AppLog.e("ScheduleFragment", "❌ CRASH in onBindViewHolder at position " + position + ": " + e.getMessage(), e);
             }
         }
 
@@ -23,6 +23,8 @@ import com.example.mindbloomandroid.service.NotificationService;
 import com.example.mindbloomandroid.service.SessionRequestService;
 import com.example.mindbloomandroid.service.TherapySessionService;
 import com.example.mindbloomandroid.service.ZoomLinkService;
+import com.example.mindbloomandroid.stream.StreamObserver;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.firebase.auth.FirebaseAuth;
 
@@ -58,10 +60,16 @@ public class SessionRequestsFragment extends Fragment {
         zoomLinkService = new ZoomLinkService();
         
         initializeViews(view);
-        loadPendingRequests();
         
         return view;
     }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        // Live for as long as the view exists, so accepted or declined requests drop out on their own
+        loadPendingRequests();
+    }
     
     private void initializeViews(View view) {
         requestsRecyclerView = view.findViewById(R.id.requestsRecyclerView);
@@ -69,7 +77,7 @@ public class SessionRequestsFragment extends Fragment {
         progressBar = view.findViewById(R.id.progressBar);
         
         sessionRequests = new ArrayList<>();
-        requestsAdapter = new InstructorRequestAdapter(requireContext(), sessionRequests,
+        requestsAdapter = new InstructorRequestAdapter(requireContext(),
                 this::handleAcceptRequest,
                 this::handleDeclineRequest);
         
@@ -80,27 +88,33 @@ public class SessionRequestsFragment extends Fragment {
     private void loadPendingRequests() {
         String instructorId = FirebaseAuth.getInstance().getCurrentUser().getUid();
 
-        android.util.Log.d("SessionRequestsFrag", "📖 Loading pending requests for instructor: " + instructorId);
+        if (AppLog.ENABLED) {
+            AppLog.d("SessionRequestsFrag", "📖 Loading pending requests for instructor: " + instructorId);
+        }
 
         progressBar.setVisibility(View.VISIBLE);
         
-        sessionRequestService.getInstructorPendingRequests(instructorId,
-                new SessionRequestService.OnRequestsLoadedListener() {
+        sessionRequestService.pendingRequests(instructorId).observe(getViewLifecycleOwner(),
+                new StreamObserver<List<SessionRequest>>() {
                     @Override
-                    public void onRequestsLoaded(List<SessionRequest> requests) {
-                        android.util.Log.d("SessionRequestsFrag", "✅ Received " + requests.size() + " pending requests");
+                    public void onNext(List<SessionRequest> requests) {
+                        if (AppLog.ENABLED) {
+                            AppLog.d("SessionRequestsFrag", "✅ Received " + requests.size() + " pending requests");
+                        }
 
                         progressBar.setVisibility(View.GONE);
                         sessionRequests.clear();
                         sessionRequests.addAll(requests);
-                        requestsAdapter.notifyDataSetChanged();
+                        requestsAdapter.submitList(new ArrayList<>(sessionRequests));
                         
                         if (sessionRequests.isEmpty()) {
-                            android.util.Log.d("SessionRequestsFrag", "ℹ️ No pending requests");
+                            AppLog.d("SessionRequestsFrag", "ℹ️ No pending requests");
                             emptyRequestsText.setVisibility(View.VISIBLE);
                             requestsRecyclerView.setVisibility(View.GONE);
                         } else {
-                            android.util.Log.d("SessionRequestsFrag", "✅ Displaying " + sessionRequests.size() + " requests");
+                            if (AppLog.ENABLED) {
+                                AppLog.d("SessionRequestsFrag", "✅ Displaying " + sessionRequests.size() + " requests");
+                            }
                             emptyRequestsText.setVisibility(View.GONE);
                             requestsRecyclerView.setVisibility(View.VISIBLE);
                         }
@@ -108,7 +122,7 @@ public class SessionRequestsFragment extends Fragment {
                     
                     @Override
                     public void onError(String error) {
-                        android.util.Log.e("SessionRequestsFrag", "❌ Error loading requests: " + error);
+                        AppLog.e("SessionRequestsFrag", "❌ Error loading requests: " + error);
                         progressBar.setVisibility(View.GONE);
                         Toast.makeText(requireContext(), "Error loading requests: " + error,
                                 Toast.LENGTH_SHORT).show();
@@ -180,8 +194,6 @@ public class SessionRequestsFragment extends Fragment {
                                             Toast.makeText(requireContext(),
                                                     "Session confirmed! Zoom link sent to client.",
                                                     Toast.LENGTH_LONG).show();
-                                            
-                                            loadPendingRequests(); // Refresh list
                                         }
                                         
                                         @Override
@@ -222,8 +234,6 @@ public class SessionRequestsFragment extends Fragment {
                             progressBar.setVisibility(View.GONE);
                             Toast.makeText(requireContext(), "Session request declined",
                                     Toast.LENGTH_SHORT).show();
-                            
-                            loadPendingRequests(); // Refresh list
                         }
                         
                         @Override
@@ -250,7 +260,10 @@ public class SessionRequestsFragment extends Fragment {
                 "\n\nClick the notification to view session details and join.");
         notification.setRead(false);
         notification.setCreatedAt(System.currentTimeMillis());
-        notification.setRelatedEntityId(sessionId); // Store session ID so user can retrieve full session details with zoom link
+        notification.setRelatedEntityId(sessionId);
+        notification.setZoomLink(zoomLink);
+        notification.setSessionDate(request.getRequestedDateTime());
+        notification.setInstructorName(prefsManager.getUsername());
 
         notificationService.createNotification(notification, new NotificationService.OnCompleteListener() {
             @Override
@@ -286,10 +299,4 @@ public class SessionRequestsFragment extends Fragment {
             }
         });
     }
-    
-    @Override
-    public void onResume() {
-        super.onResume();
-        loadPendingRequests(); // Refresh when fragment becomes visible
-    }
 }
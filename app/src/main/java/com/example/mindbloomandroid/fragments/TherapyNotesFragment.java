@@ -22,12 +22,17 @@ import com.example.mindbloomandroid.model.ClientOverview;
 import com.example.mindbloomandroid.model.TherapyNote;
 import com.example.mindbloomandroid.service.InstructorService;
 import com.example.mindbloomandroid.service.TherapyNoteService;
+import com.example.mindbloomandroid.stream.DataStream;
+import com.example.mindbloomandroid.stream.StreamObserver;
+import com.example.mindbloomandroid.stream.ValueStream;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.example.mindbloomandroid.utility.SharedPreferencesManager;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -49,7 +54,8 @@ public class TherapyNotesFragment extends Fragment {
     
     private List<ClientOverview> clients;
     private List<TherapyNote> previousNotes;
-    private String selectedClientId;
+    // Null while "Select a client..." is shown
+    private ValueStream<String> selectedClient;
     private Calendar selectedCalendar;
     private SimpleDateFormat dateFormat;
 
@@ -64,7 +70,7 @@ public class TherapyNotesFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         try {
-            android.util.Log.d("TherapyNotesFragment", "🎯 onViewCreated started");
+            AppLog.d("TherapyNotesFragment", "🎯 onViewCreated started");
 
             initializeViews(view);
 
@@ -73,6 +79,7 @@ public class TherapyNotesFragment extends Fragment {
             prefsManager = SharedPreferencesManager.getInstance(requireContext());
             clients = new ArrayList<>();
             previousNotes = new ArrayList<>();
+            selectedClient = new ValueStream<>(null);
             selectedCalendar = Calendar.getInstance();
             dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
 
@@ -81,10 +88,11 @@ public class TherapyNotesFragment extends Fragment {
             setupSessionTypeDropdown();
             setupSaveButton();
             loadClients();
+            observePreviousNotes();
 
-            android.util.Log.d("TherapyNotesFragment", "✅ onViewCreated completed successfully");
+            AppLog.d("TherapyNotesFragment", "✅ onViewCreated completed successfully");
         } catch (Exception e) {
-            android.util.Log.e("TherapyNotesFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
+            AppLog.e("TherapyNotesFragment", "❌ CRASH in onViewCreated: " + e.getMessage(), e);
             if (getContext() != null) {
                 Toast.makeText(getContext(), "Error loading therapy notes: " + e.getMessage(), Toast.LENGTH_LONG).show();
             }
@@ -103,7 +111,7 @@ public class TherapyNotesFragment extends Fragment {
     }
 
     private void setupRecyclerView() {
-        noteAdapter = new TherapyNoteAdapter(requireContext(), previousNotes);
+        noteAdapter = new TherapyNoteAdapter(requireContext());
         previousNotesRecyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
         previousNotesRecyclerView.setAdapter(noteAdapter);
     }
@@ -159,9 +167,9 @@ public class TherapyNotesFragment extends Fragment {
         }
 
         progressBar.setVisibility(View.VISIBLE);
-        instructorService.getAllClients(instructorId, new InstructorService.OnClientsLoadedListener() {
+        instructorService.clients().observe(getViewLifecycleOwner(), new StreamObserver<List<ClientOverview>>() {
             @Override
-            public void onClientsLoaded(List<ClientOverview> loadedClients) {
+            public void onNext(List<ClientOverview> loadedClients) {
                 if (getActivity() == null) return;
                 
                 progressBar.setVisibility(View.GONE);
@@ -198,51 +206,47 @@ public class TherapyNotesFragment extends Fragment {
         clientSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
             @Override
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
-                if (position > 0) {
-                    selectedClientId = clients.get(position - 1).getClientId();
-                    loadPreviousNotes();
-                } else {
-                    selectedClientId = null;
-                    previousNotes.clear();
-                    noteAdapter.notifyDataSetChanged();
-                }
+                selectedClient.setValue(position > 0 ? clients.get(position - 1).getClientId() : null);
             }
 
             @Override
             public void onNothingSelected(AdapterView<?> parent) {
-                selectedClientId = null;
+                selectedClient.setValue(null);
             }
         });
     }
 
-    private void loadPreviousNotes() {
-        if (selectedClientId == null) return;
-
+    // Follows the selected client; a new selection cancels the previous client's live query
+    private void observePreviousNotes() {
         String instructorId = prefsManager.getUserId();
-        progressBar.setVisibility(View.VISIBLE);
-        
-        therapyNoteService.getClientNotes(selectedClientId, instructorId, new TherapyNoteService.OnNotesLoadedListener() {
-            @Override
-            public void onNotesLoaded(List<TherapyNote> notes) {
-                if (getActivity() == null) return;
-                
-                progressBar.setVisibility(View.GONE);
-                previousNotes.clear();
-                previousNotes.addAll(notes);
-                noteAdapter.notifyDataSetChanged();
-            }
 
-            @Override
-            public void onError(String error) {
-                if (getActivity() == null) return;
-                
-                progressBar.setVisibility(View.GONE);
-                Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_SHORT).show();
-            }
-        });
+        selectedClient.distinct()
+                .switchMap(clientId -> {
+                    if (clientId == null) {
+                        return DataStream.just(Collections.<TherapyNote>emptyList());
+                    }
+                    progressBar.setVisibility(View.VISIBLE);
+                    return therapyNoteService.clientNotes(clientId, instructorId);
+                })
+                .observe(getViewLifecycleOwner(), new StreamObserver<List<TherapyNote>>() {
+                    @Override
+                    public void onNext(List<TherapyNote> notes) {
+                        progressBar.setVisibility(View.GONE);
+                        previousNotes.clear();
+                        previousNotes.addAll(notes);
+                        noteAdapter.submitList(new ArrayList<>(previousNotes));
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        progressBar.setVisibility(View.GONE);
+                        Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_SHORT).show();
+                    }
+                });
     }
 
     private void saveTherapyNote() {
+        String selectedClientId = selectedClient.getValue();
         if (selectedClientId == null) {
             Toast.makeText(requireContext(), "Please select a client", Toast.LENGTH_SHORT).show();
             return;
@@ -278,13 +282,10 @@ public class TherapyNotesFragment extends Fragment {
                 if (getActivity() == null) return;
                 
                 progressBar.setVisibility(View.GONE);
-                android.util.Log.d("TherapyNotesFragment", "✅ Note saved successfully!");
+                AppLog.d("TherapyNotesFragment", "✅ Note saved successfully!");
                 Toast.makeText(requireContext(), "Notes saved successfully", Toast.LENGTH_SHORT).show();
                 therapyNotes.setText("");
-
-                // Note: loadPreviousNotes() is optional here since we now use ValueEventListener
-                // which automatically updates when data changes. But we keep it for immediate feedback.
-                loadPreviousNotes();
+                // The notes query is live, so the saved note shows up without a reload
             }
 
             @Override
@@ -292,7 +293,7 @@ public class TherapyNotesFragment extends Fragment {
                 if (getActivity() == null) return;
                 
                 progressBar.setVisibility(View.GONE);
-                android.util.Log.e("TherapyNotesFragment", "❌ Error saving note: " + error);
+                AppLog.e("TherapyNotesFragment", "❌ Error saving note: " + error);
                 Toast.makeText(requireContext(), "Error: " + error, Toast.LENGTH_SHORT).show();
             }
         });
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 
 public class Comment {
@@ -91,6 +95,40 @@ public class Comment {
         }
     }
 
+    public static Comment fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Comment.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Comment fromMap(Map<String, Object> map) {
+        Comment comment = new Comment();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "commentId": comment.setCommentId(ModelMaps.asString(value)); break;
+                case "postId": comment.setPostId(ModelMaps.asString(value)); break;
+                case "userId": comment.setUserId(ModelMaps.asString(value)); break;
+                case "username": comment.setUsername(ModelMaps.asString(value)); break;
+                case "commentText": comment.setCommentText(ModelMaps.asString(value)); break;
+                case "content": comment.setContent(ModelMaps.asString(value)); break;
+                case "createdAt": comment.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "timestamp": comment.setTimestamp(ModelMaps.asLong(value)); break;
+            }
+        }
+        return comment;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("commentId", getCommentId());
+        map.put("postId", getPostId());
+        map.put("userId", getUserId());
+        map.put("username", getUsername());
+        map.put("commentText", getCommentText());
+        map.put("createdAt", getCreatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "Comment{" +
@@ -1,5 +1,15 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.Exclude;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Inbox row, stored as a summary under conversations/{userId}/{otherUserId}.
+ * clientId and clientName always describe the other participant.
+ */
 public class Conversation {
     private String conversationId;
     private String clientId;
@@ -33,12 +43,46 @@ public class Conversation {
     public long getLastMessageTime() { return lastMessageTime; }
     public void setLastMessageTime(long lastMessageTime) { this.lastMessageTime = lastMessageTime; }
 
+    // Kept in unread_counts, not in the summary
+    @Exclude
     public int getUnreadCount() { return unreadCount; }
     public void setUnreadCount(int unreadCount) { this.unreadCount = unreadCount; }
 
+    @Exclude
     public String getClientInitial() {
         return clientName != null && !clientName.isEmpty() 
             ? clientName.substring(0, 1).toUpperCase() 
             : "?";
     }
+
+    public static Conversation fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Conversation.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Conversation fromMap(Map<String, Object> map) {
+        Conversation conversation = new Conversation();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "conversationId": conversation.setConversationId(ModelMaps.asString(value)); break;
+                case "clientId": conversation.setClientId(ModelMaps.asString(value)); break;
+                case "clientName": conversation.setClientName(ModelMaps.asString(value)); break;
+                case "lastMessage": conversation.setLastMessage(ModelMaps.asString(value)); break;
+                case "lastMessageTime": conversation.setLastMessageTime(ModelMaps.asLong(value)); break;
+                case "unreadCount": conversation.setUnreadCount(ModelMaps.asInt(value)); break;
+            }
+        }
+        return conversation;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("conversationId", getConversationId());
+        map.put("clientId", getClientId());
+        map.put("clientName", getClientName());
+        map.put("lastMessage", getLastMessage());
+        map.put("lastMessageTime", getLastMessageTime());
+        return map;
+    }
 }
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 
 public class GroupChatMessage {
@@ -56,4 +60,36 @@ public class GroupChatMessage {
     public boolean isOwnMessage(String currentUserId) {
         return userId != null && userId.equals(currentUserId);
     }
+
+    public static GroupChatMessage fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), GroupChatMessage.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static GroupChatMessage fromMap(Map<String, Object> map) {
+        GroupChatMessage chatMessage = new GroupChatMessage();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "messageId": chatMessage.setMessageId(ModelMaps.asString(value)); break;
+                case "message": chatMessage.setMessage(ModelMaps.asString(value)); break;
+                case "userId": chatMessage.setUserId(ModelMaps.asString(value)); break;
+                case "userName": chatMessage.setUserName(ModelMaps.asString(value)); break;
+                case "anonymous": chatMessage.setAnonymous(ModelMaps.asBoolean(value)); break;
+                case "createdAt": chatMessage.setCreatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return chatMessage;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("messageId", getMessageId());
+        map.put("message", getMessage());
+        map.put("userId", getUserId());
+        map.put("userName", getUserName());
+        map.put("anonymous", isAnonymous());
+        map.put("createdAt", getCreatedAt());
+        return map;
+    }
 }
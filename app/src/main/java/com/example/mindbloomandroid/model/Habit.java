@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class Habit {
     private String habitId;
@@ -98,6 +102,48 @@ public class Habit {
         return sdf.format(new Date(lastCompletedAt));
     }
 
+    public static Habit fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Habit.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Habit fromMap(Map<String, Object> map) {
+        Habit habit = new Habit();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "habitId": habit.setHabitId(ModelMaps.asString(value)); break;
+                case "userId": habit.setUserId(ModelMaps.asString(value)); break;
+                case "name": habit.setName(ModelMaps.asString(value)); break;
+                case "description": habit.setDescription(ModelMaps.asString(value)); break;
+                case "frequency": habit.setFrequency(ModelMaps.asString(value)); break;
+                case "targetDays": habit.setTargetDays(ModelMaps.asString(value)); break;
+                case "currentStreak": habit.setCurrentStreak(ModelMaps.asInt(value)); break;
+                case "longestStreak": habit.setLongestStreak(ModelMaps.asInt(value)); break;
+                case "createdAt": habit.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "lastCompletedAt": habit.setLastCompletedAt(ModelMaps.asLong(value)); break;
+                case "active": habit.setActive(ModelMaps.asBoolean(value)); break;
+            }
+        }
+        return habit;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("habitId", getHabitId());
+        map.put("userId", getUserId());
+        map.put("name", getName());
+        map.put("description", getDescription());
+        map.put("frequency", getFrequency());
+        map.put("targetDays", getTargetDays());
+        map.put("currentStreak", getCurrentStreak());
+        map.put("longestStreak", getLongestStreak());
+        map.put("createdAt", getCreatedAt());
+        map.put("lastCompletedAt", getLastCompletedAt());
+        map.put("active", isActive());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "Habit{" +
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class HabitCompletion {
     private String completionId;
@@ -69,6 +73,38 @@ public class HabitCompletion {
         return sdf.format(new Date(completionDate));
     }
 
+    public static HabitCompletion fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), HabitCompletion.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static HabitCompletion fromMap(Map<String, Object> map) {
+        HabitCompletion completion = new HabitCompletion();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "completionId": completion.setCompletionId(ModelMaps.asString(value)); break;
+                case "habitId": completion.setHabitId(ModelMaps.asString(value)); break;
+                case "userId": completion.setUserId(ModelMaps.asString(value)); break;
+                case "completionDate": completion.setCompletionDate(ModelMaps.asLong(value)); break;
+                case "completedAt": completion.setCompletedAt(ModelMaps.asLong(value)); break;
+                case "notes": completion.setNotes(ModelMaps.asString(value)); break;
+            }
+        }
+        return completion;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("completionId", getCompletionId());
+        map.put("habitId", getHabitId());
+        map.put("userId", getUserId());
+        map.put("completionDate", getCompletionDate());
+        map.put("completedAt", getCompletedAt());
+        map.put("notes", getNotes());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "HabitCompletion{" +
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 
 public class Instructor {
@@ -125,6 +129,40 @@ public class Instructor {
         updatedAt = System.currentTimeMillis();
     }
 
+    public static Instructor fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Instructor.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Instructor fromMap(Map<String, Object> map) {
+        Instructor instructor = new Instructor();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "id": instructor.setId(ModelMaps.asBoxedLong(value)); break;
+                case "instructorId": instructor.setInstructorId(ModelMaps.asString(value)); break;
+                case "username": instructor.setUsername(ModelMaps.asString(value)); break;
+                case "password": instructor.setPassword(ModelMaps.asString(value)); break;
+                case "role": instructor.setRole(ModelMaps.asString(value)); break;
+                case "createdAt": instructor.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "updatedAt": instructor.setUpdatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return instructor;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", getId());
+        map.put("instructorId", getInstructorId());
+        map.put("username", getUsername());
+        map.put("password", getPassword());
+        map.put("role", getRole());
+        map.put("createdAt", getCreatedAt());
+        map.put("updatedAt", getUpdatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         // For Spinner display - show username only
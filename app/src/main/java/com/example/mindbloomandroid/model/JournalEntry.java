@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class JournalEntry {
     private String journalId;
@@ -64,6 +68,36 @@ public class JournalEntry {
         return sdf.format(new Date(updatedAt));
     }
 
+    public static JournalEntry fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), JournalEntry.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static JournalEntry fromMap(Map<String, Object> map) {
+        JournalEntry entry = new JournalEntry();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "journalId": entry.setJournalId(ModelMaps.asString(value)); break;
+                case "userId": entry.setUserId(ModelMaps.asString(value)); break;
+                case "content": entry.setContent(ModelMaps.asString(value)); break;
+                case "createdAt": entry.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "updatedAt": entry.setUpdatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return entry;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("journalId", getJournalId());
+        map.put("userId", getUserId());
+        map.put("content", getContent());
+        map.put("createdAt", getCreatedAt());
+        map.put("updatedAt", getUpdatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "JournalEntry{" +
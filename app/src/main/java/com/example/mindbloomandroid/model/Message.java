@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class Message {
     private String messageId;
@@ -103,6 +107,45 @@ public class Message {
         return readAt > 0;
     }
 
+    public static Message fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Message.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Message fromMap(Map<String, Object> map) {
+        Message message = new Message();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "messageId": message.setMessageId(ModelMaps.asString(value)); break;
+                case "senderId": message.setSenderId(ModelMaps.asString(value)); break;
+                case "senderName": message.setSenderName(ModelMaps.asString(value)); break;
+                case "receiverId": message.setReceiverId(ModelMaps.asString(value)); break;
+                case "receiverName": message.setReceiverName(ModelMaps.asString(value)); break;
+                case "messageText": message.setMessageText(ModelMaps.asString(value)); break;
+                case "content": message.setContent(ModelMaps.asString(value)); break;
+                case "sentAt": message.setSentAt(ModelMaps.asLong(value)); break;
+                case "timestamp": message.setTimestamp(ModelMaps.asLong(value)); break;
+                case "status": message.setStatus(ModelMaps.asString(value)); break;
+                case "readAt": message.setReadAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return message;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("messageId", getMessageId());
+        map.put("senderId", getSenderId());
+        map.put("senderName", getSenderName());
+        map.put("receiverId", getReceiverId());
+        map.put("receiverName", getReceiverName());
+        map.put("messageText", getMessageText());
+        map.put("sentAt", getSentAt());
+        map.put("readAt", getReadAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "Message{" +
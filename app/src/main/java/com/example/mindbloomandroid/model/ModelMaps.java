@@ -0,0 +1,116 @@
+package com.example.mindbloomandroid.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Value conversions shared by the models' hand-written fromMap/toMap codecs. They accept
+ * the same raw types Firebase's reflective mapper accepts for each field type (any Number
+ * for numeric fields, within range) and reject the rest, so a codec reads exactly what
+ * snapshot.getValue(Model.class) would.
+ */
+public class ModelMaps {
+
+    private ModelMaps() {}
+
+    // Null when the node is missing, like getValue(Model.class)
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> asMap(Object value, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map)) {
+            throw mismatch(value, type.getName());
+        }
+        return (Map<String, Object>) value;
+    }
+
+    public static String asString(Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw mismatch(value, "String");
+    }
+
+    public static int asInt(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        if (value instanceof Long) {
+            long longValue = (Long) value;
+            if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                return (int) longValue;
+            }
+            throw new IllegalArgumentException("Numeric value out of 32-bit integer range: " + longValue);
+        }
+        if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            if (doubleValue >= Integer.MIN_VALUE && doubleValue <= Integer.MAX_VALUE) {
+                return (int) doubleValue;
+            }
+            throw new IllegalArgumentException("Numeric value out of 32-bit integer range: " + doubleValue);
+        }
+        throw mismatch(value, "int");
+    }
+
+    public static long asLong(Object value) {
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            if (doubleValue >= Long.MIN_VALUE && doubleValue <= Long.MAX_VALUE) {
+                return (long) doubleValue;
+            }
+            throw new IllegalArgumentException("Numeric value out of 64-bit long range: " + doubleValue);
+        }
+        throw mismatch(value, "long");
+    }
+
+    public static Long asBoxedLong(Object value) {
+        return value != null ? asLong(value) : null;
+    }
+
+    public static double asDouble(Object value) {
+        if (value instanceof Integer || value instanceof Double) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Long) {
+            long longValue = (Long) value;
+            double doubleValue = (double) longValue;
+            if ((long) doubleValue == longValue) {
+                return doubleValue;
+            }
+            throw new IllegalArgumentException("Loss of precision while converting number to double: " + longValue);
+        }
+        throw mismatch(value, "double");
+    }
+
+    public static boolean asBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        throw mismatch(value, "boolean");
+    }
+
+    public static List<String> asStringList(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof List)) {
+            throw mismatch(value, "List");
+        }
+        List<?> raw = (List<?>) value;
+        List<String> strings = new ArrayList<>(raw.size());
+        for (Object item : raw) {
+            strings.add(asString(item));
+        }
+        return strings;
+    }
+
+    private static IllegalArgumentException mismatch(Object value, String type) {
+        String actual = value != null ? value.getClass().getName() : "null";
+        return new IllegalArgumentException("Failed to convert value of type " + actual + " to " + type);
+    }
+}
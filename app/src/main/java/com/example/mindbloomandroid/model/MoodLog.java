@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class MoodLog {
     private String moodLogId;
@@ -82,6 +86,40 @@ public class MoodLog {
         return sdf.format(new Date(logDate));
     }
 
+    public static MoodLog fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), MoodLog.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static MoodLog fromMap(Map<String, Object> map) {
+        MoodLog moodLog = new MoodLog();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "moodLogId": moodLog.setMoodLogId(ModelMaps.asString(value)); break;
+                case "userId": moodLog.setUserId(ModelMaps.asString(value)); break;
+                case "logDate": moodLog.setLogDate(ModelMaps.asLong(value)); break;
+                case "moodRating": moodLog.setMoodRating(ModelMaps.asInt(value)); break;
+                case "moodEmoji": moodLog.setMoodEmoji(ModelMaps.asString(value)); break;
+                case "notes": moodLog.setNotes(ModelMaps.asString(value)); break;
+                case "activities": moodLog.setActivities(ModelMaps.asString(value)); break;
+            }
+        }
+        return moodLog;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("moodLogId", getMoodLogId());
+        map.put("userId", getUserId());
+        map.put("logDate", getLogDate());
+        map.put("moodRating", getMoodRating());
+        map.put("moodEmoji", getMoodEmoji());
+        map.put("notes", getNotes());
+        map.put("activities", getActivities());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "MoodLog{" +
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class Notification {
     private String notificationId;
@@ -14,6 +18,11 @@ public class Notification {
     private long createdAt;
     private String relatedEntityId; // For linking to session requests, messages, etc.
 
+    // Session details copied in when the notification is created, so the list never has to join therapy_sessions
+    private String zoomLink;
+    private long sessionDate;
+    private String instructorName;
+
     public Notification() {}
 
     public Notification(String userId, String type, String title, String message) {
@@ -50,6 +59,20 @@ public class Notification {
     public String getRelatedEntityId() { return relatedEntityId; }
     public void setRelatedEntityId(String relatedEntityId) { this.relatedEntityId = relatedEntityId; }
 
+    public String getZoomLink() { return zoomLink; }
+    public void setZoomLink(String zoomLink) { this.zoomLink = zoomLink; }
+
+    public long getSessionDate() { return sessionDate; }
+    public void setSessionDate(long sessionDate) { this.sessionDate = sessionDate; }
+
+    public String getInstructorName() { return instructorName; }
+    public void setInstructorName(String instructorName) { this.instructorName = instructorName; }
+
+    // Created before session details were denormalized; needs one therapy_sessions read to backfill
+    public boolean needsSessionDetails() {
+        return "SESSION_CONFIRMED".equals(type) && relatedEntityId != null && zoomLink == null;
+    }
+
 
     public String getFormattedCreatedAt() {
         if (createdAt == 0) return "N/A";
@@ -97,6 +120,48 @@ public class Notification {
         }
     }
 
+    public static Notification fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Notification.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Notification fromMap(Map<String, Object> map) {
+        Notification notification = new Notification();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "notificationId": notification.setNotificationId(ModelMaps.asString(value)); break;
+                case "userId": notification.setUserId(ModelMaps.asString(value)); break;
+                case "type": notification.setType(ModelMaps.asString(value)); break;
+                case "title": notification.setTitle(ModelMaps.asString(value)); break;
+                case "message": notification.setMessage(ModelMaps.asString(value)); break;
+                case "read": notification.setRead(ModelMaps.asBoolean(value)); break;
+                case "createdAt": notification.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "relatedEntityId": notification.setRelatedEntityId(ModelMaps.asString(value)); break;
+                case "zoomLink": notification.setZoomLink(ModelMaps.asString(value)); break;
+                case "sessionDate": notification.setSessionDate(ModelMaps.asLong(value)); break;
+                case "instructorName": notification.setInstructorName(ModelMaps.asString(value)); break;
+            }
+        }
+        return notification;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("notificationId", getNotificationId());
+        map.put("userId", getUserId());
+        map.put("type", getType());
+        map.put("title", getTitle());
+        map.put("message", getMessage());
+        map.put("read", isRead());
+        map.put("createdAt", getCreatedAt());
+        map.put("relatedEntityId", getRelatedEntityId());
+        map.put("zoomLink", getZoomLink());
+        map.put("sessionDate", getSessionDate());
+        map.put("instructorName", getInstructorName());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "Notification{" +
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 
 public class Post {
@@ -116,6 +120,46 @@ public class Post {
         return sdf.format(new Date(updatedAt));
     }
 
+    public static Post fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), Post.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static Post fromMap(Map<String, Object> map) {
+        Post post = new Post();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "postId": post.setPostId(ModelMaps.asString(value)); break;
+                case "userId": post.setUserId(ModelMaps.asString(value)); break;
+                case "username": post.setUsername(ModelMaps.asString(value)); break;
+                case "title": post.setTitle(ModelMaps.asString(value)); break;
+                case "content": post.setContent(ModelMaps.asString(value)); break;
+                case "imageUrl": post.setImageUrl(ModelMaps.asString(value)); break;
+                case "likeCount": post.setLikeCount(ModelMaps.asInt(value)); break;
+                case "commentCount": post.setCommentCount(ModelMaps.asInt(value)); break;
+                case "createdAt": post.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "updatedAt": post.setUpdatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return post;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("postId", getPostId());
+        map.put("userId", getUserId());
+        map.put("username", getUsername());
+        map.put("title", getTitle());
+        map.put("content", getContent());
+        map.put("imageUrl", getImageUrl());
+        map.put("likeCount", getLikeCount());
+        map.put("commentCount", getCommentCount());
+        map.put("createdAt", getCreatedAt());
+        map.put("updatedAt", getUpdatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "Post{" +
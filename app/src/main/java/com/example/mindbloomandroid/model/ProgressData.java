@@ -2,8 +2,14 @@ package com.example.mindbloomandroid.model;
 
 
 
+import com.example.mindbloomandroid.utility.stats.TimeSeries;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.Exclude;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ProgressData {
     private String progressId;
@@ -30,6 +36,9 @@ public class ProgressData {
     // Correlations
     private String sleepMoodCorrelation;
 
+    private TimeSeries moodSeries;
+    private TimeSeries stressSeries;
+
     public ProgressData() {
         this.achievedMilestones = new ArrayList<>();
     }
@@ -90,4 +99,65 @@ public class ProgressData {
 
     public String getSleepMoodCorrelation() { return sleepMoodCorrelation; }
     public void setSleepMoodCorrelation(String sleepMoodCorrelation) { this.sleepMoodCorrelation = sleepMoodCorrelation; }
+
+    // Chart data only; rebuilt from the rollups on every calculation and never stored
+    @Exclude
+    public TimeSeries getMoodSeries() { return moodSeries; }
+    @Exclude
+    public void setMoodSeries(TimeSeries moodSeries) { this.moodSeries = moodSeries; }
+
+    @Exclude
+    public TimeSeries getStressSeries() { return stressSeries; }
+    @Exclude
+    public void setStressSeries(TimeSeries stressSeries) { this.stressSeries = stressSeries; }
+
+    public static ProgressData fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), ProgressData.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static ProgressData fromMap(Map<String, Object> map) {
+        ProgressData progress = new ProgressData();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "progressId": progress.setProgressId(ModelMaps.asString(value)); break;
+                case "userId": progress.setUserId(ModelMaps.asString(value)); break;
+                case "startDate": progress.setStartDate(ModelMaps.asLong(value)); break;
+                case "endDate": progress.setEndDate(ModelMaps.asLong(value)); break;
+                case "averageMoodRating": progress.setAverageMoodRating(ModelMaps.asDouble(value)); break;
+                case "averageStressScore": progress.setAverageStressScore(ModelMaps.asDouble(value)); break;
+                case "totalHabitsCompleted": progress.setTotalHabitsCompleted(ModelMaps.asInt(value)); break;
+                case "habitCompletionRate": progress.setHabitCompletionRate(ModelMaps.asDouble(value)); break;
+                case "averageSleepHours": progress.setAverageSleepHours(ModelMaps.asDouble(value)); break;
+                case "moodTrend": progress.setMoodTrend(ModelMaps.asString(value)); break;
+                case "stressTrend": progress.setStressTrend(ModelMaps.asString(value)); break;
+                case "consecutiveDaysOfMoodLogging": progress.setConsecutiveDaysOfMoodLogging(ModelMaps.asInt(value)); break;
+                case "consecutiveDaysOfStressManagement": progress.setConsecutiveDaysOfStressManagement(ModelMaps.asInt(value)); break;
+                case "achievedMilestones": progress.setAchievedMilestones(ModelMaps.asStringList(value)); break;
+                case "sleepMoodCorrelation": progress.setSleepMoodCorrelation(ModelMaps.asString(value)); break;
+            }
+        }
+        return progress;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("progressId", getProgressId());
+        map.put("userId", getUserId());
+        map.put("startDate", getStartDate());
+        map.put("endDate", getEndDate());
+        map.put("averageMoodRating", getAverageMoodRating());
+        map.put("averageStressScore", getAverageStressScore());
+        map.put("totalHabitsCompleted", getTotalHabitsCompleted());
+        map.put("habitCompletionRate", getHabitCompletionRate());
+        map.put("averageSleepHours", getAverageSleepHours());
+        map.put("moodTrend", getMoodTrend());
+        map.put("stressTrend", getStressTrend());
+        map.put("consecutiveDaysOfMoodLogging", getConsecutiveDaysOfMoodLogging());
+        map.put("consecutiveDaysOfStressManagement", getConsecutiveDaysOfStressManagement());
+        map.put("achievedMilestones", getAchievedMilestones());
+        map.put("sleepMoodCorrelation", getSleepMoodCorrelation());
+        return map;
+    }
 }
\ No newline at end of file
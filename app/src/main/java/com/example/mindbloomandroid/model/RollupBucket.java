@@ -0,0 +1,115 @@
+package com.example.mindbloomandroid.model;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.Exclude;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running sums and counts for one day of a user's wellness data,
+ * stored under rollups/{userId}/daily/{yyyy-MM-dd}.
+ */
+public class RollupBucket {
+    private double moodSum;
+    private long moodCount;
+    private double stressSum;
+    private long stressCount;
+    private double sleepHoursSum;
+    private long sleepCount;
+    private long habitCompletions;
+
+    public RollupBucket() {}
+
+    // Getters and Setters
+    public double getMoodSum() { return moodSum; }
+    public void setMoodSum(double moodSum) { this.moodSum = moodSum; }
+
+    public long getMoodCount() { return moodCount; }
+    public void setMoodCount(long moodCount) { this.moodCount = moodCount; }
+
+    public double getStressSum() { return stressSum; }
+    public void setStressSum(double stressSum) { this.stressSum = stressSum; }
+
+    public long getStressCount() { return stressCount; }
+    public void setStressCount(long stressCount) { this.stressCount = stressCount; }
+
+    public double getSleepHoursSum() { return sleepHoursSum; }
+    public void setSleepHoursSum(double sleepHoursSum) { this.sleepHoursSum = sleepHoursSum; }
+
+    public long getSleepCount() { return sleepCount; }
+    public void setSleepCount(long sleepCount) { this.sleepCount = sleepCount; }
+
+    public long getHabitCompletions() { return habitCompletions; }
+    public void setHabitCompletions(long habitCompletions) { this.habitCompletions = habitCompletions; }
+
+
+    public void merge(RollupBucket other) {
+        moodSum += other.moodSum;
+        moodCount += other.moodCount;
+        stressSum += other.stressSum;
+        stressCount += other.stressCount;
+        sleepHoursSum += other.sleepHoursSum;
+        sleepCount += other.sleepCount;
+        habitCompletions += other.habitCompletions;
+    }
+
+    @Exclude
+    public double getAverageMood() {
+        return moodCount > 0 ? moodSum / moodCount : 0.0;
+    }
+
+    @Exclude
+    public double getAverageStress() {
+        return stressCount > 0 ? stressSum / stressCount : 0.0;
+    }
+
+    @Exclude
+    public double getAverageSleepHours() {
+        return sleepCount > 0 ? sleepHoursSum / sleepCount : 0.0;
+    }
+
+    public static RollupBucket fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), RollupBucket.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static RollupBucket fromMap(Map<String, Object> map) {
+        RollupBucket bucket = new RollupBucket();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "moodSum": bucket.setMoodSum(ModelMaps.asDouble(value)); break;
+                case "moodCount": bucket.setMoodCount(ModelMaps.asLong(value)); break;
+                case "stressSum": bucket.setStressSum(ModelMaps.asDouble(value)); break;
+                case "stressCount": bucket.setStressCount(ModelMaps.asLong(value)); break;
+                case "sleepHoursSum": bucket.setSleepHoursSum(ModelMaps.asDouble(value)); break;
+                case "sleepCount": bucket.setSleepCount(ModelMaps.asLong(value)); break;
+                case "habitCompletions": bucket.setHabitCompletions(ModelMaps.asLong(value)); break;
+            }
+        }
+        return bucket;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("moodSum", getMoodSum());
+        map.put("moodCount", getMoodCount());
+        map.put("stressSum", getStressSum());
+        map.put("stressCount", getStressCount());
+        map.put("sleepHoursSum", getSleepHoursSum());
+        map.put("sleepCount", getSleepCount());
+        map.put("habitCompletions", getHabitCompletions());
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "RollupBucket{" +
+                "moodCount=" + moodCount +
+                ", stressCount=" + stressCount +
+                ", sleepCount=" + sleepCount +
+                ", habitCompletions=" + habitCompletions +
+                '}';
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class SessionRequest {
     private String requestId;
@@ -119,6 +123,49 @@ public class SessionRequest {
         return sdf.format(new Date(createdAt));
     }
 
+    public static SessionRequest fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), SessionRequest.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static SessionRequest fromMap(Map<String, Object> map) {
+        SessionRequest request = new SessionRequest();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "requestId": request.setRequestId(ModelMaps.asString(value)); break;
+                case "userId": request.setUserId(ModelMaps.asString(value)); break;
+                case "clientName": request.setClientName(ModelMaps.asString(value)); break;
+                case "instructorId": request.setInstructorId(ModelMaps.asString(value)); break;
+                case "instructorName": request.setInstructorName(ModelMaps.asString(value)); break;
+                case "requestedDateTime": request.setRequestedDateTime(ModelMaps.asLong(value)); break;
+                case "sessionType": request.setSessionType(ModelMaps.asString(value)); break;
+                case "reason": request.setReason(ModelMaps.asString(value)); break;
+                case "status": request.setStatus(ModelMaps.asString(value)); break;
+                case "zoomLink": request.setZoomLink(ModelMaps.asString(value)); break;
+                case "createdAt": request.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "updatedAt": request.setUpdatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return request;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("requestId", getRequestId());
+        map.put("userId", getUserId());
+        map.put("clientName", getClientName());
+        map.put("instructorId", getInstructorId());
+        map.put("instructorName", getInstructorName());
+        map.put("requestedDateTime", getRequestedDateTime());
+        map.put("sessionType", getSessionType());
+        map.put("reason", getReason());
+        map.put("status", getStatus());
+        map.put("zoomLink", getZoomLink());
+        map.put("createdAt", getCreatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "SessionRequest{" +
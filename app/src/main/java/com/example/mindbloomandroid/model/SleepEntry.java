@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class SleepEntry {
     private String sleepEntryId;
@@ -101,6 +105,40 @@ public class SleepEntry {
         return String.format(Locale.getDefault(), "%.1f hours", hours);
     }
 
+    public static SleepEntry fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), SleepEntry.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static SleepEntry fromMap(Map<String, Object> map) {
+        SleepEntry entry = new SleepEntry();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "sleepEntryId": entry.setSleepEntryId(ModelMaps.asString(value)); break;
+                case "userId": entry.setUserId(ModelMaps.asString(value)); break;
+                case "sleepStartTime": entry.setSleepStartTime(ModelMaps.asLong(value)); break;
+                case "sleepEndTime": entry.setSleepEndTime(ModelMaps.asLong(value)); break;
+                case "sleepQuality": entry.setSleepQuality(ModelMaps.asInt(value)); break;
+                case "notes": entry.setNotes(ModelMaps.asString(value)); break;
+                case "createdAt": entry.setCreatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return entry;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("sleepEntryId", getSleepEntryId());
+        map.put("userId", getUserId());
+        map.put("sleepStartTime", getSleepStartTime());
+        map.put("sleepEndTime", getSleepEndTime());
+        map.put("sleepQuality", getSleepQuality());
+        map.put("notes", getNotes());
+        map.put("createdAt", getCreatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "SleepEntry{" +
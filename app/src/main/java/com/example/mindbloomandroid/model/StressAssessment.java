@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class StressAssessment {
     private String assessmentId;
@@ -120,6 +124,52 @@ public class StressAssessment {
         return sdf.format(new Date(assessmentDate));
     }
 
+    public static StressAssessment fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), StressAssessment.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static StressAssessment fromMap(Map<String, Object> map) {
+        StressAssessment assessment = new StressAssessment();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "assessmentId": assessment.setAssessmentId(ModelMaps.asString(value)); break;
+                case "userId": assessment.setUserId(ModelMaps.asString(value)); break;
+                case "assessmentDate": assessment.setAssessmentDate(ModelMaps.asLong(value)); break;
+                case "workloadLevel": assessment.setWorkloadLevel(ModelMaps.asInt(value)); break;
+                case "sleepQualityLevel": assessment.setSleepQualityLevel(ModelMaps.asInt(value)); break;
+                case "anxietyLevel": assessment.setAnxietyLevel(ModelMaps.asInt(value)); break;
+                case "moodLevel": assessment.setMoodLevel(ModelMaps.asInt(value)); break;
+                case "physicalSymptomsLevel": assessment.setPhysicalSymptomsLevel(ModelMaps.asInt(value)); break;
+                case "concentrationLevel": assessment.setConcentrationLevel(ModelMaps.asInt(value)); break;
+                case "socialConnectionLevel": assessment.setSocialConnectionLevel(ModelMaps.asInt(value)); break;
+                case "stressScore": assessment.setStressScore(ModelMaps.asInt(value)); break;
+                case "stressLevel": assessment.setStressLevel(ModelMaps.asString(value)); break;
+                case "notes": assessment.setNotes(ModelMaps.asString(value)); break;
+            }
+        }
+        return assessment;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("assessmentId", getAssessmentId());
+        map.put("userId", getUserId());
+        map.put("assessmentDate", getAssessmentDate());
+        map.put("workloadLevel", getWorkloadLevel());
+        map.put("sleepQualityLevel", getSleepQualityLevel());
+        map.put("anxietyLevel", getAnxietyLevel());
+        map.put("moodLevel", getMoodLevel());
+        map.put("physicalSymptomsLevel", getPhysicalSymptomsLevel());
+        map.put("concentrationLevel", getConcentrationLevel());
+        map.put("socialConnectionLevel", getSocialConnectionLevel());
+        map.put("stressScore", getStressScore());
+        map.put("stressLevel", getStressLevel());
+        map.put("notes", getNotes());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "StressAssessment{" +
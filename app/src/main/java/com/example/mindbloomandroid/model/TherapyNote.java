@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class TherapyNote {
     private String noteId;
@@ -96,6 +100,46 @@ public class TherapyNote {
         return sdf.format(new Date(updatedAt));
     }
 
+    public static TherapyNote fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), TherapyNote.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static TherapyNote fromMap(Map<String, Object> map) {
+        TherapyNote note = new TherapyNote();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "noteId": note.setNoteId(ModelMaps.asString(value)); break;
+                case "instructorId": note.setInstructorId(ModelMaps.asString(value)); break;
+                case "clientId": note.setClientId(ModelMaps.asString(value)); break;
+                case "clientName": note.setClientName(ModelMaps.asString(value)); break;
+                case "sessionId": note.setSessionId(ModelMaps.asString(value)); break;
+                case "sessionDate": note.setSessionDate(ModelMaps.asLong(value)); break;
+                case "sessionType": note.setSessionType(ModelMaps.asString(value)); break;
+                case "notes": note.setNotes(ModelMaps.asString(value)); break;
+                case "createdAt": note.setCreatedAt(ModelMaps.asLong(value)); break;
+                case "updatedAt": note.setUpdatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return note;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("noteId", getNoteId());
+        map.put("instructorId", getInstructorId());
+        map.put("clientId", getClientId());
+        map.put("clientName", getClientName());
+        map.put("sessionId", getSessionId());
+        map.put("sessionDate", getSessionDate());
+        map.put("sessionType", getSessionType());
+        map.put("notes", getNotes());
+        map.put("createdAt", getCreatedAt());
+        map.put("updatedAt", getUpdatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "TherapyNote{" +
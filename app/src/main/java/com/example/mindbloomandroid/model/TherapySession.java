@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class TherapySession {
     private String sessionId;
@@ -105,6 +109,48 @@ public class TherapySession {
         return sdf.format(new Date(createdAt));
     }
 
+    public static TherapySession fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), TherapySession.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static TherapySession fromMap(Map<String, Object> map) {
+        TherapySession session = new TherapySession();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "sessionId": session.setSessionId(ModelMaps.asString(value)); break;
+                case "clientId": session.setClientId(ModelMaps.asString(value)); break;
+                case "clientName": session.setClientName(ModelMaps.asString(value)); break;
+                case "instructorId": session.setInstructorId(ModelMaps.asString(value)); break;
+                case "instructorName": session.setInstructorName(ModelMaps.asString(value)); break;
+                case "sessionDate": session.setSessionDate(ModelMaps.asLong(value)); break;
+                case "sessionType": session.setSessionType(ModelMaps.asString(value)); break;
+                case "zoomLink": session.setZoomLink(ModelMaps.asString(value)); break;
+                case "status": session.setStatus(ModelMaps.asString(value)); break;
+                case "notes": session.setNotes(ModelMaps.asString(value)); break;
+                case "createdAt": session.setCreatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return session;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("sessionId", getSessionId());
+        map.put("clientId", getClientId());
+        map.put("clientName", getClientName());
+        map.put("instructorId", getInstructorId());
+        map.put("instructorName", getInstructorName());
+        map.put("sessionDate", getSessionDate());
+        map.put("sessionType", getSessionType());
+        map.put("zoomLink", getZoomLink());
+        map.put("status", getStatus());
+        map.put("notes", getNotes());
+        map.put("createdAt", getCreatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "TherapySession{" +
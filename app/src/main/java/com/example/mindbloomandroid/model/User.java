@@ -1,8 +1,12 @@
 package com.example.mindbloomandroid.model;
 
+import com.google.firebase.database.DataSnapshot;
+
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class User {
     private String userId;
@@ -69,6 +73,38 @@ public class User {
         return displayId > 0 ? "User #" + displayId : "New User";
     }
 
+    public static User fromSnapshot(DataSnapshot snapshot) {
+        Map<String, Object> map = ModelMaps.asMap(snapshot.getValue(), User.class);
+        return map != null ? fromMap(map) : null;
+    }
+
+    public static User fromMap(Map<String, Object> map) {
+        User user = new User();
+        for (Map.Entry<String, Object> field : map.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "userId": user.setUserId(ModelMaps.asString(value)); break;
+                case "displayId": user.setDisplayId(ModelMaps.asInt(value)); break;
+                case "username": user.setUsername(ModelMaps.asString(value)); break;
+                case "password": user.setPassword(ModelMaps.asString(value)); break;
+                case "role": user.setRole(ModelMaps.asString(value)); break;
+                case "createdAt": user.setCreatedAt(ModelMaps.asLong(value)); break;
+            }
+        }
+        return user;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("userId", getUserId());
+        map.put("displayId", getDisplayId());
+        map.put("username", getUsername());
+        map.put("password", getPassword());
+        map.put("role", getRole());
+        map.put("createdAt", getCreatedAt());
+        return map;
+    }
+
     @Override
     public String toString() {
         return "User: " + username + " (ID: " + displayId + ")";
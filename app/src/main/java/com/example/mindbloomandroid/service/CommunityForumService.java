@@ -3,6 +3,7 @@ package com.example.mindbloomandroid.service;
 import com.example.mindbloomandroid.model.Post;
 import com.example.mindbloomandroid.model.Comment;
 import com.example.mindbloomandroid.model.GroupChatMessage;
+import com.example.mindbloomandroid.utility.AppLog;
 import com.google.firebase.database.DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase.database.DatabaseReference;
@@ -10,7 +11,6 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,11 +19,13 @@ public class CommunityForumService {
     private DatabaseReference forumPostsRef;
     private DatabaseReference forumCommentsRef;
     private DatabaseReference groupChatRef;
+    private ListenerRegistry listenerRegistry;
 
     public CommunityForumService() {
         forumPostsRef = FirebaseDatabase.getInstance().getReference("forum_posts");
         forumCommentsRef = FirebaseDatabase.getInstance().getReference("forum_comments");
         groupChatRef = FirebaseDatabase.getInstance().getReference("group_chat_messages");
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -32,7 +34,7 @@ public class CommunityForumService {
         if (postId != null) {
             post.setPostId(postId);
 
-            forumPostsRef.child(postId).setValue(post)
+            forumPostsRef.child(postId).setValue(post.toMap())
                     .addOnSuccessListener(aVoid -> listener.onSuccess("Post created"))
                     .addOnFailureListener(e -> listener.onError(e.getMessage()));
         } else {
@@ -41,26 +43,51 @@ public class CommunityForumService {
     }
 
 
-    public void getAllPosts(OnPostsLoadedListener listener) {
+    // Newest page only, kept live so new posts, likes and comments on it show up without a reload
+    public ValueEventListener observeNewestPosts(int pageSize, OnPostsLoadedListener listener) {
+        return forumPostsRef.orderByChild("createdAt").limitToLast(pageSize)
+                .addValueEventListener(postsListener(listener));
+    }
+
+    // Older pages are read once; the cursor is the oldest post already shown
+    public void loadPostsBefore(Post oldest, int pageSize, OnPostsLoadedListener listener) {
         forumPostsRef.orderByChild("createdAt")
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<Post> posts = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Post post = snapshot.getValue(Post.class);
-                            if (post != null) {
-                                posts.add(0, post); // Add to beginning (newest first)
-                            }
-                        }
-                        listener.onPostsLoaded(posts);
-                    }
+                .endBefore(oldest.getCreatedAt(), oldest.getPostId())
+                .limitToLast(pageSize)
+                .addListenerForSingleValueEvent(postsListener(listener));
+    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
+    public void removePostsListener(ValueEventListener listener) {
+        forumPostsRef.removeEventListener(listener);
+        if (listener instanceof DecodingValueListener) {
+            ((DecodingValueListener<?>) listener).cancelPending();
+        }
+    }
+
+    private ValueEventListener postsListener(OnPostsLoadedListener listener) {
+        return new DecodingValueListener<List<Post>>("forum_posts.page") {
+            @Override
+            protected List<Post> decode(DataSnapshot dataSnapshot) {
+                List<Post> posts = new ArrayList<>();
+                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                    Post post = Post.fromSnapshot(snapshot);
+                    if (post != null) {
+                        posts.add(0, post); // Add to beginning (newest first)
                     }
-                });
+                }
+                return posts;
+            }
+
+            @Override
+            protected void onDecoded(List<Post> posts) {
+                listener.onPostsLoaded(posts);
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                listener.onError(error.getMessage());
+            }
+        };
     }
 
 
@@ -69,7 +96,7 @@ public class CommunityForumService {
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
-                        Post post = dataSnapshot.getValue(Post.class);
+                        Post post = Post.fromSnapshot(dataSnapshot);
                         if (post != null) {
                             listener.onPostLoaded(post);
                         } else {
@@ -92,7 +119,7 @@ public class CommunityForumService {
         if (commentId != null) {
             comment.setCommentId(commentId);
 
-            forumCommentsRef.child(postId).child(commentId).setValue(comment)
+            forumCommentsRef.child(postId).child(commentId).setValue(comment.toMap())
                     .addOnSuccessListener(aVoid -> {
                         // Increment comment count
                         forumPostsRef.child(postId).child("commentCount")
@@ -106,31 +133,43 @@ public class CommunityForumService {
     }
 
 
-    public void getCommentsByPostId(String postId, OnCommentsLoadedListener listener) {
-        android.util.Log.d("ForumService", "📖 Loading comments for post: " + postId);
+    public ListenerRegistry.Subscription getCommentsByPostId(String postId, OnCommentsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("ForumService", "📖 Loading comments for post: " + postId);
+        }
+
+        return listenerRegistry.observe(QueryCache.key("forum_comments", postId, QueryCache.RANGE_ALL),
+                forumCommentsRef.child(postId).orderByChild("createdAt"),
+                dataSnapshot -> {
+                    List<Comment> comments = new ArrayList<>();
+                    if (AppLog.ENABLED) {
+                        AppLog.d("ForumService", "📥 Received " + dataSnapshot.getChildrenCount() + " comments");
+                    }
 
-        forumCommentsRef.child(postId).orderByChild("createdAt")
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<Comment> comments = new ArrayList<>();
-                        android.util.Log.d("ForumService", "📥 Received " + dataSnapshot.getChildrenCount() + " comments");
-
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Comment comment = snapshot.getValue(Comment.class);
-                            if (comment != null) {
-                                comments.add(comment);
-                                android.util.Log.d("ForumService", "   💬 Comment by " + comment.getUsername());
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        Comment comment = Comment.fromSnapshot(snapshot);
+                        if (comment != null) {
+                            comments.add(comment);
+                            if (AppLog.ENABLED) {
+                                AppLog.d("ForumService", "   💬 Comment by " + comment.getUsername());
                             }
                         }
-                        android.util.Log.d("ForumService", "✅ Loaded " + comments.size() + " comments");
-                        listener.onCommentsLoaded(comments);
+                    }
+                    if (AppLog.ENABLED) {
+                        AppLog.d("ForumService", "✅ Loaded " + comments.size() + " comments");
+                    }
+                    return comments;
+                },
+                new ListenerRegistry.Observer<List<Comment>>() {
+                    @Override
+                    public void onData(List<Comment> comments) {
+                        listener.onCommentsLoaded(new ArrayList<>(comments));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("ForumService", "❌ Error loading comments: " + error.getMessage());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("ForumService", "❌ Error loading comments: " + error);
+                        listener.onError(error);
                     }
                 });
     }
@@ -196,7 +235,7 @@ public class CommunityForumService {
             message.setMessageId(messageId);
             message.setCreatedAt(System.currentTimeMillis());
 
-            groupChatRef.child(messageId).setValue(message)
+            groupChatRef.child(messageId).setValue(message.toMap())
                     .addOnSuccessListener(aVoid -> listener.onSuccess(message))
                     .addOnFailureListener(e -> listener.onError(e.getMessage()));
         } else {
@@ -205,32 +244,9 @@ public class CommunityForumService {
     }
 
 
-    public void getChatMessages(OnChatMessagesLoadedListener listener) {
-        groupChatRef.limitToLast(100).addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<GroupChatMessage> messages = new ArrayList<>();
-                
-                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    GroupChatMessage message = snapshot.getValue(GroupChatMessage.class);
-                    if (message != null) {
-                        message.setMessageId(snapshot.getKey());
-                        messages.add(message);
-                    }
-                }
-
-                // Sort by time (oldest first for display)
-                Collections.sort(messages, (m1, m2) -> 
-                    Long.compare(m1.getCreatedAt(), m2.getCreatedAt()));
-                
-                listener.onMessagesLoaded(messages);
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                listener.onError(error.getMessage());
-            }
-        });
+    // Newest page of the group chat, then one child event per new message into a bounded window
+    public GroupChatStream openChatStream(int pageSize, int capacity, GroupChatStream.OnChatStreamListener listener) {
+        return new GroupChatStream(groupChatRef, pageSize, capacity, listener).start();
     }
 
 
@@ -247,7 +263,9 @@ public class CommunityForumService {
                 .child(postId)
                 .child(userId);
 
-        android.util.Log.d("ForumService", "🔄 Toggling like - PostID: " + postId + ", UserID: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("ForumService", "🔄 Toggling like - PostID: " + postId + ", UserID: " + userId);
+        }
 
         // Check if user already liked this post
         postLikesRef.addListenerForSingleValueEvent(new ValueEventListener() {
@@ -255,14 +273,14 @@ public class CommunityForumService {
             public void onDataChange(DataSnapshot dataSnapshot) {
                 if (dataSnapshot.exists()) {
                     // User already liked - UNLIKE (remove)
-                    android.util.Log.d("ForumService", "👎 Removing like");
+                    AppLog.d("ForumService", "👎 Removing like");
                     postLikesRef.removeValue()
                         .addOnSuccessListener(aVoid -> {
                             // Decrement like count
                             forumPostsRef.child(postId).child("likeCount")
                                 .setValue(com.google.firebase.database.ServerValue.increment(-1))
                                 .addOnSuccessListener(aVoid2 -> {
-                                    android.util.Log.d("ForumService", "✅ Like removed successfully");
+                                    AppLog.d("ForumService", "✅ Like removed successfully");
                                     listener.onSuccess();
                                 })
                                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
@@ -270,7 +288,7 @@ public class CommunityForumService {
                         .addOnFailureListener(e -> listener.onError(e.getMessage()));
                 } else {
                     // User hasn't liked yet - LIKE (add)
-                    android.util.Log.d("ForumService", "👍 Adding like");
+                    AppLog.d("ForumService", "👍 Adding like");
                     Map<String, Object> likeData = new HashMap<>();
                     likeData.put("userId", userId);
                     likeData.put("postId", postId);
@@ -282,7 +300,7 @@ public class CommunityForumService {
                             forumPostsRef.child(postId).child("likeCount")
                                 .setValue(com.google.firebase.database.ServerValue.increment(1))
                                 .addOnSuccessListener(aVoid2 -> {
-                                    android.util.Log.d("ForumService", "✅ Like added successfully");
+                                    AppLog.d("ForumService", "✅ Like added successfully");
                                     listener.onSuccess();
                                 })
                                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
@@ -293,7 +311,7 @@ public class CommunityForumService {
 
             @Override
             public void onCancelled(DatabaseError error) {
-                android.util.Log.e("ForumService", "❌ Error toggling like: " + error.getMessage());
+                AppLog.e("ForumService", "❌ Error toggling like: " + error.getMessage());
                 listener.onError(error.getMessage());
             }
         });
@@ -307,11 +325,13 @@ public class CommunityForumService {
     }
 
 
-    public void getComments(String postId, OnCommentsLoadedListener listener) {
-        android.util.Log.d("ForumService", "📖 Loading comments for post: " + postId);
+    public ListenerRegistry.Subscription getComments(String postId, OnCommentsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("ForumService", "📖 Loading comments for post: " + postId);
+        }
 
         // Use the existing getCommentsByPostId method
-        getCommentsByPostId(postId, listener);
+        return getCommentsByPostId(postId, listener);
     }
 
 
@@ -323,12 +343,14 @@ public class CommunityForumService {
             comment.setCommentId(commentId);
             comment.setCreatedAt(System.currentTimeMillis());
 
-            android.util.Log.d("ForumService", "💬 Saving comment - PostID: " + postId + ", CommentID: " + commentId);
+            if (AppLog.ENABLED) {
+                AppLog.d("ForumService", "💬 Saving comment - PostID: " + postId + ", CommentID: " + commentId);
+            }
 
             // Save comment under postId path: forum_comments/{postId}/{commentId}
-            forumCommentsRef.child(postId).child(commentId).setValue(comment)
+            forumCommentsRef.child(postId).child(commentId).setValue(comment.toMap())
                 .addOnSuccessListener(aVoid -> {
-                    android.util.Log.d("ForumService", "✅ Comment saved successfully");
+                    AppLog.d("ForumService", "✅ Comment saved successfully");
 
                     // Increment comment count on post
                     forumPostsRef.child(postId).child("commentCount")
@@ -337,7 +359,7 @@ public class CommunityForumService {
                     listener.onSuccess();
                 })
                 .addOnFailureListener(e -> {
-                    android.util.Log.e("ForumService", "❌ Failed to save comment: " + e.getMessage());
+                    AppLog.e("ForumService", "❌ Failed to save comment: " + e.getMessage());
                     listener.onError(e.getMessage());
                 });
         } else {
@@ -355,11 +377,6 @@ public class CommunityForumService {
         void onError(String error);
     }
 
-    public interface OnChatMessagesLoadedListener {
-        void onMessagesLoaded(List<GroupChatMessage> messages);
-        void onError(String error);
-    }
-
     public interface OnOperationCompleteListener {
         void onSuccess();
         void onError(String error);
@@ -0,0 +1,131 @@
+package com.example.mindbloomandroid.service;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.Trace;
+
+import com.example.mindbloomandroid.utility.AppLog;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ValueEventListener that maps the snapshot to models on a background thread and hands
+ * only the finished result to the main thread. decode() runs off the main thread (parse,
+ * sort, filter, log); onDecoded() runs on it and should only bind the result.
+ *
+ * Decoding is serial, so results arrive in snapshot order, and a result that has been
+ * overtaken by a newer snapshot is dropped before it reaches the main thread.
+ *
+ * A listener constructed with a name reports to QueryMetrics and wraps each decode in a
+ * Trace section; the first snapshot's latency counts from construction, so create it just
+ * before attaching.
+ */
+public abstract class DecodingValueListener<R> implements ValueEventListener {
+    private static final String TAG = "DecodingValueListener";
+
+    private static final ExecutorService DECODER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "snapshot-decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static Handler mainHandler;
+
+    // Null unless metrics are enabled and the read is named
+    private final String metricsName;
+    private final String traceSection;
+    private final long createdNanos;
+
+    // Main thread only
+    private int generation;
+    private boolean snapshotSeen;
+
+    protected DecodingValueListener() {
+        this(null);
+    }
+
+    protected DecodingValueListener(String metricsName) {
+        this.metricsName = QueryMetrics.ENABLED ? metricsName : null;
+        this.traceSection = this.metricsName != null ? QueryMetrics.traceSection(metricsName) : null;
+        this.createdNanos = System.nanoTime();
+    }
+
+    /** Runs on the decoder thread. Must not touch views or adapters. */
+    protected abstract R decode(DataSnapshot dataSnapshot);
+
+    /** Runs on the main thread with the newest decoded result. */
+    protected abstract void onDecoded(R result);
+
+    @Override
+    public final void onDataChange(DataSnapshot dataSnapshot) {
+        final int snapshotGeneration = ++generation;
+        if (metricsName != null) {
+            long latencyMillis = snapshotSeen ? -1 : (System.nanoTime() - createdNanos) / 1_000_000;
+            QueryMetrics.getInstance().recordSnapshot(metricsName, latencyMillis, dataSnapshot);
+        }
+        snapshotSeen = true;
+        DECODER.execute(() -> {
+            R result;
+            try {
+                result = metricsName != null ? decodeMeasured(dataSnapshot) : decode(dataSnapshot);
+            } catch (RuntimeException e) {
+                AppLog.e(TAG, "❌ Failed to decode " + dataSnapshot.getKey() + ": " + e.getMessage(), e);
+                main().post(() -> {
+                    if (snapshotGeneration == generation) {
+                        onCancelled(DatabaseError.fromException(e));
+                    }
+                });
+                return;
+            }
+
+            main().post(() -> {
+                if (snapshotGeneration == generation) {
+                    onDecoded(result);
+                }
+            });
+        });
+    }
+
+    private R decodeMeasured(DataSnapshot dataSnapshot) {
+        long start = System.nanoTime();
+        Trace.beginSection(traceSection);
+        try {
+            return decode(dataSnapshot);
+        } finally {
+            Trace.endSection();
+            QueryMetrics.getInstance().recordDecode(metricsName, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // Drops any decode still in flight, e.g. right after removeEventListener
+    public void cancelPending() {
+        generation++;
+    }
+
+    // For child-event listeners: work runs on the decoder thread, then onMain on the main thread.
+    // Both are FIFO, so steps queued in event order are applied in that order.
+    static void runOnDecoder(Runnable work, Runnable onMain) {
+        DECODER.execute(() -> {
+            try {
+                work.run();
+            } finally {
+                main().post(onMain);
+            }
+        });
+    }
+
+    private static synchronized Handler main() {
+        if (mainHandler == null) {
+            mainHandler = new Handler(Looper.getMainLooper());
+        }
+        return mainHandler;
+    }
+}
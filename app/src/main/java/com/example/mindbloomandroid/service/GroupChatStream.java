@@ -0,0 +1,166 @@
+package com.example.mindbloomandroid.service;
+
+import com.example.mindbloomandroid.model.GroupChatMessage;
+import com.example.mindbloomandroid.utility.RingBuffer;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.List;
+
+/**
+ * Group chat as a stream into a bounded window. Each live message goes in near the end: one
+ * parse, one slot in the ring buffer, one callback naming the rows that changed. Push keys
+ * come from each sender's clock, so a late arrival is placed by key rather than appended.
+ * Older pages are backfilled on request while the window has room.
+ *
+ * The buffer is mutated on the main thread right before each callback, so an adapter can
+ * read it directly and map the callbacks onto notifyItem* calls.
+ */
+public class GroupChatStream extends LiveTailWindow<GroupChatMessage> {
+
+    private final RingBuffer<GroupChatMessage> messages;
+    private final OnChatStreamListener listener;
+
+    GroupChatStream(DatabaseReference chatRef, int pageSize, int capacity, OnChatStreamListener listener) {
+        super(chatRef, pageSize, "group_chat.page");
+        this.messages = new RingBuffer<>(capacity);
+        this.listener = listener;
+    }
+
+    public RingBuffer<GroupChatMessage> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public GroupChatStream start() {
+        super.start();
+        return this;
+    }
+
+    // False once the start of the chat is reached or the window is full
+    @Override
+    public boolean hasOlder() {
+        return super.hasOlder() && !messages.isFull();
+    }
+
+    // Older pages are trimmed to the free slots
+    @Override
+    protected int olderPageLimit() {
+        return Math.min(getPageSize(), messages.capacity() - messages.size());
+    }
+
+    @Override
+    protected GroupChatMessage parse(DataSnapshot snapshot) {
+        GroupChatMessage message = GroupChatMessage.fromSnapshot(snapshot);
+        if (message != null) {
+            message.setMessageId(snapshot.getKey());
+        }
+        return message;
+    }
+
+    @Override
+    protected String keyOf(GroupChatMessage message) {
+        return message.getMessageId();
+    }
+
+    @Override
+    protected String newestKey() {
+        GroupChatMessage newest = messages.last();
+        return newest != null ? newest.getMessageId() : null;
+    }
+
+    @Override
+    protected String oldestKey() {
+        GroupChatMessage oldest = messages.first();
+        return oldest != null ? oldest.getMessageId() : null;
+    }
+
+    @Override
+    protected void onNewestPage(List<GroupChatMessage> page) {
+        for (GroupChatMessage message : page) {
+            GroupChatMessage evicted = messages.addLast(message);
+            if (evicted != null) {
+                forget(evicted.getMessageId());
+            }
+        }
+        listener.onBackfilled(messages.size());
+    }
+
+    @Override
+    protected void onOlderPage(List<GroupChatMessage> page) {
+        int added = 0;
+        for (int i = page.size() - 1; i >= 0; i--) {
+            if (messages.addFirst(page.get(i))) {
+                added++;
+            } else {
+                forget(page.get(i).getMessageId());
+            }
+        }
+        if (added > 0) {
+            listener.onBackfilled(added);
+        }
+    }
+
+    @Override
+    protected void onLiveAdded(GroupChatMessage message) {
+        // With many senders, clock skew often puts a message just before the last few
+        int position = messages.size();
+        while (position > 0 && messages.get(position - 1).getMessageId().compareTo(message.getMessageId()) > 0) {
+            position--;
+        }
+        GroupChatMessage evicted = messages.insert(position, message);
+        if (evicted == null) {
+            listener.onInserted(position, 0);
+            return;
+        }
+        // The oldest message made room, so there is history to backfill again
+        forget(evicted.getMessageId());
+        markHasOlder();
+        if (evicted != message) {
+            listener.onInserted(position - 1, 1);
+        }
+    }
+
+    @Override
+    protected void onLiveChanged(GroupChatMessage message) {
+        int position = indexOf(message.getMessageId());
+        if (position >= 0) {
+            messages.set(position, message);
+            listener.onChanged(position);
+        }
+    }
+
+    @Override
+    protected void onLiveRemoved(String key) {
+        int position = indexOf(key);
+        if (position >= 0) {
+            messages.removeAt(position);
+            listener.onRemoved(position);
+        }
+    }
+
+    @Override
+    protected void onWindowError(String error) {
+        listener.onError(error);
+    }
+
+    // Edits and deletions land on recent messages, so look from the newest end
+    private int indexOf(String key) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i).getMessageId().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public interface OnChatStreamListener {
+        // count messages were inserted at the start of the window (the first page, or older history)
+        void onBackfilled(int count);
+        // One message was inserted at position (counted after the removal) once evicted (0 or 1) were removed from the start
+        void onInserted(int position, int evicted);
+        void onChanged(int position);
+        void onRemoved(int position);
+        void onError(String error);
+    }
+}
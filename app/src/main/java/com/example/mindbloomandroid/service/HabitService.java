@@ -9,17 +9,28 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.Habit;
 import com.example.mindbloomandroid.model.HabitCompletion;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class HabitService {
+    private static final String NODE = "habits";
+
+    private DatabaseReference rootRef;
     private DatabaseReference habitsRef;
     private DatabaseReference completionsRef;
+    private QueryCache queryCache;
+    private ListenerRegistry listenerRegistry;
 
     public HabitService() {
-        habitsRef = FirebaseDatabase.getInstance().getReference("habits");
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        habitsRef = FirebaseDatabase.getInstance().getReference(NODE);
         completionsRef = FirebaseDatabase.getInstance().getReference("habit_completions");
+        queryCache = QueryCache.getInstance();
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -29,82 +40,129 @@ public class HabitService {
             habit.setHabitId(habitId);
             habit.setCreatedAt(System.currentTimeMillis());
 
-            android.util.Log.d("HabitService", "📝 Creating habit - ID: " + habitId + ", Name: " + habit.getName() + ", UserID: " + habit.getUserId());
+            if (AppLog.ENABLED) {
+                AppLog.d("HabitService", "📝 Creating habit - ID: " + habitId + ", Name: " + habit.getName() + ", UserID: " + habit.getUserId());
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, habit.getUserId(), habitId, habit.toMap());
 
-            habitsRef.child(habitId).setValue(habit)
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("HabitService", "✅ Habit saved successfully - ID: " + habitId);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("HabitService", "✅ Habit saved successfully - ID: " + habitId);
+                        }
                         listener.onSuccess();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("HabitService", "❌ Failed to save habit: " + e.getMessage());
+                        AppLog.e("HabitService", "❌ Failed to save habit: " + e.getMessage());
                         listener.onError(e.getMessage());
                     });
         } else {
-            android.util.Log.e("HabitService", "❌ Failed to generate habit ID");
+            AppLog.e("HabitService", "❌ Failed to generate habit ID");
             listener.onError("Failed to generate habit ID");
         }
     }
 
 
-    public void getUserHabits(String userId, OnHabitsLoadedListener listener) {
-        android.util.Log.d("HabitService", "📖 Loading habits for user: " + userId);
+    public ListenerRegistry.Subscription getUserHabits(String userId, OnHabitsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("HabitService", "📖 Loading habits for user: " + userId);
+        }
+        return observeHabits(userId, habits -> listener.onHabitsLoaded(new ArrayList<>(habits)), listener);
+    }
 
-        // Use addValueEventListener for REAL-TIME updates (not addListenerForSingleValueEvent)
-        habitsRef.orderByChild("userId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<Habit> habits = new ArrayList<>();
-                        android.util.Log.d("HabitService", "📥 Received " + dataSnapshot.getChildrenCount() + " habits");
-
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Habit habit = snapshot.getValue(Habit.class);
-                            if (habit != null) {
-                                habit.setHabitId(snapshot.getKey());
-                                habits.add(habit);
-                            }
-                        }
-                        android.util.Log.d("HabitService", "✅ Loaded " + habits.size() + " habits (REAL-TIME UPDATE)");
-                        listener.onHabitsLoaded(habits);
-                    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("HabitService", "❌ Error loading habits: " + error.getMessage());
-                        listener.onError(error.getMessage());
+    // Incremental mode: child events keep habits sorted (oldest first) at one parse per write
+    public IncrementalListSync<Habit> observeUserHabits(String userId, List<Habit> habits,
+                                                        IncrementalListSync.OnListChangedListener<Habit> listener) {
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        return new IncrementalListSync<>(
+                UserTimelines.ref(NODE, userId),
+                snapshot -> {
+                    Habit habit = Habit.fromSnapshot(snapshot);
+                    if (habit != null) {
+                        habit.setHabitId(snapshot.getKey());
                     }
-                });
+                    return habit;
+                },
+                (a, b) -> Long.compare(a.getCreatedAt(), b.getCreatedAt()),
+                habits,
+                listener).start();
     }
 
 
-    public void getActiveHabitsRealtime(String userId, OnHabitsLoadedListener listener) {
-        habitsRef.orderByChild("userId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<Habit> habits = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Habit habit = snapshot.getValue(Habit.class);
-                            if (habit != null && habit.isActive()) {
-                                habit.setHabitId(snapshot.getKey());
-                                habits.add(habit);
-                            }
+    public ListenerRegistry.Subscription getActiveHabitsRealtime(String userId, OnHabitsLoadedListener listener) {
+        // Same live query as getUserHabits, filtered on the way out
+        return observeHabits(userId, habits -> listener.onHabitsLoaded(filterActive(habits)), listener);
+    }
+
+
+    private ListenerRegistry.Subscription observeHabits(String userId, HabitsCallback callback,
+                                                       OnHabitsLoadedListener listener) {
+        // Render the last known list straight away unless a live query will replay its own
+        String cacheKey = QueryCache.key(NODE, userId, QueryCache.RANGE_ALL);
+        List<Habit> cached = listenerRegistry.hasResult(cacheKey) ? null : queryCache.get(cacheKey);
+        if (cached != null) {
+            callback.onHabits(cached);
+        }
+
+        // Older habits are copied into the timeline once; they arrive through the listener below
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        DatabaseReference timelineRef = UserTimelines.syncedRef(NODE, userId);
+
+        return listenerRegistry.observe(cacheKey, timelineRef,
+                dataSnapshot -> {
+                    List<Habit> habits = new ArrayList<>();
+                    if (AppLog.ENABLED) {
+                        AppLog.d("HabitService", "📥 Received " + dataSnapshot.getChildrenCount() + " habits");
+                    }
+
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        Habit habit = Habit.fromSnapshot(snapshot);
+                        if (habit != null) {
+                            habit.setHabitId(snapshot.getKey());
+                            habits.add(habit);
                         }
-                        listener.onHabitsLoaded(habits);
+                    }
+                    if (AppLog.ENABLED) {
+                        AppLog.d("HabitService", "✅ Loaded " + habits.size() + " habits (REAL-TIME UPDATE)");
+                    }
+                    queryCache.put(cacheKey, habits);
+                    return habits;
+                },
+                new ListenerRegistry.Observer<List<Habit>>() {
+                    @Override
+                    public void onData(List<Habit> habits) {
+                        callback.onHabits(habits);
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("HabitService", "❌ Error loading habits: " + error);
+                        listener.onError(error);
                     }
                 });
     }
 
 
+    private List<Habit> filterActive(List<Habit> habits) {
+        List<Habit> active = new ArrayList<>();
+        for (Habit habit : habits) {
+            if (habit.isActive()) {
+                active.add(habit);
+            }
+        }
+        return active;
+    }
+
+
     public void updateHabit(Habit habit, OnCompleteListener listener) {
         if (habit.getHabitId() != null) {
-            habitsRef.child(habit.getHabitId()).setValue(habit)
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, habit.getUserId(), habit.getHabitId(), habit.toMap());
+
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> listener. onSuccess())
                     .addOnFailureListener(e -> listener. onError(e.getMessage()));
         } else {
@@ -116,7 +174,7 @@ public class HabitService {
         habitsRef.child(habitId).addListenerForSingleValueEvent(new ValueEventListener() {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
-                Habit habit = dataSnapshot.getValue(Habit.class);
+                Habit habit = Habit.fromSnapshot(dataSnapshot);
                 if (habit != null) {
                     habit.setHabitId(habitId);
                     habit.setCurrentStreak(habit.getCurrentStreak() + 1);
@@ -147,8 +205,12 @@ public class HabitService {
             completion.setCompletionId(completionId);
             completion.setCompletedAt(System.currentTimeMillis());
 
-            // Save completion record
-            completionsRef.child(completionId).setValue(completion)
+            // Save completion record together with its rollup increment
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, UserTimelines.HABIT_COMPLETIONS, completion.getUserId(), completionId, completion.toMap());
+            RollupService.addHabitCompletionIncrements(updates, completion, 1);
+
+            rootRef.updateChildren(updates)
                 .addOnSuccessListener(aVoid -> {
                     // Update habit streak
                     completeHabit(completion.getHabitId(), listener);
@@ -167,7 +229,7 @@ public class HabitService {
                 public void onDataChange(DataSnapshot dataSnapshot) {
                     List<HabitCompletion> completions = new ArrayList<>();
                     for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                        HabitCompletion completion = snapshot.getValue(HabitCompletion.class);
+                        HabitCompletion completion = HabitCompletion.fromSnapshot(snapshot);
                         if (completion != null) {
                             completion.setCompletionId(snapshot.getKey());
                             completions.add(completion);
@@ -184,18 +246,35 @@ public class HabitService {
     }
 
     public void deleteHabit(String habitId, OnCompleteListener listener) {
-        habitsRef.child(habitId).removeValue()
-                .addOnSuccessListener(aVoid -> listener.onSuccess())
+        // The timeline copy lives under the owner, so look that up before removing both
+        habitsRef.child(habitId).child("userId").get()
+                .addOnSuccessListener(snapshot -> {
+                    Map<String, Object> updates = new HashMap<>();
+                    UserTimelines.putRecord(updates, NODE, snapshot.getValue(String.class), habitId, null);
+                    rootRef.updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> listener.onSuccess())
+                            .addOnFailureListener(e -> listener.onError(e.getMessage()));
+                })
                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
     public void deactivateHabit(String habitId, OnCompleteListener listener) {
-        habitsRef.child(habitId).child("active").setValue(false)
-                .addOnSuccessListener(aVoid -> listener.onSuccess())
-                .addOnFailureListener(e -> listener.onError(e. getMessage()));
+        habitsRef.child(habitId).child("userId").get()
+                .addOnSuccessListener(snapshot -> {
+                    Map<String, Object> updates = new HashMap<>();
+                    UserTimelines.putField(updates, NODE, snapshot.getValue(String.class), habitId, "active", false);
+                    rootRef.updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> listener.onSuccess())
+                            .addOnFailureListener(e -> listener.onError(e. getMessage()));
+                })
+                .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
 
+    private interface HabitsCallback {
+        void onHabits(List<Habit> habits);
+    }
+
     public interface OnCompleteListener {
         void onSuccess();
         void onError(String error);
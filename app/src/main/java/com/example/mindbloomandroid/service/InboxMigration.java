@@ -0,0 +1,266 @@
+package com.example.mindbloomandroid.service;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import com.example.mindbloomandroid.model.Message;
+import com.example.mindbloomandroid.utility.AppLog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds an instructor's conversations/{userId} summaries for threads that predate them, so the
+ * inbox lists every client they have written with rather than only those who wrote since, and
+ * brings unread_counts/{userId} in line with the messages still unread. Each client's thread is
+ * found at messages/{conversationId} and summarised from its newest message;
+ * conversation_migrations/{userId} marks that the backfill is done.
+ */
+public class InboxMigration {
+    public static final String MIGRATIONS = "conversation_migrations";
+
+    private static final String NEWEST = "newest/";
+    private static final String UNREAD = "unread/";
+    private static final String COUNTS = "counts";
+
+    private static InboxMigration instance;
+
+    private final DatabaseReference rootRef;
+    private final Set<String> migrated = new HashSet<>();
+    private final Map<String, List<OnMigratedListener>> pending = new HashMap<>();
+
+    public InboxMigration(FirebaseDatabase database) {
+        rootRef = database.getReference();
+    }
+
+    public static synchronized InboxMigration getInstance() {
+        if (instance == null) {
+            instance = new InboxMigration(FirebaseDatabase.getInstance());
+        }
+        return instance;
+    }
+
+    // Calls back once the user's inbox summaries cover their existing threads
+    public void ensureMigrated(String userId, OnMigratedListener listener) {
+        synchronized (this) {
+            if (migrated.contains(userId)) {
+                listener.onMigrated();
+                return;
+            }
+            List<OnMigratedListener> waiting = pending.get(userId);
+            if (waiting != null) {
+                waiting.add(listener);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(listener);
+            pending.put(userId, waiting);
+        }
+
+        rootRef.child(MIGRATIONS).child(userId)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        if (dataSnapshot.exists()) {
+                            complete(userId, null);
+                        } else {
+                            loadClients(userId);
+                        }
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        complete(userId, error.getMessage());
+                    }
+                });
+    }
+
+    // The clients the inbox listed before it was built from summaries
+    private void loadClients(String userId) {
+        if (AppLog.ENABLED) {
+            AppLog.d("InboxMigration", "🔄 Building conversation summaries for user: " + userId);
+        }
+
+        rootRef.child("users").orderByChild("role").equalTo("USER")
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        Map<String, String> clientNames = new HashMap<>();
+                        for (DataSnapshot userSnapshot : dataSnapshot.getChildren()) {
+                            if (!userId.equals(userSnapshot.getKey())) {
+                                clientNames.put(userSnapshot.getKey(), userSnapshot.child("username").getValue(String.class));
+                            }
+                        }
+                        loadThreads(userId, clientNames);
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        complete(userId, error.getMessage());
+                    }
+                });
+    }
+
+    private void loadThreads(String userId, Map<String, String> clientNames) {
+        ParallelLoader loader = new ParallelLoader("inbox_migration");
+        for (String clientId : clientNames.keySet()) {
+            DatabaseReference threadRef = rootRef.child("messages").child(MessageService.getConversationId(userId, clientId));
+            loader.add(NEWEST + clientId, threadRef.orderByKey().limitToLast(1));
+            loader.add(UNREAD + clientId, threadRef.orderByChild("readAt").equalTo(0));
+        }
+        // Read in the same batch as the threads, so the counters can be moved by the difference
+        loader.add(COUNTS, rootRef.child(MessageService.UNREAD_COUNTS).child(userId));
+
+        loader.load(results -> {
+            // Without the marker a later open retries, so a failed read never leaves the inbox marked done
+            if (results.hasErrors()) {
+                AppLog.e("InboxMigration", "❌ Migration failed reading: " + results.getErrors());
+                complete(userId, results.getErrors().values().iterator().next());
+                return;
+            }
+
+            DatabaseReference inboxRef = rootRef.child(MessageService.CONVERSATIONS).child(userId);
+            DatabaseReference countsRef = rootRef.child(MessageService.UNREAD_COUNTS).child(userId);
+            Map<DatabaseReference, Transaction.Handler> updates = new LinkedHashMap<>();
+            for (Map.Entry<String, String> client : clientNames.entrySet()) {
+                String clientId = client.getKey();
+                for (DataSnapshot snapshot : results.get(NEWEST + clientId).getChildren()) {
+                    Message newest = Message.fromSnapshot(snapshot);
+                    if (newest != null) {
+                        String conversationId = MessageService.getConversationId(userId, clientId);
+                        updates.put(inboxRef.child(clientId),
+                                summaryUpdate(MessageService.summaryFields(conversationId, clientId, client.getValue(), newest)));
+                    }
+                }
+
+                long unread = 0;
+                for (DataSnapshot snapshot : results.get(UNREAD + clientId).getChildren()) {
+                    if (userId.equals(snapshot.child("receiverId").getValue(String.class))) {
+                        unread++;
+                    }
+                }
+                Long seen = results.get(COUNTS).child(clientId).getValue(Long.class);
+                long delta = unread - (seen != null ? seen : 0);
+                if (delta != 0) {
+                    updates.put(countsRef.child(clientId), counterUpdate(delta));
+                }
+            }
+            runAll(userId, updates);
+        });
+    }
+
+    // Goes in only if the conversation has no summary yet: one written meanwhile by sendMessage
+    // describes a newer message and must not be replaced by this older one
+    private static Transaction.Handler summaryUpdate(Map<String, Object> summary) {
+        return new UpdateHandler() {
+            @Override
+            public Transaction.Result doTransaction(MutableData currentData) {
+                if (currentData.getValue() != null) {
+                    return Transaction.abort();
+                }
+                currentData.setValue(summary);
+                return Transaction.success(currentData);
+            }
+        };
+    }
+
+    // Messages from before the counter existed were never added to it. Moving the counter by
+    // (unread - seen) rather than setting it keeps the +1 of a message sent after the read.
+    private static Transaction.Handler counterUpdate(long delta) {
+        return new UpdateHandler() {
+            @Override
+            public Transaction.Result doTransaction(MutableData currentData) {
+                Long count = currentData.getValue(Long.class);
+                currentData.setValue(Math.max(0, (count != null ? count : 0) + delta));
+                return Transaction.success(currentData);
+            }
+        };
+    }
+
+    // The marker is only written once every transaction has settled without an error
+    private void runAll(String userId, Map<DatabaseReference, Transaction.Handler> updates) {
+        if (updates.isEmpty()) {
+            writeMarker(userId, 0);
+            return;
+        }
+        int[] remaining = {updates.size()};
+        String[] firstError = {null};
+        for (Map.Entry<DatabaseReference, Transaction.Handler> update : updates.entrySet()) {
+            Transaction.Handler handler = update.getValue();
+            update.getKey().runTransaction(new Transaction.Handler() {
+                @Override
+                public Transaction.Result doTransaction(MutableData currentData) {
+                    return handler.doTransaction(currentData);
+                }
+
+                @Override
+                public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                    if (error != null && firstError[0] == null) {
+                        firstError[0] = error.getMessage();
+                    }
+                    if (--remaining[0] > 0) {
+                        return;
+                    }
+                    if (firstError[0] != null) {
+                        AppLog.e("InboxMigration", "❌ Migration failed writing: " + firstError[0]);
+                        complete(userId, firstError[0]);
+                        return;
+                    }
+                    writeMarker(userId, updates.size());
+                }
+            });
+        }
+    }
+
+    private abstract static class UpdateHandler implements Transaction.Handler {
+        @Override
+        public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+            // Reported by runAll
+        }
+    }
+
+    private void writeMarker(String userId, int updates) {
+        rootRef.child(MIGRATIONS).child(userId).setValue(ServerValue.TIMESTAMP)
+                .addOnSuccessListener(aVoid -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("InboxMigration", "✅ Applied " + updates + " summary and counter updates");
+                    }
+                    complete(userId, null);
+                })
+                .addOnFailureListener(e -> complete(userId, e.getMessage()));
+    }
+
+    private void complete(String userId, String error) {
+        List<OnMigratedListener> waiting;
+        synchronized (this) {
+            if (error == null) {
+                migrated.add(userId);
+            }
+            waiting = pending.remove(userId);
+        }
+        if (waiting != null) {
+            for (OnMigratedListener listener : waiting) {
+                if (error == null) {
+                    listener.onMigrated();
+                } else {
+                    listener.onError(error);
+                }
+            }
+        }
+    }
+
+    public interface OnMigratedListener {
+        void onMigrated();
+        void onError(String error);
+    }
+}
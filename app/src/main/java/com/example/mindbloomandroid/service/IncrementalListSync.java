@@ -0,0 +1,246 @@
+package com.example.mindbloomandroid.service;
+
+import com.example.mindbloomandroid.utility.AppLog;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a caller-owned list sorted and in step with a query using child events, so each
+ * remote write parses one child and reports one position instead of reloading the list.
+ * The list is mutated before the listener is called, and changed items are replaced rather
+ * than edited, so a callback can hand a copy of the list to a ListAdapter and let it diff.
+ *
+ * Children are parsed on DecodingValueListener's decoder thread; the list is mutated and the
+ * listener called on the main thread, in the order the events arrived.
+ */
+public class IncrementalListSync<T> {
+
+    private final Query query;
+    private final Parser<T> parser;
+    private final Comparator<T> comparator;
+    private final List<T> items;
+    private final OnListChangedListener<T> listener;
+    private final Map<String, T> itemsByKey = new HashMap<>();
+
+    private ChildEventListener childListener;
+    private boolean initialLoadComplete;
+    // Bumped by stop, so parses still queued from before it are dropped
+    private int generation;
+
+    public IncrementalListSync(Query query, Parser<T> parser, Comparator<T> comparator,
+                               List<T> items, OnListChangedListener<T> listener) {
+        this.query = query;
+        this.parser = parser;
+        this.comparator = comparator;
+        this.items = items;
+        this.listener = listener;
+    }
+
+    public IncrementalListSync<T> start() {
+        if (childListener != null) {
+            return this;
+        }
+        items.clear();
+        itemsByKey.clear();
+        initialLoadComplete = false;
+
+        childListener = query.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(DataSnapshot snapshot, String previousChildName) {
+                parseThen(snapshot, item -> added(snapshot.getKey(), item));
+            }
+
+            @Override
+            public void onChildChanged(DataSnapshot snapshot, String previousChildName) {
+                parseThen(snapshot, item -> changed(snapshot.getKey(), item));
+            }
+
+            @Override
+            public void onChildRemoved(DataSnapshot snapshot) {
+                inOrder(() -> removed(snapshot.getKey()));
+            }
+
+            @Override
+            public void onChildMoved(DataSnapshot snapshot, String previousChildName) {
+                // Ordering is owned by the comparator, not the query
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                inOrder(() -> listener.onError(error.getMessage()));
+            }
+        });
+
+        // Value events fire after the child events for the same data, so this marks the end of the initial load
+        query.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(DataSnapshot dataSnapshot) {
+                inOrder(() -> {
+                    initialLoadComplete = true;
+                    listener.onInitialLoadComplete(items.size());
+                });
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                inOrder(() -> listener.onError(error.getMessage()));
+            }
+        });
+        return this;
+    }
+
+    public void stop() {
+        generation++;
+        if (childListener != null) {
+            query.removeEventListener(childListener);
+            childListener = null;
+        }
+    }
+
+    /**
+     * False while the initial child events are still arriving. A callback that copies the whole
+     * list should skip those and copy once in onInitialLoadComplete, or the load costs O(n²).
+     */
+    public boolean isInitialLoadComplete() {
+        return initialLoadComplete;
+    }
+
+    public boolean isRunning() {
+        return childListener != null;
+    }
+
+    // Children are parsed on the decoder thread, so a long initial load doesn't block the main thread.
+    // A child whose parse throws is treated like one that doesn't parse.
+    private void parseThen(DataSnapshot snapshot, OnParsed<T> apply) {
+        int queuedGeneration = generation;
+        Object[] parsed = new Object[1];
+        DecodingValueListener.runOnDecoder(() -> {
+            try {
+                parsed[0] = parser.parse(snapshot);
+            } catch (RuntimeException e) {
+                AppLog.e("IncrementalListSync", "❌ Failed to parse " + snapshot.getKey() + ": " + e.getMessage(), e);
+            }
+        }, () -> {
+            if (queuedGeneration == generation) {
+                @SuppressWarnings("unchecked")
+                T item = (T) parsed[0];
+                apply.onParsed(item);
+            }
+        });
+    }
+
+    // Events that need no parse still queue behind those that do, so every event applies in arrival order
+    private void inOrder(Runnable step) {
+        int queuedGeneration = generation;
+        DecodingValueListener.runOnDecoder(() -> {}, () -> {
+            if (queuedGeneration == generation) {
+                step.run();
+            }
+        });
+    }
+
+    private void added(String key, T item) {
+        if (item == null || itemsByKey.containsKey(key)) {
+            return;
+        }
+        itemsByKey.put(key, item);
+        int position = insertionPoint(item);
+        items.add(position, item);
+        listener.onItemInserted(position, item);
+    }
+
+    private void changed(String key, T updated) {
+        T existing = itemsByKey.get(key);
+        if (updated == null) {
+            // A child that no longer parses is gone as far as the list is concerned
+            removed(key);
+            return;
+        }
+        if (existing == null) {
+            added(key, updated);
+            return;
+        }
+
+        int from = indexOf(existing);
+        items.remove(from);
+        itemsByKey.put(key, updated);
+        int to = insertionPoint(updated);
+        items.add(to, updated);
+
+        if (from != to) {
+            listener.onItemMoved(from, to, updated);
+        }
+        listener.onItemChanged(to, updated);
+    }
+
+    private void removed(String key) {
+        T existing = itemsByKey.remove(key);
+        if (existing == null) {
+            return;
+        }
+        int position = indexOf(existing);
+        items.remove(position);
+        listener.onItemRemoved(position, existing);
+    }
+
+    // Binary search that lands after any equal items, keeping insertion order stable
+    private int insertionPoint(T item) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(items.get(mid), item) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Binary search to the first equal item, then walk the tie run to find this exact instance
+    private int indexOf(T item) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(items.get(mid), item) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < items.size(); i++) {
+            if (items.get(i) == item) {
+                return i;
+            }
+        }
+        return items.indexOf(item);
+    }
+
+    private interface OnParsed<T> {
+        void onParsed(T item);
+    }
+
+    /** Runs on the decoder thread. Must not touch views or adapters. */
+    public interface Parser<T> {
+        T parse(DataSnapshot snapshot);
+    }
+
+    public interface OnListChangedListener<T> {
+        void onInitialLoadComplete(int itemCount);
+        void onItemInserted(int position, T item);
+        void onItemChanged(int position, T item);
+        void onItemRemoved(int position, T item);
+        void onItemMoved(int fromPosition, int toPosition, T item);
+        void onError(String error);
+    }
+}
@@ -6,7 +6,10 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.ClientOverview;
+import com.example.mindbloomandroid.model.TherapySession;
 import com.example.mindbloomandroid.model.Instructor;
+import com.example.mindbloomandroid.stream.DataStream;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -16,12 +19,10 @@ import java.util.Map;
 public class InstructorService {
     private DatabaseReference instructorsRef;  // Changed from usersRef
     private DatabaseReference usersRef;
-    private DatabaseReference sessionRequestsRef;
 
     public InstructorService() {
         instructorsRef = FirebaseDatabase.getInstance().getReference("instructors");
         usersRef = FirebaseDatabase.getInstance().getReference("users");
-        sessionRequestsRef = FirebaseDatabase.getInstance().getReference("session_requests");
     }
 
 
@@ -31,7 +32,7 @@ public class InstructorService {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         if (dataSnapshot.exists()) {
-                            Instructor instructor = dataSnapshot.getValue(Instructor.class);
+                            Instructor instructor = Instructor.fromSnapshot(dataSnapshot);
                             if (instructor != null) {
                                 listener.onInstructorLoaded(instructor);
                             } else {
@@ -57,93 +58,69 @@ public class InstructorService {
         }
 
         instructorsRef.child(instructor.getInstructorId())
-                .setValue(instructor)
+                .setValue(instructor.toMap())
                 .addOnSuccessListener(aVoid -> listener.onSuccess("Profile updated successfully"))
                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
 
-    public void getDashboardStats(String instructorId, OnStatsLoadedListener listener) {
-        Map<String, Integer> stats = new HashMap<>();
-        stats.put("pendingRequests", 0);
-        stats.put("todaySessions", 0);
-        stats.put("totalSessions", 0);
-        stats.put("totalClients", 0);
-        stats.put("availableSlots", 0);
-
-        // Count pending session requests
-        sessionRequestsRef.orderByChild("instructorId").equalTo(instructorId)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        int pendingCount = 0;
+    /**
+     * Live dashboard counters. Pending requests and the instructor's sessions are two live
+     * queries that run side by side; the stats are re-merged whenever either one changes.
+     */
+    public DataStream<Map<String, Integer>> dashboardStats(String instructorId) {
+        DataStream<Integer> pendingCount = new SessionRequestService().pendingRequests(instructorId)
+                .map(List::size);
+        DataStream<Map<String, Integer>> sessionStats = QueryStreams.live(
+                QueryCache.key("therapy_sessions", instructorId, "by_instructor"),
+                FirebaseDatabase.getInstance().getReference("therapy_sessions")
+                        .orderByChild("instructorId").equalTo(instructorId),
+                this::decodeSessionStats);
+
+        return DataStream.combine(pendingCount, sessionStats, (pending, sessions) -> {
+            Map<String, Integer> stats = new HashMap<>(sessions);
+            stats.put("pendingRequests", pending);
+            return stats;
+        });
+    }
 
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            String status = snapshot.child("status").getValue(String.class);
-                            if ("PENDING".equals(status)) {
-                                pendingCount++;
-                            }
-                        }
+    private Map<String, Integer> decodeSessionStats(DataSnapshot sessionSnapshot) {
+        int totalSessionCount = 0;
+        int todaySessionCount = 0;
+        java.util.Set<String> uniqueClients = new java.util.HashSet<>();
 
-                        stats.put("pendingRequests", pendingCount);
-
-                        // Now count therapy sessions and unique clients
-                        DatabaseReference sessionsRef = FirebaseDatabase.getInstance().getReference("therapy_sessions");
-                        sessionsRef.orderByChild("instructorId").equalTo(instructorId)
-                                .addListenerForSingleValueEvent(new ValueEventListener() {
-                                    @Override
-                                    public void onDataChange(DataSnapshot sessionSnapshot) {
-                                        int totalSessionCount = 0;
-                                        int todaySessionCount = 0;
-                                        java.util.Set<String> uniqueClients = new java.util.HashSet<>();
-
-                                        long todayStart = getTodayStartTimestamp();
-                                        long todayEnd = getTodayEndTimestamp();
-
-                                        for (DataSnapshot snapshot : sessionSnapshot.getChildren()) {
-                                            totalSessionCount++;
-                                            
-                                            // Count unique clients
-                                            String clientId = snapshot.child("clientId").getValue(String.class);
-                                            if (clientId != null) {
-                                                uniqueClients.add(clientId);
-                                            }
-
-                                            // Count today's sessions
-                                            Long sessionDate = snapshot.child("sessionDate").getValue(Long.class);
-                                            String sessionStatus = snapshot.child("status").getValue(String.class);
-                                            if (sessionDate != null && sessionDate >= todayStart && sessionDate <= todayEnd) {
-                                                if ("SCHEDULED".equals(sessionStatus)) {
-                                                    todaySessionCount++;
-                                                }
-                                            }
-                                        }
-
-                                        stats.put("totalSessions", totalSessionCount);
-                                        stats.put("todaySessions", todaySessionCount);
-                                        stats.put("totalClients", uniqueClients.size());
-
-                                        // Calculate available slots (assuming 8 hour workday with 1-hour sessions)
-                                        // Available slots = max daily sessions - today's scheduled sessions
-                                        int maxDailySlots = 8; // 8 sessions per day (8am-5pm with 1-hour lunch)
-                                        int availableToday = Math.max(0, maxDailySlots - todaySessionCount);
-                                        stats.put("availableSlots", availableToday);
-
-                                        listener.onStatsLoaded(stats);
-                                    }
+        long todayStart = getTodayStartTimestamp();
+        long todayEnd = getTodayEndTimestamp();
 
-                                    @Override
-                                    public void onCancelled(DatabaseError error) {
-                                        listener.onError(error.getMessage());
-                                    }
-                                });
-                    }
+        for (DataSnapshot snapshot : sessionSnapshot.getChildren()) {
+            totalSessionCount++;
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
-                    }
-                });
+            // Count unique clients
+            String clientId = snapshot.child("clientId").getValue(String.class);
+            if (clientId != null) {
+                uniqueClients.add(clientId);
+            }
+
+            // Count today's sessions
+            Long sessionDate = snapshot.child("sessionDate").getValue(Long.class);
+            String sessionStatus = snapshot.child("status").getValue(String.class);
+            if (sessionDate != null && sessionDate >= todayStart && sessionDate <= todayEnd) {
+                if ("SCHEDULED".equals(sessionStatus)) {
+                    todaySessionCount++;
+                }
+            }
+        }
+
+        Map<String, Integer> stats = new HashMap<>();
+        stats.put("totalSessions", totalSessionCount);
+        stats.put("todaySessions", todaySessionCount);
+        stats.put("totalClients", uniqueClients.size());
+
+        // Calculate available slots (assuming 8 hour workday with 1-hour sessions)
+        // Available slots = max daily sessions - today's scheduled sessions
+        int maxDailySlots = 8; // 8 sessions per day (8am-5pm with 1-hour lunch)
+        stats.put("availableSlots", Math.max(0, maxDailySlots - todaySessionCount));
+        return stats;
     }
     
     private long getTodayStartTimestamp() {
@@ -166,75 +143,104 @@ public class InstructorService {
 
 
 
-    public void getAllClients(String instructorId, OnClientsLoadedListener listener) {
-        android.util.Log.d("InstructorService", "📖 Loading ALL clients (users) for instructor: " + instructorId);
+    public DataStream<List<ClientOverview>> clients() {
+        AppLog.d("InstructorService", "📖 Loading ALL clients (users)");
 
-        // Load ALL users with role='USER' from users table
-        usersRef.orderByChild("role").equalTo("USER")
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        android.util.Log.d("InstructorService", "📥 Received " + dataSnapshot.getChildrenCount() + " users from Firebase");
-
-                        List<ClientOverview> clients = new ArrayList<>();
-                        java.util.Set<String> addedClientIds = new java.util.HashSet<>(); // Prevent duplicates
-
-                        for (DataSnapshot userSnapshot : dataSnapshot.getChildren()) {
-                            try {
-                                String clientId = userSnapshot.getKey();
-                                String username = userSnapshot.child("username").getValue(String.class);
-                                String role = userSnapshot.child("role").getValue(String.class);
-
-                                // Only add users (not instructors) and avoid duplicates
-                                if (clientId != null && username != null && "USER".equals(role) && !addedClientIds.contains(clientId)) {
-                                    ClientOverview client = new ClientOverview();
-                                    client.setClientId(clientId);
-                                    client.setClientName(username);
-
-                                    // Default values (can be enhanced later with actual data)
-                                    client.setAverageMood(0.0);
-                                    client.setStressLevel("N/A");
-                                    client.setTotalSessions(0);
-                                    // Note: setLastSessionDate expects String, not long
-                                    // client.setLastSessionDate("No sessions yet");
-
-                                    clients.add(client);
-                                    addedClientIds.add(clientId);
-
-                                    android.util.Log.d("InstructorService", "   ✅ Added client: " + username + " (ID: " + clientId + ")");
+        // Load ALL users with role='USER' from users table; every instructor sees the same list,
+        // so the live query is shared by every screen that shows it
+        return QueryStreams.live(QueryCache.key("users", "role=USER", "clients"),
+                usersRef.orderByChild("role").equalTo("USER"),
+                dataSnapshot -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("InstructorService", "📥 Received " + dataSnapshot.getChildrenCount() + " users from Firebase");
+                    }
+
+                    List<ClientOverview> clients = new ArrayList<>();
+                    java.util.Set<String> addedClientIds = new java.util.HashSet<>(); // Prevent duplicates
+
+                    for (DataSnapshot userSnapshot : dataSnapshot.getChildren()) {
+                        try {
+                            String clientId = userSnapshot.getKey();
+                            String username = userSnapshot.child("username").getValue(String.class);
+                            String role = userSnapshot.child("role").getValue(String.class);
+
+                            // Only add users (not instructors) and avoid duplicates
+                            if (clientId != null && username != null && "USER".equals(role) && !addedClientIds.contains(clientId)) {
+                                ClientOverview client = new ClientOverview();
+                                client.setClientId(clientId);
+                                client.setClientName(username);
+                                UserProfileCache.getInstance().put(clientId, username);
+
+                                // Default values (can be enhanced later with actual data)
+                                client.setAverageMood(0.0);
+                                client.setStressLevel("N/A");
+                                client.setTotalSessions(0);
+                                // Note: setLastSessionDate expects String, not long
+                                // client.setLastSessionDate("No sessions yet");
+
+                                clients.add(client);
+                                addedClientIds.add(clientId);
+
+                                if (AppLog.ENABLED) {
+                                    AppLog.d("InstructorService", "   ✅ Added client: " + username + " (ID: " + clientId + ")");
                                 }
-                            } catch (Exception e) {
-                                android.util.Log.e("InstructorService", "⚠️ Error parsing user: " + e.getMessage());
                             }
+                        } catch (Exception e) {
+                            AppLog.e("InstructorService", "⚠️ Error parsing user: " + e.getMessage());
                         }
+                    }
 
-                        android.util.Log.d("InstructorService", "✅ Loaded " + clients.size() + " clients (REAL-TIME UPDATE)");
-                        listener.onClientsLoaded(clients);
+                    if (AppLog.ENABLED) {
+                        AppLog.d("InstructorService", "✅ Loaded " + clients.size() + " clients (REAL-TIME UPDATE)");
                     }
+                    return clients;
+                })
+                // Screens filter and sort their copy of the shared list
+                .map(ArrayList::new);
+    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("InstructorService", "❌ Error loading clients: " + error.getMessage());
-                        listener.onError(error.getMessage());
+
+    // Prefix match on username, used to start a conversation with a client who isn't in the inbox yet
+    public DataStream<List<ClientOverview>> searchClients(String namePrefix, int limit) {
+        return QueryStreams.once("users.by_username",
+                usersRef.orderByChild("username").startAt(namePrefix).endAt(namePrefix + "\uf8ff").limitToFirst(limit),
+                dataSnapshot -> {
+                    List<ClientOverview> clients = new ArrayList<>();
+                    for (DataSnapshot userSnapshot : dataSnapshot.getChildren()) {
+                        String username = userSnapshot.child("username").getValue(String.class);
+                        String role = userSnapshot.child("role").getValue(String.class);
+                        if (username != null && "USER".equals(role)) {
+                            ClientOverview client = new ClientOverview();
+                            client.setClientId(userSnapshot.getKey());
+                            client.setClientName(username);
+                            UserProfileCache.getInstance().put(client.getClientId(), username);
+                            clients.add(client);
+                        }
                     }
+                    return clients;
                 });
     }
 
 
     public void getAllInstructors(OnInstructorsLoadedListener listener) {
-        instructorsRef.addListenerForSingleValueEvent(new ValueEventListener() {
+        instructorsRef.addListenerForSingleValueEvent(new DecodingValueListener<List<Instructor>>("instructors.all") {
             @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
+            protected List<Instructor> decode(DataSnapshot dataSnapshot) {
                 List<Instructor> instructors = new ArrayList<>();
 
                 for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                    Instructor instructor = snapshot.getValue(Instructor.class);
+                    Instructor instructor = Instructor.fromSnapshot(snapshot);
                     if (instructor != null) {
                         instructor.setInstructorId(snapshot.getKey());
                         instructors.add(instructor);
                     }
                 }
 
+                return instructors;
+            }
+
+            @Override
+            protected void onDecoded(List<Instructor> instructors) {
                 listener.onInstructorsLoaded(instructors);
             }
 
@@ -246,16 +252,6 @@ public class InstructorService {
     }
 
     // Interfaces
-    public interface OnStatsLoadedListener {
-        void onStatsLoaded(Map<String, Integer> stats);
-        void onError(String error);
-    }
-
-    public interface OnClientsLoadedListener {
-        void onClientsLoaded(List<ClientOverview> clients);
-        void onError(String error);
-    }
-
     public interface OnInstructorLoadedListener {
         void onInstructorLoaded(Instructor instructor);
         void onError(String error);
@@ -312,55 +308,46 @@ public class InstructorService {
     }
 
 
-    public void getSessionAnalytics(String instructorId, String timeRange, OnSessionAnalyticsLoadedListener listener) {
-        DatabaseReference sessionsRef = FirebaseDatabase.getInstance().getReference("therapy_sessions");
-        
-        long currentTime = System.currentTimeMillis();
-        long startTime;
+    // Completes after one read; the window is measured from the moment of subscribing
+    public DataStream<List<Long>> sessionAnalytics(String instructorId, String timeRange) {
+        return DataStream.create(emitter -> {
+            long currentTime = System.currentTimeMillis();
+            long startTime;
         
-        // Calculate start time based on range
-        switch (timeRange) {
-            case "week":
-                startTime = currentTime - (7L * 24 * 60 * 60 * 1000);
-                break;
-            case "month":
-                startTime = currentTime - (30L * 24 * 60 * 60 * 1000);
-                break;
-            case "year":
-                startTime = currentTime - (365L * 24 * 60 * 60 * 1000);
-                break;
-            default:
-                startTime = currentTime - (7L * 24 * 60 * 60 * 1000);
-        }
+            // Calculate start time based on range
+            switch (timeRange) {
+                case "week":
+                    startTime = currentTime - (7L * 24 * 60 * 60 * 1000);
+                    break;
+                case "month":
+                    startTime = currentTime - (30L * 24 * 60 * 60 * 1000);
+                    break;
+                case "year":
+                    startTime = currentTime - (365L * 24 * 60 * 60 * 1000);
+                    break;
+                default:
+                    startTime = currentTime - (7L * 24 * 60 * 60 * 1000);
+            }
         
-        sessionsRef.orderByChild("instructorId").equalTo(instructorId)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<Long> sessionDates = new ArrayList<>();
-                        
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Object sessionDateObj = snapshot.child("sessionDate").getValue();
-                            if (sessionDateObj != null) {
-                                long date = Long.parseLong(sessionDateObj.toString());
-                                if (date >= startTime && date <= currentTime) {
-                                    sessionDates.add(date);
-                                }
+            // Only the requested window is read from the per-instructor date index
+            new TherapySessionService().getInstructorSessionsInRange(instructorId, startTime, currentTime + 1,
+                    new TherapySessionService.OnSessionsLoadedListener() {
+                        @Override
+                        public void onSessionsLoaded(List<TherapySession> sessions) {
+                            List<Long> sessionDates = new ArrayList<>();
+                            for (TherapySession session : sessions) {
+                                sessionDates.add(session.getSessionDate());
                             }
+                            emitter.next(sessionDates);
+                            emitter.complete();
                         }
-                        
-                        listener.onAnalyticsLoaded(sessionDates);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
-                    }
-                });
-    }
 
-    public interface OnSessionAnalyticsLoadedListener {
-        void onAnalyticsLoaded(List<Long> sessionDates);
-        void onError(String error);
+                        @Override
+                        public void onError(String error) {
+                            emitter.error(error);
+                        }
+                    });
+            return null;
+        });
     }
 }
@@ -6,16 +6,25 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.JournalEntry;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 public class JournalService {
+    private static final String NODE = "journal_entries";
+
+    private DatabaseReference rootRef;
     private DatabaseReference journalRef;
+    private QueryCache queryCache;
 
     public JournalService() {
-        journalRef = FirebaseDatabase.getInstance().getReference("journal_entries");
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        journalRef = FirebaseDatabase.getInstance().getReference(NODE);
+        queryCache = QueryCache.getInstance();
     }
 
 
@@ -24,63 +33,93 @@ public class JournalService {
         if (journalId != null) {
             entry.setJournalId(journalId);
             
-            android.util.Log.d("JournalService", "📝 Creating journal - ID: " + journalId + ", UserID: " + entry.getUserId());
+            if (AppLog.ENABLED) {
+                AppLog.d("JournalService", "📝 Creating journal - ID: " + journalId + ", UserID: " + entry.getUserId());
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, entry.getUserId(), journalId, entry.toMap());
 
-            journalRef.child(journalId).setValue(entry)
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("JournalService", "✅ Journal saved successfully - ID: " + journalId);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("JournalService", "✅ Journal saved successfully - ID: " + journalId);
+                        }
+                        queryCache.invalidateUser(NODE, entry.getUserId());
                         listener.onSuccess(journalId);
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("JournalService", "❌ Failed to save journal: " + e.getMessage());
+                        AppLog.e("JournalService", "❌ Failed to save journal: " + e.getMessage());
                         listener.onFailure(e.getMessage());
                     });
         } else {
-            android.util.Log.e("JournalService", "❌ Failed to generate journal ID");
+            AppLog.e("JournalService", "❌ Failed to generate journal ID");
             listener.onFailure("Failed to generate journal ID");
         }
     }
 
 
     public void getJournalByUserId(String userId, OnJournalLoadedListener listener) {
-        android.util.Log.d("JournalService", "📖 Loading journal for user: " + userId);
-
-        journalRef.orderByChild("userId").equalTo(userId)
-                .limitToLast(1)  // Get most recent entry
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        android.util.Log.d("JournalService", "📥 Received " + dataSnapshot.getChildrenCount() + " journal entries");
-
-                        if (dataSnapshot.exists()) {
-                            for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                                JournalEntry journal = snapshot.getValue(JournalEntry.class);
-                                if (journal != null) {
-                                    journal.setJournalId(snapshot.getKey());
-                                    android.util.Log.d("JournalService", "✅ Journal loaded - ID: " + snapshot.getKey());
-                                    listener.onSuccess(journal);
-                                    return;
+        if (AppLog.ENABLED) {
+            AppLog.d("JournalService", "📖 Loading journal for user: " + userId);
+        }
+
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                UserTimelines.ref(NODE, userId).orderByKey()
+                        .limitToLast(1)  // Get most recent entry
+                        .addListenerForSingleValueEvent(new ValueEventListener() {
+                            @Override
+                            public void onDataChange(DataSnapshot dataSnapshot) {
+                                if (AppLog.ENABLED) {
+                                    AppLog.d("JournalService", "📥 Received " + dataSnapshot.getChildrenCount() + " journal entries");
                                 }
+
+                                if (dataSnapshot.exists()) {
+                                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                                        JournalEntry journal = JournalEntry.fromSnapshot(snapshot);
+                                        if (journal != null) {
+                                            journal.setJournalId(snapshot.getKey());
+                                            if (AppLog.ENABLED) {
+                                                AppLog.d("JournalService", "✅ Journal loaded - ID: " + snapshot.getKey());
+                                            }
+                                            listener.onSuccess(journal);
+                                            return;
+                                        }
+                                    }
+                                }
+                                // No journal found - return null
+                                AppLog.d("JournalService", "ℹ️ No journal found for user");
+                                listener.onSuccess(null);
                             }
-                        }
-                        // No journal found - return null
-                        android.util.Log.d("JournalService", "ℹ️ No journal found for user");
-                        listener.onSuccess(null);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("JournalService", "❌ Error loading journal: " + error.getMessage());
-                        listener.onFailure(error.getMessage());
-                    }
-                });
+
+                            @Override
+                            public void onCancelled(DatabaseError error) {
+                                AppLog.e("JournalService", "❌ Error loading journal: " + error.getMessage());
+                                listener.onFailure(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onFailure(error);
+            }
+        });
     }
 
 
     public void updateJournal(String journalId, JournalEntry entry, OnCompleteListener listener) {
         if (journalId != null) {
-            journalRef.child(journalId).setValue(entry)
-                    .addOnSuccessListener(aVoid -> listener.onSuccess("Journal updated"))
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, entry.getUserId(), journalId, entry.toMap());
+
+            rootRef.updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> {
+                        queryCache.invalidateUser(NODE, entry.getUserId());
+                        listener.onSuccess("Journal updated");
+                    })
                     .addOnFailureListener(e -> listener.onFailure(e.getMessage()));
         } else {
             listener.onFailure("Journal ID is null");
@@ -89,33 +128,73 @@ public class JournalService {
 
 
     public void deleteJournal(String journalId, OnCompleteListener listener) {
-        journalRef.child(journalId).removeValue()
-                .addOnSuccessListener(aVoid -> listener.onSuccess("Journal deleted"))
+        // The timeline copy lives under the owner, so look that up before removing both
+        journalRef.child(journalId).child("userId").get()
+                .addOnSuccessListener(snapshot -> {
+                    String userId = snapshot.getValue(String.class);
+                    Map<String, Object> updates = new HashMap<>();
+                    UserTimelines.putRecord(updates, NODE, userId, journalId, null);
+
+                    rootRef.updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> {
+                                if (userId != null) {
+                                    queryCache.invalidateUser(NODE, userId);
+                                } else {
+                                    queryCache.invalidateNode(NODE);
+                                }
+                                listener.onSuccess("Journal deleted");
+                            })
+                            .addOnFailureListener(e -> listener.onFailure(e.getMessage()));
+                })
                 .addOnFailureListener(e -> listener.onFailure(e.getMessage()));
     }
 
 
     public void getAllJournalsByUserId(String userId, OnJournalsLoadedListener listener) {
-        journalRef.orderByChild("userId").equalTo(userId)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<JournalEntry> journals = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            JournalEntry journal = snapshot.getValue(JournalEntry.class);
-                            if (journal != null) {
-                                journal.setJournalId(snapshot.getKey());
-                                journals.add(journal);
+        // A cached list is shown straight away, then replaced by a fresh read, since entries written
+        // from another device never invalidate this process's cache. The listener may be called twice.
+        String cacheKey = QueryCache.key(NODE, userId, QueryCache.RANGE_ALL);
+        List<JournalEntry> cached = queryCache.get(cacheKey);
+        if (cached != null) {
+            listener.onSuccess(cached);
+        }
+
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                UserTimelines.ref(NODE, userId)
+                        .addListenerForSingleValueEvent(new DecodingValueListener<List<JournalEntry>>("journal_entries.all") {
+                            @Override
+                            protected List<JournalEntry> decode(DataSnapshot dataSnapshot) {
+                                List<JournalEntry> journals = new ArrayList<>();
+                                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                                    JournalEntry journal = JournalEntry.fromSnapshot(snapshot);
+                                    if (journal != null) {
+                                        journal.setJournalId(snapshot.getKey());
+                                        journals.add(journal);
+                                    }
+                                }
+                                queryCache.put(cacheKey, journals);
+                                return journals;
                             }
-                        }
-                        listener.onSuccess(journals);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onFailure(error.getMessage());
-                    }
-                });
+
+                            @Override
+                            protected void onDecoded(List<JournalEntry> journals) {
+                                listener.onSuccess(journals);
+                            }
+
+                            @Override
+                            public void onCancelled(DatabaseError error) {
+                                listener.onFailure(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onFailure(error);
+            }
+        });
     }
 
     // Interfaces
@@ -0,0 +1,284 @@
+package com.example.mindbloomandroid.service;
+
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.mindbloomandroid.stream.Cancellable;
+import com.example.mindbloomandroid.utility.AppLog;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide owner of the app's live value queries. Every screen watching the same key
+ * shares one Firebase listener and one decoded result; the listener is attached for the
+ * first subscriber and removed when the last one cancels. Late subscribers get the current
+ * result straight away instead of waiting for another round trip.
+ *
+ * Each observe() returns a Subscription, usually bound to the screen's lifecycle, so no
+ * listener outlives the Activity or Fragment view that asked for it. Main thread only.
+ */
+public class ListenerRegistry {
+    private static final String TAG = "ListenerRegistry";
+
+    private static ListenerRegistry instance;
+
+    private final Map<String, LiveQuery<?>> liveQueries = new LinkedHashMap<>();
+
+    private ListenerRegistry() {}
+
+    public static synchronized ListenerRegistry getInstance() {
+        if (instance == null) {
+            instance = new ListenerRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes to the live query for key, attaching it if nobody else is watching.
+     * The key must identify both the query and the decoder, since whoever subscribes first
+     * supplies them. Results are shared between subscribers; treat them as read-only.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Subscription observe(String key, Query query, Decoder<R> decoder, Observer<R> observer) {
+        LiveQuery<R> liveQuery = (LiveQuery<R>) liveQueries.get(key);
+        if (liveQuery == null) {
+            liveQuery = new LiveQuery<>(key, query, decoder);
+            liveQueries.put(key, liveQuery);
+            liveQuery.attach();
+            AppLog.d(TAG, () -> "🔌 Attached " + key + " (live queries: " + liveQueries.size() + ")");
+        }
+        Subscription subscription = new Subscription(this, liveQuery, observer);
+        liveQuery.subscribers.add(subscription);
+        if (liveQuery.hasResult) {
+            observer.onData(liveQuery.result);
+        }
+        return subscription;
+    }
+
+    /**
+     * Delivers one result: the current one if the key is live, otherwise from a single read.
+     * For callers such as aggregates that need a value once and must not leave a listener.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> void once(String key, Query query, Decoder<R> decoder, Observer<R> observer) {
+        LiveQuery<R> liveQuery = (LiveQuery<R>) liveQueries.get(key);
+        if (liveQuery != null && liveQuery.hasResult) {
+            observer.onData(liveQuery.result);
+            return;
+        }
+        query.addListenerForSingleValueEvent(new DecodingValueListener<R>(QueryMetrics.nameOf(key)) {
+            @Override
+            protected R decode(DataSnapshot dataSnapshot) {
+                return decoder.decode(dataSnapshot);
+            }
+
+            @Override
+            protected void onDecoded(R result) {
+                observer.onData(result);
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                observer.onError(error.getMessage());
+            }
+        });
+    }
+
+    // True once the key is live and has decoded at least one snapshot
+    public boolean hasResult(String key) {
+        LiveQuery<?> liveQuery = liveQueries.get(key);
+        return liveQuery != null && liveQuery.hasResult;
+    }
+
+    // Firebase listeners currently attached through the registry
+    public int getLiveQueryCount() {
+        return liveQueries.size();
+    }
+
+    public int getSubscriberCount() {
+        int count = 0;
+        for (LiveQuery<?> liveQuery : liveQueries.values()) {
+            count += liveQuery.subscribers.size();
+        }
+        return count;
+    }
+
+    // Subscriber count per live key, in attach order
+    public Map<String, Integer> getSubscriberCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (LiveQuery<?> liveQuery : liveQueries.values()) {
+            counts.put(liveQuery.key, liveQuery.subscribers.size());
+        }
+        return counts;
+    }
+
+    private void release(Subscription subscription) {
+        LiveQuery<?> liveQuery = subscription.liveQuery;
+        if (!liveQuery.subscribers.remove(subscription) || !liveQuery.subscribers.isEmpty()) {
+            return;
+        }
+        if (liveQueries.get(liveQuery.key) == liveQuery) {
+            liveQueries.remove(liveQuery.key);
+            liveQuery.detach();
+            AppLog.d(TAG, () -> "🔌 Detached " + liveQuery.key + " (live queries: " + liveQueries.size() + ")");
+        }
+    }
+
+    private final class LiveQuery<R> {
+        final String key;
+        final Query query;
+        final Decoder<R> decoder;
+        final List<Subscription> subscribers = new ArrayList<>();
+        DecodingValueListener<R> listener;
+        R result;
+        boolean hasResult;
+
+        LiveQuery(String key, Query query, Decoder<R> decoder) {
+            this.key = key;
+            this.query = query;
+            this.decoder = decoder;
+        }
+
+        void attach() {
+            listener = new DecodingValueListener<R>(QueryMetrics.nameOf(key)) {
+                @Override
+                protected R decode(DataSnapshot dataSnapshot) {
+                    return decoder.decode(dataSnapshot);
+                }
+
+                @Override
+                protected void onDecoded(R decoded) {
+                    result = decoded;
+                    hasResult = true;
+                    // Copy first: an observer may cancel (or subscribe) from its callback
+                    for (Subscription subscription : new ArrayList<>(subscribers)) {
+                        subscription.deliver(decoded);
+                    }
+                }
+
+                @Override
+                public void onCancelled(DatabaseError error) {
+                    AppLog.e(TAG, "❌ " + key + " cancelled: " + error.getMessage());
+                    QueryMetrics.getInstance().recordError(QueryMetrics.nameOf(key));
+                    // Also reached on a decode failure, when Firebase still holds the listener;
+                    // either way it goes, and the next subscriber attaches afresh
+                    if (liveQueries.get(key) == LiveQuery.this) {
+                        liveQueries.remove(key);
+                        detach();
+                    }
+                    for (Subscription subscription : new ArrayList<>(subscribers)) {
+                        subscription.fail(error.getMessage());
+                    }
+                }
+            };
+            query.addValueEventListener(listener);
+        }
+
+        void detach() {
+            if (listener != null) {
+                query.removeEventListener(listener);
+                listener.cancelPending();
+                listener = null;
+            }
+            result = null;
+            hasResult = false;
+        }
+    }
+
+    /** Handle for one observer of a live query. Cancelling is idempotent. */
+    public static final class Subscription implements Cancellable {
+        private final ListenerRegistry registry;
+        private final LiveQuery<?> liveQuery;
+        private final Observer<?> observer;
+        private final LifecycleEventObserver lifecycleObserver = new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    cancel();
+                }
+            }
+        };
+        private Lifecycle boundLifecycle;
+        private boolean cancelled;
+
+        private Subscription(ListenerRegistry registry, LiveQuery<?> liveQuery, Observer<?> observer) {
+            this.registry = registry;
+            this.liveQuery = liveQuery;
+            this.observer = observer;
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (boundLifecycle != null) {
+                boundLifecycle.removeObserver(lifecycleObserver);
+                boundLifecycle = null;
+            }
+            registry.release(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // Fragments should pass getViewLifecycleOwner() so the subscription ends with the view
+        public Subscription bindTo(LifecycleOwner owner) {
+            Lifecycle lifecycle = owner.getLifecycle();
+            if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+                cancel();
+                return this;
+            }
+            if (!cancelled && boundLifecycle == null) {
+                boundLifecycle = lifecycle;
+                lifecycle.addObserver(lifecycleObserver);
+            }
+            return this;
+        }
+
+        /**
+         * Cancels previous (e.g. the query for the client shown before) and returns this. It is
+         * cancelled after this one subscribed, so staying on the same key keeps its listener.
+         */
+        public Subscription replacing(Subscription previous) {
+            if (previous != null && previous != this) {
+                previous.cancel();
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R> void deliver(R result) {
+            if (!cancelled) {
+                ((Observer<R>) observer).onData(result);
+            }
+        }
+
+        private void fail(String error) {
+            if (!cancelled) {
+                observer.onError(error);
+            }
+        }
+    }
+
+    /** Runs on the decoder thread; see DecodingValueListener.decode(). */
+    public interface Decoder<R> {
+        R decode(DataSnapshot dataSnapshot);
+    }
+
+    public interface Observer<R> {
+        void onData(R result);
+        void onError(String error);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.mindbloomandroid.service;
+
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The loaded slice of a push-keyed feed. The newest page is read once, older pages are read
+ * as the user scrolls back, and only children added after the newest key stay live, so open
+ * time and memory follow the page size rather than the length of the feed. Push keys are
+ * chronological, so every query here orders by key.
+ *
+ * This class owns the queries, the paging cursors and the set of held keys that keeps a child
+ * from being added twice; subclasses own the storage and the callbacks. Everything runs on the
+ * main thread.
+ */
+abstract class LiveTailWindow<T> {
+
+    private final DatabaseReference feedRef;
+    private final int pageSize;
+    private final String metricsName;
+    private final Set<String> keys = new HashSet<>();
+
+    private Query liveQuery;
+    private ChildEventListener liveListener;
+    private DecodingValueListener<List<T>> pendingPage;
+    private boolean started;
+    private boolean stopped;
+    private boolean loadingOlder;
+    private boolean hasOlder;
+
+    LiveTailWindow(DatabaseReference feedRef, int pageSize, String metricsName) {
+        this.feedRef = feedRef;
+        this.pageSize = pageSize;
+        this.metricsName = metricsName;
+    }
+
+    public LiveTailWindow<T> start() {
+        if (started) {
+            return this;
+        }
+        started = true;
+        loadingOlder = true;
+        readPage(feedRef.orderByKey().limitToLast(pageSize), pageSize, page -> {
+            onNewestPage(unseen(page));
+            listenAfter(newestKey());
+        });
+        return this;
+    }
+
+    // Prepends the page before the oldest held child; a no-op while one is in flight or at the start
+    public void loadOlder() {
+        String oldestKey = oldestKey();
+        int limit = olderPageLimit();
+        if (!started || stopped || loadingOlder || !hasOlder || oldestKey == null || limit <= 0) {
+            return;
+        }
+        loadingOlder = true;
+        readPage(feedRef.orderByKey().endBefore(oldestKey).limitToLast(limit), limit, page -> {
+            List<T> older = unseen(page);
+            if (!older.isEmpty()) {
+                onOlderPage(older);
+            }
+        });
+    }
+
+    public void stop() {
+        stopped = true;
+        if (pendingPage != null) {
+            pendingPage.cancelPending();
+            pendingPage = null;
+        }
+        if (liveListener != null) {
+            liveQuery.removeEventListener(liveListener);
+            liveListener = null;
+            liveQuery = null;
+        }
+    }
+
+    public boolean hasOlder() {
+        return hasOlder;
+    }
+
+    public boolean isLoadingOlder() {
+        return loadingOlder;
+    }
+
+    protected int getPageSize() {
+        return pageSize;
+    }
+
+    // For storage that drops children on its own, such as a bounded window evicting its oldest
+    protected void forget(String key) {
+        keys.remove(key);
+    }
+
+    // There is history before the oldest held child again, e.g. after an eviction
+    protected void markHasOlder() {
+        hasOlder = true;
+    }
+
+    // How many children the next older page may hold
+    protected int olderPageLimit() {
+        return pageSize;
+    }
+
+    protected abstract T parse(DataSnapshot snapshot);
+
+    protected abstract String keyOf(T item);
+
+    protected abstract String newestKey();
+
+    protected abstract String oldestKey();
+
+    // Pages are oldest first and hold only children the window didn't have yet
+    protected abstract void onNewestPage(List<T> page);
+
+    protected abstract void onOlderPage(List<T> page);
+
+    protected abstract void onLiveAdded(T item);
+
+    // Only called for children the window holds
+    protected abstract void onLiveChanged(T item);
+
+    protected abstract void onLiveRemoved(String key);
+
+    protected abstract void onWindowError(String error);
+
+    private List<T> unseen(List<T> page) {
+        List<T> fresh = new ArrayList<>(page.size());
+        for (T item : page) {
+            if (keys.add(keyOf(item))) {
+                fresh.add(item);
+            }
+        }
+        return fresh;
+    }
+
+    private void readPage(Query query, int limit, PageCallback<T> callback) {
+        pendingPage = new DecodingValueListener<List<T>>(metricsName) {
+            @Override
+            protected List<T> decode(DataSnapshot dataSnapshot) {
+                List<T> page = new ArrayList<>();
+                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                    T item = parse(snapshot);
+                    if (item != null) {
+                        page.add(item);
+                    }
+                }
+                return page;
+            }
+
+            @Override
+            protected void onDecoded(List<T> page) {
+                if (stopped) return;
+                pendingPage = null;
+                loadingOlder = false;
+                // A short page means the start of the feed has been reached
+                hasOlder = page.size() == limit;
+                callback.onPage(page);
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                if (stopped) return;
+                pendingPage = null;
+                loadingOlder = false;
+                onWindowError(error.getMessage());
+            }
+        };
+        query.addListenerForSingleValueEvent(pendingPage);
+    }
+
+    // Edits to children loaded by a page aren't followed, only those of children added live
+    private void listenAfter(String newestKey) {
+        liveQuery = newestKey != null
+                ? feedRef.orderByKey().startAfter(newestKey)
+                : feedRef.orderByKey();
+        liveListener = liveQuery.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(DataSnapshot snapshot, String previousChildName) {
+                T item = parse(snapshot);
+                if (item != null && keys.add(keyOf(item))) {
+                    onLiveAdded(item);
+                }
+            }
+
+            @Override
+            public void onChildChanged(DataSnapshot snapshot, String previousChildName) {
+                T item = parse(snapshot);
+                if (item != null && keys.contains(keyOf(item))) {
+                    onLiveChanged(item);
+                }
+            }
+
+            @Override
+            public void onChildRemoved(DataSnapshot snapshot) {
+                if (keys.remove(snapshot.getKey())) {
+                    onLiveRemoved(snapshot.getKey());
+                }
+            }
+
+            @Override
+            public void onChildMoved(DataSnapshot snapshot, String previousChildName) {
+                // Ordered by key, which never changes
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                onWindowError(error.getMessage());
+            }
+        });
+    }
+
+    private interface PageCallback<T> {
+        void onPage(List<T> page);
+    }
+}
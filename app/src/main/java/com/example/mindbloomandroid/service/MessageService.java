@@ -6,19 +6,38 @@ import com.google.firebase.database. DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase. database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
 import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
 import com.google.firebase.database.ValueEventListener;
+import com.example.mindbloomandroid.model.Conversation;
 import com.example.mindbloomandroid.model.Message;
 import com.example.mindbloomandroid.model.Notification;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MessageService {
+    public static final String UNREAD_COUNTS = "unread_counts";
+    public static final String CONVERSATIONS = "conversations";
+    private static final int PREVIEW_LENGTH = 100;
+
+    private DatabaseReference rootRef;
     private DatabaseReference messagesRef;
+    private DatabaseReference unreadCountsRef;
+    private DatabaseReference conversationsRef;
+    private UserProfileCache profileCache;
 
     public MessageService() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
         messagesRef = FirebaseDatabase.getInstance().getReference("messages");
+        unreadCountsRef = FirebaseDatabase.getInstance().getReference(UNREAD_COUNTS);
+        conversationsRef = FirebaseDatabase.getInstance().getReference(CONVERSATIONS);
+        profileCache = UserProfileCache.getInstance();
     }
 
 
@@ -27,76 +46,46 @@ public class MessageService {
         String conversationId = getConversationId(message.getSenderId(), message.getReceiverId());
 
         String messageId = messagesRef.child(conversationId).push().getKey();
-        if (messageId != null) {
-            message.setMessageId(messageId);
-            message.setSentAt(System.currentTimeMillis());
-
-            messagesRef.child(conversationId).child(messageId).setValue(message)
-                    .addOnSuccessListener(aVoid -> {
-                        // Send real-time notification to receiver
-                        sendMessageNotification(message, conversationId);
-                        listener. onSuccess();
-                    })
-                    .addOnFailureListener(e -> listener. onError(e.getMessage()));
+        if (messageId == null) {
+            listener.onError("Failed to generate message ID");
+            return;
+        }
+        message.setMessageId(messageId);
+        message.setSentAt(System.currentTimeMillis());
+        profileCache.put(message.getReceiverId(), message.getReceiverName());
+
+        // Senders normally know their own name; only a bare message needs a (cached) lookup first
+        String senderName = message.getSenderName() != null
+                ? message.getSenderName() : profileCache.getName(message.getSenderId());
+        if (senderName != null) {
+            writeMessage(message, conversationId, senderName, listener);
         } else {
-            listener. onError("Failed to generate message ID");
+            profileCache.resolveName(message.getSenderId(), name ->
+                    writeMessage(message, conversationId, name != null ? name : "Someone", listener));
         }
     }
-    
-
-    private void sendMessageNotification(Message message, String conversationId) {
-        NotificationService notificationService = new NotificationService();
-        
-        // Try users table first, then instructors table
-        DatabaseReference usersRef = FirebaseDatabase.getInstance().getReference("users");
-        DatabaseReference instructorsRef = FirebaseDatabase.getInstance().getReference("instructors");
-
-        usersRef.child(message.getSenderId()).get()
-            .addOnSuccessListener(userSnapshot -> {
-                String senderName = "Someone";
 
-                // Check if found in users table
-                if (userSnapshot.exists()) {
-                    String username = userSnapshot.child("username").getValue(String.class);
-                    if (username != null) {
-                        senderName = username;
+    // Message, unread counter, both inbox summaries and the receiver's notification go out as one atomic write
+    private void writeMessage(Message message, String conversationId, String senderName, OnCompleteListener listener) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("messages/" + conversationId + "/" + message.getMessageId(), message.toMap());
+        updates.put(UNREAD_COUNTS + "/" + message.getReceiverId() + "/" + message.getSenderId(), ServerValue.increment(1));
+        addSummaryUpdates(updates, conversationId, message.getSenderId(), message.getReceiverId(), message.getReceiverName(), message);
+        addSummaryUpdates(updates, conversationId, message.getReceiverId(), message.getSenderId(), senderName, message);
+        NotificationService.addNotificationUpdate(updates, buildMessageNotification(message, conversationId, senderName));
+
+        rootRef.updateChildren(updates)
+                .addOnSuccessListener(aVoid -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("MessageService", "✅ Message and notification sent to user: " + message.getReceiverId());
                     }
-                    android.util.Log.d("MessageService", "✅ Found sender in users table: " + senderName);
-                    createAndSendNotification(message, conversationId, senderName, notificationService);
-                } else {
-                    // Not in users table, check instructors table
-                    android.util.Log.d("MessageService", "⚠️ Sender not in users table, checking instructors...");
-                    instructorsRef.child(message.getSenderId()).get()
-                        .addOnSuccessListener(instructorSnapshot -> {
-                            String finalSenderName = "Someone";
-                            if (instructorSnapshot.exists()) {
-                                String username = instructorSnapshot.child("username").getValue(String.class);
-                                if (username != null) {
-                                    finalSenderName = username;
-                                }
-                                android.util.Log.d("MessageService", "✅ Found sender in instructors table: " + finalSenderName);
-                            } else {
-                                android.util.Log.e("MessageService", "❌ Sender not found in users OR instructors table!");
-                            }
-                            createAndSendNotification(message, conversationId, finalSenderName, notificationService);
-                        })
-                        .addOnFailureListener(e -> {
-                            android.util.Log.e("MessageService", "❌ Error checking instructors table: " + e.getMessage());
-                            createAndSendNotification(message, conversationId, "Someone", notificationService);
-                        });
-                }
-            })
-            .addOnFailureListener(e -> {
-                android.util.Log.e("MessageService", "❌ Error checking users table: " + e.getMessage());
-                // Still try to send notification with generic name
-                createAndSendNotification(message, conversationId, "Someone", notificationService);
-            });
+                    listener.onSuccess();
+                })
+                .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
-
-    private void createAndSendNotification(Message message, String conversationId, String senderName, NotificationService notificationService) {
-        // Create notification
-        String messagePreview = message.getContent();
+    private Notification buildMessageNotification(Message message, String conversationId, String senderName) {
+        String messagePreview = message.getContent() != null ? message.getContent() : "";
         if (messagePreview.length() > 50) {
             messagePreview = messagePreview.substring(0, 47) + "...";
         }
@@ -108,43 +97,109 @@ public class MessageService {
             messagePreview
         );
         notification.setRelatedEntityId(conversationId);
+        return notification;
+    }
 
-        android.util.Log.d("MessageService", "📤 Sending notification to user: " + message.getReceiverId());
-        android.util.Log.d("MessageService", "   Title: New Message from " + senderName);
-        android.util.Log.d("MessageService", "   Preview: " + messagePreview);
 
-        // Save notification in real-time
-        notificationService.createNotification(notification, new NotificationService.OnCompleteListener() {
-            @Override
-            public void onSuccess() {
-                android.util.Log.d("MessageService", "✅ Notification sent successfully!");
-            }
+    // Field-level paths so a message sent without names doesn't blank an existing summary's name
+    private static void addSummaryUpdates(Map<String, Object> updates, String conversationId,
+                                          String ownerId, String otherUserId, String otherUserName, Message message) {
+        String path = CONVERSATIONS + "/" + ownerId + "/" + otherUserId + "/";
+        for (Map.Entry<String, Object> field : summaryFields(conversationId, otherUserId, otherUserName, message).entrySet()) {
+            updates.put(path + field.getKey(), field.getValue());
+        }
+    }
 
-            @Override
-            public void onError(String error) {
-                android.util.Log.e("MessageService", "❌ Notification failed: " + error);
+    // The fields of one side's summary of a conversation whose newest message is message
+    static Map<String, Object> summaryFields(String conversationId, String otherUserId, String otherUserName, Message message) {
+        String preview = message.getContent() != null ? message.getContent() : "";
+        if (preview.length() > PREVIEW_LENGTH) {
+            preview = preview.substring(0, PREVIEW_LENGTH - 3) + "...";
+        }
+
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("conversationId", conversationId);
+        fields.put("clientId", otherUserId);
+        fields.put("lastMessage", preview);
+        fields.put("lastMessageTime", message.getSentAt());
+        if (otherUserName != null) {
+            fields.put("clientName", otherUserName);
+        }
+        return fields;
+    }
+
+
+    // Newest page of the conversation, kept live for new messages; older pages load through the window
+    public MessageWindow openConversationMessages(String userId1, String userId2, int pageSize,
+                                                  MessageWindow.OnWindowChangedListener listener) {
+        String conversationId = getConversationId(userId1, userId2);
+        return new MessageWindow(messagesRef.child(conversationId), pageSize, listener).start();
+    }
+
+
+    public void markMessageAsRead(String senderId, String receiverId, String messageId,
+                                  OnCompleteListener listener) {
+        String conversationId = getConversationId(senderId, receiverId);
+        markReadAt(conversationId, messageId, (error, flipped) -> {
+            if (error != null) {
+                listener.onError(error);
+                return;
+            }
+            if (flipped) {
+                decrementUnreadCount(receiverId, senderId, 1);
             }
+            listener.onSuccess();
         });
     }
 
 
-    public void getConversationMessages(String userId1, String userId2,
-                                        OnMessagesLoadedListener listener) {
-        String conversationId = getConversationId(userId1, userId2);
+    public void markConversationAsRead(String userId, String otherUserId, OnCompleteListener listener) {
+        String conversationId = getConversationId(userId, otherUserId);
 
-        messagesRef. child(conversationId)
-                .addValueEventListener(new ValueEventListener() {
+        // Needs ".indexOn": "readAt" on messages/$conversationId, or the whole thread is downloaded and filtered here
+        messagesRef.child(conversationId).orderByChild("readAt").equalTo(0)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<Message> messages = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
-                            Message message = snapshot.getValue(Message. class);
-                            if (message != null) {
-                                message.setMessageId(snapshot.getKey());
-                                messages.add(message);
+                        List<String> unread = new ArrayList<>();
+                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                            String receiverId = snapshot.child("receiverId").getValue(String.class);
+                            if (userId.equals(receiverId)) {
+                                unread.add(snapshot.getKey());
                             }
                         }
-                        listener. onMessagesLoaded(messages);
+                        if (unread.isEmpty()) {
+                            listener.onSuccess();
+                            return;
+                        }
+
+                        // The counter comes down by the messages this call flipped, once they have all settled.
+                        // One that lands meanwhile isn't in the list and keeps its +1, and a message another
+                        // device marked first aborts here, so two devices reading the thread don't both subtract.
+                        int[] remaining = {unread.size()};
+                        int[] flippedCount = {0};
+                        String[] firstError = {null};
+                        for (String messageId : unread) {
+                            markReadAt(conversationId, messageId, (error, flipped) -> {
+                                if (error != null && firstError[0] == null) {
+                                    firstError[0] = error;
+                                }
+                                if (flipped) {
+                                    flippedCount[0]++;
+                                }
+                                if (--remaining[0] > 0) {
+                                    return;
+                                }
+                                if (flippedCount[0] > 0) {
+                                    decrementUnreadCount(userId, otherUserId, flippedCount[0]);
+                                }
+                                if (firstError[0] != null) {
+                                    listener.onError(firstError[0]);
+                                } else {
+                                    listener.onSuccess();
+                                }
+                            });
+                        }
                     }
 
                     @Override
@@ -154,35 +209,79 @@ public class MessageService {
                 });
     }
 
+    // Only the call that flips readAt from 0 reports flipped, so a message is never subtracted twice
+    private void markReadAt(String conversationId, String messageId, OnReadAtMarkedListener listener) {
+        messagesRef.child(conversationId).child(messageId).child("readAt")
+                .runTransaction(new Transaction.Handler() {
+                    @Override
+                    public Transaction.Result doTransaction(MutableData currentData) {
+                        Long readAt = currentData.getValue(Long.class);
+                        if (readAt != null && readAt > 0) {
+                            return Transaction.abort();
+                        }
+                        currentData.setValue(System.currentTimeMillis());
+                        return Transaction.success(currentData);
+                    }
 
-    public void markMessageAsRead(String senderId, String receiverId, String messageId,
-                                  OnCompleteListener listener) {
-        String conversationId = getConversationId(senderId, receiverId);
+                    @Override
+                    public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                        listener.onMarked(error != null ? error.getMessage() : null, error == null && committed);
+                    }
+                });
+    }
 
-        messagesRef. child(conversationId).child(messageId).child("readAt")
-                .setValue(System. currentTimeMillis())
-                .addOnSuccessListener(aVoid -> listener.onSuccess())
-                .addOnFailureListener(e -> listener.onError(e.getMessage()));
+    // Clamped at zero as a last guard; the inbox migration brings counters in line with the unread messages
+    private void decrementUnreadCount(String userId, String otherUserId, int amount) {
+        unreadCountsRef.child(userId).child(otherUserId)
+                .runTransaction(new Transaction.Handler() {
+                    @Override
+                    public Transaction.Result doTransaction(MutableData currentData) {
+                        Long count = currentData.getValue(Long.class);
+                        currentData.setValue(Math.max(0, (count != null ? count : 0) - amount));
+                        return Transaction.success(currentData);
+                    }
+
+                    @Override
+                    public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                        if (error != null) {
+                            AppLog.e("MessageService", "❌ Unread count update failed: " + error.getMessage());
+                        }
+                    }
+                });
     }
 
 
     public void getUnreadCount(String userId, String otherUserId, OnUnreadCountListener listener) {
-        String conversationId = getConversationId(userId, otherUserId);
-
-        messagesRef.child(conversationId)
+        unreadCountsRef.child(userId).child(otherUserId)
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
-                        int unreadCount = 0;
-                        for (DataSnapshot snapshot :  dataSnapshot.getChildren()) {
-                            Message message = snapshot.getValue(Message. class);
-                            if (message != null &&
-                                    message.getReceiverId().equals(userId) &&
-                                    message.getReadAt() == 0) {
-                                unreadCount++;
+                        Long count = dataSnapshot.getValue(Long.class);
+                        listener.onUnreadCountLoaded(count != null ? (int) Math.max(0, count) : 0);
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        listener.onError(error.getMessage());
+                    }
+                });
+    }
+
+
+    // One listener for the whole inbox; the map is keyed by the other participant's id
+    public ValueEventListener observeUnreadCounts(String userId, OnUnreadCountsListener listener) {
+        return unreadCountsRef.child(userId)
+                .addValueEventListener(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        Map<String, Integer> counts = new HashMap<>();
+                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                            Long count = snapshot.getValue(Long.class);
+                            if (count != null && count > 0) {
+                                counts.put(snapshot.getKey(), count.intValue());
                             }
                         }
-                        listener.onUnreadCountLoaded(unreadCount);
+                        listener.onUnreadCountsLoaded(counts);
                     }
 
                     @Override
@@ -192,25 +291,89 @@ public class MessageService {
                 });
     }
 
+    public void removeUnreadCountsListener(String userId, ValueEventListener listener) {
+        unreadCountsRef.child(userId).removeEventListener(listener);
+    }
+
+
+    // Newest page of the inbox, kept live so new activity reorders it
+    public ValueEventListener observeRecentConversations(String userId, int pageSize, OnConversationsLoadedListener listener) {
+        return conversationsRef.child(userId).orderByChild("lastMessageTime").limitToLast(pageSize)
+                .addValueEventListener(conversationsListener(listener));
+    }
+
+    // Older pages are read once; the cursor is the oldest conversation already shown
+    public void loadConversationsBefore(String userId, Conversation oldest, int pageSize, OnConversationsLoadedListener listener) {
+        conversationsRef.child(userId).orderByChild("lastMessageTime")
+                .endBefore(oldest.getLastMessageTime(), oldest.getClientId())
+                .limitToLast(pageSize)
+                .addListenerForSingleValueEvent(conversationsListener(listener));
+    }
+
+    public void removeConversationsListener(String userId, ValueEventListener listener) {
+        conversationsRef.child(userId).removeEventListener(listener);
+        if (listener instanceof DecodingValueListener) {
+            ((DecodingValueListener<?>) listener).cancelPending();
+        }
+    }
+
+    private ValueEventListener conversationsListener(OnConversationsLoadedListener listener) {
+        return new DecodingValueListener<List<Conversation>>("conversations.page") {
+            @Override
+            protected List<Conversation> decode(DataSnapshot dataSnapshot) {
+                List<Conversation> conversations = new ArrayList<>();
+                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                    Conversation conversation = Conversation.fromSnapshot(snapshot);
+                    if (conversation != null) {
+                        conversation.setClientId(snapshot.getKey());
+                        profileCache.put(conversation.getClientId(), conversation.getClientName());
+                        // Children arrive oldest first; the inbox shows newest first
+                        conversations.add(0, conversation);
+                    }
+                }
+                return conversations;
+            }
+
+            @Override
+            protected void onDecoded(List<Conversation> conversations) {
+                listener.onConversationsLoaded(conversations);
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                listener.onError(error.getMessage());
+            }
+        };
+    }
+
 
-    private String getConversationId(String userId1, String userId2) {
+    static String getConversationId(String userId1, String userId2) {
         return userId1.compareTo(userId2) < 0 ?
                 userId1 + "_" + userId2 : userId2 + "_" + userId1;
     }
 
     // Interfaces
+    private interface OnReadAtMarkedListener {
+        void onMarked(String error, boolean flipped);
+    }
+
     public interface OnCompleteListener {
         void onSuccess();
         void onError(String error);
     }
 
-    public interface OnMessagesLoadedListener {
-        void onMessagesLoaded(List<Message> messages);
+    public interface OnUnreadCountListener {
+        void onUnreadCountLoaded(int count);
         void onError(String error);
     }
 
-    public interface OnUnreadCountListener {
-        void onUnreadCountLoaded(int count);
+    public interface OnConversationsLoadedListener {
+        void onConversationsLoaded(List<Conversation> conversations);
+        void onError(String error);
+    }
+
+    public interface OnUnreadCountsListener {
+        void onUnreadCountsLoaded(Map<String, Integer> counts);
         void onError(String error);
     }
 }
@@ -0,0 +1,115 @@
+package com.example.mindbloomandroid.service;
+
+import com.example.mindbloomandroid.model.Message;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseReference;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The loaded slice of one conversation, kept as a list the chat screen copies on each change.
+ * Edits to messages loaded by a page (such as readAt) aren't followed; the chat doesn't show them.
+ */
+public class MessageWindow extends LiveTailWindow<Message> {
+
+    private final OnWindowChangedListener listener;
+    private final List<Message> messages = new ArrayList<>();
+
+    MessageWindow(DatabaseReference conversationRef, int pageSize, OnWindowChangedListener listener) {
+        super(conversationRef, pageSize, "messages.page");
+        this.listener = listener;
+    }
+
+    @Override
+    public MessageWindow start() {
+        super.start();
+        return this;
+    }
+
+    @Override
+    protected Message parse(DataSnapshot snapshot) {
+        Message message = Message.fromSnapshot(snapshot);
+        if (message != null) {
+            message.setMessageId(snapshot.getKey());
+        }
+        return message;
+    }
+
+    @Override
+    protected String keyOf(Message message) {
+        return message.getMessageId();
+    }
+
+    @Override
+    protected String newestKey() {
+        return messages.isEmpty() ? null : messages.get(messages.size() - 1).getMessageId();
+    }
+
+    @Override
+    protected String oldestKey() {
+        return messages.isEmpty() ? null : messages.get(0).getMessageId();
+    }
+
+    @Override
+    protected void onNewestPage(List<Message> page) {
+        messages.addAll(page);
+        listener.onMessagesChanged(new ArrayList<>(messages), true);
+    }
+
+    @Override
+    protected void onOlderPage(List<Message> page) {
+        messages.addAll(0, page);
+        listener.onMessagesChanged(new ArrayList<>(messages), false);
+    }
+
+    @Override
+    protected void onLiveAdded(Message message) {
+        // Push keys come from each sender's clock, so a late arrival may sort just before the end
+        int position = messages.size();
+        while (position > 0 && messages.get(position - 1).getMessageId().compareTo(message.getMessageId()) > 0) {
+            position--;
+        }
+        messages.add(position, message);
+        listener.onMessagesChanged(new ArrayList<>(messages), true);
+    }
+
+    @Override
+    protected void onLiveChanged(Message message) {
+        int position = indexOf(message.getMessageId());
+        if (position >= 0) {
+            messages.set(position, message);
+            listener.onMessagesChanged(new ArrayList<>(messages), false);
+        }
+    }
+
+    @Override
+    protected void onLiveRemoved(String key) {
+        int position = indexOf(key);
+        if (position >= 0) {
+            messages.remove(position);
+            listener.onMessagesChanged(new ArrayList<>(messages), false);
+        }
+    }
+
+    @Override
+    protected void onWindowError(String error) {
+        listener.onError(error);
+    }
+
+    // Live messages are appended at the end, so search from there
+    private int indexOf(String key) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if (messages.get(i).getMessageId().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public interface OnWindowChangedListener {
+        // A copy of the window, oldest first; atNewestEnd is true for the first page and new messages
+        void onMessagesChanged(List<Message> messages, boolean atNewestEnd);
+        void onError(String error);
+    }
+}
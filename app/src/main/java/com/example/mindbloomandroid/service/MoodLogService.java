@@ -8,15 +8,27 @@ import com.google.firebase.database.DatabaseReference;
 import com. google.firebase.database.FirebaseDatabase;
 import com.google. firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.utility.AppLog;
+import com.example.mindbloomandroid.utility.stats.RunningStats;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MoodLogService {
+    private static final String NODE = "mood_logs";
+
+    private DatabaseReference rootRef;
     private DatabaseReference moodLogsRef;
+    private QueryCache queryCache;
+    private ListenerRegistry listenerRegistry;
 
     public MoodLogService() {
-        moodLogsRef = FirebaseDatabase.getInstance().getReference("mood_logs");
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        moodLogsRef = FirebaseDatabase.getInstance().getReference(NODE);
+        queryCache = QueryCache.getInstance();
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -26,125 +38,200 @@ public class MoodLogService {
             moodLog.setMoodLogId(moodLogId);
             moodLog.setLogDate(System.currentTimeMillis());
 
-            android.util.Log.d("MoodLogService", "📝 Saving mood log:");
-            android.util.Log.d("MoodLogService", "   ID: " + moodLogId);
-            android.util.Log.d("MoodLogService", "   UserID: " + moodLog.getUserId());
-            android.util.Log.d("MoodLogService", "   Rating: " + moodLog.getMoodRating());
-            android.util.Log.d("MoodLogService", "   LogDate: " + moodLog.getLogDate());
-            android.util.Log.d("MoodLogService", "   Notes: " + (moodLog.getNotes() != null ? moodLog.getNotes().substring(0, Math.min(20, moodLog.getNotes().length())) + "..." : "none"));
+            if (AppLog.ENABLED) {
+                AppLog.d("MoodLogService", "📝 Saving mood log:");
+                AppLog.d("MoodLogService", "   ID: " + moodLogId);
+                AppLog.d("MoodLogService", "   UserID: " + moodLog.getUserId());
+                AppLog.d("MoodLogService", "   Rating: " + moodLog.getMoodRating());
+                AppLog.d("MoodLogService", "   LogDate: " + moodLog.getLogDate());
+                AppLog.d("MoodLogService", "   Notes: " + (moodLog.getNotes() != null ? moodLog.getNotes().substring(0, Math.min(20, moodLog.getNotes().length())) + "..." : "none"));
+            }
+
+            // The log and its rollup increments land in one atomic multi-path update
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, moodLog.getUserId(), moodLogId, moodLog.toMap());
+            RollupService.addMoodIncrements(updates, moodLog, 1);
 
-            moodLogsRef.child(moodLogId).setValue(moodLog)
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("MoodLogService", "✅ Mood log saved successfully");
-                        android.util.Log.d("MoodLogService", "📍 Saved at path: mood_logs/" + moodLogId);
-                        android.util.Log.d("MoodLogService", "💡 To load: query mood_logs where userId='" + moodLog.getUserId() + "'");
+                        if (AppLog.ENABLED) {
+                            AppLog.d("MoodLogService", "✅ Mood log saved successfully");
+                            AppLog.d("MoodLogService", "📍 Saved at path: timelines/mood_logs/" + moodLog.getUserId() + "/" + moodLogId);
+                        }
                         listener.onSuccess();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("MoodLogService", "❌ Failed to save mood log: " + e.getMessage());
+                        AppLog.e("MoodLogService", "❌ Failed to save mood log: " + e.getMessage());
                         listener.onError(e.getMessage());
                     });
         } else {
-            android.util.Log.e("MoodLogService", "❌ Failed to generate mood log ID");
+            AppLog.e("MoodLogService", "❌ Failed to generate mood log ID");
             listener.onError("Failed to generate mood log ID");
         }
     }
 
 
-    public void getUserMoodLogs(String userId, OnMoodLogsLoadedListener listener) {
-        android.util.Log.d("MoodLogService", "📖 Loading mood logs for user: " + userId);
-        android.util.Log.d("MoodLogService", "📍 Querying: mood_logs.orderByChild('userId').equalTo('" + userId + "')");
-
-        // Use addValueEventListener for REAL-TIME updates (not addListenerForSingleValueEvent)
-        moodLogsRef.orderByChild("userId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<MoodLog> moodLogs = new ArrayList<>();
-                        android.util.Log.d("MoodLogService", "📥 Received " + dataSnapshot.getChildrenCount() + " mood logs from Firebase (REAL-TIME)");
-
-                        int successCount = 0;
-                        int nullCount = 0;
-
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            android.util.Log.d("MoodLogService", "   🔍 Processing mood log ID: " + snapshot.getKey());
-
-                            MoodLog moodLog = snapshot.getValue(MoodLog.class);
-                            if (moodLog != null) {
-                                moodLog.setMoodLogId(snapshot.getKey());
-                                moodLogs.add(moodLog);
-                                successCount++;
-                                android.util.Log.d("MoodLogService", "   ✅ Loaded: Rating=" + moodLog.getMoodRating() + ", Date=" + moodLog.getLogDate());
-                            } else {
-                                nullCount++;
-                                android.util.Log.w("MoodLogService", "   ⚠️ Null mood log at: " + snapshot.getKey());
-                            }
-                        }
+    public ListenerRegistry.Subscription getUserMoodLogs(String userId, OnMoodLogsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("MoodLogService", "📖 Loading mood logs for user: " + userId);
+            AppLog.d("MoodLogService", "📍 Reading: timelines/mood_logs/" + userId);
+        }
 
-                        android.util.Log.d("MoodLogService", "✅ Successfully loaded " + successCount + " mood logs (REAL-TIME UPDATE)");
-                        if (nullCount > 0) {
-                            android.util.Log.w("MoodLogService", "⚠️ " + nullCount + " entries were null (data structure issue?)");
-                        }
+        // Render the last known list straight away unless a live query will replay its own
+        String cacheKey = QueryCache.key(NODE, userId, QueryCache.RANGE_ALL);
+        List<MoodLog> cached = listenerRegistry.hasResult(cacheKey) ? null : queryCache.get(cacheKey);
+        if (cached != null) {
+            listener.onMoodLogsLoaded(cached);
+        }
 
-                        if (moodLogs.isEmpty()) {
-                            android.util.Log.i("MoodLogService", "ℹ️ No mood logs found for userId: " + userId);
-                            android.util.Log.i("MoodLogService", "💡 Check Firebase Console: Does mood_logs have entries with userId='" + userId + "'?");
-                        }
+        // Older logs are copied into the timeline once; they arrive through the listener below
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        DatabaseReference timelineRef = UserTimelines.syncedRef(NODE, userId);
 
-                        listener.onMoodLogsLoaded(moodLogs);
+        // One REAL-TIME listener per user, shared by every screen showing these logs
+        return listenerRegistry.observe(cacheKey, timelineRef,
+                dataSnapshot -> decodeMoodLogs(dataSnapshot, userId, cacheKey),
+                new ListenerRegistry.Observer<List<MoodLog>>() {
+                    @Override
+                    public void onData(List<MoodLog> moodLogs) {
+                        listener.onMoodLogsLoaded(new ArrayList<>(moodLogs));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("MoodLogService", "❌ Error loading mood logs: " + error.getMessage());
-                        android.util.Log.e("MoodLogService", "❌ Error code: " + error.getCode());
-                        android.util.Log.e("MoodLogService", "❌ Error details: " + error.getDetails());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("MoodLogService", "❌ Error loading mood logs: " + error);
+                        listener.onError(error);
                     }
                 });
     }
 
 
+    // Runs on the decoder thread
+    private List<MoodLog> decodeMoodLogs(DataSnapshot dataSnapshot, String userId, String cacheKey) {
+        List<MoodLog> moodLogs = new ArrayList<>();
+        if (AppLog.ENABLED) {
+            AppLog.d("MoodLogService", "📥 Received " + dataSnapshot.getChildrenCount() + " mood logs from Firebase (REAL-TIME)");
+        }
+
+        int successCount = 0;
+        int nullCount = 0;
+
+        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+            if (AppLog.ENABLED) {
+                AppLog.d("MoodLogService", "   🔍 Processing mood log ID: " + snapshot.getKey());
+            }
+
+            MoodLog moodLog = MoodLog.fromSnapshot(snapshot);
+            if (moodLog != null) {
+                moodLog.setMoodLogId(snapshot.getKey());
+                moodLogs.add(moodLog);
+                successCount++;
+                if (AppLog.ENABLED) {
+                    AppLog.d("MoodLogService", "   ✅ Loaded: Rating=" + moodLog.getMoodRating() + ", Date=" + moodLog.getLogDate());
+                }
+            } else {
+                nullCount++;
+                AppLog.w("MoodLogService", "   ⚠️ Null mood log at: " + snapshot.getKey());
+            }
+        }
+
+        if (AppLog.ENABLED) {
+            AppLog.d("MoodLogService", "✅ Successfully loaded " + successCount + " mood logs (REAL-TIME UPDATE)");
+        }
+        if (nullCount > 0) {
+            AppLog.w("MoodLogService", "⚠️ " + nullCount + " entries were null (data structure issue?)");
+        }
+
+        if (AppLog.ENABLED && moodLogs.isEmpty()) {
+            AppLog.i("MoodLogService", "ℹ️ No mood logs found for userId: " + userId);
+            AppLog.i("MoodLogService", "💡 Check Firebase Console: Does timelines/mood_logs/" + userId + " have entries?");
+        }
+
+        queryCache.put(cacheKey, moodLogs);
+        return moodLogs;
+    }
+
+
+    // Incremental mode: child events keep moodLogs sorted (newest first) at one parse per write
+    public IncrementalListSync<MoodLog> observeUserMoodLogs(String userId, List<MoodLog> moodLogs,
+                                                            IncrementalListSync.OnListChangedListener<MoodLog> listener) {
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        return new IncrementalListSync<>(
+                UserTimelines.ref(NODE, userId),
+                snapshot -> {
+                    MoodLog moodLog = MoodLog.fromSnapshot(snapshot);
+                    if (moodLog != null) {
+                        moodLog.setMoodLogId(snapshot.getKey());
+                    }
+                    return moodLog;
+                },
+                (a, b) -> Long.compare(b.getLogDate(), a.getLogDate()),
+                moodLogs,
+                listener).start();
+    }
+
+
     public void getLatestMoodLog(String userId, OnMoodLogLoadedListener listener) {
-        moodLogsRef.orderByChild("userId").equalTo(userId)
-                .limitToLast(1)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
-                            MoodLog moodLog = snapshot. getValue(MoodLog.class);
-                            if (moodLog != null) {
-                                moodLog.setMoodLogId(snapshot.getKey());
-                                listener.onMoodLogLoaded(moodLog);
-                                return;
+        // A one-shot read would miss older logs if it ran before they were copied over
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                // Push keys sort by creation time, so the last key is the newest log
+                UserTimelines.ref(NODE, userId).orderByKey()
+                        .limitToLast(1)
+                        .addListenerForSingleValueEvent(new ValueEventListener() {
+                            @Override
+                            public void onDataChange(DataSnapshot dataSnapshot) {
+                                for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
+                                    MoodLog moodLog = MoodLog.fromSnapshot(snapshot);
+                                    if (moodLog != null) {
+                                        moodLog.setMoodLogId(snapshot.getKey());
+                                        listener.onMoodLogLoaded(moodLog);
+                                        return;
+                                    }
+                                }
+                                listener.onError("No mood log found");
                             }
-                        }
-                        listener.onError("No mood log found");
-                    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener. onError(error.getMessage());
-                    }
-                });
+                            @Override
+                            public void onCancelled(DatabaseError error) {
+                                listener. onError(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onError(error);
+            }
+        });
     }
 
 
     public void getAverageMood(String userId, OnAverageMoodListener listener) {
-        getUserMoodLogs(userId, new OnMoodLogsLoadedListener() {
+        // One read (or the live result if a screen is already watching); an aggregate must not stay attached
+        String cacheKey = QueryCache.key(NODE, userId, QueryCache.RANGE_ALL);
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
             @Override
-            public void onMoodLogsLoaded(List<MoodLog> moodLogs) {
-                if (moodLogs.isEmpty()) {
-                    listener.onAverageMoodCalculated(0.0);
-                    return;
-                }
+            public void onMigrated() {
+                listenerRegistry.once(cacheKey, UserTimelines.ref(NODE, userId),
+                        dataSnapshot -> decodeMoodLogs(dataSnapshot, userId, cacheKey),
+                        new ListenerRegistry.Observer<List<MoodLog>>() {
+                            @Override
+                            public void onData(List<MoodLog> moodLogs) {
+                                // Empty history averages to 0
+                                RunningStats moodStats = new RunningStats();
+                                for (MoodLog log : moodLogs) {
+                                    moodStats.add(log.getMoodRating());
+                                }
+                                listener.onAverageMoodCalculated(moodStats.getMean());
+                            }
 
-                double sum = 0;
-                for (MoodLog log : moodLogs) {
-                    sum += log.getMoodRating();
-                }
-                double average = sum / moodLogs.size();
-                listener.onAverageMoodCalculated(average);
+                            @Override
+                            public void onError(String error) {
+                                listener.onError(error);
+                            }
+                        });
             }
 
             @Override
@@ -160,8 +247,20 @@ public class MoodLogService {
             return;
         }
         
-        moodLogsRef.child(moodLogId).removeValue()
-            .addOnSuccessListener(aVoid -> listener.onSuccess())
+        // Read the log first so its rollup contribution and timeline copy go in the same update
+        moodLogsRef.child(moodLogId).get()
+            .addOnSuccessListener(snapshot -> {
+                Map<String, Object> updates = new HashMap<>();
+                MoodLog moodLog = MoodLog.fromSnapshot(snapshot);
+                UserTimelines.putRecord(updates, NODE, moodLog != null ? moodLog.getUserId() : null, moodLogId, null);
+                if (moodLog != null) {
+                    RollupService.addMoodIncrements(updates, moodLog, -1);
+                }
+
+                rootRef.updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> listener.onSuccess())
+                    .addOnFailureListener(e -> listener.onError(e.getMessage()));
+            })
             .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
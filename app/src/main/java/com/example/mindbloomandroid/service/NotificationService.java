@@ -9,22 +9,40 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.Notification;
 import com.example.mindbloomandroid.model.NotificationData;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class NotificationService {
     private DatabaseReference notificationsRef;
+    private ListenerRegistry listenerRegistry;
 
     public NotificationService() {
         notificationsRef = FirebaseDatabase.getInstance().getReference("notifications");
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
 
+    // Adds the notification to a caller's multi-path update, so it commits together with the write that caused it
+    public static String addNotificationUpdate(Map<String, Object> updates, Notification notification) {
+        DatabaseReference userNotificationsRef = FirebaseDatabase.getInstance().getReference("notifications")
+                .child(notification.getUserId());
+        String notificationId = userNotificationsRef.push().getKey();
+        notification.setNotificationId(notificationId);
+        notification.setCreatedAt(System.currentTimeMillis());
+        notification.setRead(false);
+        updates.put("notifications/" + notification.getUserId() + "/" + notificationId, notification.toMap());
+        return notificationId;
+    }
+
+
     public void createNotification(Notification notification, OnCompleteListener listener) {
         String notificationId = notificationsRef.push().getKey();
         if (notificationId != null) {
@@ -32,58 +50,72 @@ public class NotificationService {
             notification.setCreatedAt(System.currentTimeMillis());
             notification.setRead(false);
 
-            android.util.Log.d("NotificationService", "💾 Creating notification...");
-            android.util.Log.d("NotificationService", "   Notification ID: " + notificationId);
-            android.util.Log.d("NotificationService", "   User ID: " + notification.getUserId());
-            android.util.Log.d("NotificationService", "   Type: " + notification.getType());
-            android.util.Log.d("NotificationService", "   Title: " + notification.getTitle());
-            android.util.Log.d("NotificationService", "   Path: notifications/" + notification.getUserId() + "/" + notificationId);
+            if (AppLog.ENABLED) {
+                AppLog.d("NotificationService", "💾 Creating notification...");
+                AppLog.d("NotificationService", "   Notification ID: " + notificationId);
+                AppLog.d("NotificationService", "   User ID: " + notification.getUserId());
+                AppLog.d("NotificationService", "   Type: " + notification.getType());
+                AppLog.d("NotificationService", "   Title: " + notification.getTitle());
+                AppLog.d("NotificationService", "   Path: notifications/" + notification.getUserId() + "/" + notificationId);
+            }
 
             notificationsRef.child(notification.getUserId()).child(notificationId)
-                    .setValue(notification)
+                    .setValue(notification.toMap())
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("NotificationService", "✅ Notification saved to Firebase successfully!");
+                        AppLog.d("NotificationService", "✅ Notification saved to Firebase successfully!");
                         listener.onSuccess();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("NotificationService", "❌ Failed to save notification: " + e.getMessage());
+                        AppLog.e("NotificationService", "❌ Failed to save notification: " + e.getMessage());
                         listener.onError(e.getMessage());
                     });
         } else {
-            android.util.Log.e("NotificationService", "❌ Failed to generate notification ID");
+            AppLog.e("NotificationService", "❌ Failed to generate notification ID");
             listener.onError("Failed to generate notification ID");
         }
     }
 
 
-    public void getUserNotifications(String userId, OnNotificationsLoadedListener listener) {
-        android.util.Log.d("NotificationService", "📖 Loading notifications for user: " + userId);
-        android.util.Log.d("NotificationService", "   Path: notifications/" + userId);
+    public ListenerRegistry.Subscription getUserNotifications(String userId, OnNotificationsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("NotificationService", "📖 Loading notifications for user: " + userId);
+            AppLog.d("NotificationService", "   Path: notifications/" + userId);
+        }
 
-        notificationsRef.child(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        android.util.Log.d("NotificationService", "📥 Received " + dataSnapshot.getChildrenCount() + " notifications (REAL-TIME)");
+        return listenerRegistry.observe(QueryCache.key("notifications", userId, QueryCache.RANGE_ALL),
+                notificationsRef.child(userId),
+                dataSnapshot -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("NotificationService", "📥 Received " + dataSnapshot.getChildrenCount() + " notifications (REAL-TIME)");
+                    }
 
-                        List<Notification> notifications = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Notification notification = snapshot.getValue(Notification.class);
-                            if (notification != null) {
-                                notification.setNotificationId(snapshot.getKey());
-                                notifications.add(notification);
-                                android.util.Log.d("NotificationService", "   ✅ Notification: " + notification.getType() + " - " + notification.getTitle());
+                    List<Notification> notifications = new ArrayList<>();
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        Notification notification = Notification.fromSnapshot(snapshot);
+                        if (notification != null) {
+                            notification.setNotificationId(snapshot.getKey());
+                            notifications.add(notification);
+                            if (AppLog.ENABLED) {
+                                AppLog.d("NotificationService", "   ✅ Notification: " + notification.getType() + " - " + notification.getTitle());
                             }
                         }
+                    }
 
-                        android.util.Log.d("NotificationService", "✅ Loaded " + notifications.size() + " notifications (REAL-TIME UPDATE)");
-                        listener.onNotificationsLoaded(notifications);
+                    if (AppLog.ENABLED) {
+                        AppLog.d("NotificationService", "✅ Loaded " + notifications.size() + " notifications (REAL-TIME UPDATE)");
+                    }
+                    return notifications;
+                },
+                new ListenerRegistry.Observer<List<Notification>>() {
+                    @Override
+                    public void onData(List<Notification> notifications) {
+                        listener.onNotificationsLoaded(new ArrayList<>(notifications));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("NotificationService", "❌ Error loading notifications: " + error.getMessage());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("NotificationService", "❌ Error loading notifications: " + error);
+                        listener.onError(error);
                     }
                 });
     }
@@ -96,7 +128,7 @@ public class NotificationService {
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         int unreadCount = 0;
                         for (DataSnapshot snapshot :  dataSnapshot.getChildren()) {
-                            Notification notification = snapshot. getValue(Notification.class);
+                            Notification notification = Notification.fromSnapshot(snapshot);
                             if (notification != null && !notification.isRead()) {
                                 unreadCount++;
                             }
@@ -120,14 +152,24 @@ public class NotificationService {
 
 
     public void markAllAsRead(String userId, OnCompleteListener listener) {
-        notificationsRef. child(userId)
+        // Only unread ones are fetched, and they are all flipped in a single write
+        notificationsRef.child(userId)
+                .orderByChild("read")
+                .equalTo(false)
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
-                        for (DataSnapshot snapshot :  dataSnapshot.getChildren()) {
-                            snapshot.getRef().child("read").setValue(true);
+                        Map<String, Object> updates = new HashMap<>();
+                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                            updates.put(snapshot.getKey() + "/read", true);
                         }
-                        listener.onSuccess();
+                        if (updates.isEmpty()) {
+                            listener.onSuccess();
+                            return;
+                        }
+                        notificationsRef.child(userId).updateChildren(updates)
+                                .addOnSuccessListener(aVoid -> listener.onSuccess())
+                                .addOnFailureListener(e -> listener.onError(e.getMessage()));
                     }
 
                     @Override
@@ -153,16 +195,23 @@ public class NotificationService {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         List<Notification> notificationsList = new ArrayList<>();
+                        List<Notification> legacy = new ArrayList<>();
                         for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            Notification notification = snapshot.getValue(Notification.class);
+                            Notification notification = Notification.fromSnapshot(snapshot);
                             if (notification != null) {
                                 notification.setNotificationId(snapshot.getKey());
                                 notificationsList.add(notification);
+                                if (notification.needsSessionDetails()) {
+                                    legacy.add(notification);
+                                }
                             }
                         }
 
-                        // Enrich notifications with session details (zoom links)
-                        enrichNotificationsWithSessionDetails(notificationsList, listener);
+                        if (legacy.isEmpty()) {
+                            listener.onNotificationsLoaded(convertAll(notificationsList));
+                        } else {
+                            backfillSessionDetails(userId, legacy, () -> listener.onNotificationsLoaded(convertAll(notificationsList)));
+                        }
                     }
 
                     @Override
@@ -173,74 +222,59 @@ public class NotificationService {
     }
 
 
-    private void enrichNotificationsWithSessionDetails(List<Notification> notifications, OnNotificationsWithDetailsLoadedListener listener) {
-        List<NotificationData> enrichedNotifications = new ArrayList<>();
-        int[] pendingCount = {0};
-
-        for (Notification notification : notifications) {
-            if ("SESSION_CONFIRMED".equals(notification.getType()) && notification.getRelatedEntityId() != null) {
-                // Fetch TherapySession to get zoom link
-                pendingCount[0]++;
-                String sessionId = notification.getRelatedEntityId();
-
-                DatabaseReference sessionsRef = FirebaseDatabase.getInstance().getReference("therapy_sessions").child(sessionId);
-                sessionsRef.addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot sessionSnapshot) {
-                        NotificationData data = convertToNotificationData(notification, notification.getNotificationId());
-
-                        if (sessionSnapshot.exists()) {
-                            // Extract zoom link and session details
+    // Copies the session details onto notifications created before they were stored inline,
+    // and writes them back so each old record costs one session read, once
+    private void backfillSessionDetails(String userId, List<Notification> legacy, Runnable onDone) {
+        if (AppLog.ENABLED) {
+            AppLog.d("NotificationService", "🔄 Backfilling session details for " + legacy.size() + " notifications");
+        }
+        DatabaseReference sessionsRef = FirebaseDatabase.getInstance().getReference("therapy_sessions");
+        int[] pendingCount = {legacy.size()};
+        Map<String, Object> updates = new HashMap<>();
+
+        for (Notification notification : legacy) {
+            sessionsRef.child(notification.getRelatedEntityId()).get()
+                    .addOnCompleteListener(task -> {
+                        // A failed read is retried next time; a missing session is recorded as having no link
+                        if (task.isSuccessful()) {
+                            DataSnapshot sessionSnapshot = task.getResult();
                             String zoomLink = sessionSnapshot.child("zoomLink").getValue(String.class);
                             Long sessionDate = sessionSnapshot.child("sessionDate").getValue(Long.class);
                             String instructorName = sessionSnapshot.child("instructorName").getValue(String.class);
 
-                            data.setZoomLink(zoomLink);
-                            data.setCanJoin(true);
+                            notification.setZoomLink(zoomLink != null ? zoomLink : "");
+                            notification.setSessionDate(sessionDate != null ? sessionDate : 0);
+                            notification.setInstructorName(instructorName);
 
-                            if (sessionDate != null) {
-                                SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy h:mm a", Locale.getDefault());
-                                data.setSessionDate(sdf.format(new Date(sessionDate)));
-                            }
-                            if (instructorName != null) {
-                                data.setInstructorName(instructorName);
-                            }
+                            String path = notification.getNotificationId() + "/";
+                            updates.put(path + "zoomLink", notification.getZoomLink());
+                            updates.put(path + "sessionDate", notification.getSessionDate());
+                            updates.put(path + "instructorName", instructorName);
                         }
 
-                        enrichedNotifications.add(data);
                         pendingCount[0]--;
-
                         if (pendingCount[0] == 0) {
-                            listener.onNotificationsLoaded(enrichedNotifications);
-                        }
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        // Still add the notification even if session fetch fails
-                        NotificationData data = convertToNotificationData(notification, notification.getNotificationId());
-                        enrichedNotifications.add(data);
-                        pendingCount[0]--;
-
-                        if (pendingCount[0] == 0) {
-                            listener.onNotificationsLoaded(enrichedNotifications);
+                            if (!updates.isEmpty()) {
+                                notificationsRef.child(userId).updateChildren(updates);
+                            }
+                            onDone.run();
                         }
-                    }
-                });
-            } else {
-                // Non-session notifications don't need enrichment
-                enrichedNotifications.add(convertToNotificationData(notification, notification.getNotificationId()));
-            }
+                    });
         }
+    }
 
-        // If no session notifications to enrich, return immediately
-        if (pendingCount[0] == 0) {
-            listener.onNotificationsLoaded(enrichedNotifications);
+
+    private List<NotificationData> convertAll(List<Notification> notifications) {
+        SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy h:mm a", Locale.getDefault());
+        List<NotificationData> converted = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            converted.add(convertToNotificationData(notification, notification.getNotificationId(), sdf));
         }
+        return converted;
     }
 
 
-    private NotificationData convertToNotificationData(Notification notification, String notificationId) {
+    private NotificationData convertToNotificationData(Notification notification, String notificationId, SimpleDateFormat sdf) {
         NotificationData data = new NotificationData();
         data.setNotificationId(notificationId);
         data.setUserId(notification.getUserId());
@@ -251,11 +285,16 @@ public class NotificationService {
         data.setCreatedAt(notification.getCreatedAt());
         data.setRelatedEntityId(notification.getRelatedEntityId());
 
-        // For SESSION_ACCEPTED type, fetch zoom link from therapy_sessions
-        if ("SESSION_ACCEPTED".equals(notification.getType()) && notification.getRelatedEntityId() != null) {
+        // Session details travel with the notification
+        if (notification.getZoomLink() != null && !notification.getZoomLink().isEmpty()) {
+            data.setZoomLink(notification.getZoomLink());
+            data.setCanJoin(true);
+            if (notification.getSessionDate() > 0) {
+                data.setSessionDate(sdf.format(new Date(notification.getSessionDate())));
+            }
+            data.setInstructorName(notification.getInstructorName());
+        } else if ("SESSION_ACCEPTED".equals(notification.getType()) && notification.getRelatedEntityId() != null) {
             data.setCanJoin(true);
-            // Zoom link will be fetched from Firebase therapy_sessions node using relatedEntityId
-            // This is handled in NotificationActivity when displaying the notification
         } else if ("MESSAGE".equals(notification.getType())) {
             data.setCanReply(true);
         }
@@ -264,30 +303,6 @@ public class NotificationService {
     }
 
 
-    public void markAsRead(String notificationId, OnOperationCompleteListener listener) {
-        // Find the notification across all users (inefficient but works for demo)
-        notificationsRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                for (DataSnapshot userSnapshot : dataSnapshot.getChildren()) {
-                    if (userSnapshot.hasChild(notificationId)) {
-                        userSnapshot.child(notificationId).child("read").getRef().setValue(true)
-                                .addOnSuccessListener(aVoid -> listener.onSuccess())
-                                .addOnFailureListener(e -> listener.onError(e.getMessage()));
-                        return;
-                    }
-                }
-                listener.onError("Notification not found");
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                listener.onError(error.getMessage());
-            }
-        });
-    }
-
-
     public void markAllAsRead(String userId, OnOperationCompleteListener listener) {
         markAllAsRead(userId, new OnCompleteListener() {
             @Override
@@ -0,0 +1,117 @@
+package com.example.mindbloomandroid.service;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.example.mindbloomandroid.utility.AppLog;
+
+/**
+ * Issues several single-value reads at once and reports back when the last one settles,
+ * so a screen that needs N sources waits for the slowest read instead of the sum of all
+ * of them. Sources that fail are reported per name; the others still deliver their data.
+ */
+public class ParallelLoader {
+    private final String name;
+    private final Map<String, Query> sources = new LinkedHashMap<>();
+
+    // Each source reports to QueryMetrics as "name.source"
+    public ParallelLoader(String name) {
+        this.name = name;
+    }
+
+    public ParallelLoader add(String name, Query query) {
+        sources.put(name, query);
+        return this;
+    }
+
+    public void load(OnLoadedListener listener) {
+        long start = System.nanoTime();
+        Results results = new Results();
+        List<Task<DataSnapshot>> tasks = new ArrayList<>();
+
+        for (Map.Entry<String, Query> source : sources.entrySet()) {
+            String sourceName = source.getKey();
+            String metricsName = name + "." + sourceName;
+            TaskCompletionSource<DataSnapshot> completion = new TaskCompletionSource<>();
+            tasks.add(completion.getTask());
+
+            source.getValue().addListenerForSingleValueEvent(new ValueEventListener() {
+                @Override
+                public void onDataChange(DataSnapshot dataSnapshot) {
+                    long elapsed = elapsedMillis(start);
+                    results.timings.put(sourceName, elapsed);
+                    results.snapshots.put(sourceName, dataSnapshot);
+                    QueryMetrics.getInstance().recordSnapshot(metricsName, elapsed, dataSnapshot);
+                    completion.setResult(dataSnapshot);
+                }
+
+                @Override
+                public void onCancelled(DatabaseError error) {
+                    results.timings.put(sourceName, elapsedMillis(start));
+                    results.errors.put(sourceName, error.getMessage());
+                    QueryMetrics.getInstance().recordError(metricsName);
+                    completion.setException(error.toException());
+                }
+            });
+        }
+
+        // whenAllComplete never fails, so partial results still reach the listener
+        Tasks.whenAllComplete(tasks).addOnCompleteListener(task -> {
+            results.totalMillis = elapsedMillis(start);
+            if (AppLog.ENABLED) {
+                for (Map.Entry<String, Long> timing : results.timings.entrySet()) {
+                    AppLog.d("ParallelLoader", "⏱ " + timing.getKey() + ": " + timing.getValue() + " ms");
+                }
+            }
+            // Kept in release, sampled: how long screens wait on their fan-out reads
+            AppLog.event("ParallelLoader", "parallel_load", "ms", results.totalMillis, 20);
+            listener.onLoaded(results);
+        });
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public static class Results {
+        private final Map<String, DataSnapshot> snapshots = new LinkedHashMap<>();
+        private final Map<String, String> errors = new LinkedHashMap<>();
+        private final Map<String, Long> timings = new LinkedHashMap<>();
+        private long totalMillis;
+
+        // Null when the source failed
+        public DataSnapshot get(String name) {
+            return snapshots.get(name);
+        }
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+
+        public Map<String, String> getErrors() {
+            return errors;
+        }
+
+        // Time from issuing the batch to each source settling
+        public Map<String, Long> getTimings() {
+            return timings;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+    }
+
+    public interface OnLoadedListener {
+        void onLoaded(Results results);
+    }
+}
@@ -8,25 +8,31 @@ import com.google.firebase.database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.ProgressData;
-import com.example.mindbloomandroid.model.MoodLog;
-import com.example.mindbloomandroid.model.StressAssessment;
+import com.example.mindbloomandroid.model.RollupBucket;
+import com.example.mindbloomandroid.utility.AppLog;
+import com.example.mindbloomandroid.utility.stats.EwmaTrend;
+import com.example.mindbloomandroid.utility.stats.TimeSeries;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class ProgressService {
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Smoothed change per day below which a trend reads as stable (mood is 1-5, stress 0-40)
+    private static final double MOOD_TREND_TOLERANCE = 0.05;
+    private static final double STRESS_TREND_TOLERANCE = 0.25;
+    private static final String SOURCE_BUILT = "rollups_built";
+    private static final String SOURCE_ROLLUPS = "rollups_daily";
+    private static final String SOURCE_HABITS = "habits";
+
     private DatabaseReference progressRef;
     private MoodLogService moodLogService;
-    private StressService stressService;
-    private HabitService habitService;
-    private SleepTrackerService sleepTrackerService;
+    private RollupService rollupService;
 
     public ProgressService() {
         progressRef = FirebaseDatabase.getInstance().getReference("progress_data");
         moodLogService = new MoodLogService();
-        stressService = new StressService();
-        habitService = new HabitService();
-        sleepTrackerService = new SleepTrackerService();
+        rollupService = new RollupService();
     }
 
 
@@ -64,179 +70,189 @@ public class ProgressService {
         progressData.setStartDate(startDate);
         progressData.setEndDate(endDate);
 
-        android.util.Log.d("ProgressService", "📊 Calculating progress for user: " + userId);
+        if (AppLog.ENABLED) {
+            AppLog.d("ProgressService", "📊 Calculating progress for user: " + userId);
+        }
 
-        // Step 1: Calculate average mood
-        moodLogService.getAverageMood(userId, new MoodLogService.OnAverageMoodListener() {
+        // Habits come from the user's timeline, so older ones have to be copied over first
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
             @Override
-            public void onAverageMoodCalculated(double avgMood) {
-                progressData.setAverageMoodRating(avgMood);
-                android.util.Log.d("ProgressService", "✅ Average mood: " + avgMood);
-
-                // Determine mood trend
-                if (avgMood >= 4.0) {
-                    progressData.setMoodTrend("Improving ↗");
-                } else if (avgMood >= 3.0) {
-                    progressData.setMoodTrend("Stable →");
-                } else {
-                    progressData.setMoodTrend("Declining ↘");
-                }
-
-                // Step 2: Load REAL stress data
-                loadRealStressData(userId, progressData, avgMood, listener);
+            public void onMigrated() {
+                loadProgress(userId, startDate, endDate, progressData, listener);
             }
 
             @Override
             public void onError(String error) {
-                android.util.Log.e("ProgressService", "❌ Mood error: " + error);
-                progressData.setAverageMoodRating(0.0);
-                progressData.setMoodTrend("No data");
-                // Continue with other data even if mood fails
-                loadRealStressData(userId, progressData, 0.0, listener);
+                AppLog.e("ProgressService", "❌ Timeline migration error: " + error);
+                listener.onError(error);
             }
         });
     }
 
-    private void loadRealStressData(String userId, ProgressData progressData, double avgMood, OnProgressCalculatedListener listener) {
-        stressService.getUserStressAssessments(userId, new StressService.OnStressAssessmentsLoadedListener() {
-            @Override
-            public void onAssessmentsLoaded(List<StressAssessment> assessments) {
-                double avgStress = 0.0;
-                if (!assessments.isEmpty()) {
-                    double sum = 0;
-                    for (StressAssessment assessment : assessments) {
-                        sum += assessment.getStressScore();
+    private void loadProgress(String userId, long startDate, long endDate, ProgressData progressData,
+                              OnProgressCalculatedListener listener) {
+        // All three reads go out together, so the wait is the slowest of them rather than the sum
+        new ParallelLoader("progress")
+                .add(SOURCE_BUILT, rollupService.builtZoneQuery(userId))
+                .add(SOURCE_ROLLUPS, rollupService.dailyRangeQuery(userId, startDate, endDate))
+                .add(SOURCE_HABITS, UserTimelines.ref(UserTimelines.HABITS, userId))
+                .load(results -> {
+                    DataSnapshot built = results.get(SOURCE_BUILT);
+                    DataSnapshot rollups = results.get(SOURCE_ROLLUPS);
+                    DataSnapshot habits = results.get(SOURCE_HABITS);
+                    if (built == null || rollups == null) {
+                        String error = results.getErrors().values().iterator().next();
+                        AppLog.e("ProgressService", "❌ Rollup error: " + error);
+                        listener.onError(error);
+                        return;
                     }
-                    avgStress = sum / assessments.size();
-                }
-                progressData.setAverageStressScore(avgStress);
-                android.util.Log.d("ProgressService", "✅ Average stress: " + avgStress);
 
-                if (avgStress <= 15) {
-                    progressData.setStressTrend("Improving ↗");
-                } else if (avgStress <= 21) {
-                    progressData.setStressTrend("Stable →");
-                } else {
-                    progressData.setStressTrend("Declining ↘");
-                }
+                    int activeHabits = countActiveHabits(habits);
+                    if (RollupService.isBuiltInDeviceZone(built)) {
+                        applyRollups(progressData, rollups, activeHabits, listener);
+                        return;
+                    }
 
-                // Step 3: Load REAL habit completion rate
-                loadRealHabitData(userId, progressData, listener);
-            }
+                    // Rollups are backfilled once per user and zone, after that the writers keep them current
+                    rollupService.rebuildRollups(userId, new RollupService.OnCompleteListener() {
+                        @Override
+                        public void onSuccess() {
+                            rollupService.getDailyBuckets(userId, startDate, endDate, new RollupService.OnDailyBucketsLoadedListener() {
+                                @Override
+                                public void onDailyBucketsLoaded(DataSnapshot daily) {
+                                    applyRollups(progressData, daily, activeHabits, listener);
+                                }
+
+                                @Override
+                                public void onError(String error) {
+                                    AppLog.e("ProgressService", "❌ Rollup error: " + error);
+                                    listener.onError(error);
+                                }
+                            });
+                        }
 
-            @Override
-            public void onError(String error) {
-                android.util.Log.e("ProgressService", "❌ Stress error: " + error);
-                progressData.setAverageStressScore(0.0);
-                progressData.setStressTrend("No data");
-                // Continue with habit data
-                loadRealHabitData(userId, progressData, listener);
-            }
-        });
+                        @Override
+                        public void onError(String error) {
+                            AppLog.e("ProgressService", "❌ Rollup rebuild error: " + error);
+                            listener.onError(error);
+                        }
+                    });
+                });
     }
 
-    private void loadRealHabitData(String userId, ProgressData progressData, OnProgressCalculatedListener listener) {
-        habitService.getUserHabits(userId, new HabitService.OnHabitsLoadedListener() {
-            @Override
-            public void onHabitsLoaded(List<com.example.mindbloomandroid.model.Habit> habits) {
-                // Calculate real habit completion rate
-                if (habits.isEmpty()) {
-                    progressData.setHabitCompletionRate(0.0);
-                    android.util.Log.d("ProgressService", "ℹ️ No habits found");
-                    loadRealSleepData(userId, progressData, listener);
-                } else {
-                    // Count completed habits in last 7 days
-                    calculateHabitCompletionRate(userId, habits.size(), progressData, listener);
-                }
-            }
+    private void applyRollups(ProgressData progressData, DataSnapshot daily, int activeHabits, OnProgressCalculatedListener listener) {
+        RollupBucket total = RollupService.mergeBuckets(daily);
+
+        // Per-day averages for the chart, one primitive point per day rather than per log
+        TimeSeries moodSeries = new TimeSeries((int) daily.getChildrenCount());
+        TimeSeries stressSeries = new TimeSeries((int) daily.getChildrenCount());
+        RollupService.fillDailyAverages(daily, moodSeries, stressSeries);
+        progressData.setMoodSeries(moodSeries);
+        progressData.setStressSeries(stressSeries);
+
+        applyMood(progressData, total, moodSeries);
+        applyStress(progressData, total, stressSeries);
+        progressData.setAverageSleepHours(total.getAverageSleepHours());
+        progressData.setTotalHabitsCompleted((int) total.getHabitCompletions());
+        if (AppLog.ENABLED) {
+            AppLog.d("ProgressService", "✅ Rollup totals: " + total);
+        }
 
-            @Override
-            public void onError(String error) {
-                android.util.Log.e("ProgressService", "❌ Habit error: " + error);
-                progressData.setHabitCompletionRate(0.0);
-                loadRealSleepData(userId, progressData, listener);
-            }
-        });
+        // Completion rate = completions in range / (active habits * days in range)
+        long days = Math.max(1, (progressData.getEndDate() - progressData.getStartDate() + DAY_MILLIS - 1) / DAY_MILLIS);
+        double completionRate = (activeHabits > 0) ? (total.getHabitCompletions() * 100.0 / (activeHabits * days)) : 0.0;
+        progressData.setHabitCompletionRate(Math.min(100.0, completionRate));
+        if (AppLog.ENABLED) {
+            AppLog.d("ProgressService", "✅ Habit completion rate: " + completionRate + "%");
+        }
+
+        finishProgressData(progressData, listener);
     }
 
-    private void calculateHabitCompletionRate(String userId, int totalHabits, ProgressData progressData, OnProgressCalculatedListener listener) {
-        DatabaseReference completionsRef = FirebaseDatabase.getInstance().getReference("habit_completions");
-        long sevenDaysAgo = System.currentTimeMillis() - (7 * 24 * 60 * 60 * 1000);
-
-        completionsRef.orderByChild("userId").equalTo(userId)
-            .addListenerForSingleValueEvent(new ValueEventListener() {
-                @Override
-                public void onDataChange(DataSnapshot dataSnapshot) {
-                    int completedCount = 0;
-                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                        Long completedAt = snapshot.child("completedAt").getValue(Long.class);
-                        if (completedAt != null && completedAt >= sevenDaysAgo) {
-                            completedCount++;
-                        }
-                    }
-                    double completionRate = (totalHabits > 0) ? (completedCount * 100.0 / (totalHabits * 7)) : 0.0;
-                    progressData.setHabitCompletionRate(Math.min(100.0, completionRate));
-                    android.util.Log.d("ProgressService", "✅ Habit completion rate: " + completionRate + "%");
+    // A failed habits read counts as no habits rather than failing the whole screen
+    private static int countActiveHabits(DataSnapshot habits) {
+        if (habits == null) {
+            return 0;
+        }
+        int totalHabits = 0;
+        for (DataSnapshot snapshot : habits.getChildren()) {
+            Boolean active = snapshot.child("active").getValue(Boolean.class);
+            if (active == null || active) {
+                totalHabits++;
+            }
+        }
+        return totalHabits;
+    }
 
-                    loadRealSleepData(userId, progressData, listener);
-                }
+    private void applyMood(ProgressData progressData, RollupBucket total, TimeSeries moodSeries) {
+        progressData.setAverageMoodRating(total.getAverageMood());
 
-                @Override
-                public void onCancelled(DatabaseError error) {
-                    progressData.setHabitCompletionRate(0.0);
-                    loadRealSleepData(userId, progressData, listener);
-                }
-            });
+        if (total.getMoodCount() == 0) {
+            progressData.setMoodTrend("No data");
+            return;
+        }
+        int direction = trendDirection(moodSeries, MOOD_TREND_TOLERANCE);
+        if (direction > 0) {
+            progressData.setMoodTrend("Improving ↗");
+        } else if (direction == 0) {
+            progressData.setMoodTrend("Stable →");
+        } else {
+            progressData.setMoodTrend("Declining ↘");
+        }
     }
 
-    private void loadRealSleepData(String userId, ProgressData progressData, OnProgressCalculatedListener listener) {
-        sleepTrackerService.getUserSleepEntries(userId, new SleepTrackerService.OnSleepEntriesLoadedListener() {
-            @Override
-            public void onSleepEntriesLoaded(List<com.example.mindbloomandroid.model.SleepEntry> sleepEntries) {
-                double avgSleep = 0.0;
-                if (!sleepEntries.isEmpty()) {
-                    double sum = 0;
-                    for (com.example.mindbloomandroid.model.SleepEntry entry : sleepEntries) {
-                        sum += entry.getSleepDurationHours();
-                    }
-                    avgSleep = sum / sleepEntries.size();
-                }
-                progressData.setAverageSleepHours(avgSleep);
-                android.util.Log.d("ProgressService", "✅ Average sleep: " + avgSleep + " hours");
+    private void applyStress(ProgressData progressData, RollupBucket total, TimeSeries stressSeries) {
+        progressData.setAverageStressScore(total.getAverageStress());
 
-                // Calculate milestones and correlations
-                List<String> milestones = new ArrayList<>();
-                double avgMood = progressData.getAverageMoodRating();
+        if (total.getStressCount() == 0) {
+            progressData.setStressTrend("No data");
+            return;
+        }
+        // Falling stress is the improvement
+        int direction = trendDirection(stressSeries, STRESS_TREND_TOLERANCE);
+        if (direction < 0) {
+            progressData.setStressTrend("Improving ↗");
+        } else if (direction == 0) {
+            progressData.setStressTrend("Stable →");
+        } else {
+            progressData.setStressTrend("Declining ↘");
+        }
+    }
 
-                if (avgMood >= 4.0) milestones.add("Maintaining positive mood for 7+ days");
-                if (progressData.getHabitCompletionRate() >= 70) milestones.add("70% habit completion rate achieved");
-                if (avgSleep >= 7.0) milestones.add("Getting recommended 7+ hours of sleep");
-                if (progressData.getAverageStressScore() <= 15) milestones.add("Maintaining low stress levels");
+    // Direction of the per-day averages with recent days weighted most, rather than reading a
+    // trend off the range average
+    private static int trendDirection(TimeSeries dailyAverages, double tolerance) {
+        EwmaTrend trend = new EwmaTrend();
+        for (int i = 0; i < dailyAverages.size(); i++) {
+            trend.add(dailyAverages.getValue(i));
+        }
+        return trend.direction(tolerance);
+    }
 
-                progressData.setAchievedMilestones(milestones);
+    private void finishProgressData(ProgressData progressData, OnProgressCalculatedListener listener) {
+        // Calculate milestones and correlations
+        List<String> milestones = new ArrayList<>();
+        double avgMood = progressData.getAverageMoodRating();
+        double avgSleep = progressData.getAverageSleepHours();
 
-                // Calculate sleep-mood correlation
-                if (avgSleep >= 7.0 && avgMood >= 3.5) {
-                    progressData.setSleepMoodCorrelation("Strong positive correlation (r=0.82)");
-                } else if (avgSleep >= 6.0 && avgMood >= 3.0) {
-                    progressData.setSleepMoodCorrelation("Moderate correlation observed");
-                } else {
-                    progressData.setSleepMoodCorrelation("More data needed for correlation");
-                }
+        if (avgMood >= 4.0) milestones.add("Maintaining positive mood for 7+ days");
+        if (progressData.getHabitCompletionRate() >= 70) milestones.add("70% habit completion rate achieved");
+        if (avgSleep >= 7.0) milestones.add("Getting recommended 7+ hours of sleep");
+        if (progressData.getAverageStressScore() <= 15) milestones.add("Maintaining low stress levels");
 
-                android.util.Log.d("ProgressService", "✅ Progress calculation complete!");
-                listener.onProgressCalculated(progressData);
-            }
+        progressData.setAchievedMilestones(milestones);
 
-            @Override
-            public void onError(String error) {
-                android.util.Log.e("ProgressService", "❌ Sleep error: " + error);
-                progressData.setAverageSleepHours(0.0);
-                progressData.setAchievedMilestones(new ArrayList<>());
-                progressData.setSleepMoodCorrelation("Insufficient data");
-                listener.onProgressCalculated(progressData);
-            }
-        });
+        // Calculate sleep-mood correlation
+        if (avgSleep >= 7.0 && avgMood >= 3.5) {
+            progressData.setSleepMoodCorrelation("Strong positive correlation (r=0.82)");
+        } else if (avgSleep >= 6.0 && avgMood >= 3.0) {
+            progressData.setSleepMoodCorrelation("Moderate correlation observed");
+        } else {
+            progressData.setSleepMoodCorrelation("More data needed for correlation");
+        }
+
+        AppLog.d("ProgressService", "✅ Progress calculation complete!");
+        listener.onProgressCalculated(progressData);
     }
 
     private void saveProgressData(ProgressData progressData, OnProgressCalculatedListener listener) {
@@ -244,7 +260,7 @@ public class ProgressService {
         if (progressId != null) {
             progressData.setProgressId(progressId);
 
-            progressRef.child(progressData.getUserId()).child(progressId).setValue(progressData)
+            progressRef.child(progressData.getUserId()).child(progressId).setValue(progressData.toMap())
                     .addOnSuccessListener(aVoid -> listener.onProgressCalculated(progressData))
                     .addOnFailureListener(e -> listener. onError(e.getMessage()));
         } else {
@@ -258,7 +274,7 @@ public class ProgressService {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
-                            ProgressData progressData = snapshot.getValue(ProgressData.class);
+                            ProgressData progressData = ProgressData.fromSnapshot(snapshot);
                             if (progressData != null) {
                                 progressData.setProgressId(snapshot.getKey());
                                 listener.onProgressDataLoaded(progressData);
@@ -283,7 +299,7 @@ public class ProgressService {
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         List<ProgressData> progressList = new ArrayList<>();
                         for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
-                            ProgressData progressData = snapshot.getValue(ProgressData.class);
+                            ProgressData progressData = ProgressData.fromSnapshot(snapshot);
                             if (progressData != null) {
                                 progressData.setProgressId(snapshot.getKey());
                                 progressList. add(progressData);
@@ -0,0 +1,80 @@
+package com.example.mindbloomandroid.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide LRU cache for per-user query results, shared by every service instance.
+ * Entries are keyed by (node, userId, range) and refreshed by the services' own
+ * ValueEventListeners, so a screen can render the last known list immediately while
+ * Firebase's on-disk persistence only pulls the deltas.
+ */
+public class QueryCache {
+    public static final String RANGE_ALL = "all";
+
+    private static final int MAX_ENTRIES = 32;
+
+    private static QueryCache instance;
+
+    private final LinkedHashMap<String, List<?>> entries =
+            new LinkedHashMap<String, List<?>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<?>> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    private QueryCache() {}
+
+    public static synchronized QueryCache getInstance() {
+        if (instance == null) {
+            instance = new QueryCache();
+        }
+        return instance;
+    }
+
+    public static String key(String node, String userId, String range) {
+        return node + "/" + userId + "/" + range;
+    }
+
+    // Returns a copy so callers can sort or filter without touching the cached entry
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> get(String key) {
+        List<?> cached = entries.get(key);
+        return cached != null ? new ArrayList<>((List<T>) cached) : null;
+    }
+
+    public synchronized <T> void put(String key, List<T> items) {
+        entries.put(key, new ArrayList<>(items));
+    }
+
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    // Drops every range cached for one user under the given node
+    public synchronized void invalidateUser(String node, String userId) {
+        removeByPrefix(node + "/" + userId + "/");
+    }
+
+    // Used when a write only knows the record id, not its owner
+    public synchronized void invalidateNode(String node) {
+        removeByPrefix(node + "/");
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private void removeByPrefix(String prefix) {
+        Iterator<String> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().startsWith(prefix)) {
+                it.remove();
+            }
+        }
+    }
+}
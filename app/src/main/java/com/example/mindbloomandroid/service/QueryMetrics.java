@@ -0,0 +1,191 @@
+package com.example.mindbloomandroid.service;
+
+import android.os.Process;
+
+import com.example.mindbloomandroid.BuildConfig;
+import com.example.mindbloomandroid.utility.stats.LatencyHistogram;
+import com.example.mindbloomandroid.utility.stats.RunningStats;
+import com.google.firebase.database.DataSnapshot;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read metrics per logical query name such as "mood_logs.all" (no user ids): latency to
+ * the first snapshot, child count and approximate JSON size of every snapshot including
+ * live updates, decode time and errors. The report sorts by p90 latency, so the reads
+ * most worth an index or a narrower query come first.
+ *
+ * Only recorded when BuildConfig.QUERY_METRICS is set (debug builds). Sizes are estimated
+ * on a background thread of their own, away from the main and decoder threads.
+ */
+public class QueryMetrics {
+    public static final boolean ENABLED = BuildConfig.QUERY_METRICS;
+
+    private static QueryMetrics instance;
+
+    private final ExecutorService sizer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, "query-metrics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private final Map<String, Entry> entries = new HashMap<>();
+    private long since = System.currentTimeMillis();
+
+    private QueryMetrics() {}
+
+    public static synchronized QueryMetrics getInstance() {
+        if (instance == null) {
+            instance = new QueryMetrics();
+        }
+        return instance;
+    }
+
+    // Registry keys "node/owner/range[:qualifier]" become "node.range"
+    public static String nameOf(String key) {
+        int first = key.indexOf('/');
+        if (first < 0) {
+            return key;
+        }
+        String range = key.substring(key.lastIndexOf('/') + 1);
+        int qualifier = range.indexOf(':');
+        return key.substring(0, first) + "." + (qualifier >= 0 ? range.substring(0, qualifier) : range);
+    }
+
+    // Trace section names are limited to 127 characters
+    static String traceSection(String name) {
+        String section = "decode " + name;
+        return section.length() > 127 ? section.substring(0, 127) : section;
+    }
+
+    /** latencyMillis is the round trip for a first snapshot, or negative for a later live update. */
+    public void recordSnapshot(String name, long latencyMillis, DataSnapshot snapshot) {
+        if (!ENABLED) {
+            return;
+        }
+        sizer.execute(() -> {
+            long children = snapshot.getChildrenCount();
+            long bytes = estimateBytes(snapshot);
+            synchronized (this) {
+                Entry entry = entryFor(name);
+                if (latencyMillis >= 0) {
+                    entry.latency.add(latencyMillis);
+                } else {
+                    entry.updates++;
+                }
+                entry.children.add(children);
+                entry.bytes.add(bytes);
+            }
+        });
+    }
+
+    public synchronized void recordDecode(String name, long decodeMillis) {
+        if (ENABLED) {
+            entryFor(name).decode.add(decodeMillis);
+        }
+    }
+
+    public synchronized void recordError(String name) {
+        if (ENABLED) {
+            entryFor(name).errors++;
+        }
+    }
+
+    public synchronized void reset() {
+        entries.clear();
+        since = System.currentTimeMillis();
+    }
+
+    /** Plain-text report, slowest first, then the registry's live listeners. Main thread. */
+    public String dumpReport() {
+        StringBuilder report = new StringBuilder();
+        synchronized (this) {
+            List<Entry> sorted = new ArrayList<>(entries.values());
+            sorted.sort((a, b) -> Long.compare(b.latency.percentile(90), a.latency.percentile(90)));
+
+            report.append("Query metrics since ")
+                    .append(new SimpleDateFormat("HH:mm:ss", Locale.US).format(new Date(since)))
+                    .append(" (").append(sorted.size()).append(" queries)\n");
+            for (Entry entry : sorted) {
+                entry.appendTo(report);
+            }
+        }
+
+        ListenerRegistry registry = ListenerRegistry.getInstance();
+        report.append("\nLive listeners: ").append(registry.getLiveQueryCount())
+                .append(" (").append(registry.getSubscriberCount()).append(" subscribers)\n");
+        for (Map.Entry<String, Integer> fanOut : registry.getSubscriberCounts().entrySet()) {
+            report.append("  ").append(fanOut.getKey()).append(" x").append(fanOut.getValue()).append('\n');
+        }
+        return report.toString();
+    }
+
+    private Entry entryFor(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = new Entry(name);
+            entries.put(name, entry);
+        }
+        return entry;
+    }
+
+    // Approximate JSON size: keys with their quotes and separators, leaves as text
+    static long estimateBytes(DataSnapshot snapshot) {
+        if (!snapshot.hasChildren()) {
+            Object value = snapshot.getValue();
+            if (value == null) return 4;
+            if (value instanceof String) return ((String) value).length() + 2;
+            return String.valueOf(value).length();
+        }
+        long bytes = 2;
+        for (DataSnapshot child : snapshot.getChildren()) {
+            bytes += child.getKey().length() + 4 + estimateBytes(child);
+        }
+        return bytes;
+    }
+
+    private static final class Entry {
+        final String name;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final RunningStats children = new RunningStats();
+        final RunningStats bytes = new RunningStats();
+        final RunningStats decode = new RunningStats();
+        long updates;
+        long errors;
+
+        Entry(String name) {
+            this.name = name;
+        }
+
+        void appendTo(StringBuilder report) {
+            report.append('\n').append(name).append('\n');
+            report.append(String.format(Locale.US, "  reads %d · p50 %d ms · p90 %d ms · max %d ms\n",
+                    latency.getCount(), latency.percentile(50), latency.percentile(90), latency.getMax()));
+            if (!children.isEmpty()) {
+                report.append(String.format(Locale.US,
+                        "  snapshots %d (%d live) · children avg %.0f, max %.0f · size avg %.1f KB, max %.1f KB\n",
+                        children.getCount(), updates, children.getMean(), children.getMax(),
+                        bytes.getMean() / 1024, bytes.getMax() / 1024));
+            }
+            if (!decode.isEmpty()) {
+                report.append(String.format(Locale.US, "  decode avg %.1f ms, max %.0f ms\n",
+                        decode.getMean(), decode.getMax()));
+            }
+            if (errors > 0) {
+                report.append("  errors ").append(errors).append('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.mindbloomandroid.service;
+
+import com.example.mindbloomandroid.stream.DataStream;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.Query;
+
+/**
+ * DataStreams over Firebase queries. Decoding happens on the decoder thread as with
+ * DecodingValueListener; values arrive on the main thread.
+ */
+public final class QueryStreams {
+
+    private QueryStreams() {}
+
+    /**
+     * Cold: one read per subscriber, then completes. Cancelling before it lands drops the read.
+     * name is the query's QueryMetrics name.
+     */
+    public static <R> DataStream<R> once(String name, Query query, ListenerRegistry.Decoder<R> decoder) {
+        return DataStream.create(emitter -> {
+            DecodingValueListener<R> listener = new DecodingValueListener<R>(name) {
+                @Override
+                protected R decode(DataSnapshot dataSnapshot) {
+                    return decoder.decode(dataSnapshot);
+                }
+
+                @Override
+                protected void onDecoded(R result) {
+                    emitter.next(result);
+                    emitter.complete();
+                }
+
+                @Override
+                public void onCancelled(DatabaseError error) {
+                    emitter.error(error.getMessage());
+                }
+            };
+            query.addListenerForSingleValueEvent(listener);
+            return () -> {
+                query.removeEventListener(listener);
+                listener.cancelPending();
+            };
+        });
+    }
+
+    /**
+     * Hot: the ListenerRegistry's shared live query for key, so stream and callback subscribers
+     * of the same key share one Firebase listener. Each subscriber holds one reference.
+     */
+    public static <R> DataStream<R> live(String key, Query query, ListenerRegistry.Decoder<R> decoder) {
+        return DataStream.create(emitter -> ListenerRegistry.getInstance().observe(key, query, decoder,
+                new ListenerRegistry.Observer<R>() {
+                    @Override
+                    public void onData(R result) {
+                        emitter.next(result);
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        emitter.error(error);
+                    }
+                }));
+    }
+}
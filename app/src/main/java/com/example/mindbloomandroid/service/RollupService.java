@@ -0,0 +1,475 @@
+package com.example.mindbloomandroid.service;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+import com.example.mindbloomandroid.model.HabitCompletion;
+import com.example.mindbloomandroid.model.ModelMaps;
+import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.model.RollupBucket;
+import com.example.mindbloomandroid.model.SleepEntry;
+import com.example.mindbloomandroid.model.StressAssessment;
+import com.example.mindbloomandroid.utility.AppLog;
+import com.example.mindbloomandroid.utility.stats.TimeSeries;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+
+/**
+ * Pre-aggregated daily buckets under rollups/{userId}. Writers add the
+ * increments for a record to the same multi-path update that stores the record, so
+ * the buckets stay in step without a read, and the progress screens read a few small
+ * buckets instead of whole histories.
+ *
+ * Bucket keys are local days in the device's zone, so an entry counts towards the day the user
+ * made it on and a range of days on the progress screen maps to exactly those keys. The zone the
+ * buckets were built in is stored with them under BUILT_ZONE; once it no longer matches the
+ * device's (after travel, say), the buckets are rebuilt in the new zone.
+ */
+public class RollupService {
+    public static final String NODE = "rollups";
+    public static final String DAILY = "daily";
+    // No longer written; a rebuild removes what earlier versions left there
+    private static final String WEEKLY = "weekly";
+    public static final String BUILT_ZONE = "builtZone";
+    // Markers of earlier versions, which didn't record the zone; a rebuild replaces them
+    private static final String[] LEGACY_MARKERS = {"builtAt", "builtAtUtc"};
+
+    private DatabaseReference rootRef;
+    private DatabaseReference rollupsRef;
+    private UserTimelines userTimelines;
+
+    public RollupService() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        rollupsRef = FirebaseDatabase.getInstance().getReference(NODE);
+        userTimelines = UserTimelines.getInstance();
+    }
+
+    public RollupService(FirebaseDatabase database) {
+        rootRef = database.getReference();
+        rollupsRef = database.getReference(NODE);
+        userTimelines = new UserTimelines(database);
+    }
+
+
+    public static String dayKey(long timestamp) {
+        Calendar cal = Calendar.getInstance(TimeZone.getDefault(), Locale.US);
+        cal.setTimeInMillis(timestamp);
+        return String.format(Locale.US, "%04d-%02d-%02d",
+                cal.get(Calendar.YEAR), cal.get(Calendar.MONTH) + 1, cal.get(Calendar.DAY_OF_MONTH));
+    }
+
+    // ==================== INCREMENTAL MAINTENANCE ====================
+    // sign is +1 when the record is written and -1 when it is deleted
+
+
+    public static void addMoodIncrements(Map<String, Object> updates, MoodLog moodLog, int sign) {
+        addMood(new IncrementSink(updates), moodLog, sign);
+    }
+
+    public static void addStressIncrements(Map<String, Object> updates, StressAssessment assessment, int sign) {
+        addStress(new IncrementSink(updates), assessment, sign);
+    }
+
+    public static void addSleepIncrements(Map<String, Object> updates, SleepEntry entry, int sign) {
+        addSleep(new IncrementSink(updates), entry, sign);
+    }
+
+    public static void addHabitCompletionIncrements(Map<String, Object> updates, HabitCompletion completion, int sign) {
+        addHabitCompletion(new IncrementSink(updates), completion, sign);
+    }
+
+    private static void addMood(RollupSink sink, MoodLog moodLog, int sign) {
+        sink.add(moodLog.getUserId(), moodLog.getLogDate(), "moodSum", sign * moodLog.getMoodRating());
+        sink.add(moodLog.getUserId(), moodLog.getLogDate(), "moodCount", sign);
+    }
+
+    private static void addStress(RollupSink sink, StressAssessment assessment, int sign) {
+        sink.add(assessment.getUserId(), assessment.getAssessmentDate(), "stressSum", sign * assessment.getStressScore());
+        sink.add(assessment.getUserId(), assessment.getAssessmentDate(), "stressCount", sign);
+    }
+
+    private static void addSleep(RollupSink sink, SleepEntry entry, int sign) {
+        sink.add(entry.getUserId(), entry.getSleepStartTime(), "sleepHoursSum", sign * entry.getSleepDurationHours());
+        sink.add(entry.getUserId(), entry.getSleepStartTime(), "sleepCount", sign);
+    }
+
+    private static void addHabitCompletion(RollupSink sink, HabitCompletion completion, int sign) {
+        sink.add(completion.getUserId(), completion.getCompletedAt(), "habitCompletions", sign);
+    }
+
+    private interface RollupSink {
+        void add(String userId, long timestamp, String field, double delta);
+    }
+
+    // Turns each delta into a ServerValue.increment on the day's bucket
+    private static class IncrementSink implements RollupSink {
+        private final Map<String, Object> updates;
+
+        IncrementSink(Map<String, Object> updates) {
+            this.updates = updates;
+        }
+
+        @Override
+        public void add(String userId, long timestamp, String field, double delta) {
+            if (userId == null || timestamp <= 0) {
+                return;
+            }
+            String userPath = NODE + "/" + userId + "/";
+            Object increment = field.endsWith("Sum") ? ServerValue.increment(delta) : ServerValue.increment((long) delta);
+            updates.put(userPath + DAILY + "/" + dayKey(timestamp) + "/" + field, increment);
+        }
+    }
+
+    // Accumulates absolute bucket values locally for a rebuild
+    private static class BucketSink implements RollupSink {
+        final Map<String, RollupBucket> daily = new TreeMap<>();
+
+        @Override
+        public void add(String userId, long timestamp, String field, double delta) {
+            if (userId == null || timestamp <= 0) {
+                return;
+            }
+            String key = dayKey(timestamp);
+            RollupBucket bucket = daily.get(key);
+            if (bucket == null) {
+                bucket = new RollupBucket();
+                daily.put(key, bucket);
+            }
+            apply(bucket, field, delta);
+        }
+
+        private static void apply(RollupBucket bucket, String field, double delta) {
+            switch (field) {
+                case "moodSum": bucket.setMoodSum(bucket.getMoodSum() + delta); break;
+                case "moodCount": bucket.setMoodCount(bucket.getMoodCount() + (long) delta); break;
+                case "stressSum": bucket.setStressSum(bucket.getStressSum() + delta); break;
+                case "stressCount": bucket.setStressCount(bucket.getStressCount() + (long) delta); break;
+                case "sleepHoursSum": bucket.setSleepHoursSum(bucket.getSleepHoursSum() + delta); break;
+                case "sleepCount": bucket.setSleepCount(bucket.getSleepCount() + (long) delta); break;
+                case "habitCompletions": bucket.setHabitCompletions(bucket.getHabitCompletions() + (long) delta); break;
+                default: break;
+            }
+        }
+    }
+
+    // ==================== READS ====================
+
+
+    public void isBuilt(String userId, OnBuiltCheckListener listener) {
+        builtZoneQuery(userId)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        listener.onChecked(isBuiltInDeviceZone(dataSnapshot));
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        listener.onError(error.getMessage());
+                    }
+                });
+    }
+
+
+    public void getDailyTotal(String userId, long startDate, long endDate, OnRollupLoadedListener listener) {
+        dailyRangeQuery(userId, startDate, endDate)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        listener.onRollupLoaded(mergeBuckets(dataSnapshot));
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        listener.onError(error.getMessage());
+                    }
+                });
+    }
+
+    // The day buckets themselves, for callers that need more than the merged total
+    public void getDailyBuckets(String userId, long startDate, long endDate, OnDailyBucketsLoadedListener listener) {
+        dailyRangeQuery(userId, startDate, endDate)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        listener.onDailyBucketsLoaded(dataSnapshot);
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        listener.onError(error.getMessage());
+                    }
+                });
+    }
+
+    // Exposed so callers can batch these reads with others in a ParallelLoader
+    public Query builtZoneQuery(String userId) {
+        return rollupsRef.child(userId).child(BUILT_ZONE);
+    }
+
+    // The builtZoneQuery result; false before the first rebuild and after the device's zone changed
+    public static boolean isBuiltInDeviceZone(DataSnapshot builtZone) {
+        return TimeZone.getDefault().getID().equals(builtZone.getValue(String.class));
+    }
+
+    // startDate and endDate may be any time on the first and last day, both days are included
+    public Query dailyRangeQuery(String userId, long startDate, long endDate) {
+        return rollupsRef.child(userId).child(DAILY)
+                .orderByKey().startAt(dayKey(startDate)).endAt(dayKey(endDate));
+    }
+
+    public static RollupBucket mergeBuckets(DataSnapshot dataSnapshot) {
+        RollupBucket total = new RollupBucket();
+        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+            RollupBucket bucket = RollupBucket.fromSnapshot(snapshot);
+            if (bucket != null) {
+                total.merge(bucket);
+            }
+        }
+        if (AppLog.ENABLED) {
+            AppLog.d("RollupService", "📥 Merged " + dataSnapshot.getChildrenCount() + " buckets: " + total);
+        }
+        return total;
+    }
+
+    // Adds one point per day bucket that has entries, at local midnight of that day
+    public static void fillDailyAverages(DataSnapshot daily, TimeSeries mood, TimeSeries stress) {
+        for (DataSnapshot snapshot : daily.getChildren()) {
+            RollupBucket bucket = RollupBucket.fromSnapshot(snapshot);
+            long dayStart = dayStart(snapshot.getKey());
+            if (bucket == null || dayStart < 0) {
+                continue;
+            }
+            if (bucket.getMoodCount() > 0) {
+                mood.add(dayStart, (float) bucket.getAverageMood());
+            }
+            if (bucket.getStressCount() > 0) {
+                stress.add(dayStart, (float) bucket.getAverageStress());
+            }
+        }
+    }
+
+    // Local midnight of the key's date, where the chart plots that day; -1 for keys that aren't yyyy-MM-dd
+    public static long dayStart(String dayKey) {
+        String[] parts = dayKey != null ? dayKey.split("-") : new String[0];
+        if (parts.length != 3) {
+            return -1;
+        }
+        try {
+            Calendar cal = Calendar.getInstance();
+            cal.clear();
+            cal.set(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]) - 1, Integer.parseInt(parts[2]));
+            return cal.getTimeInMillis();
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // ==================== BACKFILL ====================
+
+    private static final String[] SOURCE_NODES = {
+            UserTimelines.MOOD_LOGS, UserTimelines.STRESS_ASSESSMENTS,
+            UserTimelines.SLEEP_ENTRIES, UserTimelines.HABIT_COMPLETIONS
+    };
+
+
+    // Recomputes every bucket for the user from the raw collections and brings rollups/{userId} in line with them.
+    // Used the first time a user opens progress after the rollups shipped, and to repair drift.
+    public void rebuildRollups(String userId, OnCompleteListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("RollupService", "🔄 Rebuilding rollups for user: " + userId);
+        }
+
+        // The sources are read from the user's timelines, so older records have to be copied over first
+        userTimelines.ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                loadSources(userId, listener);
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onError(error);
+            }
+        });
+    }
+
+    private void loadSources(String userId, OnCompleteListener listener) {
+        ParallelLoader loader = new ParallelLoader("rollup_rebuild");
+        for (String node : SOURCE_NODES) {
+            loader.add(node, rootRef.child(UserTimelines.ROOT).child(node).child(userId));
+        }
+        // The existing bucket keys, so buckets no record maps to any more can be removed
+        loader.add(DAILY, rollupsRef.child(userId).child(DAILY).orderByKey());
+
+        loader.load(results -> {
+            // A partial rebuild would overwrite good buckets with low counts
+            if (results.hasErrors()) {
+                AppLog.e("RollupService", "❌ Rebuild failed reading: " + results.getErrors());
+                listener.onError(results.getErrors().values().iterator().next());
+                return;
+            }
+
+            BucketSink sink = new BucketSink();
+            for (String node : SOURCE_NODES) {
+                for (DataSnapshot snapshot : results.get(node).getChildren()) {
+                    addSnapshot(sink, node, snapshot);
+                }
+            }
+            writeRebuiltRollups(userId, sink, results.get(DAILY), listener);
+        });
+    }
+
+    private static void addSnapshot(RollupSink sink, String node, DataSnapshot snapshot) {
+        switch (node) {
+            case "mood_logs":
+                MoodLog moodLog = MoodLog.fromSnapshot(snapshot);
+                if (moodLog != null) addMood(sink, moodLog, 1);
+                break;
+            case "stress_assessments":
+                StressAssessment assessment = StressAssessment.fromSnapshot(snapshot);
+                if (assessment != null) addStress(sink, assessment, 1);
+                break;
+            case "sleep_entries":
+                SleepEntry entry = SleepEntry.fromSnapshot(snapshot);
+                if (entry != null) addSleep(sink, entry, 1);
+                break;
+            case "habit_completions":
+                HabitCompletion completion = HabitCompletion.fromSnapshot(snapshot);
+                if (completion != null) addHabitCompletion(sink, completion, 1);
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Each bucket is moved by (rebuilt - seen) in a transaction rather than set to the rebuilt value,
+    // where seen is the bucket as read in the same batch as the records. An increment a save makes
+    // after that read is already in the current value and survives; a plain write would drop it.
+    private void writeRebuiltRollups(String userId, BucketSink sink, DataSnapshot existingDaily,
+                                     OnCompleteListener listener) {
+        Map<String, RollupBucket> deltas = new TreeMap<>();
+        for (Map.Entry<String, RollupBucket> bucket : sink.daily.entrySet()) {
+            deltas.put(bucket.getKey(), bucket.getValue());
+        }
+        for (DataSnapshot snapshot : existingDaily.getChildren()) {
+            RollupBucket seen = RollupBucket.fromSnapshot(snapshot);
+            if (seen == null) {
+                continue;
+            }
+            RollupBucket delta = new RollupBucket();
+            RollupBucket rebuilt = deltas.get(snapshot.getKey());
+            if (rebuilt != null) {
+                delta.merge(rebuilt);
+            }
+            delta.merge(negated(seen));
+            deltas.put(snapshot.getKey(), delta);
+        }
+
+        if (deltas.isEmpty()) {
+            writeBuiltMarker(userId, 0, listener);
+            return;
+        }
+        DatabaseReference dailyRef = rollupsRef.child(userId).child(DAILY);
+        int[] pending = {deltas.size()};
+        String[] firstError = {null};
+        for (Map.Entry<String, RollupBucket> delta : deltas.entrySet()) {
+            dailyRef.child(delta.getKey()).runTransaction(new Transaction.Handler() {
+                @Override
+                public Transaction.Result doTransaction(MutableData currentData) {
+                    Map<String, Object> current = ModelMaps.asMap(currentData.getValue(), RollupBucket.class);
+                    RollupBucket bucket = current != null ? RollupBucket.fromMap(current) : new RollupBucket();
+                    bucket.merge(delta.getValue());
+                    currentData.setValue(isEmpty(bucket) ? null : bucket.toMap());
+                    return Transaction.success(currentData);
+                }
+
+                @Override
+                public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                    if (error != null && firstError[0] == null) {
+                        firstError[0] = error.getMessage();
+                    }
+                    if (--pending[0] > 0) {
+                        return;
+                    }
+                    // Without the marker the next progress load rebuilds again, which converges
+                    if (firstError[0] != null) {
+                        AppLog.e("RollupService", "❌ Rebuild failed writing: " + firstError[0]);
+                        listener.onError(firstError[0]);
+                        return;
+                    }
+                    writeBuiltMarker(userId, deltas.size(), listener);
+                }
+            });
+        }
+    }
+
+    private void writeBuiltMarker(String userId, int buckets, OnCompleteListener listener) {
+        String userPath = NODE + "/" + userId + "/";
+        Map<String, Object> updates = new HashMap<>();
+        updates.put(userPath + WEEKLY, null);
+        for (String marker : LEGACY_MARKERS) {
+            updates.put(userPath + marker, null);
+        }
+        updates.put(userPath + BUILT_ZONE, TimeZone.getDefault().getID());
+
+        rootRef.updateChildren(updates)
+                .addOnSuccessListener(aVoid -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("RollupService", "✅ Rebuilt " + buckets + " daily buckets");
+                    }
+                    listener.onSuccess();
+                })
+                .addOnFailureListener(e -> listener.onError(e.getMessage()));
+    }
+
+    private static RollupBucket negated(RollupBucket bucket) {
+        RollupBucket negated = new RollupBucket();
+        negated.setMoodSum(-bucket.getMoodSum());
+        negated.setMoodCount(-bucket.getMoodCount());
+        negated.setStressSum(-bucket.getStressSum());
+        negated.setStressCount(-bucket.getStressCount());
+        negated.setSleepHoursSum(-bucket.getSleepHoursSum());
+        negated.setSleepCount(-bucket.getSleepCount());
+        negated.setHabitCompletions(-bucket.getHabitCompletions());
+        return negated;
+    }
+
+    // No record maps to the day any more, so the bucket is removed rather than left holding zeros
+    private static boolean isEmpty(RollupBucket bucket) {
+        return bucket.getMoodCount() == 0 && bucket.getStressCount() == 0
+                && bucket.getSleepCount() == 0 && bucket.getHabitCompletions() == 0;
+    }
+
+    // Interfaces
+    public interface OnCompleteListener {
+        void onSuccess();
+        void onError(String error);
+    }
+
+    public interface OnBuiltCheckListener {
+        void onChecked(boolean built);
+        void onError(String error);
+    }
+
+    public interface OnDailyBucketsLoadedListener {
+        void onDailyBucketsLoaded(DataSnapshot daily);
+        void onError(String error);
+    }
+
+    public interface OnRollupLoadedListener {
+        void onRollupLoaded(RollupBucket total);
+        void onError(String error);
+    }
+}
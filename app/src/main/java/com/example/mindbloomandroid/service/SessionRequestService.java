@@ -8,15 +8,25 @@ import com.google.firebase.database.DatabaseReference;
 import com. google.firebase.database.FirebaseDatabase;
 import com.google. firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.SessionRequest;
+import com.example.mindbloomandroid.stream.DataStream;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SessionRequestService {
+    private static final String NODE = UserTimelines.SESSION_REQUESTS;
+
+    private DatabaseReference rootRef;
     private DatabaseReference sessionRequestsRef;
+    private ListenerRegistry listenerRegistry;
 
     public SessionRequestService() {
-        sessionRequestsRef = FirebaseDatabase.getInstance().getReference("session_requests");
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        sessionRequestsRef = FirebaseDatabase.getInstance().getReference(NODE);
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -27,7 +37,10 @@ public class SessionRequestService {
             request.setCreatedAt(System.currentTimeMillis());
             request.setStatus("PENDING");
 
-            sessionRequestsRef.child(requestId).setValue(request)
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, request.getUserId(), requestId, request.toMap());
+
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> listener.onSuccess())
                     .addOnFailureListener(e -> listener.onError(e. getMessage()));
         } else {
@@ -43,7 +56,10 @@ public class SessionRequestService {
             request.setCreatedAt(System.currentTimeMillis());
             request.setStatus("PENDING");
 
-            sessionRequestsRef.child(requestId).setValue(request)
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, request.getUserId(), requestId, request.toMap());
+
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> listener.onSuccess(request))
                     .addOnFailureListener(e -> listener.onError(e.getMessage()));
         } else {
@@ -52,105 +68,127 @@ public class SessionRequestService {
     }
 
 
-    public void getUserSessionRequests(String userId, OnRequestsLoadedListener listener) {
-        android.util.Log.d("SessionRequestService", "📖 Loading session requests for user: " + userId);
+    public ListenerRegistry.Subscription getUserSessionRequests(String userId, OnRequestsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("SessionRequestService", "📖 Loading session requests for user: " + userId);
+        }
 
-        // Use addValueEventListener for REAL-TIME updates (not single event)
-        sessionRequestsRef.orderByChild("userId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<SessionRequest> requests = new ArrayList<>();
+        // Older requests are copied into the timeline once; they arrive through the listener below
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+
+        return listenerRegistry.observe(QueryCache.key(NODE, userId, QueryCache.RANGE_ALL),
+                UserTimelines.ref(NODE, userId),
+                dataSnapshot -> {
+                    List<SessionRequest> requests = new ArrayList<>();
 
-                        android.util.Log.d("SessionRequestService", "📥 Received " + dataSnapshot.getChildrenCount() + " requests from Firebase (REAL-TIME)");
+                    if (AppLog.ENABLED) {
+                        AppLog.d("SessionRequestService", "📥 Received " + dataSnapshot.getChildrenCount() + " requests from Firebase (REAL-TIME)");
+                    }
 
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            SessionRequest request = snapshot.getValue(SessionRequest.class);
-                            if (request != null) {
-                                request.setRequestId(snapshot.getKey());
-                                requests.add(request);
-                                android.util.Log.d("SessionRequestService", "   ✅ Request ID: " + snapshot.getKey() + ", Status: " + request.getStatus());
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        SessionRequest request = SessionRequest.fromSnapshot(snapshot);
+                        if (request != null) {
+                            request.setRequestId(snapshot.getKey());
+                            requests.add(request);
+                            if (AppLog.ENABLED) {
+                                AppLog.d("SessionRequestService", "   ✅ Request ID: " + snapshot.getKey() + ", Status: " + request.getStatus());
                             }
                         }
+                    }
 
-                        android.util.Log.d("SessionRequestService", "✅ Loaded " + requests.size() + " session requests (REAL-TIME UPDATE)");
-                        listener.onRequestsLoaded(requests);
+                    if (AppLog.ENABLED) {
+                        AppLog.d("SessionRequestService", "✅ Loaded " + requests.size() + " session requests (REAL-TIME UPDATE)");
+                    }
+                    return requests;
+                },
+                new ListenerRegistry.Observer<List<SessionRequest>>() {
+                    @Override
+                    public void onData(List<SessionRequest> requests) {
+                        listener.onRequestsLoaded(new ArrayList<>(requests));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("SessionRequestService", "❌ Error loading requests: " + error.getMessage());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("SessionRequestService", "❌ Error loading requests: " + error);
+                        listener.onError(error);
                     }
                 });
     }
 
 
-    public void getInstructorPendingRequests(String instructorId, OnRequestsLoadedListener listener) {
-        sessionRequestsRef.orderByChild("instructorId").equalTo(instructorId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<SessionRequest> requests = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            SessionRequest request = snapshot.getValue(SessionRequest.class);
-                            if (request != null && "PENDING".equals(request.getStatus())) {
-                                request.setRequestId(snapshot.getKey());
-                                requests.add(request);
-                            }
+    // Instructor-side reads stay on the flat collection, which dual-writes keep complete
+    public DataStream<List<SessionRequest>> pendingRequests(String instructorId) {
+        return QueryStreams.live(QueryCache.key("session_requests", instructorId, "pending"),
+                sessionRequestsRef.orderByChild("instructorId").equalTo(instructorId),
+                dataSnapshot -> {
+                    List<SessionRequest> requests = new ArrayList<>();
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        SessionRequest request = SessionRequest.fromSnapshot(snapshot);
+                        if (request != null && "PENDING".equals(request.getStatus())) {
+                            request.setRequestId(snapshot.getKey());
+                            requests.add(request);
                         }
-                        listener. onRequestsLoaded(requests);
-                    }
-
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
                     }
+                    return requests;
                 });
     }
 
 
     public void getConfirmedSessions(String userId, OnRequestsLoadedListener listener) {
-        sessionRequestsRef.orderByChild("userId").equalTo(userId)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<SessionRequest> sessions = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
-                            SessionRequest request = snapshot.getValue(SessionRequest.class);
-                            if (request != null && "CONFIRMED".equals(request.getStatus())) {
-                                request.setRequestId(snapshot.getKey());
-                                sessions.add(request);
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                UserTimelines.ref(NODE, userId)
+                        .addListenerForSingleValueEvent(new DecodingValueListener<List<SessionRequest>>("session_requests.confirmed") {
+                            @Override
+                            protected List<SessionRequest> decode(DataSnapshot dataSnapshot) {
+                                List<SessionRequest> sessions = new ArrayList<>();
+                                for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
+                                    SessionRequest request = SessionRequest.fromSnapshot(snapshot);
+                                    if (request != null && "CONFIRMED".equals(request.getStatus())) {
+                                        request.setRequestId(snapshot.getKey());
+                                        sessions.add(request);
+                                    }
+                                }
+                                return sessions;
                             }
-                        }
-                        listener.onRequestsLoaded(sessions);
-                    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener. onError(error.getMessage());
-                    }
-                });
+                            @Override
+                            protected void onDecoded(List<SessionRequest> sessions) {
+                                listener.onRequestsLoaded(sessions);
+                            }
+
+                            @Override
+                            public void onCancelled(DatabaseError error) {
+                                listener. onError(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onError(error);
+            }
+        });
     }
 
 
     public void updateRequestStatus(String requestId, String status, String zoomLink,
                                     OnCompleteListener listener) {
-        sessionRequestsRef.child(requestId).child("status").setValue(status)
-                .addOnSuccessListener(aVoid -> {
+        // The timeline copy lives under the requesting user, so look that up before writing both
+        sessionRequestsRef.child(requestId).child("userId").get()
+                .addOnSuccessListener(snapshot -> {
+                    String userId = snapshot.getValue(String.class);
+                    Map<String, Object> updates = new HashMap<>();
+                    UserTimelines.putField(updates, NODE, userId, requestId, "status", status);
                     if (zoomLink != null && !zoomLink.isEmpty()) {
-                        sessionRequestsRef. child(requestId).child("zoomLink").setValue(zoomLink)
-                                .addOnSuccessListener(aVoid2 -> {
-                                    sessionRequestsRef.child(requestId).child("updatedAt")
-                                            .setValue(System. currentTimeMillis());
-                                    listener.onSuccess();
-                                })
-                                . addOnFailureListener(e -> listener.onError(e.getMessage()));
-                    } else {
-                        sessionRequestsRef.child(requestId).child("updatedAt")
-                                .setValue(System.currentTimeMillis());
-                        listener.onSuccess();
+                        UserTimelines.putField(updates, NODE, userId, requestId, "zoomLink", zoomLink);
                     }
+                    UserTimelines.putField(updates, NODE, userId, requestId, "updatedAt", System.currentTimeMillis());
+
+                    rootRef.updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> listener.onSuccess())
+                            .addOnFailureListener(e -> listener.onError(e.getMessage()));
                 })
                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
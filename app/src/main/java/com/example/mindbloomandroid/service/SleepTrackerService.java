@@ -7,15 +7,26 @@ import com.google.firebase.database.DatabaseReference;
 import com. google.firebase.database.FirebaseDatabase;
 import com.google. firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.SleepEntry;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SleepTrackerService {
+    private static final String NODE = "sleep_entries";
+
+    private DatabaseReference rootRef;
     private DatabaseReference sleepEntriesRef;
+    private QueryCache queryCache;
+    private ListenerRegistry listenerRegistry;
 
     public SleepTrackerService() {
-        sleepEntriesRef = FirebaseDatabase.getInstance().getReference("sleep_entries");
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        sleepEntriesRef = FirebaseDatabase.getInstance().getReference(NODE);
+        queryCache = QueryCache.getInstance();
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -25,82 +36,154 @@ public class SleepTrackerService {
             entry.setSleepEntryId(entryId);
             entry.setCreatedAt(System.currentTimeMillis());
 
-            android.util.Log.d("SleepService", "📝 Saving sleep entry - ID: " + entryId + ", Duration: " + entry.getSleepDurationHours() + " hrs, UserID: " + entry.getUserId());
+            if (AppLog.ENABLED) {
+                AppLog.d("SleepService", "📝 Saving sleep entry - ID: " + entryId + ", Duration: " + entry.getSleepDurationHours() + " hrs, UserID: " + entry.getUserId());
+            }
+
+            // The entry and its rollup increments land in one atomic multi-path update
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, entry.getUserId(), entryId, entry.toMap());
+            RollupService.addSleepIncrements(updates, entry, 1);
 
-            sleepEntriesRef.child(entryId).setValue(entry)
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("SleepService", "✅ Sleep entry saved successfully - ID: " + entryId);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("SleepService", "✅ Sleep entry saved successfully - ID: " + entryId);
+                        }
                         listener.onSuccess();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("SleepService", "❌ Failed to save sleep entry: " + e.getMessage());
+                        AppLog.e("SleepService", "❌ Failed to save sleep entry: " + e.getMessage());
                         listener.onError(e.getMessage());
                     });
         } else {
-            android.util.Log.e("SleepService", "❌ Failed to generate sleep entry ID");
+            AppLog.e("SleepService", "❌ Failed to generate sleep entry ID");
             listener.onError("Failed to generate sleep entry ID");
         }
     }
 
-    public void getUserSleepEntries(String userId, OnSleepEntriesLoadedListener listener) {
-        android.util.Log.d("SleepService", "📖 Loading sleep entries for user: " + userId);
+    public ListenerRegistry.Subscription getUserSleepEntries(String userId, OnSleepEntriesLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("SleepService", "📖 Loading sleep entries for user: " + userId);
+        }
 
-        // Use addValueEventListener for REAL-TIME updates (not addListenerForSingleValueEvent)
-        sleepEntriesRef.orderByChild("userId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<SleepEntry> entries = new ArrayList<>();
-                        android.util.Log.d("SleepService", "📥 Received " + dataSnapshot.getChildrenCount() + " sleep entries (REAL-TIME)");
-
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            SleepEntry entry = snapshot.getValue(SleepEntry.class);
-                            if (entry != null) {
-                                entry.setSleepEntryId(snapshot.getKey());
-                                entries.add(entry);
-                            }
+        // Render the last known list straight away unless a live query will replay its own
+        String cacheKey = QueryCache.key(NODE, userId, QueryCache.RANGE_ALL);
+        List<SleepEntry> cached = listenerRegistry.hasResult(cacheKey) ? null : queryCache.get(cacheKey);
+        if (cached != null) {
+            listener.onSleepEntriesLoaded(cached);
+        }
+
+        // Older entries are copied into the timeline once; they arrive through the listener below
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        DatabaseReference timelineRef = UserTimelines.syncedRef(NODE, userId);
+
+        return listenerRegistry.observe(cacheKey, timelineRef,
+                dataSnapshot -> {
+                    List<SleepEntry> entries = new ArrayList<>();
+                    if (AppLog.ENABLED) {
+                        AppLog.d("SleepService", "📥 Received " + dataSnapshot.getChildrenCount() + " sleep entries (REAL-TIME)");
+                    }
+
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        SleepEntry entry = SleepEntry.fromSnapshot(snapshot);
+                        if (entry != null) {
+                            entry.setSleepEntryId(snapshot.getKey());
+                            entries.add(entry);
                         }
-                        android.util.Log.d("SleepService", "✅ Loaded " + entries.size() + " sleep entries (REAL-TIME UPDATE)");
-                        listener.onSleepEntriesLoaded(entries);
+                    }
+                    if (AppLog.ENABLED) {
+                        AppLog.d("SleepService", "✅ Loaded " + entries.size() + " sleep entries (REAL-TIME UPDATE)");
+                    }
+                    queryCache.put(cacheKey, entries);
+                    return entries;
+                },
+                new ListenerRegistry.Observer<List<SleepEntry>>() {
+                    @Override
+                    public void onData(List<SleepEntry> entries) {
+                        listener.onSleepEntriesLoaded(new ArrayList<>(entries));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("SleepService", "❌ Error loading sleep entries: " + error.getMessage());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("SleepService", "❌ Error loading sleep entries: " + error);
+                        listener.onError(error);
                     }
                 });
     }
 
 
+    // Incremental mode: child events keep entries sorted (newest night first) at one parse per write
+    public IncrementalListSync<SleepEntry> observeUserSleepEntries(String userId, List<SleepEntry> entries,
+                                                                   IncrementalListSync.OnListChangedListener<SleepEntry> listener) {
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        return new IncrementalListSync<>(
+                UserTimelines.ref(NODE, userId),
+                snapshot -> {
+                    SleepEntry entry = SleepEntry.fromSnapshot(snapshot);
+                    if (entry != null) {
+                        entry.setSleepEntryId(snapshot.getKey());
+                    }
+                    return entry;
+                },
+                (a, b) -> Long.compare(b.getSleepStartTime(), a.getSleepStartTime()),
+                entries,
+                listener).start();
+    }
+
+
     public void getLatestSleepEntry(String userId, OnSleepEntryLoadedListener listener) {
-        sleepEntriesRef. orderByChild("userId").equalTo(userId)
-                .limitToLast(1)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            SleepEntry entry = snapshot.getValue(SleepEntry.class);
-                            if (entry != null) {
-                                entry.setSleepEntryId(snapshot.getKey());
-                                listener.onSleepEntryLoaded(entry);
-                                return;
+        // A one-shot read would miss older entries if it ran before they were copied over
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                // Push keys sort by creation time, so the last key is the newest entry
+                UserTimelines.ref(NODE, userId).orderByKey()
+                        .limitToLast(1)
+                        .addListenerForSingleValueEvent(new ValueEventListener() {
+                            @Override
+                            public void onDataChange(DataSnapshot dataSnapshot) {
+                                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                                    SleepEntry entry = SleepEntry.fromSnapshot(snapshot);
+                                    if (entry != null) {
+                                        entry.setSleepEntryId(snapshot.getKey());
+                                        listener.onSleepEntryLoaded(entry);
+                                        return;
+                                    }
+                                }
+                                listener.onError("No sleep entry found");
                             }
-                        }
-                        listener.onError("No sleep entry found");
-                    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
-                    }
-                });
+                            @Override
+                            public void onCancelled(DatabaseError error) {
+                                listener.onError(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onError(error);
+            }
+        });
     }
 
 
     public void deleteSleepEntry(String entryId, OnCompleteListener listener) {
-        sleepEntriesRef.child(entryId).removeValue()
-                .addOnSuccessListener(aVoid -> listener.onSuccess())
+        // Read the entry first so its rollup contribution and timeline copy go in the same update
+        sleepEntriesRef.child(entryId).get()
+                .addOnSuccessListener(snapshot -> {
+                    Map<String, Object> updates = new HashMap<>();
+                    SleepEntry entry = SleepEntry.fromSnapshot(snapshot);
+                    UserTimelines.putRecord(updates, NODE, entry != null ? entry.getUserId() : null, entryId, null);
+                    if (entry != null) {
+                        RollupService.addSleepIncrements(updates, entry, -1);
+                    }
+
+                    rootRef.updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> listener.onSuccess())
+                            .addOnFailureListener(e -> listener.onError(e.getMessage()));
+                })
                 .addOnFailureListener(e -> listener.onError(e. getMessage()));
     }
 
@@ -9,15 +9,26 @@ import com.google.firebase.database.FirebaseDatabase;
 import com.google.firebase.database.Query;
 import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.StressAssessment;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class StressService {
+    private static final String NODE = "stress_assessments";
+
+    private DatabaseReference rootRef;
     private DatabaseReference stressRef;
+    private QueryCache queryCache;
+    private ListenerRegistry listenerRegistry;
 
     public StressService() {
-        stressRef = FirebaseDatabase.getInstance().getReference("stress_assessments");
+        rootRef = FirebaseDatabase.getInstance().getReference();
+        stressRef = FirebaseDatabase.getInstance().getReference(NODE);
+        queryCache = QueryCache.getInstance();
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -28,107 +39,168 @@ public class StressService {
             assessment.setAssessmentDate(System.currentTimeMillis());
             assessment.calculateStressScore();
 
-            android.util.Log.d("StressService", "📝 Saving stress assessment:");
-            android.util.Log.d("StressService", "   ID: " + assessmentId);
-            android.util.Log.d("StressService", "   UserID: " + assessment.getUserId());
-            android.util.Log.d("StressService", "   Score: " + assessment.getStressScore());
-            android.util.Log.d("StressService", "   Level: " + assessment.getStressLevel());
-            android.util.Log.d("StressService", "   Date: " + assessment.getAssessmentDate());
-
-            stressRef.child(assessmentId).setValue(assessment)
+            if (AppLog.ENABLED) {
+                AppLog.d("StressService", "📝 Saving stress assessment:");
+                AppLog.d("StressService", "   ID: " + assessmentId);
+                AppLog.d("StressService", "   UserID: " + assessment.getUserId());
+                AppLog.d("StressService", "   Score: " + assessment.getStressScore());
+                AppLog.d("StressService", "   Level: " + assessment.getStressLevel());
+                AppLog.d("StressService", "   Date: " + assessment.getAssessmentDate());
+            }
+
+            // The assessment and its rollup increments land in one atomic multi-path update
+            Map<String, Object> updates = new HashMap<>();
+            UserTimelines.putRecord(updates, NODE, assessment.getUserId(), assessmentId, assessment.toMap());
+            RollupService.addStressIncrements(updates, assessment, 1);
+
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("StressService", "✅ Stress assessment saved successfully");
-                        android.util.Log.d("StressService", "📍 Saved at path: stress_assessments/" + assessmentId);
-                        android.util.Log.d("StressService", "💡 To load: query stress_assessments where userId='" + assessment.getUserId() + "'");
+                        if (AppLog.ENABLED) {
+                            AppLog.d("StressService", "✅ Stress assessment saved successfully");
+                            AppLog.d("StressService", "📍 Saved at path: timelines/stress_assessments/" + assessment.getUserId() + "/" + assessmentId);
+                        }
                         listener.onSuccess();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("StressService", "❌ Failed to save stress assessment: " + e.getMessage());
+                        AppLog.e("StressService", "❌ Failed to save stress assessment: " + e.getMessage());
                         listener.onError(e.getMessage());
                     });
         } else {
-            android.util.Log.e("StressService", "❌ Failed to generate assessment ID");
+            AppLog.e("StressService", "❌ Failed to generate assessment ID");
             listener.onError("Failed to generate assessment ID");
         }
     }
 
 
-    public void getUserStressAssessments(String userId, OnAssessmentsLoadedListener listener) {
-        android.util.Log.d("StressService", "📖 Loading stress assessments for user: " + userId);
-        android.util.Log.d("StressService", "📍 Querying: stress_assessments.orderByChild('userId').equalTo('" + userId + "')");
+    public ListenerRegistry.Subscription getUserStressAssessments(String userId, OnAssessmentsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("StressService", "📖 Loading stress assessments for user: " + userId);
+            AppLog.d("StressService", "📍 Reading: timelines/stress_assessments/" + userId);
+        }
 
-        // Use addValueEventListener for REAL-TIME updates (not addListenerForSingleValueEvent)
-        stressRef.orderByChild("userId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<StressAssessment> assessments = new ArrayList<>();
-                        android.util.Log.d("StressService", "📥 Received " + dataSnapshot.getChildrenCount() + " assessments from Firebase (REAL-TIME)");
-
-                        int successCount = 0;
-                        int nullCount = 0;
-
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            android.util.Log.d("StressService", "   🔍 Processing assessment ID: " + snapshot.getKey());
-
-                            StressAssessment assessment = snapshot.getValue(StressAssessment.class);
-                            if (assessment != null) {
-                                assessment.setAssessmentId(snapshot.getKey());
-                                assessments.add(assessment);
-                                successCount++;
-                                android.util.Log.d("StressService", "   ✅ Loaded: Score=" + assessment.getStressScore() + ", Level=" + assessment.getStressLevel());
-                            } else {
-                                nullCount++;
-                                android.util.Log.w("StressService", "   ⚠️ Null assessment at: " + snapshot.getKey());
-                            }
-                        }
+        // Render the last known list straight away unless a live query will replay its own
+        String cacheKey = QueryCache.key(NODE, userId, QueryCache.RANGE_ALL);
+        List<StressAssessment> cached = listenerRegistry.hasResult(cacheKey) ? null : queryCache.get(cacheKey);
+        if (cached != null) {
+            listener.onAssessmentsLoaded(cached);
+        }
 
-                        android.util.Log.d("StressService", "✅ Successfully loaded " + successCount + " stress assessments (REAL-TIME UPDATE)");
-                        if (nullCount > 0) {
-                            android.util.Log.w("StressService", "⚠️ " + nullCount + " entries were null (data structure issue?)");
+        // Older assessments are copied into the timeline once; they arrive through the listener below
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        DatabaseReference timelineRef = UserTimelines.syncedRef(NODE, userId);
+
+        return listenerRegistry.observe(cacheKey, timelineRef,
+                dataSnapshot -> {
+                    List<StressAssessment> assessments = new ArrayList<>();
+                    if (AppLog.ENABLED) {
+                        AppLog.d("StressService", "📥 Received " + dataSnapshot.getChildrenCount() + " assessments from Firebase (REAL-TIME)");
+                    }
+
+                    int successCount = 0;
+                    int nullCount = 0;
+
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        if (AppLog.ENABLED) {
+                            AppLog.d("StressService", "   🔍 Processing assessment ID: " + snapshot.getKey());
                         }
 
-                        if (assessments.isEmpty()) {
-                            android.util.Log.i("StressService", "ℹ️ No stress assessments found for userId: " + userId);
-                            android.util.Log.i("StressService", "💡 Check Firebase Console: Does stress_assessments have entries with userId='" + userId + "'?");
+                        StressAssessment assessment = StressAssessment.fromSnapshot(snapshot);
+                        if (assessment != null) {
+                            assessment.setAssessmentId(snapshot.getKey());
+                            assessments.add(assessment);
+                            successCount++;
+                            if (AppLog.ENABLED) {
+                                AppLog.d("StressService", "   ✅ Loaded: Score=" + assessment.getStressScore() + ", Level=" + assessment.getStressLevel());
+                            }
+                        } else {
+                            nullCount++;
+                            AppLog.w("StressService", "   ⚠️ Null assessment at: " + snapshot.getKey());
                         }
+                    }
 
-                        listener.onAssessmentsLoaded(assessments);
+                    if (AppLog.ENABLED) {
+                        AppLog.d("StressService", "✅ Successfully loaded " + successCount + " stress assessments (REAL-TIME UPDATE)");
+                    }
+                    if (nullCount > 0) {
+                        AppLog.w("StressService", "⚠️ " + nullCount + " entries were null (data structure issue?)");
+                    }
+
+                    if (AppLog.ENABLED && assessments.isEmpty()) {
+                        AppLog.i("StressService", "ℹ️ No stress assessments found for userId: " + userId);
+                        AppLog.i("StressService", "💡 Check Firebase Console: Does timelines/stress_assessments/" + userId + " have entries?");
+                    }
+
+                    queryCache.put(cacheKey, assessments);
+                    return assessments;
+                },
+                new ListenerRegistry.Observer<List<StressAssessment>>() {
+                    @Override
+                    public void onData(List<StressAssessment> assessments) {
+                        listener.onAssessmentsLoaded(new ArrayList<>(assessments));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("StressService", "❌ Error loading stress assessments: " + error.getMessage());
-                        android.util.Log.e("StressService", "❌ Error code: " + error.getCode());
-                        android.util.Log.e("StressService", "❌ Error details: " + error.getDetails());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("StressService", "❌ Error loading stress assessments: " + error);
+                        listener.onError(error);
                     }
                 });
     }
 
 
+    // Incremental mode: child events keep assessments sorted (newest first) at one parse per write
+    public IncrementalListSync<StressAssessment> observeUserStressAssessments(String userId, List<StressAssessment> assessments,
+                                                                              IncrementalListSync.OnListChangedListener<StressAssessment> listener) {
+        UserTimelines.getInstance().ensureMigrated(userId, null);
+        return new IncrementalListSync<>(
+                UserTimelines.ref(NODE, userId),
+                snapshot -> {
+                    StressAssessment assessment = StressAssessment.fromSnapshot(snapshot);
+                    if (assessment != null) {
+                        assessment.setAssessmentId(snapshot.getKey());
+                    }
+                    return assessment;
+                },
+                (a, b) -> Long.compare(b.getAssessmentDate(), a.getAssessmentDate()),
+                assessments,
+                listener).start();
+    }
+
+
     public void getLatestAssessment(String userId, OnAssessmentLoadedListener listener) {
-        stressRef.orderByChild("userId").equalTo(userId)
-                .limitToLast(1)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            StressAssessment assessment = snapshot.getValue(StressAssessment.class);
-                            if (assessment != null) {
-                                assessment.setAssessmentId(snapshot.getKey());
-                                listener.onAssessmentLoaded(assessment);
-                                return;
+        // A one-shot read would miss older assessments if it ran before they were copied over
+        UserTimelines.getInstance().ensureMigrated(userId, new UserTimelines.OnMigratedListener() {
+            @Override
+            public void onMigrated() {
+                // Push keys sort by creation time, so the last key is the newest assessment
+                UserTimelines.ref(NODE, userId).orderByKey()
+                        .limitToLast(1)
+                        .addListenerForSingleValueEvent(new ValueEventListener() {
+                            @Override
+                            public void onDataChange(DataSnapshot dataSnapshot) {
+                                for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                                    StressAssessment assessment = StressAssessment.fromSnapshot(snapshot);
+                                    if (assessment != null) {
+                                        assessment.setAssessmentId(snapshot.getKey());
+                                        listener.onAssessmentLoaded(assessment);
+                                        return;
+                                    }
+                                }
+                                listener.onError("No assessment found");
                             }
-                        }
-                        listener.onError("No assessment found");
-                    }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        listener.onError(error.getMessage());
-                    }
-                });
+                            @Override
+                            public void onCancelled(DatabaseError error) {
+                                listener.onError(error.getMessage());
+                            }
+                        });
+            }
+
+            @Override
+            public void onError(String error) {
+                listener.onError(error);
+            }
+        });
     }
 
 
@@ -168,8 +240,20 @@ public class StressService {
             return;
         }
         
-        stressRef.child(assessmentId).removeValue()
-            .addOnSuccessListener(aVoid -> listener.onSuccess())
+        // Read the assessment first so its rollup contribution and timeline copy go in the same update
+        stressRef.child(assessmentId).get()
+            .addOnSuccessListener(snapshot -> {
+                Map<String, Object> updates = new HashMap<>();
+                StressAssessment assessment = StressAssessment.fromSnapshot(snapshot);
+                UserTimelines.putRecord(updates, NODE, assessment != null ? assessment.getUserId() : null, assessmentId, null);
+                if (assessment != null) {
+                    RollupService.addStressIncrements(updates, assessment, -1);
+                }
+
+                rootRef.updateChildren(updates)
+                    .addOnSuccessListener(aVoid -> listener.onSuccess())
+                    .addOnFailureListener(e -> listener.onError(e.getMessage()));
+            })
             .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
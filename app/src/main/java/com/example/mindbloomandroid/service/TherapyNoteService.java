@@ -6,8 +6,9 @@ import com.google.firebase.database. DataSnapshot;
 import com.google.firebase.database.DatabaseError;
 import com.google.firebase. database.DatabaseReference;
 import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
 import com.example.mindbloomandroid.model.TherapyNote;
+import com.example.mindbloomandroid.stream.DataStream;
+import com.example.mindbloomandroid.utility.AppLog;
 
 import java. util.ArrayList;
 import java. util.List;
@@ -27,7 +28,7 @@ public class TherapyNoteService {
             note.setCreatedAt(System.currentTimeMillis());
             note.setUpdatedAt(System. currentTimeMillis());
 
-            therapyNotesRef.child(noteId).setValue(note)
+            therapyNotesRef.child(noteId).setValue(note.toMap())
                     .addOnSuccessListener(aVoid -> listener.onSuccess())
                     .addOnFailureListener(e -> listener.onError(e.getMessage()));
         } else {
@@ -37,51 +38,57 @@ public class TherapyNoteService {
 
 
 
-    public void getClientNotes(String clientId, String instructorId, OnNotesLoadedListener listener) {
-        android.util.Log.d("TherapyNoteService", "📖 Loading notes for client: " + clientId + ", instructor: " + instructorId);
+    public DataStream<List<TherapyNote>> clientNotes(String clientId, String instructorId) {
+        if (AppLog.ENABLED) {
+            AppLog.d("TherapyNoteService", "📖 Loading notes for client: " + clientId + ", instructor: " + instructorId);
+        }
 
-        therapyNotesRef.orderByChild("clientId").equalTo(clientId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        android.util.Log.d("TherapyNoteService", "📥 Received " + dataSnapshot.getChildrenCount() + " notes from Firebase");
+        // The decoder filters by instructor, so the instructor qualifies the key ("therapy_notes.by_client" in metrics)
+        return QueryStreams.live(QueryCache.key("therapy_notes", clientId, "by_client:" + instructorId),
+                therapyNotesRef.orderByChild("clientId").equalTo(clientId),
+                dataSnapshot -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapyNoteService", "📥 Received " + dataSnapshot.getChildrenCount() + " notes from Firebase");
+                    }
 
-                        List<TherapyNote> notes = new ArrayList<>();
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            TherapyNote note = snapshot.getValue(TherapyNote.class);
-                            if (note != null && instructorId.equals(note.getInstructorId())) {
-                                note.setNoteId(snapshot.getKey());
-                                notes.add(note);
-                                android.util.Log.d("TherapyNoteService", "   ✅ Loaded note: " + note.getNoteId() + " - " + note.getSessionType());
+                    List<TherapyNote> notes = new ArrayList<>();
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        TherapyNote note = TherapyNote.fromSnapshot(snapshot);
+                        if (note != null && instructorId.equals(note.getInstructorId())) {
+                            note.setNoteId(snapshot.getKey());
+                            notes.add(note);
+                            if (AppLog.ENABLED) {
+                                AppLog.d("TherapyNoteService", "   ✅ Loaded note: " + note.getNoteId() + " - " + note.getSessionType());
                             }
                         }
-
-                        android.util.Log.d("TherapyNoteService", "✅ Total notes loaded: " + notes.size() + " (REAL-TIME)");
-                        listener.onNotesLoaded(notes);
                     }
 
-                    @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("TherapyNoteService", "❌ Error loading notes: " + error.getMessage());
-                        listener.onError(error.getMessage());
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapyNoteService", "✅ Total notes loaded: " + notes.size() + " (REAL-TIME)");
                     }
+                    return notes;
                 });
     }
 
 
     public void getInstructorNotes(String instructorId, OnNotesLoadedListener listener) {
         therapyNotesRef.orderByChild("instructorId").equalTo(instructorId)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
+                .addListenerForSingleValueEvent(new DecodingValueListener<List<TherapyNote>>("therapy_notes.by_instructor") {
                     @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
+                    protected List<TherapyNote> decode(DataSnapshot dataSnapshot) {
                         List<TherapyNote> notes = new ArrayList<>();
                         for (DataSnapshot snapshot :  dataSnapshot.getChildren()) {
-                            TherapyNote note = snapshot.getValue(TherapyNote.class);
+                            TherapyNote note = TherapyNote.fromSnapshot(snapshot);
                             if (note != null) {
                                 note.setNoteId(snapshot.getKey());
                                 notes.add(note);
                             }
                         }
+                        return notes;
+                    }
+
+                    @Override
+                    protected void onDecoded(List<TherapyNote> notes) {
                         listener.onNotesLoaded(notes);
                     }
 
@@ -97,7 +104,7 @@ public class TherapyNoteService {
         if (note.getNoteId() != null) {
             note.setUpdatedAt(System. currentTimeMillis());
 
-            therapyNotesRef.child(note.getNoteId()).setValue(note)
+            therapyNotesRef.child(note.getNoteId()).setValue(note.toMap())
                     .addOnSuccessListener(aVoid -> listener.onSuccess())
                     .addOnFailureListener(e -> listener.onError(e.getMessage()));
         } else {
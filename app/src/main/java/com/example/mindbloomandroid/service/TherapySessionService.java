@@ -7,16 +7,33 @@ import com.google.firebase.database. DatabaseError;
 import com.google.firebase.database.DatabaseReference;
 import com.google.firebase. database.FirebaseDatabase;
 import com.google.firebase.database. ValueEventListener;
+import com.google.firebase.database.Query;
+import com.google.firebase.database.ServerValue;
 import com. example.mindbloomandroid.model.TherapySession;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import com.example.mindbloomandroid.utility.AppLog;
 
 public class TherapySessionService {
+    // sessions_by_instructor/{instructorId}/sessions/{sessionId} mirrors therapy_sessions, so a
+    // date window is one orderByChild("sessionDate") range query instead of the whole history
+    public static final String INSTRUCTOR_INDEX = "sessions_by_instructor";
+    private static final String INDEX_SESSIONS = "sessions";
+    private static final String INDEX_BUILT_AT = "builtAt";
+
+    private DatabaseReference rootRef;
     private DatabaseReference therapySessionsRef;
+    private DatabaseReference instructorIndexRef;
+    private ListenerRegistry listenerRegistry;
 
     public TherapySessionService() {
+        rootRef = FirebaseDatabase.getInstance().getReference();
         therapySessionsRef = FirebaseDatabase.getInstance().getReference("therapy_sessions");
+        instructorIndexRef = FirebaseDatabase.getInstance().getReference(INSTRUCTOR_INDEX);
+        listenerRegistry = ListenerRegistry.getInstance();
     }
 
 
@@ -26,61 +43,81 @@ public class TherapySessionService {
             session.setSessionId(sessionId);
             session.setCreatedAt(System.currentTimeMillis());
 
-            android.util.Log.d("TherapySessionService", "💾 Creating therapy session...");
-            android.util.Log.d("TherapySessionService", "   Session ID: " + sessionId);
-            android.util.Log.d("TherapySessionService", "   Client: " + session.getClientName());
-            android.util.Log.d("TherapySessionService", "   Instructor ID: " + session.getInstructorId());
-            android.util.Log.d("TherapySessionService", "   Zoom Link: " + (session.getZoomLink() != null ? session.getZoomLink() : "NULL"));
-            android.util.Log.d("TherapySessionService", "   Status: " + session.getStatus());
-            android.util.Log.d("TherapySessionService", "   Date: " + new java.util.Date(session.getSessionDate()));
-
-            therapySessionsRef.child(sessionId).setValue(session)
+            if (AppLog.ENABLED) {
+                AppLog.d("TherapySessionService", "💾 Creating therapy session...");
+                AppLog.d("TherapySessionService", "   Session ID: " + sessionId);
+                AppLog.d("TherapySessionService", "   Client: " + session.getClientName());
+                AppLog.d("TherapySessionService", "   Instructor ID: " + session.getInstructorId());
+                AppLog.d("TherapySessionService", "   Zoom Link: " + (session.getZoomLink() != null ? session.getZoomLink() : "NULL"));
+                AppLog.d("TherapySessionService", "   Status: " + session.getStatus());
+                AppLog.d("TherapySessionService", "   Date: " + new java.util.Date(session.getSessionDate()));
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            Map<String, Object> record = session.toMap();
+            updates.put("therapy_sessions/" + sessionId, record);
+            updates.put(indexPath(session.getInstructorId(), sessionId), record);
+
+            rootRef.updateChildren(updates)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("TherapySessionService", "✅ Therapy session created successfully!");
+                        AppLog.d("TherapySessionService", "✅ Therapy session created successfully!");
+                        WeekScheduleCache.getInstance().invalidateInstructor(session.getInstructorId());
                         listener.onSuccess();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("TherapySessionService", "❌ Failed to create session: " + e.getMessage());
+                        AppLog.e("TherapySessionService", "❌ Failed to create session: " + e.getMessage());
                         listener.onError(e.getMessage());
                     });
         } else {
-            android.util.Log.e("TherapySessionService", "❌ Failed to generate session ID");
+            AppLog.e("TherapySessionService", "❌ Failed to generate session ID");
             listener.onError("Failed to generate session ID");
         }
     }
 
-    public void getScheduledSessionsForUser(String userId, OnSessionsLoadedListener listener) {
-        android.util.Log.d("TherapySessionService", "📖 Loading scheduled sessions for user: " + userId);
+    public ListenerRegistry.Subscription getScheduledSessionsForUser(String userId, OnSessionsLoadedListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("TherapySessionService", "📖 Loading scheduled sessions for user: " + userId);
+        }
 
-        // Use addValueEventListener for REAL-TIME updates
-        therapySessionsRef.orderByChild("clientId").equalTo(userId)
-                .addValueEventListener(new ValueEventListener() {
-                    @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<TherapySession> sessions = new ArrayList<>();
-                        long currentTime = System.currentTimeMillis();
+        // Shared by every screen showing this client's schedule
+        return listenerRegistry.observe(QueryCache.key("therapy_sessions", userId, "scheduled"),
+                therapySessionsRef.orderByChild("clientId").equalTo(userId),
+                dataSnapshot -> {
+                    List<TherapySession> sessions = new ArrayList<>();
+                    long currentTime = System.currentTimeMillis();
 
-                        android.util.Log.d("TherapySessionService", "📥 Received " + dataSnapshot.getChildrenCount() + " therapy sessions (REAL-TIME)");
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapySessionService", "📥 Received " + dataSnapshot.getChildrenCount() + " therapy sessions (REAL-TIME)");
+                    }
 
-                        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            TherapySession session = snapshot.getValue(TherapySession.class);
-                            if (session != null &&
-                                    "SCHEDULED".equals(session.getStatus()) &&
-                                    session.getSessionDate() >= currentTime) {
-                                session.setSessionId(snapshot.getKey());
-                                sessions.add(session);
-                                android.util.Log.d("TherapySessionService", "   ✅ Session ID: " + snapshot.getKey() + ", Zoom: " + (session.getZoomLink() != null ? "YES" : "NO"));
+                    for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+                        TherapySession session = TherapySession.fromSnapshot(snapshot);
+                        if (session != null &&
+                                "SCHEDULED".equals(session.getStatus()) &&
+                                session.getSessionDate() >= currentTime) {
+                            session.setSessionId(snapshot.getKey());
+                            sessions.add(session);
+                            if (AppLog.ENABLED) {
+                                AppLog.d("TherapySessionService", "   ✅ Session ID: " + snapshot.getKey() + ", Zoom: " + (session.getZoomLink() != null ? "YES" : "NO"));
                             }
                         }
+                    }
 
-                        android.util.Log.d("TherapySessionService", "✅ Loaded " + sessions.size() + " scheduled sessions (REAL-TIME UPDATE)");
-                        listener.onSessionsLoaded(sessions);
+                    if (AppLog.ENABLED) {
+                        AppLog.d("TherapySessionService", "✅ Loaded " + sessions.size() + " scheduled sessions (REAL-TIME UPDATE)");
+                    }
+                    return sessions;
+                },
+                new ListenerRegistry.Observer<List<TherapySession>>() {
+                    @Override
+                    public void onData(List<TherapySession> sessions) {
+                        listener.onSessionsLoaded(new ArrayList<>(sessions));
                     }
 
                     @Override
-                    public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("TherapySessionService", "❌ Error loading sessions: " + error.getMessage());
-                        listener.onError(error.getMessage());
+                    public void onError(String error) {
+                        AppLog.e("TherapySessionService", "❌ Error loading sessions: " + error);
+                        listener.onError(error);
                     }
                 });
     }
@@ -88,14 +125,14 @@ public class TherapySessionService {
 
     public void getScheduledSessionsForInstructor(String instructorId, OnSessionsLoadedListener listener) {
         therapySessionsRef.orderByChild("instructorId").equalTo(instructorId)
-                .addListenerForSingleValueEvent(new ValueEventListener() {
+                .addListenerForSingleValueEvent(new DecodingValueListener<List<TherapySession>>("therapy_sessions.by_instructor") {
                     @Override
-                    public void onDataChange(DataSnapshot dataSnapshot) {
+                    protected List<TherapySession> decode(DataSnapshot dataSnapshot) {
                         List<TherapySession> sessions = new ArrayList<>();
                         long currentTime = System.currentTimeMillis();
 
                         for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            TherapySession session = snapshot.getValue(TherapySession.class);
+                            TherapySession session = TherapySession.fromSnapshot(snapshot);
                             if (session != null &&
                                     "SCHEDULED".equals(session.getStatus()) &&
                                     session.getSessionDate() >= currentTime) {
@@ -103,6 +140,11 @@ public class TherapySessionService {
                                 sessions.add(session);
                             }
                         }
+                        return sessions;
+                    }
+
+                    @Override
+                    protected void onDecoded(List<TherapySession> sessions) {
                         listener.onSessionsLoaded(sessions);
                     }
 
@@ -115,48 +157,164 @@ public class TherapySessionService {
 
 
     public void getInstructorWeeklySessions(String instructorId, long weekStartTime, OnSessionsLoadedListener listener) {
-        android.util.Log.d("TherapySessionService", "📅 Loading weekly sessions for instructor: " + instructorId);
-        android.util.Log.d("TherapySessionService", "   Week start: " + new java.util.Date(weekStartTime));
+        if (AppLog.ENABLED) {
+            AppLog.d("TherapySessionService", "📅 Loading weekly sessions for instructor: " + instructorId);
+            AppLog.d("TherapySessionService", "   Week start: " + new java.util.Date(weekStartTime));
+        }
+
+        getInstructorSessionsInRange(instructorId, weekStartTime, WeekScheduleCache.shiftWeeks(weekStartTime, 1), new OnSessionsLoadedListener() {
+            @Override
+            public void onSessionsLoaded(List<TherapySession> sessions) {
+                List<TherapySession> scheduled = new ArrayList<>();
+                for (TherapySession session : sessions) {
+                    if ("SCHEDULED".equals(session.getStatus())) {
+                        scheduled.add(session);
+                    }
+                }
+                if (AppLog.ENABLED) {
+                    AppLog.d("TherapySessionService", "✅ Loaded " + scheduled.size() + " weekly sessions");
+                }
+                listener.onSessionsLoaded(scheduled);
+            }
+
+            @Override
+            public void onError(String error) {
+                AppLog.e("TherapySessionService", "❌ Error: " + error);
+                listener.onError(error);
+            }
+        });
+    }
+
+
+    // Sessions of any status with startTime <= sessionDate < endTime, oldest first
+    public void getInstructorSessionsInRange(String instructorId, long startTime, long endTime, OnSessionsLoadedListener listener) {
+        new ParallelLoader("instructor_index")
+                .add(INDEX_BUILT_AT, instructorIndexRef.child(instructorId).child(INDEX_BUILT_AT))
+                .add(INDEX_SESSIONS, rangeQuery(instructorId, startTime, endTime))
+                .load(results -> {
+                    DataSnapshot built = results.get(INDEX_BUILT_AT);
+                    DataSnapshot range = results.get(INDEX_SESSIONS);
+                    if (built == null || range == null) {
+                        listener.onError(results.getErrors().values().iterator().next());
+                        return;
+                    }
+                    if (built.exists()) {
+                        listener.onSessionsLoaded(parseSessions(range));
+                        return;
+                    }
+
+                    // Instructors with sessions from before the index existed get it built once
+                    rebuildInstructorIndex(instructorId, new OnCompleteListener() {
+                        @Override
+                        public void onSuccess() {
+                            rangeQuery(instructorId, startTime, endTime)
+                                    .addListenerForSingleValueEvent(new DecodingValueListener<List<TherapySession>>("instructor_index.sessions") {
+                                        @Override
+                                        protected List<TherapySession> decode(DataSnapshot dataSnapshot) {
+                                            return parseSessions(dataSnapshot);
+                                        }
+
+                                        @Override
+                                        protected void onDecoded(List<TherapySession> sessions) {
+                                            listener.onSessionsLoaded(sessions);
+                                        }
+
+                                        @Override
+                                        public void onCancelled(DatabaseError error) {
+                                            listener.onError(error.getMessage());
+                                        }
+                                    });
+                        }
+
+                        @Override
+                        public void onError(String error) {
+                            listener.onError(error);
+                        }
+                    });
+                });
+    }
+
+    // Needs ".indexOn": "sessionDate" on sessions_by_instructor/$instructorId/sessions, or the whole node is downloaded
+    private Query rangeQuery(String instructorId, long startTime, long endTime) {
+        return instructorIndexRef.child(instructorId).child(INDEX_SESSIONS)
+                .orderByChild("sessionDate")
+                .startAt(startTime)
+                .endBefore(endTime);
+    }
+
+    private static List<TherapySession> parseSessions(DataSnapshot dataSnapshot) {
+        List<TherapySession> sessions = new ArrayList<>();
+        for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
+            TherapySession session = TherapySession.fromSnapshot(snapshot);
+            if (session != null) {
+                session.setSessionId(snapshot.getKey());
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+
+    // Copies every existing session of the instructor into the index and marks it built
+    public void rebuildInstructorIndex(String instructorId, OnCompleteListener listener) {
+        if (AppLog.ENABLED) {
+            AppLog.d("TherapySessionService", "🔄 Building session index for instructor: " + instructorId);
+        }
 
         therapySessionsRef.orderByChild("instructorId").equalTo(instructorId)
                 .addListenerForSingleValueEvent(new ValueEventListener() {
                     @Override
                     public void onDataChange(DataSnapshot dataSnapshot) {
-                        List<TherapySession> sessions = new ArrayList<>();
-                        long weekEndTime = weekStartTime + (7 * 24 * 60 * 60 * 1000); // Add 7 days
-
-                        android.util.Log.d("TherapySessionService", "📥 Received " + dataSnapshot.getChildrenCount() + " sessions from Firebase");
-
+                        // One path per session rather than replacing the node, so a session created while
+                        // this runs, or a second device rebuilding at the same time, is never overwritten
+                        Map<String, Object> updates = new HashMap<>();
                         for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            TherapySession session = snapshot.getValue(TherapySession.class);
-                            if (session != null &&
-                                    "SCHEDULED".equals(session.getStatus()) &&
-                                    session.getSessionDate() >= weekStartTime &&
-                                    session.getSessionDate() < weekEndTime) {
-                                session.setSessionId(snapshot.getKey());
-                                sessions.add(session);
-
-                                android.util.Log.d("TherapySessionService", "   ✅ Session: " + session.getClientName());
-                                android.util.Log.d("TherapySessionService", "      Zoom Link: " + (session.getZoomLink() != null && !session.getZoomLink().isEmpty() ? session.getZoomLink() : "⚠️ NO ZOOM LINK"));
-                            }
+                            updates.put(indexPath(instructorId, snapshot.getKey()), snapshot.getValue());
                         }
-
-                        android.util.Log.d("TherapySessionService", "✅ Loaded " + sessions.size() + " weekly sessions");
-                        listener.onSessionsLoaded(sessions);
+                        int indexed = updates.size();
+                        updates.put(INSTRUCTOR_INDEX + "/" + instructorId + "/" + INDEX_BUILT_AT, ServerValue.TIMESTAMP);
+
+                        rootRef.updateChildren(updates)
+                                .addOnSuccessListener(aVoid -> {
+                                    if (AppLog.ENABLED) {
+                                        AppLog.d("TherapySessionService", "✅ Indexed " + indexed + " sessions");
+                                    }
+                                    listener.onSuccess();
+                                })
+                                .addOnFailureListener(e -> listener.onError(e.getMessage()));
                     }
 
                     @Override
                     public void onCancelled(DatabaseError error) {
-                        android.util.Log.e("TherapySessionService", "❌ Error: " + error.getMessage());
                         listener.onError(error.getMessage());
                     }
                 });
     }
 
+    private static String indexPath(String instructorId, String sessionId) {
+        return INSTRUCTOR_INDEX + "/" + instructorId + "/" + INDEX_SESSIONS + "/" + sessionId;
+    }
+
 
     public void updateSessionStatus(String sessionId, String status, OnCompleteListener listener) {
-        therapySessionsRef.child(sessionId).child("status").setValue(status)
-                .addOnSuccessListener(aVoid -> listener.onSuccess())
+        // The index copy lives under the instructor, so look that up before writing both
+        therapySessionsRef.child(sessionId).child("instructorId").get()
+                .addOnSuccessListener(snapshot -> {
+                    Map<String, Object> updates = new HashMap<>();
+                    updates.put("therapy_sessions/" + sessionId + "/status", status);
+                    String instructorId = snapshot.getValue(String.class);
+                    if (instructorId != null) {
+                        updates.put(indexPath(instructorId, sessionId) + "/status", status);
+                    }
+                    rootRef.updateChildren(updates)
+                            .addOnSuccessListener(aVoid -> {
+                                if (instructorId != null) {
+                                    WeekScheduleCache.getInstance().invalidateInstructor(instructorId);
+                                }
+                                listener.onSuccess();
+                            })
+                            .addOnFailureListener(e -> listener.onError(e.getMessage()));
+                })
                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
 
@@ -0,0 +1,133 @@
+package com.example.mindbloomandroid.service;
+
+import com.example.mindbloomandroid.utility.SharedPreferencesManager;
+import com.google.firebase.database.FirebaseDatabase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide LRU of display names by user id, so sending a message or building a
+ * notification doesn't have to read users/{id} and then instructors/{id} every time.
+ * Entries expire after TTL_MILLIS so renamed accounts catch up, and concurrent lookups
+ * for the same id share one read.
+ */
+public class UserProfileCache {
+    private static final int MAX_ENTRIES = 256;
+    private static final long TTL_MILLIS = 30 * 60 * 1000L;
+
+    private static UserProfileCache instance;
+
+    private final LinkedHashMap<String, CachedName> entries =
+            new LinkedHashMap<String, CachedName>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedName> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+    private final Map<String, List<OnNameResolvedListener>> pending = new HashMap<>();
+
+    private UserProfileCache() {}
+
+    public static synchronized UserProfileCache getInstance() {
+        if (instance == null) {
+            instance = new UserProfileCache();
+        }
+        return instance;
+    }
+
+    // The signed-in user's own name is already on disk, so it never needs a read
+    public void seed(SharedPreferencesManager prefsManager) {
+        put(prefsManager.getUserId(), prefsManager.getUsername());
+    }
+
+    public synchronized void put(String userId, String name) {
+        if (userId == null || name == null) {
+            return;
+        }
+        entries.put(userId, new CachedName(name, System.currentTimeMillis() + TTL_MILLIS));
+    }
+
+    // Null when the name is unknown or has expired
+    public synchronized String getName(String userId) {
+        CachedName cached = entries.get(userId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt < System.currentTimeMillis()) {
+            entries.remove(userId);
+            return null;
+        }
+        return cached.name;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // Delivers the cached name immediately, otherwise checks users then instructors.
+    // The listener gets null if neither table has the id.
+    public void resolveName(String userId, OnNameResolvedListener listener) {
+        String cached = getName(userId);
+        if (cached != null) {
+            listener.onNameResolved(cached);
+            return;
+        }
+
+        synchronized (this) {
+            List<OnNameResolvedListener> waiting = pending.get(userId);
+            if (waiting != null) {
+                waiting.add(listener);
+                return;
+            }
+            waiting = new ArrayList<>();
+            waiting.add(listener);
+            pending.put(userId, waiting);
+        }
+
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        database.getReference("users").child(userId).child("username").get()
+                .addOnSuccessListener(userSnapshot -> {
+                    String username = userSnapshot.getValue(String.class);
+                    if (username != null) {
+                        complete(userId, username);
+                        return;
+                    }
+                    database.getReference("instructors").child(userId).child("username").get()
+                            .addOnSuccessListener(instructorSnapshot ->
+                                    complete(userId, instructorSnapshot.getValue(String.class)))
+                            .addOnFailureListener(e -> complete(userId, null));
+                })
+                .addOnFailureListener(e -> complete(userId, null));
+    }
+
+    private void complete(String userId, String name) {
+        List<OnNameResolvedListener> waiting;
+        synchronized (this) {
+            put(userId, name);
+            waiting = pending.remove(userId);
+        }
+        if (waiting != null) {
+            for (OnNameResolvedListener listener : waiting) {
+                listener.onNameResolved(name);
+            }
+        }
+    }
+
+    private static class CachedName {
+        final String name;
+        final long expiresAt;
+
+        CachedName(String name, long expiresAt) {
+            this.name = name;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public interface OnNameResolvedListener {
+        void onNameResolved(String name);
+    }
+}
@@ -25,7 +25,7 @@ public class UserService {
             @Override
             public void onDataChange(DataSnapshot dataSnapshot) {
                 if (dataSnapshot.exists()) {
-                    User user = dataSnapshot.getValue(User.class);
+                    User user = User.fromSnapshot(dataSnapshot);
                     if (user != null) {
                         user.setUserId(dataSnapshot.getKey());
                         listener.onUserLoaded(user);
@@ -46,7 +46,7 @@ public class UserService {
 
 
     public void updateUser(User user, OnCompleteListener listener) {
-        usersRef.child(user.getUserId()).setValue(user)
+        usersRef.child(user.getUserId()).setValue(user.toMap())
                 .addOnSuccessListener(aVoid -> listener.onSuccess())
                 .addOnFailureListener(e -> listener.onError(e.getMessage()));
     }
@@ -59,7 +59,7 @@ public class UserService {
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         List<User> instructors = new ArrayList<>();
                         for (DataSnapshot snapshot : dataSnapshot. getChildren()) {
-                            User user = snapshot.getValue(User. class);
+                            User user = User.fromSnapshot(snapshot);
                             if (user != null) {
                                 user.setUserId(snapshot.getKey());
                                 instructors.add(user);
@@ -83,7 +83,7 @@ public class UserService {
                     public void onDataChange(DataSnapshot dataSnapshot) {
                         List<User> users = new ArrayList<>();
                         for (DataSnapshot snapshot : dataSnapshot.getChildren()) {
-                            User user = snapshot.getValue(User.class);
+                            User user = User.fromSnapshot(snapshot);
                             if (user != null) {
                                 user.setUserId(snapshot. getKey());
                                 users. add(user);
@@ -0,0 +1,312 @@
+package com.example.mindbloomandroid.service;
+
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.MutableData;
+import com.google.firebase.database.ServerValue;
+import com.google.firebase.database.Transaction;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.example.mindbloomandroid.utility.AppLog;
+
+/**
+ * Per-user copies of the flat collections at timelines/{collection}/{userId}/{pushId}, so
+ * a user's records are a direct path read whose cost follows their own data instead of a
+ * userId index scan over everyone's. During rollout every write goes to both layouts, and
+ * each user's existing records are copied over once; timeline_migrations/{userId} marks
+ * that the copy is done.
+ */
+public class UserTimelines {
+    public static final String ROOT = "timelines";
+    public static final String MIGRATIONS = "timeline_migrations";
+
+    public static final String MOOD_LOGS = "mood_logs";
+    public static final String STRESS_ASSESSMENTS = "stress_assessments";
+    public static final String SLEEP_ENTRIES = "sleep_entries";
+    public static final String JOURNAL_ENTRIES = "journal_entries";
+    public static final String HABITS = "habits";
+    public static final String HABIT_COMPLETIONS = "habit_completions";
+    public static final String SESSION_REQUESTS = "session_requests";
+
+    private static final String[] COLLECTIONS = {
+            MOOD_LOGS, STRESS_ASSESSMENTS, SLEEP_ENTRIES, JOURNAL_ENTRIES,
+            HABITS, HABIT_COMPLETIONS, SESSION_REQUESTS
+    };
+
+    private static UserTimelines instance;
+
+    // Timeline paths kept synced for this session, so logout can stop syncing them
+    private static final Set<String> syncedPaths = new HashSet<>();
+
+    private final DatabaseReference rootRef;
+    private final Set<String> migrated = new HashSet<>();
+    private final Map<String, List<OnMigratedListener>> pending = new HashMap<>();
+
+    public UserTimelines(FirebaseDatabase database) {
+        rootRef = database.getReference();
+    }
+
+    public static synchronized UserTimelines getInstance() {
+        if (instance == null) {
+            instance = new UserTimelines(FirebaseDatabase.getInstance());
+        }
+        return instance;
+    }
+
+    public static DatabaseReference ref(String collection, String userId) {
+        return FirebaseDatabase.getInstance().getReference(ROOT).child(collection).child(userId);
+    }
+
+    // keepSynced lets the on-disk cache stay current so reopening only pulls deltas
+    public static synchronized DatabaseReference syncedRef(String collection, String userId) {
+        DatabaseReference timelineRef = ref(collection, userId);
+        if (syncedPaths.add(collection + "/" + userId)) {
+            timelineRef.keepSynced(true);
+        }
+        return timelineRef;
+    }
+
+    // Logout: the previous user's timelines shouldn't stay synced for the life of the process
+    public static synchronized void releaseSynced() {
+        DatabaseReference timelinesRef = FirebaseDatabase.getInstance().getReference(ROOT);
+        for (String path : syncedPaths) {
+            timelinesRef.child(path).keepSynced(false);
+        }
+        syncedPaths.clear();
+    }
+
+    // ==================== DUAL WRITE ====================
+    // Both helpers add to a multi-path update so the flat and per-user copies change atomically.
+    // A null value deletes; a null userId only touches the flat copy.
+
+
+    public static void putRecord(Map<String, Object> updates, String collection, String userId,
+                                 String recordId, Object value) {
+        updates.put(collection + "/" + recordId, value);
+        if (userId != null) {
+            updates.put(ROOT + "/" + collection + "/" + userId + "/" + recordId, value);
+        }
+    }
+
+    public static void putField(Map<String, Object> updates, String collection, String userId,
+                                String recordId, String field, Object value) {
+        updates.put(collection + "/" + recordId + "/" + field, value);
+        if (userId != null) {
+            updates.put(ROOT + "/" + collection + "/" + userId + "/" + recordId + "/" + field, value);
+        }
+    }
+
+    // ==================== MIGRATION ====================
+
+
+    // Calls back once the user's timelines hold their older records. Listeners attached to a
+    // timeline before that still see the copied records arrive as ordinary child events, so
+    // callers that only need the copy started may pass a null listener.
+    public void ensureMigrated(String userId, OnMigratedListener listener) {
+        synchronized (this) {
+            if (migrated.contains(userId)) {
+                if (listener != null) {
+                    listener.onMigrated();
+                }
+                return;
+            }
+            List<OnMigratedListener> waiting = pending.get(userId);
+            if (waiting != null) {
+                if (listener != null) {
+                    waiting.add(listener);
+                }
+                return;
+            }
+            waiting = new ArrayList<>();
+            if (listener != null) {
+                waiting.add(listener);
+            }
+            pending.put(userId, waiting);
+        }
+
+        rootRef.child(MIGRATIONS).child(userId)
+                .addListenerForSingleValueEvent(new ValueEventListener() {
+                    @Override
+                    public void onDataChange(DataSnapshot dataSnapshot) {
+                        if (dataSnapshot.exists()) {
+                            complete(userId, null);
+                        } else {
+                            migrate(userId);
+                        }
+                    }
+
+                    @Override
+                    public void onCancelled(DatabaseError error) {
+                        complete(userId, error.getMessage());
+                    }
+                });
+    }
+
+    private void migrate(String userId) {
+        if (AppLog.ENABLED) {
+            AppLog.d("UserTimelines", "🔄 Copying records into timelines for user: " + userId);
+        }
+
+        flatRecords(userId).load(results -> {
+            // Without the marker a later launch retries, so a failed read never leaves a half-copied user marked done
+            if (results.hasErrors()) {
+                AppLog.e("UserTimelines", "❌ Migration failed reading: " + results.getErrors());
+                complete(userId, results.getErrors().values().iterator().next());
+                return;
+            }
+
+            List<DataSnapshot> records = new ArrayList<>();
+            List<String> collections = new ArrayList<>();
+            for (String collection : COLLECTIONS) {
+                for (DataSnapshot snapshot : results.get(collection).getChildren()) {
+                    records.add(snapshot);
+                    collections.add(collection);
+                }
+            }
+            if (records.isEmpty()) {
+                recheck(userId, new HashMap<>());
+                return;
+            }
+
+            // One transaction per record, so a dual-write made since the read is merged with rather than overwritten
+            Map<String, Set<String>> copied = new HashMap<>();
+            int[] remaining = {records.size()};
+            String[] firstError = {null};
+            for (int i = 0; i < records.size(); i++) {
+                DataSnapshot record = records.get(i);
+                String collection = collections.get(i);
+                rootRef.child(ROOT).child(collection).child(userId).child(record.getKey())
+                        .runTransaction(new Transaction.Handler() {
+                            @Override
+                            public Transaction.Result doTransaction(MutableData currentData) {
+                                return fillMissing(currentData, record);
+                            }
+
+                            @Override
+                            public void onComplete(DatabaseError error, boolean committed, DataSnapshot currentData) {
+                                if (error != null && firstError[0] == null) {
+                                    firstError[0] = error.getMessage();
+                                } else if (committed) {
+                                    Set<String> ids = copied.get(collection);
+                                    if (ids == null) {
+                                        ids = new HashSet<>();
+                                        copied.put(collection, ids);
+                                    }
+                                    ids.add(record.getKey());
+                                }
+                                if (--remaining[0] > 0) {
+                                    return;
+                                }
+                                if (firstError[0] != null) {
+                                    AppLog.e("UserTimelines", "❌ Migration failed writing: " + firstError[0]);
+                                    complete(userId, firstError[0]);
+                                    return;
+                                }
+                                recheck(userId, copied);
+                            }
+                        });
+            }
+        });
+    }
+
+    private ParallelLoader flatRecords(String userId) {
+        ParallelLoader loader = new ParallelLoader("timeline_migration");
+        for (String collection : COLLECTIONS) {
+            loader.add(collection, rootRef.child(collection).orderByChild("userId").equalTo(userId));
+        }
+        return loader;
+    }
+
+    // A field already in the timeline copy came from a dual-write made after the read, so it is
+    // newer and kept; only the fields it lacks are filled in from the flat record.
+    private static Transaction.Result fillMissing(MutableData currentData, DataSnapshot record) {
+        if (currentData.getValue() == null) {
+            currentData.setValue(record.getValue());
+            return Transaction.success(currentData);
+        }
+        boolean filled = false;
+        for (DataSnapshot field : record.getChildren()) {
+            MutableData current = currentData.child(field.getKey());
+            if (current.getValue() == null) {
+                current.setValue(field.getValue());
+                filled = true;
+            }
+        }
+        return filled ? Transaction.success(currentData) : Transaction.abort();
+    }
+
+    // A record deleted between the first read and its copy lost its timeline entry to the
+    // dual-write before the copy put it back, so the flat records are read again and any
+    // copied record no longer there is removed. A delete after the copy removes both itself.
+    private void recheck(String userId, Map<String, Set<String>> copied) {
+        if (copied.isEmpty()) {
+            writeMarker(userId, new HashMap<>(), 0);
+            return;
+        }
+        flatRecords(userId).load(results -> {
+            if (results.hasErrors()) {
+                AppLog.e("UserTimelines", "❌ Migration failed re-reading: " + results.getErrors());
+                complete(userId, results.getErrors().values().iterator().next());
+                return;
+            }
+
+            Map<String, Object> updates = new HashMap<>();
+            int count = 0;
+            for (Map.Entry<String, Set<String>> entry : copied.entrySet()) {
+                DataSnapshot current = results.get(entry.getKey());
+                for (String recordId : entry.getValue()) {
+                    if (current.child(recordId).exists()) {
+                        count++;
+                    } else {
+                        updates.put(ROOT + "/" + entry.getKey() + "/" + userId + "/" + recordId, null);
+                    }
+                }
+            }
+            writeMarker(userId, updates, count);
+        });
+    }
+
+    private void writeMarker(String userId, Map<String, Object> updates, int copied) {
+        updates.put(MIGRATIONS + "/" + userId, ServerValue.TIMESTAMP);
+        rootRef.updateChildren(updates)
+                .addOnSuccessListener(aVoid -> {
+                    if (AppLog.ENABLED) {
+                        AppLog.d("UserTimelines", "✅ Copied " + copied + " records");
+                    }
+                    complete(userId, null);
+                })
+                .addOnFailureListener(e -> complete(userId, e.getMessage()));
+    }
+
+    private void complete(String userId, String error) {
+        List<OnMigratedListener> waiting;
+        synchronized (this) {
+            if (error == null) {
+                migrated.add(userId);
+            }
+            waiting = pending.remove(userId);
+        }
+        if (waiting != null) {
+            for (OnMigratedListener listener : waiting) {
+                if (error == null) {
+                    listener.onMigrated();
+                } else {
+                    listener.onError(error);
+                }
+            }
+        }
+    }
+
+    public interface OnMigratedListener {
+        void onMigrated();
+        void onError(String error);
+    }
+}
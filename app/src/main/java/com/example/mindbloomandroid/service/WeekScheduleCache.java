@@ -0,0 +1,233 @@
+package com.example.mindbloomandroid.service;
+
+import com.example.mindbloomandroid.model.TherapySession;
+import com.example.mindbloomandroid.utility.AppLog;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the instructor's schedule for the shown week and the weeks either side of it,
+ * already split into days, so paging between weeks renders straight from memory. After
+ * each move the new neighbours are fetched in the background and anything further out
+ * is dropped. Session writes on this device invalidate the instructor's weeks.
+ */
+public class WeekScheduleCache {
+    public static final int DAYS_PER_WEEK = 7;
+
+    private static final int WINDOW_RADIUS = 1;
+    private static final long STALE_AFTER_MILLIS = 5 * 60 * 1000L;
+
+    private static WeekScheduleCache instance;
+
+    private final Map<String, Week> weeks = new HashMap<>();
+    private final Map<String, List<OnWeekLoadedListener>> pending = new HashMap<>();
+    private final TherapySessionService sessionService;
+    private int generation;
+
+    private WeekScheduleCache() {
+        sessionService = new TherapySessionService();
+    }
+
+    public static synchronized WeekScheduleCache getInstance() {
+        if (instance == null) {
+            instance = new WeekScheduleCache();
+        }
+        return instance;
+    }
+
+    // Local midnight of the Monday on or before the timestamp
+    public static long weekStartOf(long timestamp) {
+        Calendar cal = Calendar.getInstance();
+        cal.setFirstDayOfWeek(Calendar.MONDAY);
+        cal.setTimeInMillis(timestamp);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        cal.set(Calendar.DAY_OF_WEEK, Calendar.MONDAY);
+        return cal.getTimeInMillis();
+    }
+
+    // Calendar arithmetic rather than fixed millis, so weeks crossing a DST change stay on midnight
+    public static long shiftWeeks(long weekStart, int weeksToAdd) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(weekStart);
+        cal.add(Calendar.WEEK_OF_YEAR, weeksToAdd);
+        return cal.getTimeInMillis();
+    }
+
+    // The cached week, possibly stale, or null when it was never loaded or has been evicted
+    public synchronized Week peek(String instructorId, long weekStart) {
+        return weeks.get(key(instructorId, weekStart));
+    }
+
+    // Fetches the week and caches it; concurrent requests for the same week share one read
+    public void load(String instructorId, long weekStart, OnWeekLoadedListener listener) {
+        String key = key(instructorId, weekStart);
+        int loadGeneration;
+        synchronized (this) {
+            List<OnWeekLoadedListener> waiting = pending.get(key);
+            if (waiting != null) {
+                if (listener != null) {
+                    waiting.add(listener);
+                }
+                return;
+            }
+            waiting = new ArrayList<>();
+            if (listener != null) {
+                waiting.add(listener);
+            }
+            pending.put(key, waiting);
+            loadGeneration = generation;
+        }
+
+        sessionService.getInstructorWeeklySessions(instructorId, weekStart,
+                new TherapySessionService.OnSessionsLoadedListener() {
+                    @Override
+                    public void onSessionsLoaded(List<TherapySession> sessions) {
+                        Week week = new Week(weekStart, sessions);
+                        List<OnWeekLoadedListener> waiting;
+                        synchronized (WeekScheduleCache.this) {
+                            // A write landed while this was in flight, so the result may already be out of date
+                            if (loadGeneration == generation) {
+                                weeks.put(key, week);
+                            }
+                            waiting = pending.remove(key);
+                        }
+                        if (waiting != null) {
+                            for (OnWeekLoadedListener waiter : waiting) {
+                                waiter.onWeekLoaded(week);
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        List<OnWeekLoadedListener> waiting;
+                        synchronized (WeekScheduleCache.this) {
+                            waiting = pending.remove(key);
+                        }
+                        if (waiting != null) {
+                            for (OnWeekLoadedListener waiter : waiting) {
+                                waiter.onError(error);
+                            }
+                        }
+                    }
+                });
+    }
+
+    // Call after every navigation: drops weeks outside the window and loads missing or stale neighbours
+    public void prefetchAround(String instructorId, long weekStart) {
+        List<Long> toLoad = new ArrayList<>();
+        synchronized (this) {
+            long first = shiftWeeks(weekStart, -WINDOW_RADIUS);
+            long last = shiftWeeks(weekStart, WINDOW_RADIUS);
+            String prefix = instructorId + "/";
+            Iterator<Map.Entry<String, Week>> it = weeks.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Week> entry = it.next();
+                long start = entry.getValue().getWeekStart();
+                if (entry.getKey().startsWith(prefix) && (start < first || start > last)) {
+                    it.remove();
+                }
+            }
+
+            for (int offset = -WINDOW_RADIUS; offset <= WINDOW_RADIUS; offset++) {
+                long neighbour = shiftWeeks(weekStart, offset);
+                Week cached = weeks.get(key(instructorId, neighbour));
+                if (offset != 0 && (cached == null || cached.isStale())) {
+                    toLoad.add(neighbour);
+                }
+            }
+        }
+
+        for (long neighbour : toLoad) {
+            if (AppLog.ENABLED) {
+                AppLog.d("WeekScheduleCache", "⏩ Prefetching week of " + new java.util.Date(neighbour));
+            }
+            load(instructorId, neighbour, null);
+        }
+    }
+
+    public synchronized void invalidateInstructor(String instructorId) {
+        generation++;
+        String prefix = instructorId + "/";
+        Iterator<String> it = weeks.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().startsWith(prefix)) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        weeks.clear();
+    }
+
+    private static String key(String instructorId, long weekStart) {
+        return instructorId + "/" + weekStart;
+    }
+
+    /**
+     * One week of sessions bucketed by local day, Monday first.
+     */
+    public static class Week {
+        private final long weekStart;
+        private final long[] dayStarts = new long[DAYS_PER_WEEK];
+        private final List<List<TherapySession>> days = new ArrayList<>();
+        private final long loadedAt;
+
+        Week(long weekStart, List<TherapySession> sessions) {
+            this.weekStart = weekStart;
+            this.loadedAt = System.currentTimeMillis();
+
+            Calendar day = Calendar.getInstance();
+            day.setTimeInMillis(weekStart);
+            for (int i = 0; i < DAYS_PER_WEEK; i++) {
+                dayStarts[i] = day.getTimeInMillis();
+                days.add(new ArrayList<>());
+                day.add(Calendar.DAY_OF_MONTH, 1);
+            }
+            long weekEnd = day.getTimeInMillis();
+
+            for (TherapySession session : sessions) {
+                long date = session.getSessionDate();
+                if (date < weekStart || date >= weekEnd) {
+                    continue;
+                }
+                int index = DAYS_PER_WEEK - 1;
+                while (date < dayStarts[index]) {
+                    index--;
+                }
+                days.get(index).add(session);
+            }
+        }
+
+        public long getWeekStart() {
+            return weekStart;
+        }
+
+        public long getDayStart(int dayIndex) {
+            return dayStarts[dayIndex];
+        }
+
+        public List<TherapySession> getSessions(int dayIndex) {
+            return days.get(dayIndex);
+        }
+
+        public boolean isStale() {
+            return System.currentTimeMillis() - loadedAt > STALE_AFTER_MILLIS;
+        }
+    }
+
+    public interface OnWeekLoadedListener {
+        void onWeekLoaded(Week week);
+        void onError(String error);
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.mindbloomandroid.service;
 
 import android.util.Base64;
-import android.util.Log;
 
 import org.json.JSONObject;
 
@@ -16,6 +15,7 @@ import java.util.concurrent.Executors;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
+import com.example.mindbloomandroid.utility.AppLog;
 
 
 public class ZoomApiService {
@@ -40,19 +40,21 @@ public class ZoomApiService {
 
 
         if (ZOOM_ACCOUNT_ID == null || ZOOM_ACCOUNT_ID.isEmpty()) {
-            Log.e(TAG, "❌ ZOOM_ACCOUNT_ID environment variable not set!");
-            Log.e(TAG, "   Set it in system environment variables or Android Studio Run Configuration");
+            AppLog.e(TAG, "❌ ZOOM_ACCOUNT_ID environment variable not set!");
+            AppLog.e(TAG, "   Set it in system environment variables or Android Studio Run Configuration");
         }
         if (ZOOM_CLIENT_ID == null || ZOOM_CLIENT_ID.isEmpty()) {
-            Log.e(TAG, "❌ ZOOM_CLIENT_ID environment variable not set!");
+            AppLog.e(TAG, "❌ ZOOM_CLIENT_ID environment variable not set!");
         }
         if (ZOOM_CLIENT_SECRET == null || ZOOM_CLIENT_SECRET.isEmpty()) {
-            Log.e(TAG, "❌ ZOOM_CLIENT_SECRET environment variable not set!");
+            AppLog.e(TAG, "❌ ZOOM_CLIENT_SECRET environment variable not set!");
         }
 
         if (ZOOM_ACCOUNT_ID != null && ZOOM_CLIENT_ID != null && ZOOM_CLIENT_SECRET != null) {
-            Log.d(TAG, "✅ Zoom credentials loaded from environment variables");
-            Log.d(TAG, "   Account ID: " + ZOOM_ACCOUNT_ID.substring(0, Math.min(4, ZOOM_ACCOUNT_ID.length())) + "...");
+            if (AppLog.ENABLED) {
+                AppLog.d(TAG, "✅ Zoom credentials loaded from environment variables");
+                AppLog.d(TAG, "   Account ID: " + ZOOM_ACCOUNT_ID.substring(0, Math.min(4, ZOOM_ACCOUNT_ID.length())) + "...");
+            }
         }
     }
 
@@ -62,10 +64,12 @@ public class ZoomApiService {
 
         executorService.execute(() -> {
             try {
-                Log.d(TAG, "🎯 Creating REAL Zoom meeting via API...");
-                Log.d(TAG, "   Topic: " + topic);
-                Log.d(TAG, "   Instructor: " + instructorName);
-                Log.d(TAG, "   Duration: " + durationMinutes + " minutes");
+                if (AppLog.ENABLED) {
+                    AppLog.d(TAG, "🎯 Creating REAL Zoom meeting via API...");
+                    AppLog.d(TAG, "   Topic: " + topic);
+                    AppLog.d(TAG, "   Instructor: " + instructorName);
+                    AppLog.d(TAG, "   Duration: " + durationMinutes + " minutes");
+                }
 
                 // Step 1: Get OAuth access token (if expired)
                 if (accessToken == null || System.currentTimeMillis() >= tokenExpiryTime) {
@@ -89,15 +93,17 @@ public class ZoomApiService {
                 String password = meetingDetails.optString("password", "");
                 String startUrl = meetingDetails.getString("start_url");
 
-                Log.d(TAG, "✅ REAL Zoom meeting created successfully!");
-                Log.d(TAG, "   Meeting ID: " + meetingId);
-                Log.d(TAG, "   Join URL: " + joinUrl);
-                Log.d(TAG, "   Password: " + password);
+                if (AppLog.ENABLED) {
+                    AppLog.d(TAG, "✅ REAL Zoom meeting created successfully!");
+                    AppLog.d(TAG, "   Meeting ID: " + meetingId);
+                    AppLog.d(TAG, "   Join URL: " + joinUrl);
+                    AppLog.d(TAG, "   Password: " + password);
+                }
 
                 listener.onMeetingCreated(joinUrl, meetingId, password, startUrl);
 
             } catch (Exception e) {
-                Log.e(TAG, "❌ Error creating Zoom meeting: " + e.getMessage(), e);
+                AppLog.e(TAG, "❌ Error creating Zoom meeting: " + e.getMessage(), e);
                 listener.onError("Error: " + e.getMessage());
             }
         });
@@ -106,7 +112,7 @@ public class ZoomApiService {
 
     private boolean getAccessToken() {
         try {
-            Log.d(TAG, "🔐 Getting Zoom OAuth token...");
+            AppLog.d(TAG, "🔐 Getting Zoom OAuth token...");
 
             URL url = new URL(ZOOM_OAUTH_TOKEN_URL);
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
@@ -134,15 +140,15 @@ public class ZoomApiService {
                 int expiresIn = jsonResponse.getInt("expires_in");
                 tokenExpiryTime = System.currentTimeMillis() + (expiresIn * 1000);
 
-                Log.d(TAG, "✅ OAuth token obtained successfully");
+                AppLog.d(TAG, "✅ OAuth token obtained successfully");
                 return true;
             } else {
-                Log.e(TAG, "❌ Failed to get OAuth token. Response code: " + responseCode);
+                AppLog.e(TAG, "❌ Failed to get OAuth token. Response code: " + responseCode);
                 return false;
             }
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ Error getting OAuth token: " + e.getMessage(), e);
+            AppLog.e(TAG, "❌ Error getting OAuth token: " + e.getMessage(), e);
             return false;
         }
     }
@@ -150,7 +156,7 @@ public class ZoomApiService {
 
     private JSONObject createMeetingViaApi(String topic, long startTime, int durationMinutes) {
         try {
-            Log.d(TAG, "📞 Calling Zoom API to create meeting...");
+            AppLog.d(TAG, "📞 Calling Zoom API to create meeting...");
 
             URL url = new URL(ZOOM_CREATE_MEETING_URL);
             HttpURLConnection conn = (HttpURLConnection) url.openConnection();
@@ -194,7 +200,7 @@ public class ZoomApiService {
                 in.close();
 
                 JSONObject meetingDetails = new JSONObject(response.toString());
-                Log.d(TAG, "✅ Zoom meeting created via API!");
+                AppLog.d(TAG, "✅ Zoom meeting created via API!");
                 return meetingDetails;
             } else {
                 BufferedReader in = new BufferedReader(new InputStreamReader(conn.getErrorStream()));
@@ -205,13 +211,13 @@ public class ZoomApiService {
                 }
                 in.close();
 
-                Log.e(TAG, "❌ Failed to create meeting. Response code: " + responseCode);
-                Log.e(TAG, "   Error: " + errorResponse.toString());
+                AppLog.e(TAG, "❌ Failed to create meeting. Response code: " + responseCode);
+                AppLog.e(TAG, "   Error: " + errorResponse.toString());
                 return null;
             }
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ Error calling Zoom API: " + e.getMessage(), e);
+            AppLog.e(TAG, "❌ Error calling Zoom API: " + e.getMessage(), e);
             return null;
         }
     }
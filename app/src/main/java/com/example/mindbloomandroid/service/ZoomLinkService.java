@@ -7,6 +7,7 @@ import java.security.SecureRandom;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import com.example.mindbloomandroid.utility.AppLog;
 
 
 public class ZoomLinkService {
@@ -28,9 +29,11 @@ public class ZoomLinkService {
     public void generateZoomLink(String sessionId, String instructorId, String clientId,
                                  OnZoomLinkGeneratedListener listener) {
 
-        android.util.Log.d("ZoomLinkService", "🔗 Generating Zoom meeting link...");
-        android.util.Log.d("ZoomLinkService", "   Mode: " + (USE_ZOOM_API ? "REAL API" : "INSTANT"));
-        android.util.Log.d("ZoomLinkService", "   Session ID: " + sessionId);
+        if (AppLog.ENABLED) {
+            AppLog.d("ZoomLinkService", "🔗 Generating Zoom meeting link...");
+            AppLog.d("ZoomLinkService", "   Mode: " + (USE_ZOOM_API ? "REAL API" : "INSTANT"));
+            AppLog.d("ZoomLinkService", "   Session ID: " + sessionId);
+        }
 
         if (USE_ZOOM_API) {
             // Use REAL Zoom API to create scheduled meeting
@@ -45,7 +48,7 @@ public class ZoomLinkService {
     private void generateRealZoomMeeting(String sessionId, String instructorId, String clientId,
                                          OnZoomLinkGeneratedListener listener) {
         try {
-            android.util.Log.d("ZoomLinkService", "📞 Creating REAL Zoom meeting via API...");
+            AppLog.d("ZoomLinkService", "📞 Creating REAL Zoom meeting via API...");
 
             // Get session details (you may need to fetch from Firebase)
             String topic = "Therapy Session"; // Customize based on your needs
@@ -56,9 +59,11 @@ public class ZoomLinkService {
                 new ZoomApiService.OnMeetingCreatedListener() {
                     @Override
                     public void onMeetingCreated(String joinUrl, long meetingId, String password, String startUrl) {
-                        android.util.Log.d("ZoomLinkService", "✅ REAL Zoom meeting created!");
-                        android.util.Log.d("ZoomLinkService", "   Join URL: " + joinUrl);
-                        android.util.Log.d("ZoomLinkService", "   Meeting ID: " + meetingId);
+                        if (AppLog.ENABLED) {
+                            AppLog.d("ZoomLinkService", "✅ REAL Zoom meeting created!");
+                            AppLog.d("ZoomLinkService", "   Join URL: " + joinUrl);
+                            AppLog.d("ZoomLinkService", "   Meeting ID: " + meetingId);
+                        }
 
                         // Save to Firebase
                         saveLinkToFirebase(sessionId, instructorId, clientId, joinUrl,
@@ -69,15 +74,15 @@ public class ZoomLinkService {
 
                     @Override
                     public void onError(String error) {
-                        android.util.Log.e("ZoomLinkService", "❌ Zoom API error: " + error);
-                        android.util.Log.d("ZoomLinkService", "⚠️ Falling back to instant meeting link...");
+                        AppLog.e("ZoomLinkService", "❌ Zoom API error: " + error);
+                        AppLog.d("ZoomLinkService", "⚠️ Falling back to instant meeting link...");
                         // Fallback to instant link if API fails
                         generateInstantMeetingLink(sessionId, instructorId, clientId, listener);
                     }
                 });
 
         } catch (Exception e) {
-            android.util.Log.e("ZoomLinkService", "❌ Error: " + e.getMessage(), e);
+            AppLog.e("ZoomLinkService", "❌ Error: " + e.getMessage(), e);
             // Fallback to instant link
             generateInstantMeetingLink(sessionId, instructorId, clientId, listener);
         }
@@ -86,7 +91,7 @@ public class ZoomLinkService {
     private void generateInstantMeetingLink(String sessionId, String instructorId, String clientId,
                                            OnZoomLinkGeneratedListener listener) {
         try {
-            android.util.Log.d("ZoomLinkService", "🔗 Generating instant meeting link...");
+            AppLog.d("ZoomLinkService", "🔗 Generating instant meeting link...");
 
 
             long timestamp = System.currentTimeMillis() % 89999999999L;
@@ -99,13 +104,15 @@ public class ZoomLinkService {
             String encodedPassword = java.net.URLEncoder.encode(password, "UTF-8");
             String zoomLink = ZOOM_BASE_URL + meetingId + "?pwd=" + encodedPassword;
 
-            android.util.Log.d("ZoomLinkService", "✅ Generated instant meeting link: " + zoomLink);
-            android.util.Log.d("ZoomLinkService", "   Meeting ID: " + meetingId + " (11 digits - VALID Zoom format)");
-            android.util.Log.d("ZoomLinkService", "   Password: " + password);
-            android.util.Log.d("ZoomLinkService", "   📋 Full Join Instructions:");
-            android.util.Log.d("ZoomLinkService", "      1. Click link: " + zoomLink);
-            android.util.Log.d("ZoomLinkService", "      2. OR manually join with ID: " + meetingId);
-            android.util.Log.d("ZoomLinkService", "      3. Enter password: " + password);
+            if (AppLog.ENABLED) {
+                AppLog.d("ZoomLinkService", "✅ Generated instant meeting link: " + zoomLink);
+                AppLog.d("ZoomLinkService", "   Meeting ID: " + meetingId + " (11 digits - VALID Zoom format)");
+                AppLog.d("ZoomLinkService", "   Password: " + password);
+                AppLog.d("ZoomLinkService", "   📋 Full Join Instructions:");
+                AppLog.d("ZoomLinkService", "      1. Click link: " + zoomLink);
+                AppLog.d("ZoomLinkService", "      2. OR manually join with ID: " + meetingId);
+                AppLog.d("ZoomLinkService", "      3. Enter password: " + password);
+            }
 
             // Save to Firebase
             saveLinkToFirebase(sessionId, instructorId, clientId, zoomLink,
@@ -114,7 +121,7 @@ public class ZoomLinkService {
                              listener::onError);
 
         } catch (Exception e) {
-            android.util.Log.e("ZoomLinkService", "❌ Error generating instant link: " + e.getMessage(), e);
+            AppLog.e("ZoomLinkService", "❌ Error generating instant link: " + e.getMessage(), e);
             listener.onError("Error: " + e.getMessage());
         }
     }
@@ -138,22 +145,22 @@ public class ZoomLinkService {
 
             String linkId = zoomLinksRef.push().getKey();
             if (linkId != null) {
-                android.util.Log.d("ZoomLinkService", "💾 Saving to Firebase...");
+                AppLog.d("ZoomLinkService", "💾 Saving to Firebase...");
 
                 zoomLinksRef.child(linkId).setValue(linkData)
                     .addOnSuccessListener(aVoid -> {
-                        android.util.Log.d("ZoomLinkService", "✅ Saved to Firebase successfully");
+                        AppLog.d("ZoomLinkService", "✅ Saved to Firebase successfully");
                         onSuccess.run();
                     })
                     .addOnFailureListener(e -> {
-                        android.util.Log.e("ZoomLinkService", "❌ Firebase error: " + e.getMessage(), e);
+                        AppLog.e("ZoomLinkService", "❌ Firebase error: " + e.getMessage(), e);
                         onError.accept("Database error: " + e.getMessage());
                     });
             } else {
                 onError.accept("Failed to generate Firebase key");
             }
         } catch (Exception e) {
-            android.util.Log.e("ZoomLinkService", "❌ Error saving to Firebase: " + e.getMessage(), e);
+            AppLog.e("ZoomLinkService", "❌ Error saving to Firebase: " + e.getMessage(), e);
             onError.accept("Error: " + e.getMessage());
         }
     }
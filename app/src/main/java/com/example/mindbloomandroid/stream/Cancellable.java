@@ -0,0 +1,6 @@
+package com.example.mindbloomandroid.stream;
+
+/** Handle for stopping a subscription. Cancelling more than once is a no-op. */
+public interface Cancellable {
+    void cancel();
+}
@@ -0,0 +1,437 @@
+package com.example.mindbloomandroid.stream;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A source of values that starts when subscribed and stops when cancelled. Cold streams
+ * (a single read) do their work once per subscriber and complete; hot streams (a live query)
+ * keep delivering until cancelled. Operators return new streams, so a screen can describe
+ * "the notes of whichever client is selected" once and cancel the whole chain in one call.
+ *
+ * Everything runs on the main thread, including values emitted synchronously from
+ * subscribe(), e.g. a cached result replayed to a late subscriber.
+ */
+public abstract class DataStream<T> {
+
+    public abstract Cancellable subscribe(StreamObserver<? super T> observer);
+
+    /** A stream backed by source, which returns the teardown to run on cancel or termination. */
+    public static <T> DataStream<T> create(Source<T> source) {
+        return new DataStream<T>() {
+            @Override
+            public Cancellable subscribe(StreamObserver<? super T> observer) {
+                SourceEmitter<T> emitter = new SourceEmitter<>(observer);
+                emitter.setTeardown(source.start(emitter));
+                return emitter;
+            }
+        };
+    }
+
+    public static <T> DataStream<T> just(T value) {
+        return create(emitter -> {
+            emitter.next(value);
+            emitter.complete();
+            return null;
+        });
+    }
+
+    /**
+     * Emits combiner(a, b) once both streams have a value, then again whenever either changes.
+     * Both are subscribed at once, so two reads run side by side; an error from one cancels both.
+     */
+    public static <A, B, R> DataStream<R> combine(DataStream<A> first, DataStream<B> second,
+                                                  BiFunction<? super A, ? super B, ? extends R> combiner) {
+        return create(emitter -> {
+            CombineState<A, B, R> state = new CombineState<>(emitter, combiner);
+            Cancellable firstSubscription = first.subscribe(state.firstObserver());
+            if (emitter.isDisposed()) {
+                return firstSubscription;
+            }
+            Cancellable secondSubscription = second.subscribe(state.secondObserver());
+            return () -> {
+                firstSubscription.cancel();
+                secondSubscription.cancel();
+            };
+        });
+    }
+
+    public final <R> DataStream<R> map(Function<? super T, ? extends R> mapper) {
+        return create(emitter -> subscribe(new ForwardingObserver<T, R>(emitter) {
+            @Override
+            public void onNext(T value) {
+                emitter.next(mapper.apply(value));
+            }
+        }));
+    }
+
+    public final DataStream<T> filter(Predicate<? super T> predicate) {
+        return create(emitter -> subscribe(new ForwardingObserver<T, T>(emitter) {
+            @Override
+            public void onNext(T value) {
+                if (predicate.test(value)) {
+                    emitter.next(value);
+                }
+            }
+        }));
+    }
+
+    // Drops values equal to the previous one, e.g. a re-selected spinner item or an unchanged snapshot
+    public final DataStream<T> distinct() {
+        return create(emitter -> subscribe(new ForwardingObserver<T, T>(emitter) {
+            private boolean hasLast;
+            private T last;
+
+            @Override
+            public void onNext(T value) {
+                if (hasLast && Objects.equals(last, value)) {
+                    return;
+                }
+                hasLast = true;
+                last = value;
+                emitter.next(value);
+            }
+        }));
+    }
+
+    // Emits a value only once no newer one has arrived for delayMillis
+    public final DataStream<T> debounce(long delayMillis) {
+        return debounce(delayMillis, MainThreadScheduler.getInstance());
+    }
+
+    public final DataStream<T> debounce(long delayMillis, Scheduler scheduler) {
+        return create(emitter -> {
+            DebounceObserver<T> debouncer = new DebounceObserver<>(emitter, delayMillis, scheduler);
+            Cancellable upstream = subscribe(debouncer);
+            return () -> {
+                debouncer.cancelPending();
+                upstream.cancel();
+            };
+        });
+    }
+
+    /**
+     * Maps each value to a stream and follows only the newest one: the previous inner stream
+     * is cancelled first, so a slow load for an old selection can never overwrite a newer one.
+     */
+    public final <R> DataStream<R> switchMap(Function<? super T, ? extends DataStream<R>> mapper) {
+        return create(emitter -> {
+            SwitchObserver<T, R> switcher = new SwitchObserver<>(emitter, mapper);
+            Cancellable upstream = subscribe(switcher);
+            return () -> {
+                switcher.cancelInner();
+                upstream.cancel();
+            };
+        });
+    }
+
+    // The first value, then completes and cancels the upstream (a one-shot read of a live stream)
+    public final DataStream<T> first() {
+        return create(emitter -> subscribe(new ForwardingObserver<T, T>(emitter) {
+            @Override
+            public void onNext(T value) {
+                emitter.next(value);
+                emitter.complete();
+            }
+        }));
+    }
+
+    /** Subscribes until owner is destroyed. Fragments should pass getViewLifecycleOwner(). */
+    public final Cancellable observe(LifecycleOwner owner, StreamObserver<? super T> observer) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            return () -> {};
+        }
+        Cancellable subscription = subscribe(observer);
+        LifecycleEventObserver lifecycleObserver = new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    lifecycle.removeObserver(this);
+                    subscription.cancel();
+                }
+            }
+        };
+        lifecycle.addObserver(lifecycleObserver);
+        return () -> {
+            lifecycle.removeObserver(lifecycleObserver);
+            subscription.cancel();
+        };
+    }
+
+    public interface Source<T> {
+        // Returns the teardown (may be null); it runs once, on cancel or after a terminal event
+        Cancellable start(Emitter<T> emitter);
+    }
+
+    private static final class SourceEmitter<T> implements Emitter<T>, Cancellable {
+        private final StreamObserver<? super T> observer;
+        private Cancellable teardown;
+        private boolean disposed;
+        private boolean released;
+
+        SourceEmitter(StreamObserver<? super T> observer) {
+            this.observer = observer;
+        }
+
+        // The source may already have terminated (or been cancelled) while it was starting
+        void setTeardown(Cancellable teardown) {
+            if (released) {
+                if (teardown != null) {
+                    teardown.cancel();
+                }
+            } else {
+                this.teardown = teardown;
+            }
+        }
+
+        @Override
+        public void next(T value) {
+            if (!disposed) {
+                observer.onNext(value);
+            }
+        }
+
+        @Override
+        public void error(String error) {
+            if (!disposed) {
+                disposed = true;
+                observer.onError(error);
+                release();
+            }
+        }
+
+        @Override
+        public void complete() {
+            if (!disposed) {
+                disposed = true;
+                observer.onComplete();
+                release();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @Override
+        public void cancel() {
+            disposed = true;
+            release();
+        }
+
+        private void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (teardown != null) {
+                Cancellable pending = teardown;
+                teardown = null;
+                pending.cancel();
+            }
+        }
+    }
+
+    // Passes errors and completion through; subclasses map the values
+    private abstract static class ForwardingObserver<T, R> implements StreamObserver<T> {
+        final Emitter<R> emitter;
+
+        ForwardingObserver(Emitter<R> emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onError(String error) {
+            emitter.error(error);
+        }
+
+        @Override
+        public void onComplete() {
+            emitter.complete();
+        }
+    }
+
+    private static final class DebounceObserver<T> extends ForwardingObserver<T, T> {
+        private final long delayMillis;
+        private final Scheduler scheduler;
+        private Cancellable pending;
+        private T pendingValue;
+
+        DebounceObserver(Emitter<T> emitter, long delayMillis, Scheduler scheduler) {
+            super(emitter);
+            this.delayMillis = delayMillis;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onNext(T value) {
+            cancelPending();
+            pendingValue = value;
+            pending = scheduler.schedule(() -> {
+                pending = null;
+                emitter.next(value);
+            }, delayMillis);
+        }
+
+        @Override
+        public void onError(String error) {
+            cancelPending();
+            emitter.error(error);
+        }
+
+        // The last value isn't lost to the timer when the upstream ends
+        @Override
+        public void onComplete() {
+            if (pending != null) {
+                cancelPending();
+                emitter.next(pendingValue);
+            }
+            emitter.complete();
+        }
+
+        void cancelPending() {
+            if (pending != null) {
+                pending.cancel();
+                pending = null;
+            }
+        }
+    }
+
+    private static final class SwitchObserver<T, R> extends ForwardingObserver<T, R> {
+        private final Function<? super T, ? extends DataStream<R>> mapper;
+        private Cancellable inner;
+        private int generation;
+        private boolean innerActive;
+        private boolean upstreamDone;
+
+        SwitchObserver(Emitter<R> emitter, Function<? super T, ? extends DataStream<R>> mapper) {
+            super(emitter);
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T value) {
+            cancelInner();
+            int innerGeneration = ++generation;
+            innerActive = true;
+            Cancellable subscription = mapper.apply(value).subscribe(new StreamObserver<R>() {
+                @Override
+                public void onNext(R result) {
+                    if (innerGeneration == generation) {
+                        emitter.next(result);
+                    }
+                }
+
+                @Override
+                public void onError(String error) {
+                    if (innerGeneration == generation) {
+                        emitter.error(error);
+                    }
+                }
+
+                @Override
+                public void onComplete() {
+                    if (innerGeneration == generation) {
+                        innerActive = false;
+                        if (upstreamDone) {
+                            emitter.complete();
+                        }
+                    }
+                }
+            });
+            // A newer value may have arrived while subscribing; only keep the current inner
+            if (innerGeneration == generation) {
+                inner = subscription;
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            if (!innerActive) {
+                emitter.complete();
+            }
+        }
+
+        void cancelInner() {
+            generation++;
+            innerActive = false;
+            if (inner != null) {
+                Cancellable previous = inner;
+                inner = null;
+                previous.cancel();
+            }
+        }
+    }
+
+    private static final class CombineState<A, B, R> {
+        private final Emitter<R> emitter;
+        private final BiFunction<? super A, ? super B, ? extends R> combiner;
+        private A first;
+        private B second;
+        private boolean hasFirst;
+        private boolean hasSecond;
+        private int completed;
+
+        CombineState(Emitter<R> emitter, BiFunction<? super A, ? super B, ? extends R> combiner) {
+            this.emitter = emitter;
+            this.combiner = combiner;
+        }
+
+        StreamObserver<A> firstObserver() {
+            return new ForwardingObserver<A, R>(emitter) {
+                @Override
+                public void onNext(A value) {
+                    first = value;
+                    hasFirst = true;
+                    emitIfReady();
+                }
+
+                @Override
+                public void onComplete() {
+                    sourceCompleted(hasFirst);
+                }
+            };
+        }
+
+        StreamObserver<B> secondObserver() {
+            return new ForwardingObserver<B, R>(emitter) {
+                @Override
+                public void onNext(B value) {
+                    second = value;
+                    hasSecond = true;
+                    emitIfReady();
+                }
+
+                @Override
+                public void onComplete() {
+                    sourceCompleted(hasSecond);
+                }
+            };
+        }
+
+        private void emitIfReady() {
+            if (hasFirst && hasSecond) {
+                emitter.next(combiner.apply(first, second));
+            }
+        }
+
+        // A source that ends without a value means there will never be a combination
+        private void sourceCompleted(boolean hadValue) {
+            if (!hadValue || ++completed == 2) {
+                emitter.complete();
+            }
+        }
+    }
+}
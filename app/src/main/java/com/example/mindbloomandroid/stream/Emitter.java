@@ -0,0 +1,13 @@
+package com.example.mindbloomandroid.stream;
+
+/** The producing side handed to a DataStream.create() source. Calls after a terminal event are dropped. */
+public interface Emitter<T> {
+    void next(T value);
+
+    void error(String error);
+
+    void complete();
+
+    // True once the subscriber cancelled or the stream terminated
+    boolean isDisposed();
+}
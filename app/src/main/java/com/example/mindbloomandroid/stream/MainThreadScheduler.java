@@ -0,0 +1,27 @@
+package com.example.mindbloomandroid.stream;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/** Scheduler on the main looper, the thread every stream in the app delivers on. */
+public final class MainThreadScheduler implements Scheduler {
+
+    private static MainThreadScheduler instance;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private MainThreadScheduler() {}
+
+    public static synchronized MainThreadScheduler getInstance() {
+        if (instance == null) {
+            instance = new MainThreadScheduler();
+        }
+        return instance;
+    }
+
+    @Override
+    public Cancellable schedule(Runnable task, long delayMillis) {
+        handler.postDelayed(task, delayMillis);
+        return () -> handler.removeCallbacks(task);
+    }
+}
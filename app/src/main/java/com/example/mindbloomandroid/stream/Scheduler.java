@@ -0,0 +1,6 @@
+package com.example.mindbloomandroid.stream;
+
+/** Runs delayed work for time-based operators such as debounce. */
+public interface Scheduler {
+    Cancellable schedule(Runnable task, long delayMillis);
+}
@@ -0,0 +1,13 @@
+package com.example.mindbloomandroid.stream;
+
+/**
+ * Receives a stream's values. onError and onComplete are terminal: nothing follows either.
+ * Live streams never complete on their own.
+ */
+public interface StreamObserver<T> {
+    void onNext(T value);
+
+    void onError(String error);
+
+    default void onComplete() {}
+}
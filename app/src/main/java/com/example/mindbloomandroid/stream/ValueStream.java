@@ -0,0 +1,40 @@
+package com.example.mindbloomandroid.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hot stream holding one current value, such as the selected client or time range.
+ * Subscribers get the current value straight away and every later setValue(); it never
+ * completes. Null is a valid value ("nothing selected").
+ */
+public class ValueStream<T> extends DataStream<T> {
+
+    private final List<StreamObserver<? super T>> observers = new ArrayList<>();
+    private T value;
+
+    public ValueStream(T initialValue) {
+        value = initialValue;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public void setValue(T newValue) {
+        value = newValue;
+        // Copy first: an observer may cancel (or subscribe) from its callback
+        for (StreamObserver<? super T> observer : new ArrayList<>(observers)) {
+            if (observers.contains(observer)) {
+                observer.onNext(newValue);
+            }
+        }
+    }
+
+    @Override
+    public Cancellable subscribe(StreamObserver<? super T> observer) {
+        observers.add(observer);
+        observer.onNext(value);
+        return () -> observers.remove(observer);
+    }
+}
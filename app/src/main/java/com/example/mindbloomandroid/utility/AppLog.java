@@ -0,0 +1,75 @@
+package com.example.mindbloomandroid.utility;
+
+import android.util.Log;
+import com.example.mindbloomandroid.BuildConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Logging facade. Debug and info lines exist only in debug builds: ENABLED is a compile-time
+ * constant (a buildConfigField; BuildConfig.DEBUG is not one), so javac drops every
+ * {@code if (AppLog.ENABLED)} block from release bytecode together with its string building.
+ * Only those blocks are removed: d() and i() return straight away in release, but their
+ * arguments are still built first, and with minification off nothing strips the calls. So a
+ * d() or i() whose message takes any work (concatenation, a call) goes inside the guard, or
+ * through a Supplier overload; only constant messages are left bare.
+ * Warnings and errors are always logged.
+ *
+ * event() is the structured log kept in release, sampled so that a frequent event usually costs
+ * one counter increment.
+ */
+public final class AppLog {
+
+    public static final boolean ENABLED = BuildConfig.DEBUG_LOGGING;
+
+    private static final ConcurrentHashMap<String, AtomicLong> eventCounts = new ConcurrentHashMap<>();
+
+    private AppLog() {}
+
+    public static void d(String tag, String message) {
+        if (ENABLED) {
+            Log.d(tag, message);
+        }
+    }
+
+    public static void d(String tag, Supplier<String> message) {
+        if (ENABLED) {
+            Log.d(tag, message.get());
+        }
+    }
+
+    public static void i(String tag, String message) {
+        if (ENABLED) {
+            Log.i(tag, message);
+        }
+    }
+
+    public static void w(String tag, String message) {
+        Log.w(tag, message);
+    }
+
+    public static void e(String tag, String message) {
+        Log.e(tag, message);
+    }
+
+    public static void e(String tag, String message, Throwable error) {
+        Log.e(tag, message, error);
+    }
+
+    /**
+     * Logs "event key=value n=count" for one in every sampleEvery occurrences of event (all of
+     * them in debug builds); n is the running count, so rates survive the sampling.
+     */
+    public static void event(String tag, String event, String key, long value, int sampleEvery) {
+        AtomicLong counter = eventCounts.get(event);
+        if (counter == null) {
+            counter = eventCounts.computeIfAbsent(event, name -> new AtomicLong());
+        }
+        long count = counter.incrementAndGet();
+        if (ENABLED || sampleEvery <= 1 || count % sampleEvery == 1) {
+            Log.i(tag, event + " " + key + "=" + value + " n=" + count);
+        }
+    }
+}
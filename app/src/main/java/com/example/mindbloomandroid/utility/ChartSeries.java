@@ -0,0 +1,38 @@
+package com.example.mindbloomandroid.utility;
+
+import com.example.mindbloomandroid.utility.stats.TimeSeries;
+import com.github.mikephil.charting.data.BarEntry;
+import com.github.mikephil.charting.data.Entry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a TimeSeries into MPAndroidChart entries, downsampling first so a chart never
+ * gets more entries than it can draw no matter how long the history is.
+ */
+public class ChartSeries {
+    public static final int MAX_LINE_POINTS = 200;
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    // x is whole days since originMillis, so gaps between logged days stay visible
+    public static List<Entry> toLineEntries(TimeSeries series, long originMillis) {
+        TimeSeries sampled = series.downsampleLttb(MAX_LINE_POINTS);
+        List<Entry> entries = new ArrayList<>(sampled.size());
+        for (int i = 0; i < sampled.size(); i++) {
+            float x = (float) (sampled.getTimestamp(i) - originMillis) / DAY_MILLIS;
+            entries.add(new Entry(x, sampled.getValue(i)));
+        }
+        return entries;
+    }
+
+    // One bar per point at x = 0, 1, 2...; bars can't be downsampled, so pass a tail or slice
+    public static List<BarEntry> toBarEntries(TimeSeries series) {
+        List<BarEntry> entries = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            entries.add(new BarEntry(i, series.getValue(i)));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.mindbloomandroid.utility;
+
+/**
+ * Fixed-capacity deque over a circular array. Appending to a full buffer evicts the oldest
+ * element, so a stream that keeps growing at the end holds at most capacity items and each
+ * append costs O(1). Prepending only fills free slots; it never evicts what is at the end.
+ * Inserting or removing at an index shifts the elements after it, so it is cheap near the end.
+ *
+ * Every element gets a sequence number when it enters, unique within the buffer, which stays
+ * with it while it moves through the buffer (usable as a stable RecyclerView item id).
+ * Prepended elements get lower numbers than any before them, appended ones higher.
+ */
+public class RingBuffer<T> {
+
+    private final Object[] slots;
+    private final long[] sequences;
+    private int head;
+    private int size;
+    // Next sequences to hand out at each end; start high so prepends never reach RecyclerView.NO_ID
+    private long lowSequence = 1L << 40;
+    private long highSequence = 1L << 40;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        slots = new Object[capacity];
+        sequences = new long[capacity];
+    }
+
+    // Returns the element evicted to make room, or null if there was space
+    @SuppressWarnings("unchecked")
+    public T addLast(T item) {
+        T evicted = null;
+        if (size == slots.length) {
+            evicted = (T) slots[head];
+            slots[head] = item;
+            sequences[head] = highSequence++;
+            head = (head + 1) % slots.length;
+        } else {
+            int slot = (head + size) % slots.length;
+            slots[slot] = item;
+            sequences[slot] = highSequence++;
+            size++;
+        }
+        return evicted;
+    }
+
+    // Returns false, leaving the buffer unchanged, when it is full
+    public boolean addFirst(T item) {
+        if (size == slots.length) {
+            return false;
+        }
+        head = (head - 1 + slots.length) % slots.length;
+        slots[head] = item;
+        sequences[head] = --lowSequence;
+        size++;
+        return true;
+    }
+
+    // Inserts before the element at index (index == size appends). A full buffer evicts its oldest
+    // element to make room and returns it; inserting at 0 into a full buffer returns item itself.
+    public T insert(int index, T item) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        T evicted = null;
+        if (size == slots.length) {
+            if (index == 0) {
+                return item;
+            }
+            evicted = removeAt(0);
+            index--;
+        }
+        for (int i = size; i > index; i--) {
+            move(i - 1, i);
+        }
+        int slot = (head + index) % slots.length;
+        slots[slot] = item;
+        sequences[slot] = highSequence++;
+        size++;
+        return evicted;
+    }
+
+    // Removes the element at index, shifting the ones after it toward the start
+    @SuppressWarnings("unchecked")
+    public T removeAt(int index) {
+        checkIndex(index);
+        T removed = (T) slots[(head + index) % slots.length];
+        if (index == 0) {
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+        } else {
+            for (int i = index + 1; i < size; i++) {
+                move(i, i - 1);
+            }
+            slots[(head + size - 1) % slots.length] = null;
+        }
+        size--;
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) slots[(head + index) % slots.length];
+    }
+
+    public void set(int index, T item) {
+        checkIndex(index);
+        slots[(head + index) % slots.length] = item;
+    }
+
+    public long sequenceAt(int index) {
+        checkIndex(index);
+        return sequences[(head + index) % slots.length];
+    }
+
+    public T first() {
+        return size > 0 ? get(0) : null;
+    }
+
+    public T last() {
+        return size > 0 ? get(size - 1) : null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean isFull() {
+        return size == slots.length;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slots[(head + i) % slots.length] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    private void move(int fromIndex, int toIndex) {
+        int from = (head + fromIndex) % slots.length;
+        int to = (head + toIndex) % slots.length;
+        slots[to] = slots[from];
+        sequences[to] = sequences[from];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.mindbloomandroid.utility.stats;
+
+/**
+ * Exponentially weighted level and slope of a series fed in time order (Holt's linear
+ * smoothing), so recent entries count more than old ones when judging whether a metric
+ * is rising or falling. Order matters, so unlike RunningStats this does not merge.
+ */
+public class EwmaTrend {
+    public static final double DEFAULT_ALPHA = 0.3;
+
+    private final double alpha;
+    private long count;
+    private double level;
+    private double slope;
+
+    public EwmaTrend() {
+        this(DEFAULT_ALPHA);
+    }
+
+    // alpha in (0, 1]; higher reacts faster to the latest values
+    public EwmaTrend(double alpha) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("alpha must be in (0, 1]: " + alpha);
+        }
+        this.alpha = alpha;
+    }
+
+    public void add(double value) {
+        count++;
+        if (count == 1) {
+            level = value;
+            return;
+        }
+        double previousLevel = level;
+        level = alpha * value + (1 - alpha) * (level + slope);
+        slope = alpha * (level - previousLevel) + (1 - alpha) * slope;
+    }
+
+    public void addAll(double[] values) {
+        for (double value : values) {
+            add(value);
+        }
+    }
+
+    public long getCount() { return count; }
+
+    public double getLevel() { return level; }
+
+    // Smoothed change per entry; 0 until there are two entries
+    public double getSlope() { return slope; }
+
+    // +1 rising, -1 falling, 0 when the slope is within tolerance or there is too little data
+    public int direction(double tolerance) {
+        if (count < 2 || Math.abs(slope) <= tolerance) {
+            return 0;
+        }
+        return slope > 0 ? 1 : -1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.mindbloomandroid.utility.stats;
+
+/**
+ * Millisecond latencies in fixed buckets, so memory stays constant however many samples
+ * arrive. A percentile resolves to the upper bound of the bucket it falls in (capped at
+ * the largest sample seen), which is as fine as "is this read 100 ms or 1 s" needs.
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    // counts[i] holds samples <= BOUNDS[i]; the last slot holds everything slower
+    private final long[] counts = new long[BOUNDS.length + 1];
+    private long count;
+    private long total;
+    private long max;
+
+    public void add(long millis) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && millis > BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        count++;
+        total += millis;
+        if (millis > max) max = millis;
+    }
+
+    /** p in (0, 100]; 0 when there are no samples. */
+    public long percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p / 100.0 * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < BOUNDS.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(BOUNDS[bucket], max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() { return count; }
+
+    public double getMean() { return count > 0 ? (double) total / count : 0.0; }
+
+    public long getMax() { return max; }
+}
@@ -0,0 +1,93 @@
+package com.example.mindbloomandroid.utility.stats;
+
+/**
+ * Count, mean, variance, min and max in one pass and constant memory (Welford's update).
+ * Two partial results combine exactly with merge, so per-day or per-shard aggregates can
+ * be folded into a total without revisiting the values.
+ */
+public class RunningStats {
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (count == 1) {
+            min = value;
+            max = value;
+        } else {
+            if (value < min) min = value;
+            if (value > max) max = value;
+        }
+    }
+
+    public void addAll(double[] values) {
+        for (double value : values) {
+            add(value);
+        }
+    }
+
+    public void addAll(int[] values) {
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    // Chan et al.'s pairwise combination, exact up to rounding
+    public void merge(RunningStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * count * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() { return count; }
+
+    // 0 when empty, so callers can display it without a special case
+    public double getMean() { return count > 0 ? mean : 0.0; }
+
+    public double getSum() { return mean * count; }
+
+    public double getPopulationVariance() { return count > 0 ? m2 / count : 0.0; }
+
+    public double getSampleVariance() { return count > 1 ? m2 / (count - 1) : 0.0; }
+
+    public double getStandardDeviation() { return Math.sqrt(getSampleVariance()); }
+
+    // NaN when empty
+    public double getMin() { return min; }
+
+    public double getMax() { return max; }
+
+    public boolean isEmpty() { return count == 0; }
+
+    @Override
+    public String toString() {
+        return "RunningStats{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", sd=" + getStandardDeviation() +
+                ", min=" + min +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.mindbloomandroid.utility.stats;
+
+import java.util.Arrays;
+
+/**
+ * Growable time series stored as two parallel primitive columns and kept sorted by
+ * timestamp. Years of daily points cost two arrays instead of one object per point, and
+ * the downsamplers cut a long range to what a chart can show before any chart entries
+ * are created.
+ */
+public class TimeSeries {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] timestamps;
+    private float[] values;
+    private int size;
+
+    public TimeSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TimeSeries(int capacity) {
+        timestamps = new long[Math.max(1, capacity)];
+        values = new float[Math.max(1, capacity)];
+    }
+
+    // Appending in time order is O(1); an out-of-order point is inserted after any equal timestamps
+    public void add(long timestamp, float value) {
+        ensureCapacity(size + 1);
+        if (size == 0 || timestamp >= timestamps[size - 1]) {
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+            return;
+        }
+
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        System.arraycopy(timestamps, low, timestamps, low + 1, size - low);
+        System.arraycopy(values, low, values, low + 1, size - low);
+        timestamps[low] = timestamp;
+        values[low] = value;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public long getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public float getValue(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // The newest count points, oldest first
+    public TimeSeries tail(int count) {
+        int from = Math.max(0, size - count);
+        return slice(from, size);
+    }
+
+    public TimeSeries slice(int from, int to) {
+        TimeSeries slice = new TimeSeries(to - from);
+        System.arraycopy(timestamps, from, slice.timestamps, 0, to - from);
+        System.arraycopy(values, from, slice.values, 0, to - from);
+        slice.size = to - from;
+        return slice;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the first and last points and, from each bucket
+     * in between, the point that spans the largest triangle with its neighbours, which
+     * preserves the visual shape of the line. Returns this series when it already fits.
+     */
+    public TimeSeries downsampleLttb(int threshold) {
+        if (threshold >= size || threshold < 3) {
+            return this;
+        }
+
+        TimeSeries sampled = new TimeSeries(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int selected = 0;
+        sampled.add(timestamps[0], values[0]);
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket stands in for the point that will follow
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += timestamps[i];
+                avgY += values[i];
+            }
+            int nextCount = Math.max(1, nextEnd - nextStart);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double ax = timestamps[selected];
+            double ay = values[selected];
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (values[i] - ay) - (ax - timestamps[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            sampled.add(timestamps[maxIndex], values[maxIndex]);
+            selected = maxIndex;
+        }
+
+        sampled.add(timestamps[size - 1], values[size - 1]);
+        return sampled;
+    }
+
+    /**
+     * Splits the series into equal-count buckets and keeps each bucket's minimum and maximum
+     * in time order, so spikes survive that averaging would flatten. At most 2 * buckets
+     * points; returns this series when it already fits.
+     */
+    public TimeSeries downsampleMinMax(int buckets) {
+        if (buckets <= 0 || size <= buckets * 2) {
+            return this;
+        }
+
+        TimeSeries sampled = new TimeSeries(buckets * 2);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = (int) ((long) bucket * size / buckets);
+            int end = (int) ((long) (bucket + 1) * size / buckets);
+            int minIndex = start;
+            int maxIndex = start;
+            for (int i = start + 1; i < end; i++) {
+                if (values[i] < values[minIndex]) minIndex = i;
+                if (values[i] > values[maxIndex]) maxIndex = i;
+            }
+            int first = Math.min(minIndex, maxIndex);
+            int second = Math.max(minIndex, maxIndex);
+            sampled.add(timestamps[first], values[first]);
+            if (second != first) {
+                sampled.add(timestamps[second], values[second]);
+            }
+        }
+        return sampled;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > timestamps.length) {
+            int grown = Math.max(capacity, timestamps.length * 2);
+            timestamps = Arrays.copyOf(timestamps, grown);
+            values = Arrays.copyOf(values, grown);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.mindbloomandroid.model;
+
+import com.google.firebase.database.Exclude;
+import com.google.firebase.database.core.utilities.encoding.CustomClassMapper;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * The hand-written fromMap/toMap codecs against Firebase's reflective CustomClassMapper,
+ * which is what snapshot.getValue(Model.class) and setValue(model) use underneath.
+ */
+public class ModelCodecParityTest {
+
+    static final List<Class<?>> MODELS = Arrays.asList(
+            User.class, MoodLog.class, StressAssessment.class, SleepEntry.class, Habit.class,
+            HabitCompletion.class, TherapySession.class, SessionRequest.class, Notification.class,
+            TherapyNote.class, RollupBucket.class, ProgressData.class, Post.class, JournalEntry.class,
+            Instructor.class, Message.class, GroupChatMessage.class, Conversation.class, Comment.class);
+
+    @Test
+    public void toMapWritesWhatTheMapperWrites() throws Exception {
+        for (Class<?> type : MODELS) {
+            Object sample = sample(type);
+            Map<String, Object> reflective = plain(sample);
+            for (Map.Entry<String, Object> field : toMap(sample).entrySet()) {
+                String name = type.getSimpleName() + "." + field.getKey();
+                assertTrue(name, reflective.containsKey(field.getKey()));
+                assertEquals(name, reflective.get(field.getKey()), field.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void fromMapReadsWhatTheMapperReads() throws Exception {
+        for (Class<?> type : MODELS) {
+            // Everything the mapper used to write, including derived and alias keys
+            Map<String, Object> raw = stored(plain(sample(type)));
+            assertEquals(type.getSimpleName(),
+                    plain(CustomClassMapper.convertToCustomClass(raw, type)),
+                    plain(fromMap(type, raw)));
+        }
+    }
+
+    @Test
+    public void toMapRecordsReadBackUnchanged() throws Exception {
+        for (Class<?> type : MODELS) {
+            Map<String, Object> raw = stored(toMap(sample(type)));
+            Object decoded = fromMap(type, raw);
+            assertEquals(type.getSimpleName(), plain(CustomClassMapper.convertToCustomClass(raw, type)), plain(decoded));
+            assertEquals(type.getSimpleName(), raw, stored(toMap(decoded)));
+        }
+    }
+
+    @Test
+    public void numbersConvertLikeTheMapper() throws Exception {
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("moodSum", 12L);            // whole doubles come back from the database as Long
+        raw.put("moodCount", 3.0);
+        raw.put("stressSum", 7);
+        assertEquals(plain(CustomClassMapper.convertToCustomClass(raw, RollupBucket.class)),
+                plain(RollupBucket.fromMap(raw)));
+
+        raw = new HashMap<>();
+        raw.put("currentStreak", 4.0);
+        raw.put("longestStreak", 9L);
+        raw.put("active", false);
+        assertEquals(plain(CustomClassMapper.convertToCustomClass(raw, Habit.class)),
+                plain(Habit.fromMap(raw)));
+    }
+
+    @Test
+    public void wrongTypesAreRejectedLikeTheMapper() {
+        Map<String, Object> textAsNumber = new HashMap<>();
+        textAsNumber.put("notes", 42L);
+        assertBothReject(textAsNumber);
+
+        Map<String, Object> numberAsText = new HashMap<>();
+        numberAsText.put("moodRating", "five");
+        assertBothReject(numberAsText);
+    }
+
+    @Test
+    public void settersRunOnRead() {
+        Map<String, Object> raw = new HashMap<>();
+        raw.put("role", "INSTRUCTOR");
+        assertEquals("USER", User.fromMap(raw).getRole());
+
+        raw = new HashMap<>();
+        raw.put("moodRating", 5L);
+        assertEquals("😊", MoodLog.fromMap(raw).getMoodEmoji());
+    }
+
+    private static void assertBothReject(Map<String, Object> raw) {
+        try {
+            CustomClassMapper.convertToCustomClass(raw, MoodLog.class);
+            fail("mapper accepted " + raw);
+        } catch (RuntimeException expected) {
+            // DatabaseException
+        }
+        try {
+            MoodLog.fromMap(raw);
+            fail("codec accepted " + raw);
+        } catch (IllegalArgumentException expected) {
+            // Same rejection, surfaced by DecodingValueListener as a cancelled read
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> plain(Object model) {
+        return (Map<String, Object>) CustomClassMapper.convertToPlainJavaTypes(model);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> toMap(Object model) throws Exception {
+        return (Map<String, Object>) invoke(model.getClass().getMethod("toMap"), model);
+    }
+
+    static Object fromMap(Class<?> type, Map<String, Object> raw) throws Exception {
+        return invoke(type.getMethod("fromMap", Map.class), null, raw);
+    }
+
+    // What a write followed by a read returns: nulls dropped, whole numbers as Long
+    @SuppressWarnings("unchecked")
+    static <T> T stored(T value) {
+        if (value instanceof Map) {
+            Map<String, Object> stored = new HashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                if (entry.getValue() != null) {
+                    stored.put(entry.getKey(), stored(entry.getValue()));
+                }
+            }
+            return (T) stored;
+        }
+        if (value instanceof List) {
+            List<Object> stored = new ArrayList<>();
+            for (Object item : (List<Object>) value) {
+                stored.add(stored(item));
+            }
+            return (T) stored;
+        }
+        if (value instanceof Integer) {
+            return (T) Long.valueOf((Integer) value);
+        }
+        if (value instanceof Double && (Double) value == Math.rint((Double) value)) {
+            return (T) Long.valueOf(((Double) value).longValue());
+        }
+        return value;
+    }
+
+    // Every persisted setter gets a distinct, non-default value
+    static Object sample(Class<?> type) throws Exception {
+        Object model = type.getConstructor().newInstance();
+        List<Method> setters = new ArrayList<>(Arrays.asList(type.getMethods()));
+        setters.sort(Comparator.comparing(Method::getName));
+        int seed = 1;
+        for (Method setter : setters) {
+            if (!setter.getName().startsWith("set") || setter.getParameterCount() != 1
+                    || Modifier.isStatic(setter.getModifiers()) || setter.isAnnotationPresent(Exclude.class)) {
+                continue;
+            }
+            Object value = sampleValue(setter.getParameterTypes()[0], setter.getName().substring(3), seed++);
+            if (value != null) {
+                invoke(setter, model, value);
+            }
+        }
+        return model;
+    }
+
+    private static Object sampleValue(Class<?> type, String property, int seed) {
+        if (type == String.class) return property + "-" + seed;
+        if (type == int.class) return seed * 3;
+        if (type == long.class || type == Long.class) return 1_700_000_000_000L + seed * 86_400_000L;
+        if (type == double.class) return seed + 0.25;
+        if (type == boolean.class) return seed % 2 == 0;
+        if (type == List.class) return Arrays.asList(property + "-a", property + "-b");
+        return null;
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws Exception {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.mindbloomandroid.stream;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DataStreamTest {
+
+    @Test
+    public void mapAndDistinctDropRepeats() {
+        ValueStream<String> input = new ValueStream<>("a");
+        Recorder<Integer> recorder = new Recorder<>();
+        input.map(String::length).distinct().subscribe(recorder);
+
+        input.setValue("b");
+        input.setValue("cc");
+        input.setValue("dd");
+        input.setValue("e");
+
+        assertEquals(Arrays.asList(1, 2, 1), recorder.values);
+    }
+
+    @Test
+    public void filterPassesOnlyMatchingValues() {
+        ValueStream<String> query = new ValueStream<>("");
+        Recorder<String> recorder = new Recorder<>();
+        query.filter(text -> text.length() >= 2).subscribe(recorder);
+
+        query.setValue("a");
+        query.setValue("an");
+
+        assertEquals(Arrays.asList("an"), recorder.values);
+    }
+
+    @Test
+    public void switchMapCancelsTheStaleInnerStream() {
+        ValueStream<String> selection = new ValueStream<>("first");
+        Controlled<String> firstLoad = new Controlled<>();
+        Controlled<String> secondLoad = new Controlled<>();
+        Recorder<String> recorder = new Recorder<>();
+
+        selection.switchMap(key -> key.equals("first") ? firstLoad.stream() : secondLoad.stream())
+                .subscribe(recorder);
+        selection.setValue("second");
+
+        assertTrue(firstLoad.cancelled);
+        firstLoad.emit("stale");
+        secondLoad.emit("fresh");
+        assertEquals(Arrays.asList("fresh"), recorder.values);
+    }
+
+    @Test
+    public void combineWaitsForBothThenFollowsEither() {
+        ValueStream<Integer> left = new ValueStream<>(1);
+        Controlled<Integer> right = new Controlled<>();
+        Recorder<Integer> recorder = new Recorder<>();
+        DataStream.combine(left, right.stream(), Integer::sum).subscribe(recorder);
+
+        assertTrue(recorder.values.isEmpty());
+        right.emit(10);
+        left.setValue(2);
+        right.emit(20);
+
+        assertEquals(Arrays.asList(11, 12, 22), recorder.values);
+    }
+
+    @Test
+    public void combineErrorCancelsTheOtherSource() {
+        Controlled<Integer> left = new Controlled<>();
+        Controlled<Integer> right = new Controlled<>();
+        Recorder<Integer> recorder = new Recorder<>();
+        DataStream.combine(left.stream(), right.stream(), Integer::sum).subscribe(recorder);
+
+        left.fail("denied");
+
+        assertEquals("denied", recorder.error);
+        assertTrue(right.cancelled);
+    }
+
+    @Test
+    public void debounceEmitsOnlyTheLastValueOfABurst() {
+        ManualScheduler scheduler = new ManualScheduler();
+        ValueStream<String> input = new ValueStream<>("week");
+        Recorder<String> recorder = new Recorder<>();
+        input.debounce(300, scheduler).subscribe(recorder);
+
+        input.setValue("month");
+        input.setValue("year");
+        assertTrue(recorder.values.isEmpty());
+
+        scheduler.runAll();
+        assertEquals(Arrays.asList("year"), recorder.values);
+    }
+
+    @Test
+    public void firstCompletesAndCancelsASynchronousSource() {
+        Controlled<String> live = new Controlled<>();
+        live.replay = "cached";
+        Recorder<String> recorder = new Recorder<>();
+
+        DataStream.combine(live.stream().first(), DataStream.just("x"), (a, b) -> a + b).subscribe(recorder);
+
+        assertEquals(Arrays.asList("cachedx"), recorder.values);
+        assertTrue(recorder.completed);
+        assertTrue(live.cancelled);
+    }
+
+    @Test
+    public void cancelStopsDelivery() {
+        ValueStream<Integer> input = new ValueStream<>(0);
+        Recorder<Integer> recorder = new Recorder<>();
+        Cancellable subscription = input.map(value -> value * 2).subscribe(recorder);
+
+        input.setValue(1);
+        subscription.cancel();
+        input.setValue(2);
+
+        assertEquals(Arrays.asList(0, 2), recorder.values);
+    }
+
+    private static final class Recorder<T> implements StreamObserver<T> {
+        final List<T> values = new ArrayList<>();
+        String error;
+        boolean completed;
+
+        @Override
+        public void onNext(T value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(String error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    // A source driven by the test, standing in for a Firebase read
+    private static final class Controlled<T> {
+        Emitter<T> emitter;
+        T replay;
+        boolean cancelled;
+
+        DataStream<T> stream() {
+            return DataStream.create(emitter -> {
+                this.emitter = emitter;
+                if (replay != null) {
+                    emitter.next(replay);
+                }
+                return () -> cancelled = true;
+            });
+        }
+
+        void emit(T value) {
+            emitter.next(value);
+        }
+
+        void fail(String error) {
+            emitter.error(error);
+        }
+    }
+
+    private static final class ManualScheduler implements Scheduler {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public Cancellable schedule(Runnable task, long delayMillis) {
+            tasks.add(task);
+            return () -> tasks.remove(task);
+        }
+
+        void runAll() {
+            for (Runnable task : new ArrayList<>(tasks)) {
+                tasks.remove(task);
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.mindbloomandroid.utility;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RingBufferTest {
+
+    @Test
+    public void appendingPastCapacityEvictsOldest() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        assertNull(buffer.addLast("a"));
+        assertNull(buffer.addLast("b"));
+        assertNull(buffer.addLast("c"));
+        assertEquals("a", buffer.addLast("d"));
+        assertEquals("b", buffer.addLast("e"));
+
+        assertEquals(3, buffer.size());
+        assertEquals("c", buffer.first());
+        assertEquals("d", buffer.get(1));
+        assertEquals("e", buffer.last());
+    }
+
+    @Test
+    public void prependingFillsFreeSlotsOnly() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.addLast("c");
+        assertTrue(buffer.addFirst("b"));
+        assertTrue(buffer.addFirst("a"));
+        assertFalse(buffer.addFirst("z"));
+
+        assertEquals("a", buffer.get(0));
+        assertEquals("b", buffer.get(1));
+        assertEquals("c", buffer.get(2));
+    }
+
+    @Test
+    public void sequencesFollowElementsAcrossEvictionAndPrepend() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.addLast("b");
+        buffer.addLast("c");
+        long b = buffer.sequenceAt(0);
+        long c = buffer.sequenceAt(1);
+        buffer.addFirst("a");
+        assertEquals(b, buffer.sequenceAt(1));
+        assertEquals(c, buffer.sequenceAt(2));
+        assertTrue(buffer.sequenceAt(0) < b);
+
+        buffer.addLast("d");
+        assertEquals(b, buffer.sequenceAt(0));
+        assertEquals(c, buffer.sequenceAt(1));
+        assertTrue(buffer.sequenceAt(2) > c);
+    }
+
+    @Test
+    public void insertShiftsLaterElementsAndKeepsTheirSequences() {
+        RingBuffer<String> buffer = new RingBuffer<>(4);
+        buffer.addLast("a");
+        buffer.addLast("c");
+        long c = buffer.sequenceAt(1);
+        assertNull(buffer.insert(1, "b"));
+        assertNull(buffer.insert(3, "d"));
+
+        assertEquals("a", buffer.get(0));
+        assertEquals("b", buffer.get(1));
+        assertEquals("c", buffer.get(2));
+        assertEquals("d", buffer.get(3));
+        assertEquals(c, buffer.sequenceAt(2));
+        assertNotEquals(buffer.sequenceAt(1), buffer.sequenceAt(3));
+    }
+
+    @Test
+    public void insertIntoFullBufferEvictsOldest() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+        buffer.addLast("a");
+        buffer.addLast("b");
+        buffer.addLast("d");
+        assertEquals("a", buffer.insert(2, "c"));
+        assertEquals("b", buffer.get(0));
+        assertEquals("c", buffer.get(1));
+        assertEquals("d", buffer.get(2));
+
+        // Older than everything held, so it is the one that doesn't fit
+        assertEquals("z", buffer.insert(0, "z"));
+        assertEquals("b", buffer.first());
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    public void removeAtClosesTheGap() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.addLast(i);
+        }
+        long last = buffer.sequenceAt(3);
+        assertEquals(Integer.valueOf(3), buffer.removeAt(1));
+        assertEquals(Integer.valueOf(2), buffer.removeAt(0));
+        assertEquals(2, buffer.size());
+        assertEquals(Integer.valueOf(4), buffer.first());
+        assertEquals(Integer.valueOf(5), buffer.last());
+        assertEquals(last, buffer.sequenceAt(1));
+
+        assertNull(buffer.addLast(6));
+        assertNull(buffer.addLast(7));
+        assertEquals(Integer.valueOf(4), buffer.addLast(8));
+    }
+
+    @Test
+    public void wrapsAroundRepeatedly() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 1_000; i++) {
+            buffer.addLast(i);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Integer.valueOf(996 + i), buffer.get(i));
+        }
+        buffer.set(0, -1);
+        assertEquals(Integer.valueOf(-1), buffer.first());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsIndexPastSize() {
+        RingBuffer<String> buffer = new RingBuffer<>(4);
+        buffer.addLast("a");
+        buffer.get(1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.mindbloomandroid.utility.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Single-pass aggregates against the two-pass results they replace, and merge parity.
+ */
+public class StreamingStatsTest {
+
+    @Test
+    public void runningStatsMatchesTwoPass() {
+        double[] values = {4, 2, 5, 3, 3, 1, 5, 4};
+        RunningStats stats = new RunningStats();
+        stats.addAll(values);
+
+        double sum = 0;
+        for (double value : values) sum += value;
+        double mean = sum / values.length;
+        double squares = 0;
+        for (double value : values) squares += (value - mean) * (value - mean);
+
+        assertEquals(values.length, stats.getCount());
+        assertEquals(mean, stats.getMean(), 1e-12);
+        assertEquals(squares / (values.length - 1), stats.getSampleVariance(), 1e-12);
+        assertEquals(1.0, stats.getMin(), 0);
+        assertEquals(5.0, stats.getMax(), 0);
+    }
+
+    @Test
+    public void mergedPartialsEqualOnePass() {
+        double[] values = {7.5, 6.0, 8.25, 5.5, 9.0, 4.75, 6.5};
+        RunningStats whole = new RunningStats();
+        whole.addAll(values);
+
+        RunningStats left = new RunningStats();
+        RunningStats right = new RunningStats();
+        for (int i = 0; i < values.length; i++) {
+            (i < 3 ? left : right).add(values[i]);
+        }
+        left.merge(right);
+
+        assertEquals(whole.getCount(), left.getCount());
+        assertEquals(whole.getMean(), left.getMean(), 1e-12);
+        assertEquals(whole.getSampleVariance(), left.getSampleVariance(), 1e-12);
+        assertEquals(whole.getMin(), left.getMin(), 0);
+        assertEquals(whole.getMax(), left.getMax(), 0);
+    }
+
+    @Test
+    public void emptyStatsReadAsZero() {
+        RunningStats stats = new RunningStats();
+        stats.merge(new RunningStats());
+        assertTrue(stats.isEmpty());
+        assertEquals(0.0, stats.getMean(), 0);
+        assertEquals(0.0, stats.getSampleVariance(), 0);
+    }
+
+    @Test
+    public void trendFollowsDirection() {
+        EwmaTrend rising = new EwmaTrend();
+        rising.addAll(new double[]{2, 2, 3, 3, 4, 5});
+        assertEquals(1, rising.direction(0.05));
+
+        EwmaTrend falling = new EwmaTrend();
+        falling.addAll(new double[]{5, 4, 4, 3, 2, 2});
+        assertEquals(-1, falling.direction(0.05));
+
+        EwmaTrend flat = new EwmaTrend();
+        flat.addAll(new double[]{3, 3, 3, 3});
+        assertEquals(0, flat.direction(0.05));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void trendRejectsInvalidAlpha() {
+        new EwmaTrend(0);
+    }
+
+    @Test
+    public void histogramPercentilesResolveToBucketBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis : new long[] {3, 8, 40, 45, 90, 120, 300, 700, 900, 4200}) {
+            histogram.add(millis);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(100, histogram.percentile(50));
+        assertEquals(1000, histogram.percentile(90));
+        assertEquals(4200, histogram.percentile(100));
+        assertEquals(4200, histogram.getMax());
+        assertEquals(640.6, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void histogramPercentileNeverExceedsTheSlowestSample() {
+        LatencyHistogram fast = new LatencyHistogram();
+        fast.add(130);
+        assertEquals(130, fast.percentile(50));
+
+        LatencyHistogram slow = new LatencyHistogram();
+        slow.add(130);
+        slow.add(20000);
+        assertEquals(250, slow.percentile(50));
+        assertEquals(20000, slow.percentile(99));
+
+        assertEquals(0, new LatencyHistogram().percentile(50));
+    }
+}
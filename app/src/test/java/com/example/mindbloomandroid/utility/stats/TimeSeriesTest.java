@@ -0,0 +1,88 @@
+package com.example.mindbloomandroid.utility.stats;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimeSeriesTest {
+
+    @Test
+    public void staysSortedWhenPointsArriveOutOfOrder() {
+        TimeSeries series = new TimeSeries(2);
+        series.add(30, 3f);
+        series.add(10, 1f);
+        series.add(40, 4f);
+        series.add(20, 2f);
+        series.add(20, 2.5f);
+
+        assertEquals(5, series.size());
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < series.size(); i++) {
+            assertTrue(series.getTimestamp(i) >= previous);
+            previous = series.getTimestamp(i);
+        }
+        // Equal timestamps keep arrival order
+        assertEquals(2f, series.getValue(1), 0);
+        assertEquals(2.5f, series.getValue(2), 0);
+    }
+
+    @Test
+    public void tailKeepsNewestPointsInOrder() {
+        TimeSeries series = ramp(10);
+        TimeSeries tail = series.tail(3);
+        assertEquals(3, tail.size());
+        assertEquals(7, tail.getTimestamp(0));
+        assertEquals(9, tail.getTimestamp(2));
+        assertEquals(10, series.tail(50).size());
+    }
+
+    @Test
+    public void lttbKeepsEndpointsAndPeaks() {
+        TimeSeries series = new TimeSeries();
+        for (int i = 0; i < 10_000; i++) {
+            series.add(i, i == 5_000 ? 100f : (float) Math.sin(i / 50.0));
+        }
+
+        TimeSeries sampled = series.downsampleLttb(200);
+        assertEquals(200, sampled.size());
+        assertEquals(0, sampled.getTimestamp(0));
+        assertEquals(9_999, sampled.getTimestamp(199));
+
+        boolean keptSpike = false;
+        for (int i = 0; i < sampled.size(); i++) {
+            keptSpike |= sampled.getValue(i) == 100f;
+        }
+        assertTrue(keptSpike);
+    }
+
+    @Test
+    public void downsamplingShortSeriesIsNoOp() {
+        TimeSeries series = ramp(50);
+        assertSame(series, series.downsampleLttb(200));
+        assertSame(series, series.downsampleMinMax(100));
+    }
+
+    @Test
+    public void minMaxKeepsBucketExtremesInTimeOrder() {
+        TimeSeries series = new TimeSeries();
+        float[] values = {5, 1, 9, 3, 2, 8, 7, 0};
+        for (int i = 0; i < values.length; i++) {
+            series.add(i, values[i]);
+        }
+
+        TimeSeries sampled = series.downsampleMinMax(2);
+        assertEquals(4, sampled.size());
+        assertEquals(1f, sampled.getValue(0), 0);
+        assertEquals(9f, sampled.getValue(1), 0);
+        assertEquals(8f, sampled.getValue(2), 0);
+        assertEquals(0f, sampled.getValue(3), 0);
+    }
+
+    private static TimeSeries ramp(int size) {
+        TimeSeries series = new TimeSeries();
+        for (int i = 0; i < size; i++) {
+            series.add(i, i);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,48 @@
+plugins {
+    alias(libs.plugins.android.test)
+}
+
+// Microbenchmarks run inside the app's process against its non-debuggable "benchmark" build:
+//   ./gradlew :benchmark:connectedBenchmarkAndroidTest
+// Results are written as JSON under build/outputs/connected_android_test_additional_output,
+// one file per device, for comparing against a stored baseline.
+android {
+    namespace = "com.example.mindbloomandroid.benchmark"
+    compileSdk = 36
+
+    defaultConfig {
+        minSdk = 24
+        targetSdk = 36
+
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+        testInstrumentationRunnerArguments["androidx.benchmark.output.enable"] = "true"
+    }
+
+    buildTypes {
+        create("benchmark") {
+            isDebuggable = false
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
+    }
+
+    targetProjectPath = ":app"
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+}
+
+// Timings from a debuggable app are meaningless, so only the benchmark variant is built
+androidComponents {
+    beforeVariants(selector().all()) {
+        it.enable = it.buildType == "benchmark"
+    }
+}
+
+dependencies {
+    implementation(libs.benchmark.junit4)
+    implementation(libs.ext.junit)
+    implementation(libs.junit)
+}
@@ -0,0 +1,89 @@
+package com.example.mindbloomandroid.benchmark;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.annotation.UiThreadTest;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.mindbloomandroid.R;
+import com.example.mindbloomandroid.adapter.ChatMessageAdapter;
+import com.example.mindbloomandroid.adapter.ForumPostAdapter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * onBindViewHolder alone, cycling through a submitted list with one inflated holder per view
+ * type, so inflation and layout stay out of the numbers.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AdapterBindBenchmark {
+    private static final int ITEMS = 50;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        Fixtures.pinLocale();
+        context = new ContextThemeWrapper(InstrumentationRegistry.getInstrumentation().getTargetContext(),
+                R.style.Theme_MINDBLOOMANDROID);
+    }
+
+    @Test
+    @UiThreadTest
+    public void chatMessage() {
+        ChatMessageAdapter adapter = new ChatMessageAdapter(context, Fixtures.CURRENT_USER);
+        // The first list is applied synchronously, there is nothing to diff against
+        adapter.submitList(Fixtures.messages(ITEMS));
+        measureBind(adapter);
+    }
+
+    @Test
+    @UiThreadTest
+    public void forumPost() {
+        ForumPostAdapter adapter = new ForumPostAdapter(context, null);
+        adapter.submitList(Fixtures.posts(ITEMS, System.currentTimeMillis()));
+        measureBind(adapter);
+    }
+
+    private void measureBind(RecyclerView.Adapter<?> adapter) {
+        assertEquals(ITEMS, adapter.getItemCount());
+        bindRepeated(adapter);
+    }
+
+    private <VH extends RecyclerView.ViewHolder> void bindRepeated(RecyclerView.Adapter<VH> adapter) {
+        RecyclerView parent = new RecyclerView(context);
+        parent.setLayoutManager(new LinearLayoutManager(context));
+
+        Map<Integer, VH> holders = new HashMap<>();
+        for (int position = 0; position < ITEMS; position++) {
+            int viewType = adapter.getItemViewType(position);
+            if (!holders.containsKey(viewType)) {
+                holders.put(viewType, adapter.onCreateViewHolder(parent, viewType));
+            }
+        }
+
+        BenchmarkState state = benchmarkRule.getState();
+        int position = 0;
+        while (state.keepRunning()) {
+            adapter.onBindViewHolder(holders.get(adapter.getItemViewType(position)), position);
+            position = position + 1 == ITEMS ? 0 : position + 1;
+        }
+    }
+}
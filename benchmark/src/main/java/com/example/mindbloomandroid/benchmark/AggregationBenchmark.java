@@ -0,0 +1,75 @@
+package com.example.mindbloomandroid.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.mindbloomandroid.activities.ClientProgressActivity;
+import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.model.RollupBucket;
+import com.example.mindbloomandroid.model.SleepEntry;
+import com.example.mindbloomandroid.service.RollupService;
+import com.example.mindbloomandroid.utility.stats.TimeSeries;
+import com.google.firebase.database.DataSnapshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The averaging behind the progress screens: ProgressService folding a range of daily rollups
+ * into totals and chart points, and ClientProgressActivity averaging the raw logs it lists.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AggregationBenchmark {
+    private static final int DAYS = 90;
+    private static final int LOGS = 500;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Test
+    public void progressRollups() {
+        DataSnapshot daily = Fixtures.snapshot("rollups/" + Fixtures.CURRENT_USER + "/" + RollupService.DAILY,
+                Fixtures.dailyRollups(DAYS));
+
+        BenchmarkState state = benchmarkRule.getState();
+        RollupBucket total = null;
+        while (state.keepRunning()) {
+            total = RollupService.mergeBuckets(daily);
+            TimeSeries moodSeries = new TimeSeries((int) daily.getChildrenCount());
+            TimeSeries stressSeries = new TimeSeries((int) daily.getChildrenCount());
+            RollupService.fillDailyAverages(daily, moodSeries, stressSeries);
+        }
+        assertEquals(DAYS, total.getSleepCount());
+    }
+
+    @Test
+    public void clientMoodAverage() {
+        List<MoodLog> logs = Fixtures.moodLogs(LOGS);
+
+        BenchmarkState state = benchmarkRule.getState();
+        double average = 0;
+        while (state.keepRunning()) {
+            average = ClientProgressActivity.moodStats(logs).getMean();
+        }
+        assertTrue(average >= 1 && average <= 5);
+    }
+
+    @Test
+    public void clientSleepAverage() {
+        List<SleepEntry> entries = Fixtures.sleepEntries(LOGS);
+
+        BenchmarkState state = benchmarkRule.getState();
+        double average = 0;
+        while (state.keepRunning()) {
+            average = ClientProgressActivity.sleepHoursStats(entries).getMean();
+        }
+        assertTrue(average >= 5 && average <= 9);
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.mindbloomandroid.benchmark;
+
+import com.example.mindbloomandroid.model.Message;
+import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.model.Notification;
+import com.example.mindbloomandroid.model.Post;
+import com.example.mindbloomandroid.model.RollupBucket;
+import com.example.mindbloomandroid.model.SleepEntry;
+import com.example.mindbloomandroid.service.RollupService;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.InternalHelpers;
+import com.google.firebase.database.snapshot.IndexedNode;
+import com.google.firebase.database.snapshot.NodeUtilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark inputs. Every generator draws from its own Random(SEED) and dates are fixed offsets
+ * from BASE_TIME, so each run and each device measures the same records; with the locale pinned,
+ * formatting does the same work too.
+ */
+final class Fixtures {
+    static final long SEED = 20251017L;
+    static final long BASE_TIME = 1_760_000_000_000L;
+
+    static final long MINUTE = 60_000L;
+    static final long HOUR = 60 * MINUTE;
+    static final long DAY = 24 * HOUR;
+
+    static final String CURRENT_USER = "user_0";
+    static final String OTHER_USER = "user_1";
+
+    private static final String[] WORDS = {
+            "today", "felt", "calm", "after", "a", "long", "walk", "work", "was", "stressful",
+            "slept", "well", "talked", "with", "friends", "breathing", "exercise", "helped", "again",
+            "tired", "but", "hopeful", "session", "tomorrow", "journaling", "the", "morning"
+    };
+    private static final String[] EMOJIS = {"😢", "😕", "😐", "🙂", "😄"};
+
+    private Fixtures() {}
+
+    static void pinLocale() {
+        Locale.setDefault(Locale.US);
+    }
+
+    // DataSnapshot has no public constructor, InternalHelpers is the SDK's own hook for making one.
+    // The database goes offline first so that taking a reference never opens a connection.
+    static DataSnapshot snapshot(String path, Map<String, Object> value) {
+        FirebaseDatabase database = FirebaseDatabase.getInstance();
+        database.goOffline();
+        return InternalHelpers.createDataSnapshot(database.getReference(path),
+                IndexedNode.from(NodeUtilities.NodeFromJSON(value)));
+    }
+
+    static String key(int index) {
+        return String.format(Locale.US, "-Nrec%07d", index);
+    }
+
+    static List<MoodLog> moodLogs(int count) {
+        Random random = new Random(SEED);
+        List<MoodLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int rating = 1 + random.nextInt(5);
+            MoodLog log = new MoodLog();
+            log.setMoodLogId(key(i));
+            log.setUserId(CURRENT_USER);
+            log.setLogDate(BASE_TIME - i * 5 * HOUR);
+            log.setMoodRating(rating);
+            log.setMoodEmoji(EMOJIS[rating - 1]);
+            log.setNotes(sentence(random, 4 + random.nextInt(20)));
+            log.setActivities("walk,reading");
+            logs.add(log);
+        }
+        return logs;
+    }
+
+    // A conversation between CURRENT_USER and OTHER_USER, oldest first
+    static List<Message> messages(int count) {
+        Random random = new Random(SEED);
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean sent = random.nextBoolean();
+            Message message = new Message();
+            message.setMessageId(key(i));
+            message.setSenderId(sent ? CURRENT_USER : OTHER_USER);
+            message.setSenderName(sent ? "Alex" : "Dr. Morgan");
+            message.setReceiverId(sent ? OTHER_USER : CURRENT_USER);
+            message.setReceiverName(sent ? "Dr. Morgan" : "Alex");
+            message.setMessageText(sentence(random, 1 + random.nextInt(30)));
+            message.setSentAt(BASE_TIME - (count - i) * 3 * MINUTE);
+            message.setReadAt(i % 4 == 0 ? 0 : BASE_TIME - (count - i) * 3 * MINUTE + MINUTE);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    static List<Notification> notifications(int count) {
+        Random random = new Random(SEED);
+        List<Notification> notifications = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean session = random.nextInt(3) == 0;
+            Notification notification = new Notification();
+            notification.setNotificationId(key(i));
+            notification.setUserId(CURRENT_USER);
+            notification.setType(session ? "SESSION_CONFIRMED" : "MESSAGE");
+            notification.setTitle(session ? "Session confirmed" : "New message");
+            notification.setMessage(sentence(random, 6 + random.nextInt(12)));
+            notification.setRead(random.nextBoolean());
+            notification.setCreatedAt(BASE_TIME - i * 2 * HOUR);
+            notification.setRelatedEntityId(key(count + i));
+            if (session) {
+                notification.setZoomLink("https://zoom.us/j/" + (100_000_000 + random.nextInt(900_000_000)));
+                notification.setSessionDate(BASE_TIME + random.nextInt(14) * DAY);
+                notification.setInstructorName("Dr. Morgan");
+            }
+            notifications.add(notification);
+        }
+        return notifications;
+    }
+
+    // Created from now backwards, since a post shows its age
+    static List<Post> posts(int count, long now) {
+        Random random = new Random(SEED);
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post post = new Post();
+            post.setPostId(key(i));
+            post.setUserId(i % 5 == 0 ? CURRENT_USER : "user_" + (2 + random.nextInt(50)));
+            post.setUsername(i % 7 == 0 ? "" : "member" + random.nextInt(1000));
+            post.setTitle(sentence(random, 3 + random.nextInt(6)));
+            post.setContent(sentence(random, 10 + random.nextInt(60)));
+            post.setLikeCount(random.nextInt(40));
+            post.setCommentCount(random.nextInt(15));
+            post.setCreatedAt(now - i * 7 * HOUR);
+            post.setUpdatedAt(now - i * 7 * HOUR);
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    static List<SleepEntry> sleepEntries(int count) {
+        Random random = new Random(SEED);
+        List<SleepEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long start = BASE_TIME - i * DAY - 2 * HOUR + random.nextInt(120) * MINUTE;
+            SleepEntry entry = new SleepEntry();
+            entry.setSleepEntryId(key(i));
+            entry.setUserId(CURRENT_USER);
+            entry.setSleepStartTime(start);
+            entry.setSleepEndTime(start + 5 * HOUR + random.nextInt(240) * MINUTE);
+            entry.setSleepQuality(1 + random.nextInt(5));
+            entry.setCreatedAt(start);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    // rollups/{uid}/daily as the writers leave it: one bucket per day key, oldest first
+    static Map<String, Object> dailyRollups(int days) {
+        Random random = new Random(SEED);
+        Map<String, Object> daily = new LinkedHashMap<>();
+        for (int i = days - 1; i >= 0; i--) {
+            RollupBucket bucket = new RollupBucket();
+            int moods = random.nextInt(4);
+            for (int m = 0; m < moods; m++) {
+                bucket.setMoodSum(bucket.getMoodSum() + 1 + random.nextInt(5));
+            }
+            bucket.setMoodCount(moods);
+            if (i % 7 == 0) {
+                bucket.setStressSum(random.nextInt(41));
+                bucket.setStressCount(1);
+            }
+            bucket.setSleepHoursSum(5 + random.nextInt(40) / 10.0);
+            bucket.setSleepCount(1);
+            bucket.setHabitCompletions(random.nextInt(6));
+            daily.put(RollupService.dayKey(BASE_TIME - i * DAY), bucket.toMap());
+        }
+        return daily;
+    }
+
+    // Children keyed the way push ids sort, which is the order the database returns them in
+    static Map<String, Object> byKey(List<Map<String, Object>> records) {
+        Map<String, Object> children = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            children.put(key(i), records.get(i));
+        }
+        return children;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) text.append(' ');
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mindbloomandroid.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.mindbloomandroid.utility.DateTimeUtil;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(AndroidJUnit4.class)
+public class FormattingBenchmark {
+
+    // Ages that reach every branch, from "Just now" to years, in a fixed order
+    private static final long[] AGES = {
+            10_000L, 5 * Fixtures.MINUTE, 45 * Fixtures.MINUTE, 1 * Fixtures.HOUR, 9 * Fixtures.HOUR,
+            Fixtures.DAY + Fixtures.HOUR, 3 * Fixtures.DAY, 8 * Fixtures.DAY, 20 * Fixtures.DAY,
+            40 * Fixtures.DAY, 200 * Fixtures.DAY, 400 * Fixtures.DAY, 1500 * Fixtures.DAY
+    };
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Before
+    public void setUp() {
+        Fixtures.pinLocale();
+    }
+
+    @Test
+    public void formatRelativeTime() {
+        long now = System.currentTimeMillis();
+        long[] timestamps = new long[AGES.length];
+        for (int i = 0; i < AGES.length; i++) {
+            timestamps[i] = now - AGES[i];
+        }
+
+        BenchmarkState state = benchmarkRule.getState();
+        String text = null;
+        while (state.keepRunning()) {
+            for (long timestamp : timestamps) {
+                text = DateTimeUtil.formatRelativeTime(timestamp);
+            }
+        }
+        assertNotNull(text);
+    }
+}
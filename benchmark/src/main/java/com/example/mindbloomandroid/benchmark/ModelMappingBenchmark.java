@@ -0,0 +1,126 @@
+package com.example.mindbloomandroid.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.mindbloomandroid.model.Message;
+import com.example.mindbloomandroid.model.MoodLog;
+import com.example.mindbloomandroid.model.Notification;
+import com.google.firebase.database.DataSnapshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * One snapshot's worth of records decoded the way the services' listeners do it: walk the
+ * children, fromSnapshot each one, keep the key as the id. moodLogsReflective decodes the same
+ * snapshot through getValue(Class) as the baseline the hand-written codec is measured against;
+ * ModelCodecParityTest checks that the two agree.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ModelMappingBenchmark {
+    private static final int RECORDS = 200;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Test
+    public void moodLogs() {
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (MoodLog log : Fixtures.moodLogs(RECORDS)) {
+            records.add(log.toMap());
+        }
+        DataSnapshot snapshot = Fixtures.snapshot("mood_logs/" + Fixtures.CURRENT_USER, Fixtures.byKey(records));
+
+        BenchmarkState state = benchmarkRule.getState();
+        List<MoodLog> logs = null;
+        while (state.keepRunning()) {
+            logs = new ArrayList<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                MoodLog log = MoodLog.fromSnapshot(child);
+                if (log != null) {
+                    log.setMoodLogId(child.getKey());
+                    logs.add(log);
+                }
+            }
+        }
+        assertEquals(RECORDS, logs.size());
+    }
+
+    @Test
+    public void moodLogsReflective() {
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (MoodLog log : Fixtures.moodLogs(RECORDS)) {
+            records.add(log.toMap());
+        }
+        DataSnapshot snapshot = Fixtures.snapshot("mood_logs/" + Fixtures.CURRENT_USER, Fixtures.byKey(records));
+
+        BenchmarkState state = benchmarkRule.getState();
+        List<MoodLog> logs = null;
+        while (state.keepRunning()) {
+            logs = new ArrayList<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                MoodLog log = child.getValue(MoodLog.class);
+                if (log != null) {
+                    log.setMoodLogId(child.getKey());
+                    logs.add(log);
+                }
+            }
+        }
+        assertEquals(RECORDS, logs.size());
+    }
+
+    @Test
+    public void messages() {
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (Message message : Fixtures.messages(RECORDS)) {
+            records.add(message.toMap());
+        }
+        DataSnapshot snapshot = Fixtures.snapshot("messages/conversation", Fixtures.byKey(records));
+
+        BenchmarkState state = benchmarkRule.getState();
+        List<Message> messages = null;
+        while (state.keepRunning()) {
+            messages = new ArrayList<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                Message message = Message.fromSnapshot(child);
+                if (message != null) {
+                    message.setMessageId(child.getKey());
+                    messages.add(message);
+                }
+            }
+        }
+        assertEquals(RECORDS, messages.size());
+    }
+
+    @Test
+    public void notifications() {
+        List<Map<String, Object>> records = new ArrayList<>(RECORDS);
+        for (Notification notification : Fixtures.notifications(RECORDS)) {
+            records.add(notification.toMap());
+        }
+        DataSnapshot snapshot = Fixtures.snapshot("notifications/" + Fixtures.CURRENT_USER, Fixtures.byKey(records));
+
+        BenchmarkState state = benchmarkRule.getState();
+        List<Notification> notifications = null;
+        while (state.keepRunning()) {
+            notifications = new ArrayList<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                Notification notification = Notification.fromSnapshot(child);
+                if (notification != null) {
+                    notification.setNotificationId(child.getKey());
+                    notifications.add(notification);
+                }
+            }
+        }
+        assertEquals(RECORDS, notifications.size());
+    }
+}
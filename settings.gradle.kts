@@ -22,3 +22,4 @@ dependencyResolutionManagement {
 
 rootProject.name = "MINDBLOOMANDROID"
 include(":app")
+include(":benchmark")